@@ -0,0 +1,173 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs Migrations Against Real SQLite
+ * The Device Half of MigrationRunnerTest, Which Only Covers Planning
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationRunnerDeviceTest {
+
+    private SQLiteDatabase db;
+
+    /**
+     * Versions In The Order Their Steps Ran
+     */
+    private final List<Integer> ran = new ArrayList<>();
+
+    @Before
+    public void openDatabase() {
+        db = SQLiteDatabase.create(null);
+        db.execSQL("CREATE TABLE Item (ItemID INTEGER PRIMARY KEY, Moved INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+
+    private Migration step(final int version) {
+        return new Migration(version, "Step " + version) {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                assertTrue(db.inTransaction());
+                ran.add(version);
+            }
+        };
+    }
+
+    /**
+     * Marks Items Moved A Batch At A Time, Failing On The Given Call If Not 0
+     */
+    private BatchedMigration moveItems(int version, final int failOnCall) {
+        return new BatchedMigration(version, "Move Items", 10) {
+            private int calls;
+
+            @Override
+            protected int migrateBatch(SQLiteDatabase db, int batchSize) {
+                assertTrue(db.inTransaction());
+                if (++calls == failOnCall)
+                    throw new IllegalStateException("Interrupted");
+
+                db.execSQL("UPDATE Item SET Moved = 1 WHERE ItemID IN" +
+                        " (SELECT ItemID FROM Item WHERE Moved = 0 ORDER BY ItemID LIMIT " + batchSize + ")");
+                return (int) count("SELECT changes()");
+            }
+        };
+    }
+
+    private void addItems(int items) {
+        for (int i = 0; i < items; i++)
+            db.execSQL("INSERT INTO Item DEFAULT VALUES");
+    }
+
+    private long count(String query) {
+        Cursor cursor = db.rawQuery(query, null);
+        try {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private long moved() {
+        return count("SELECT count(*) FROM Item WHERE Moved = 1");
+    }
+
+    @Test
+    public void run_appliesStepsInVersionOrder() throws Exception {
+        new MigrationRunner(Arrays.asList(step(4), step(2), step(3))).run(db, 1, 4);
+
+        assertEquals(Arrays.asList(2, 3, 4), ran);
+    }
+
+    @Test
+    public void run_rollsBackOnlyTheFailedStep() throws Exception {
+        Migration failing = new Migration(3, "Failing") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("INSERT INTO Item DEFAULT VALUES");
+                throw new IllegalStateException("Failed");
+            }
+        };
+        Migration adding = new Migration(2, "Adding") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("INSERT INTO Item DEFAULT VALUES");
+            }
+        };
+
+        try {
+            new MigrationRunner(Arrays.asList(adding, failing)).run(db, 1, 3);
+            fail("Step Should Have Thrown");
+        } catch (IllegalStateException expected) {
+            // Step 3 Failed
+        }
+
+        // Outside An Upgrade Transaction Each Step Commits On Its Own
+        assertEquals(1, count("SELECT count(*) FROM Item"));
+    }
+
+    @Test
+    public void run_leavesBatchedRowsForFinishPending() throws Exception {
+        addItems(25);
+        MigrationRunner runner = new MigrationRunner(Arrays.<Migration>asList(moveItems(2, 0), step(3)));
+
+        runner.run(db, 1, 3);
+        assertEquals(0, moved());
+        assertEquals(Collections.singletonList(3), ran);
+
+        runner.finishPending(db);
+        assertEquals(25, moved());
+    }
+
+    @Test
+    public void finish_loopsUntilNoRowsRemain() throws Exception {
+        addItems(25);
+
+        assertEquals(25, moveItems(2, 0).finish(db));
+        assertEquals(25, moved());
+    }
+
+    @Test
+    public void finishPending_resumesAfterAnInterruptedBatch() throws Exception {
+        addItems(25);
+        new MigrationRunner(Collections.<Migration>singletonList(moveItems(2, 3))).run(db, 1, 2);
+
+        try {
+            new MigrationRunner(Collections.<Migration>singletonList(moveItems(2, 3))).finishPending(db);
+            fail("Batch Should Have Thrown");
+        } catch (IllegalStateException expected) {
+            // Third Batch Failed
+        }
+
+        // The First Two Batches Committed
+        assertEquals(20, moved());
+
+        MigrationRunner restarted = new MigrationRunner(Collections.<Migration>singletonList(moveItems(2, 0)));
+        restarted.finishPending(db);
+        assertEquals(25, moved());
+
+        // Nothing Left To Finish, So A Step That Would Throw Is Never Run
+        restarted = new MigrationRunner(Collections.<Migration>singletonList(moveItems(2, 1)));
+        restarted.finishPending(db);
+    }
+}
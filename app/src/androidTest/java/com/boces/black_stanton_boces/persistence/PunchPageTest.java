@@ -0,0 +1,134 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.boces.black_stanton_boces.persistence.model.Student;
+import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.persistence.model.TaskPunch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks That Paging A Student's Punches Returns Each Exactly Once, Newest First,
+ * Including Punches That Share A Start Time Across The Edge of A Page
+ */
+@RunWith(AndroidJUnit4.class)
+public class PunchPageTest {
+
+    private static final String DATABASE = "bocesPunchPageTest";
+
+    /**
+     * Start of 2018
+     */
+    private static final long BASE_SECONDS = 1514764800L;
+
+    private static final int PAGE_SIZE = 3;
+
+    private Context context;
+    private PersistenceInteractor persistence;
+    private int studentId;
+    private int taskId;
+
+    @Before
+    public void openDatabase() {
+        context = InstrumentationRegistry.getTargetContext();
+        context.deleteDatabase(DATABASE);
+        persistence = PersistenceInteractor.createDetached(context, DATABASE);
+
+        Task task = new Task();
+        task.setName("Sweep");
+        taskId = persistence.addTask(task);
+
+        studentId = addStudent("Jane");
+    }
+
+    @After
+    public void deleteDatabase() {
+        persistence.close();
+        context.deleteDatabase(DATABASE);
+    }
+
+    private int addStudent(String firstName) {
+        Student student = new Student();
+        student.setFirstName(firstName);
+        student.setLastName("Doe");
+        return persistence.addStudent(student);
+    }
+
+    private int addPunch(int studentId, long timeStart) {
+        TaskPunch punch = new TaskPunch();
+        punch.setStudentId(studentId);
+        punch.setTaskId(taskId);
+        punch.setTimeStart(new Date(timeStart * 1000L));
+        punch.setTimeEnd(new Date((timeStart + 60) * 1000L));
+        return persistence.addTaskPunch(punch);
+    }
+
+    /**
+     * Reads Every Page Until One Comes Back Short
+     * @return
+     * Punch IDs In The Order They Were Paged
+     */
+    private List<Integer> pageAll() {
+        List<Integer> ids = new ArrayList<>();
+        TaskPunch after = null;
+        while (true) {
+            List<TaskPunch> page = persistence.getTaskPunchesForStudent(studentId, after, PAGE_SIZE);
+            assertTrue(page.size() <= PAGE_SIZE);
+            for (TaskPunch punch : page)
+                ids.add(punch.getId());
+            if (page.size() < PAGE_SIZE)
+                return ids;
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    @Test
+    public void page_tiesOnStartTimeCrossPageEdges() {
+        // Added Oldest First, So IDs Rise With Start Time Except Within A Tie
+        int oldest = addPunch(studentId, BASE_SECONDS);
+        int[] tied = new int[PAGE_SIZE + 2];
+        for (int i = 0; i < tied.length; i++)
+            tied[i] = addPunch(studentId, BASE_SECONDS + 3600);
+        int newest = addPunch(studentId, BASE_SECONDS + 7200);
+
+        // Another Student's Punches At The Same Times Are Never Returned
+        int otherStudent = addStudent("John");
+        addPunch(otherStudent, BASE_SECONDS + 3600);
+        addPunch(otherStudent, BASE_SECONDS + 7200);
+
+        List<Integer> expected = new ArrayList<>();
+        expected.add(newest);
+        for (int i = tied.length - 1; i >= 0; i--)
+            expected.add(tied[i]);
+        expected.add(oldest);
+
+        assertEquals(expected, pageAll());
+    }
+
+    @Test
+    public void page_exactMultipleEndsWithAnEmptyPage() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE * 2; i++)
+            expected.add(0, addPunch(studentId, BASE_SECONDS));
+
+        assertEquals(expected, pageAll());
+    }
+
+    @Test
+    public void page_emptyHistory() {
+        assertEquals(new ArrayList<Integer>(), pageAll());
+    }
+}
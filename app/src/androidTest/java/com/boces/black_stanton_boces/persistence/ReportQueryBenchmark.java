@@ -0,0 +1,204 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Bundle;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.boces.black_stanton_boces.persistence.model.Student;
+import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.persistence.model.TaskPunch;
+import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.report.ReportRow;
+import com.boces.black_stanton_boces.report.ReportRowHandler;
+import com.boces.black_stanton_boces.report.ReportType;
+import com.boces.black_stanton_boces.report.StudentPunches;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Times The Report Queries Against Real SQLite Over 10k, 100k And 1M Synthetic Punches
+ * The Device Half of ReportPipelineBenchmark, Which Covers Everything After The Query.
+ * Uses Its Own Database, So The App's Data Is Never Touched. Seeding 1M Punches Takes Minutes
+ *
+ * Skipped Unless Run With -Pandroid.testInstrumentationRunnerArguments.boces.benchmark=true
+ * Results Are Logged Under The bocesBenchmark Tag
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReportQueryBenchmark {
+
+    private static final String DATABASE = "bocesBenchmark";
+    private static final String TAG = "bocesBenchmark";
+
+    /**
+     * Start of 2018, Matching The JVM Benchmark's Synthetic Data
+     */
+    private static final long BASE_SECONDS = 1514764800L;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_PER_MONTH = 30;
+    private static final int STUDENTS_PER_TEACHER = 15;
+
+    /**
+     * Punches Added Per Transaction While Seeding
+     */
+    private static final int SEED_BATCH = 5000;
+
+    private static final int RUNS = 3;
+
+    /**
+     * Name, Students, Tasks, Punches Per Student Per Day, Months
+     * The Same Shapes As ReportPipelineBenchmark
+     */
+    private static final Object[][] DATASETS = {
+            {"10k", 42, 8, 2, 4},
+            {"100k", 140, 20, 4, 6},
+            {"1m", 700, 40, 4, 12},
+    };
+
+    private Context context;
+    private PersistenceInteractor persistence;
+
+    @Before
+    public void onlyWhenAsked() {
+        Bundle arguments = InstrumentationRegistry.getArguments();
+        Assume.assumeTrue(Boolean.parseBoolean(arguments.getString("boces.benchmark")));
+        context = InstrumentationRegistry.getTargetContext();
+    }
+
+    @After
+    public void deleteDatabase() {
+        if (persistence != null)
+            persistence.close();
+        if (context != null)
+            context.deleteDatabase(DATABASE);
+    }
+
+    @Test
+    public void reportQueries() throws IOException {
+        for (Object[] dataset : DATASETS) {
+            context.deleteDatabase(DATABASE);
+            persistence = PersistenceInteractor.createDetached(context, DATABASE);
+
+            int days = (Integer) dataset[4] * DAYS_PER_MONTH;
+            long punches = seed((Integer) dataset[1], (Integer) dataset[2], (Integer) dataset[3], days);
+            final Date start = new Date((BASE_SECONDS - 1) * 1000L);
+            final Date end = new Date((BASE_SECONDS + (long) days * SECONDS_PER_DAY) * 1000L);
+
+            long query = Long.MAX_VALUE;
+            long group = Long.MAX_VALUE;
+            long counts = Long.MAX_VALUE;
+            long summary = Long.MAX_VALUE;
+            for (int i = 0; i < RUNS; i++) {
+                final long[] rows = new long[1];
+                long time = System.nanoTime();
+                persistence.streamStudentPunches(start, end, new ReportRowHandler() {
+                    @Override
+                    public void onRow(ReportRow row) {
+                        rows[0]++;
+                    }
+                });
+                query = Math.min(query, System.nanoTime() - time);
+                assertEquals(punches, rows[0]);
+
+                time = System.nanoTime();
+                ArrayList<StudentPunches> grouped = persistence.getStudentPunches(start, end);
+                group = Math.min(group, System.nanoTime() - time);
+                assertEquals((int) (Integer) dataset[1], grouped.size());
+
+                time = System.nanoTime();
+                persistence.getPunchCountsByStudent(start, end);
+                counts = Math.min(counts, System.nanoTime() - time);
+
+                time = System.nanoTime();
+                persistence.getSummary(ReportType.STUDENT_TASK_TOTALS, start, end);
+                summary = Math.min(summary, System.nanoTime() - time);
+            }
+
+            log(dataset[0], "query", query, punches);
+            log(dataset[0], "getStudentPunches", group, punches);
+            log(dataset[0], "counts", counts, punches);
+            log(dataset[0], "summary", summary, punches);
+
+            persistence.close();
+            persistence = null;
+        }
+    }
+
+    private static void log(Object dataset, String stage, long nanos, long punches) {
+        Log.i(TAG, String.format(Locale.US, "%-5s %-18s %8.1f ms %8.1f ns/punch",
+                dataset, stage, nanos / 1e6, (double) nanos / punches));
+    }
+
+    /**
+     * Fills The Database Through The Normal Write Path, So Rollups & Versions Are Maintained
+     * @return
+     * Number of Punches Added
+     */
+    private long seed(int students, int tasks, int punchesPerDay, int days) {
+        int[] taskIds = new int[tasks];
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task();
+            task.setName("Task " + (i + 1));
+            taskIds[i] = persistence.addTask(task);
+        }
+
+        int[] teacherIds = new int[(students + STUDENTS_PER_TEACHER - 1) / STUDENTS_PER_TEACHER];
+        for (int i = 0; i < teacherIds.length; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setFirstName("Teacher");
+            teacher.setLastName("Number " + (i + 1));
+            teacherIds[i] = persistence.addTeacher(teacher);
+        }
+
+        final int slotLength = 7 * 3600 / punchesPerDay;
+        SQLiteDatabase db = persistence.getWritableDatabase();
+        long added = 0;
+        db.beginTransaction();
+        try {
+            for (int s = 0; s < students; s++) {
+                Student student = new Student();
+                student.setFirstName("First" + s);
+                student.setLastName("Last" + s);
+                student.setTeacherId(teacherIds[s / STUDENTS_PER_TEACHER]);
+                int studentId = persistence.addStudent(student);
+
+                for (int day = 0; day < days; day++) {
+                    for (int slot = 0; slot < punchesPerDay; slot++) {
+                        long timeStart = BASE_SECONDS + (long) day * SECONDS_PER_DAY + 8 * 3600 + (long) slot * slotLength;
+                        TaskPunch punch = new TaskPunch();
+                        punch.setStudentId(studentId);
+                        punch.setTaskId(taskIds[(int) (added % tasks)]);
+                        punch.setTimeStart(new Date(timeStart * 1000L));
+                        if (day != days - 1 || slot != punchesPerDay - 1)
+                            punch.setTimeEnd(new Date((timeStart + slotLength - added % 600) * 1000L));
+                        persistence.addTaskPunch(punch);
+
+                        // Commit In Batches So The Journal Stays Small
+                        if (++added % SEED_BATCH == 0) {
+                            db.setTransactionSuccessful();
+                            db.endTransaction();
+                            db.beginTransaction();
+                        }
+                    }
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return added;
+    }
+}
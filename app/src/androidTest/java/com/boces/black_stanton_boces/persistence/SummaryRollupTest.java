@@ -0,0 +1,186 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.boces.black_stanton_boces.persistence.model.Student;
+import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.persistence.model.TaskPunch;
+import com.boces.black_stanton_boces.report.ReportRow;
+import com.boces.black_stanton_boces.report.ReportRowHandler;
+import com.boces.black_stanton_boces.report.ReportType;
+import com.boces.black_stanton_boces.report.SummaryRow;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks The Rollup Backed Summaries Against The Raw Punch History
+ * Punches Are Added, Edited & Deleted Through The Normal Write Path, So The Rollup Is Maintained
+ * Incrementally, Including Punches That Stop Past The End of A Range or Span Several Days
+ */
+@RunWith(AndroidJUnit4.class)
+public class SummaryRollupTest {
+
+    private static final String DATABASE = "bocesSummaryTest";
+
+    /**
+     * Start of 2018
+     */
+    private static final long BASE_SECONDS = 1514764800L;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS = 20;
+
+    private static final int STUDENTS = 6;
+    private static final int TASKS = 4;
+    private static final int PUNCHES = 600;
+    private static final int RANGES = 40;
+
+    private Context context;
+    private PersistenceInteractor persistence;
+
+    /**
+     * Fixed So A Failure Can Be Reproduced
+     */
+    private final Random random = new Random(20181018L);
+
+    @Before
+    public void openDatabase() {
+        context = InstrumentationRegistry.getTargetContext();
+        context.deleteDatabase(DATABASE);
+        persistence = PersistenceInteractor.createDetached(context, DATABASE);
+    }
+
+    @After
+    public void deleteDatabase() {
+        persistence.close();
+        context.deleteDatabase(DATABASE);
+    }
+
+    @Test
+    public void getSummary_matchesPunchHistory() throws IOException {
+        seed();
+
+        for (int i = 0; i < RANGES; i++) {
+            long start = BASE_SECONDS + randomSeconds(DAYS * SECONDS_PER_DAY);
+            long end = start + randomSeconds((DAYS + 2) * SECONDS_PER_DAY - (start - BASE_SECONDS));
+
+            // Every Other Range Starts & Ends On A Day Boundary
+            if (i % 2 == 0) {
+                start -= start % SECONDS_PER_DAY;
+                end -= end % SECONDS_PER_DAY;
+            }
+            assertSummaryMatches(start, end);
+        }
+
+        // The Whole History, Including Punches Still Open
+        assertSummaryMatches(BASE_SECONDS - 1, BASE_SECONDS + (DAYS + 3) * SECONDS_PER_DAY);
+    }
+
+    private void assertSummaryMatches(long start, long end) throws IOException {
+        Date startDate = new Date(start * 1000L);
+        Date endDate = new Date(end * 1000L);
+        final Map<String, long[]> expected = new HashMap<>();
+        final Map<Integer, String> taskNames = new HashMap<>();
+        for (Task task : persistence.getAllTasks())
+            taskNames.put(task.getId(), task.getName());
+
+        persistence.streamStudentPunches(startDate, endDate, new ReportRowHandler() {
+            @Override
+            public void onRow(ReportRow row) {
+                String key = row.getLastName() + " " + row.getFirstName() + "/" + taskNames.get(row.getTaskId());
+                long[] totals = expected.get(key);
+                if (totals == null) {
+                    totals = new long[2];
+                    expected.put(key, totals);
+                }
+                totals[0]++;
+                if (row.hasTimeEnd())
+                    totals[1] += row.getTimeEnd() - row.getTimeStart();
+            }
+        });
+
+        List<SummaryRow> rows = persistence.getSummary(ReportType.STUDENT_TASK_TOTALS, startDate, endDate);
+        String range = "Range " + start + " To " + end;
+        assertEquals(range, expected.size(), rows.size());
+        for (SummaryRow row : rows) {
+            long[] totals = expected.get(row.getName() + "/" + row.getDetailName());
+            assertEquals(range + " " + row.getName(), totals[0], row.getPunchCount());
+            assertEquals(range + " " + row.getName(), totals[1], row.getSeconds());
+        }
+    }
+
+    /**
+     * Adds Random Punches, Then Edits & Deletes Some of Them
+     */
+    private void seed() {
+        int[] taskIds = new int[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setName("Task " + (i + 1));
+            taskIds[i] = persistence.addTask(task);
+        }
+
+        int[] studentIds = new int[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setFirstName("First" + i);
+            student.setLastName("Last" + i);
+            studentIds[i] = persistence.addStudent(student);
+        }
+
+        List<Integer> punchIds = new ArrayList<>();
+        for (int i = 0; i < PUNCHES; i++) {
+            TaskPunch punch = new TaskPunch();
+            punch.setStudentId(studentIds[random.nextInt(STUDENTS)]);
+            punch.setTaskId(taskIds[random.nextInt(TASKS)]);
+            setRandomTimes(punch);
+            punchIds.add(persistence.addTaskPunch(punch));
+        }
+
+        for (int i = 0; i < PUNCHES / 5; i++) {
+            int id = punchIds.get(random.nextInt(punchIds.size()));
+            TaskPunch punch = persistence.getTaskPunch(id);
+            if (random.nextBoolean())
+                punch.setTaskId(taskIds[random.nextInt(TASKS)]);
+            setRandomTimes(punch);
+            persistence.update(punch);
+        }
+
+        for (int i = 0; i < PUNCHES / 10; i++)
+            persistence.deleteTaskPunch(punchIds.remove(random.nextInt(punchIds.size())));
+    }
+
+    /**
+     * Mostly Short Punches, Some Running Past Midnight or Over Several Days, Some Still Open
+     */
+    private void setRandomTimes(TaskPunch punch) {
+        long timeStart = BASE_SECONDS + randomSeconds(DAYS * SECONDS_PER_DAY);
+        punch.setTimeStart(new Date(timeStart * 1000L));
+
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            punch.setTimeEnd(null);
+        } else {
+            long length = kind == 1 ? randomSeconds(3 * SECONDS_PER_DAY) : randomSeconds(4 * 3600);
+            punch.setTimeEnd(new Date((timeStart + length + 1) * 1000L));
+        }
+    }
+
+    private long randomSeconds(long bound) {
+        return (long) (random.nextDouble() * bound);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * BOCES
+ *
+ * Authors: Evan Black, Elizabeth Stanton
+ */
+package com.boces.black_stanton_boces;
+
+import android.app.Application;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.report.ReportScheduler;
+import com.boces.black_stanton_boces.util.TimeFormat;
+
+import java.util.TimeZone;
+
+/**
+ * Application Entry Point
+ * Starts Opening The Shared Database Before The First Screen Needs It
+ */
+public class BocesApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        PersistenceInteractor.getInstance(this).openInBackground();
+
+        // Keep Formatted Times In Step With The Device's Zone
+        registerReceiver(new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                TimeFormat.setTimeZone(TimeZone.getDefault());
+            }
+        }, new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED));
+
+        // JobScheduler Runs Scheduled Reports On API 21+, Older Devices Catch Up Now
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP)
+            new Thread(new ReportScheduler.DueReports(this), "bocesScheduledReports").start();
+    }
+
+    /**
+     * Checkpoints The Database Once The App Is No Longer Visible
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level != TRIM_MEMORY_UI_HIDDEN)
+            return;
+
+        // Queued Behind Pending Writes, So It Copies Them Too
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.checkpoint();
+                return null;
+            }
+        }, null);
+    }
+}
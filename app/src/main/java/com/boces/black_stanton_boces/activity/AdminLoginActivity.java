@@ -17,6 +17,7 @@ import android.widget.EditText;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.AdminAccount;
 
@@ -61,25 +62,37 @@ public class AdminLoginActivity extends AppCompatActivity {
      * Unused/May Be null
      */
     public void onClickAdminLoginValidate(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
+        final String enteredUsername = username.getText().toString();
+        final String enteredPassword = password.getText().toString();
 
-        // If Username Does Not Match, Then found Is null
-        AdminAccount found = persistence.getAdminAccount(username.getText().toString());
+        // Hashing Is Slow, So The Check Runs On The Reader Thread
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                // If Username Does Not Match, Then found Is null
+                AdminAccount found = persistence.getAdminAccount(enteredUsername);
 
-        // Makes Sure Account Exists And Password Matches
-        if (found != null && persistence.checkPassword(password.getText().toString(), found.getPassword())) {
-            startActivity(new Intent(this, AdminMenuActivity.class));
-        } else {
-            new AlertDialog.Builder(this)
-                    .setTitle("Invalid Login")
-                    .setMessage("Username/Password Is Incorrect")
-                    .setCancelable(true)
-                    .setPositiveButton("Okay", new DialogInterface.OnClickListener() {
-                        @Override
-                        public void onClick(DialogInterface dialog, int which) {
-                        }
-                    })
-                    .show();
-        }
+                // Makes Sure Account Exists And Password Matches
+                return found != null && persistence.checkPassword(enteredPassword, found.getPassword());
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean valid) {
+                if (valid) {
+                    startActivity(new Intent(AdminLoginActivity.this, AdminMenuActivity.class));
+                } else {
+                    new AlertDialog.Builder(AdminLoginActivity.this)
+                            .setTitle("Invalid Login")
+                            .setMessage("Username/Password Is Incorrect")
+                            .setCancelable(true)
+                            .setPositiveButton("Okay", new DialogInterface.OnClickListener() {
+                                @Override
+                                public void onClick(DialogInterface dialog, int which) {
+                                }
+                            })
+                            .show();
+                }
+            }
+        });
     }
 }
@@ -10,20 +10,28 @@ import android.content.Context;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.Spinner;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
-import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.persistence.model.ScheduledReport;
+import com.boces.black_stanton_boces.report.ReportCache;
+import com.boces.black_stanton_boces.report.ReportCompression;
+import com.boces.black_stanton_boces.report.ReportPeriod;
 import com.boces.black_stanton_boces.report.ReportRunner;
-import com.boces.black_stanton_boces.report.StudentPunches;
+import com.boces.black_stanton_boces.report.ReportScheduler;
+import com.boces.black_stanton_boces.report.ReportType;
 import com.boces.black_stanton_boces.util.DatePickerDialogueFactory;
 import com.boces.black_stanton_boces.util.ProgressBarDialogueFactory;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Locale;
 
@@ -57,6 +65,26 @@ public class AdminReportsActivity extends AppCompatActivity {
      */
     private EditText txtFileName;
 
+    /**
+     * Which Report To Create
+     */
+    private Spinner spinnerReportType;
+
+    /**
+     * How The Report File Is Compressed
+     */
+    private Spinner spinnerCompression;
+
+    /**
+     * Whether The Report Runs Now or Repeats Every Period
+     */
+    private Spinner spinnerSchedule;
+
+    /**
+     * Shown In spinnerSchedule For A Report Run Immediately
+     */
+    private static final String RUN_ONCE = "Run Once Now";
+
     /**
      * Formats Dates From Dialogues
      */
@@ -72,6 +100,11 @@ public class AdminReportsActivity extends AppCompatActivity {
      */
     private Dialog progressDialogue;
 
+    /**
+     * The Report Being Generated, Kept So It Can Be Cancelled
+     */
+    private ReportRunner runner;
+
     /**
      * Retrieves Information
      * @param savedInstanceState
@@ -86,9 +119,22 @@ public class AdminReportsActivity extends AppCompatActivity {
         txtStartDate = findViewById(R.id.txtStart);
         txtEndDate = findViewById(R.id.txtEnd);
         txtFileName = findViewById(R.id.txtFileName);
+        spinnerReportType = findViewById(R.id.spinnerReportType);
+        spinnerCompression = findViewById(R.id.spinnerCompression);
+        spinnerSchedule = findViewById(R.id.spinnerSchedule);
 
         final Context context = this;
 
+        ArrayAdapter<ReportType> reportTypeAdapter = new ArrayAdapter<>(context, android.R.layout.simple_spinner_item, ReportType.values());
+        spinnerReportType.setAdapter(reportTypeAdapter);
+
+        spinnerCompression.setAdapter(new ArrayAdapter<>(context, android.R.layout.simple_spinner_item, ReportCompression.values()));
+
+        ArrayList<Object> schedules = new ArrayList<>();
+        schedules.add(RUN_ONCE);
+        schedules.addAll(Arrays.asList(ReportPeriod.values()));
+        spinnerSchedule.setAdapter(new ArrayAdapter<>(context, android.R.layout.simple_spinner_item, schedules));
+
         txtStartDate.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -139,6 +185,12 @@ public class AdminReportsActivity extends AppCompatActivity {
 
         boolean hasError = false;
 
+        // Scheduled Reports Cover Each Period As It Ends, So Take No Dates
+        if (spinnerSchedule.getSelectedItem() instanceof ReportPeriod) {
+            onSchedule((ReportPeriod) spinnerSchedule.getSelectedItem());
+            return;
+        }
+
         if (txtStartDate.getText().toString().trim().isEmpty()) {
             hasError = true;
             txtStartDate.setError("Start Date Is Required");
@@ -162,22 +214,44 @@ public class AdminReportsActivity extends AppCompatActivity {
             }
         }
 
+        ReportType type = (ReportType) spinnerReportType.getSelectedItem();
+        ReportCompression compression = (ReportCompression) spinnerCompression.getSelectedItem();
+        if (compression == ReportCompression.ZIP && type.isSummary()) {
+            hasError = true;
+            Toast.makeText(this, "Only Every Punch Reports Can Be Split By Teacher", Toast.LENGTH_LONG).show();
+        }
+
         // Stop Bad Input
         if (hasError)
             return;
 
         btnSaveTime.setEnabled(false);
         btnSaveTime.setVisibility(View.GONE);
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        ArrayList<StudentPunches> punches = persistence.getStudentPunches(dateCache.start, dateCache.end);
-        ArrayList<Task> tasks = persistence.getAllTasks();
         String filename = txtFileName.getText().toString().trim();
         final Context context = this;
-        progressDialogue = ProgressBarDialogueFactory.make(context);
+        progressDialogue = ProgressBarDialogueFactory.makeCancellable(context, new Runnable() {
+            @Override
+            public void run() {
+                if (runner != null)
+                    runner.cancel();
+            }
+        });
         progressDialogue.show();
 
         if (reportGenerator == null || reportGenerator.getState() == Thread.State.TERMINATED) {
-            ReportRunner runner = new ReportRunner(filename, punches, tasks, new ReportRunner.Callback() {
+            PersistenceInteractor persistence = PersistenceInteractor.getInstance(this);
+            runner = new ReportRunner(persistence, type, compression, filename, dateCache.start, dateCache.end, new ReportRunner.Callback() {
+                @Override
+                public void onProgress(final int rows, final int total) {
+                    runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (progressDialogue != null)
+                                ProgressBarDialogueFactory.setProgress(progressDialogue, rows, total);
+                        }
+                    });
+                }
+
                 @Override
                 public void onSuccess() {
                     runOnUiThread(new Runnable() {
@@ -188,6 +262,16 @@ public class AdminReportsActivity extends AppCompatActivity {
                     });
                 }
 
+                @Override
+                public void onCancelled() {
+                    runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Toast.makeText(context, "Report Cancelled", Toast.LENGTH_LONG).show();
+                        }
+                    });
+                }
+
                 @Override
                 public void onFail(String message) {
                     runOnUiThread(new Runnable() {
@@ -213,6 +297,7 @@ public class AdminReportsActivity extends AppCompatActivity {
                     });
                 }
             });
+            runner.setCache(ReportCache.getInstance(this));
 
             reportGenerator = new Thread(runner);
             reportGenerator.start();
@@ -220,6 +305,50 @@ public class AdminReportsActivity extends AppCompatActivity {
 
     }
 
+    /**
+     * Saves A Report To Be Run In The Background Each Time The Period Ends
+     * @param period
+     * How Often The Report Runs
+     */
+    private void onSchedule(ReportPeriod period) {
+        if (txtFileName.getText().toString().trim().isEmpty()) {
+            txtFileName.setError("Filename Is Required");
+            return;
+        }
+
+        ReportType type = (ReportType) spinnerReportType.getSelectedItem();
+        ReportCompression compression = (ReportCompression) spinnerCompression.getSelectedItem();
+        if (compression == ReportCompression.ZIP && type.isSummary()) {
+            Toast.makeText(this, "Only Every Punch Reports Can Be Split By Teacher", Toast.LENGTH_LONG).show();
+            return;
+        }
+
+        // Each Run Needs Its Own File, So Make Sure The Name Changes With The Period
+        String pattern = txtFileName.getText().toString().trim();
+        if (!pattern.contains(ReportScheduler.START_TOKEN) && !pattern.contains(ReportScheduler.END_TOKEN))
+            pattern += " " + ReportScheduler.START_TOKEN;
+
+        final ScheduledReport report = new ScheduledReport();
+        report.setPeriod(period);
+        report.setType(type);
+        report.setCompression(compression);
+        report.setFileNamePattern(pattern);
+
+        final Context context = this;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Integer>() {
+            @Override
+            public Integer run(PersistenceInteractor persistence) {
+                return persistence.addScheduledReport(report);
+            }
+        }, new AsyncPersistence.Callback<Integer>() {
+            @Override
+            public void onResult(Integer result) {
+                ReportScheduler.schedule(context);
+                Toast.makeText(context, "Report Scheduled", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
     private class DateCache {
         public Date start = new Date();
         public Date end = new Date();
@@ -16,17 +16,22 @@ import android.widget.SearchView;
 import com.boces.black_stanton_boces.R;
 import com.boces.black_stanton_boces.activity.teacher.AdminAddTeacherActivity;
 import com.boces.black_stanton_boces.activity.teacher.AdminEditTeacherActivity;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.Teacher;
 import com.boces.black_stanton_boces.teacher.TeacherAdapter;
 import com.boces.black_stanton_boces.teacher.TeacherAdapterOnclick;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Shows Existing Teachers and Allows User Choose to Edit or Create and New One
  */
 public class AdminTeachersActivity extends AppCompatActivity {
 
     private RecyclerView teacherList;
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private SearchView searchView;
 
     /**
@@ -39,8 +44,8 @@ public class AdminTeachersActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_teachers);
 
-        persistence = new PersistenceInteractor(this);
-        final TeacherAdapter adapter = new TeacherAdapter(persistence.getAllTeachers(), new TeacherAdapterOnclick() {
+        asyncPersistence = AsyncPersistence.getInstance(this);
+        final TeacherAdapter adapter = new TeacherAdapter(new ArrayList<Teacher>(), new TeacherAdapterOnclick() {
             @Override
             public void onClick(int teacherId) {
                 Intent editTeacher = new Intent(getApplicationContext(), AdminEditTeacherActivity.class);
@@ -75,12 +80,17 @@ public class AdminTeachersActivity extends AppCompatActivity {
     @Override
     public void onResume() {
         super.onResume();
-        ((TeacherAdapter) teacherList.getAdapter()).setTeachers(persistence.getAllTeachers());
-        teacherList.getAdapter().notifyDataSetChanged();
-
-        // If We Have A Query Resubmit It
-        if (searchView.getQuery().length() > 0)
-            searchView.setQuery(searchView.getQuery(), true);
+        asyncPersistence.read(new AsyncPersistence.Query<List<Teacher>>() {
+            @Override
+            public List<Teacher> run(PersistenceInteractor persistence) {
+                return persistence.getAllTeachers();
+            }
+        }, new AsyncPersistence.Callback<List<Teacher>>() {
+            @Override
+            public void onResult(List<Teacher> teachers) {
+                ((TeacherAdapter) teacherList.getAdapter()).setTeachers(teachers);
+            }
+        });
     }
 
     /**
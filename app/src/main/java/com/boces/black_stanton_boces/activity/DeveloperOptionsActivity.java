@@ -7,6 +7,7 @@
 package com.boces.black_stanton_boces.activity;
 
 import android.Manifest;
+import android.content.Context;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
@@ -17,12 +18,13 @@ import android.view.View;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.ScheduledReport;
 import com.boces.black_stanton_boces.report.ReportGenerator;
-import com.boces.black_stanton_boces.report.StudentPunches;
+import com.boces.black_stanton_boces.report.ReportScheduler;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -40,15 +42,85 @@ public class DeveloperOptionsActivity extends AppCompatActivity {
     }
 
     public void onClearDatabase(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        persistence.emptyAndRecreate();
-        Toast.makeText(this, "Database Recreated", Toast.LENGTH_LONG).show();
+        final Context context = this;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.emptyAndRecreate();
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                Toast.makeText(context, "Database Recreated", Toast.LENGTH_LONG).show();
+            }
+        });
     }
 
     public void onDropDatabase(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        persistence.dropDatabase(this);
-        Toast.makeText(this, "Database Dropped. Restart App To See Effect", Toast.LENGTH_LONG).show();
+        final Context context = this;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.dropDatabase(context);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                Toast.makeText(context, "Database Dropped. Restart App To See Effect", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    public void onRebuildRollup(View v) {
+        final Context context = this;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.rebuildPunchRollup();
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                Toast.makeText(context, "Punch Totals Rebuilt", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    public void onRebuildNameSearch(View v) {
+        final Context context = this;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.rebuildNameSearch();
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                Toast.makeText(context, "Name Search Rebuilt", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    public void onClearScheduledReports(View v) {
+        final Context context = this;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                for (ScheduledReport report : persistence.getAllScheduledReports())
+                    persistence.deleteScheduledReport(report.getId());
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                ReportScheduler.cancel(context);
+                Toast.makeText(context, "Scheduled Reports Cleared", Toast.LENGTH_LONG).show();
+            }
+        });
     }
 
     public void onGenerateReport(View v) {
@@ -57,20 +129,28 @@ public class DeveloperOptionsActivity extends AppCompatActivity {
             return;
         }
 
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-
         Calendar cal = Calendar.getInstance();
         cal.setTime(new Date());
         cal.add(Calendar.DATE, -100);
-        Date start = cal.getTime();
-        Date end = new Date();
+        final Date start = cal.getTime();
+        final Date end = new Date();
 
-        ArrayList<StudentPunches> studentPunches = persistence.getStudentPunches(start, end);
-        try {
-            ReportGenerator.exportTaskReport(studentPunches, "", persistence.getAllTasks());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                try {
+                    ReportGenerator.exportTaskReport(persistence, start, end, "");
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                // Nothing To Show
+            }
+        });
     }
 
     @Override
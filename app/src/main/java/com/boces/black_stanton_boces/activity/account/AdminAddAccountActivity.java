@@ -11,6 +11,7 @@ import android.view.View;
 import android.widget.EditText;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 
 /**
@@ -42,8 +43,7 @@ public class AdminAddAccountActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onSave(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
+    public void onSave(final View v) {
         boolean hasError = false;
 
         if (username.getText().toString().isEmpty()) {
@@ -71,8 +71,27 @@ public class AdminAddAccountActivity extends AppCompatActivity {
         if (hasError)
             return;
 
-        persistence.createAdminAccount(username.getText().toString(), password.getText().toString());
+        // Hashing Is Slow, So It Runs On The Writer Thread. Save Once Per Tap
+        final String newUsername = username.getText().toString();
+        final String newPassword = password.getText().toString();
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.createAdminAccount(newUsername, newPassword);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                finish(); //Ends activity
+            }
 
-        finish(); //Ends activity
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 }
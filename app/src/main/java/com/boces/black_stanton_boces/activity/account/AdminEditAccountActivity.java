@@ -12,6 +12,7 @@ import android.widget.EditText;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.AdminAccount;
 
@@ -25,6 +26,11 @@ public class AdminEditAccountActivity extends AppCompatActivity {
     private EditText password;
     private EditText confirmPassword;
 
+    /**
+     * Account Being Edited, null Until Loaded
+     */
+    private AdminAccount account;
+
     /**
      * Recognised Values That May Be Passed Through Bundles
      */
@@ -52,18 +58,25 @@ public class AdminEditAccountActivity extends AppCompatActivity {
         if (id == 0)
             throw new IllegalStateException("Account ID Not Passed To Edit"); //ID is wrong
 
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        AdminAccount account = persistence.getAdminAccount(id); //Re-retrieve information in case account is deleted
-
-        if (account == null)
-            throw new IllegalStateException("Account With ID " + id + " Not Found"); //ID doesn't match account
-
         // Get Input References
         username = (EditText) findViewById(R.id.inputUsername);
         password = (EditText) findViewById(R.id.inputPassword);
         confirmPassword = (EditText) findViewById(R.id.inputConfirmPassword);
 
-        username.setText(account.getUsername());
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<AdminAccount>() {
+            @Override
+            public AdminAccount run(PersistenceInteractor persistence) {
+                return persistence.getAdminAccount(id); //Re-retrieve information in case account is deleted
+            }
+        }, new AsyncPersistence.Callback<AdminAccount>() {
+            @Override
+            public void onResult(AdminAccount loaded) {
+                if (loaded == null)
+                    throw new IllegalStateException("Account With ID " + id + " Not Found"); //ID doesn't match account
+                account = loaded;
+                username.setText(account.getUsername());
+            }
+        });
     }
 
     /**
@@ -71,38 +84,61 @@ public class AdminEditAccountActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onSave(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        AdminAccount account = persistence.getAdminAccount(id); //Re-retrieve information in case account is deleted
-
-        if (account == null) {
-            Toast.makeText(this, "Error Account With ID " + id + " Not Found", Toast.LENGTH_LONG).show();
+    public void onSave(final View v) {
+        // Still Loading
+        if (account == null)
             return;
-        }
 
         if (username.getText().toString().isEmpty()) {
             username.setError("Username Is Required");
             return;
         }
-
-        if (!account.getUsername().equals(username.getText().toString())) {
-            account.setUsername(username.getText().toString());
-            persistence.updateUsername(account);
-        }
-
-        // If A New Password Was Not Entered, Then  We're Done
-        if (password.getText().toString().isEmpty() && confirmPassword.getText().toString().isEmpty()) {
-            finish(); //Ends activity
-            return;
-        }
-
-        //Checks both passwords to assure they match
-        if (password.getText().toString().equals(confirmPassword.getText().toString())) {
-            persistence.updateAdminPassword(id, password.getText().toString());
-        } else {
-            confirmPassword.setError("Passwords Must Match");
+        final String newUsername = username.getText().toString();
+
+        // If A New Password Was Not Entered, Only The Username Is Saved
+        String enteredPassword = null;
+        if (!password.getText().toString().isEmpty() || !confirmPassword.getText().toString().isEmpty()) {
+            //Checks both passwords to assure they match
+            if (password.getText().toString().equals(confirmPassword.getText().toString()))
+                enteredPassword = password.getText().toString();
+            else
+                confirmPassword.setError("Passwords Must Match");
         }
-
-        finish(); //Ends activity
+        final String newPassword = enteredPassword;
+
+        // Hashing Is Slow, So It Runs On The Writer Thread. Save Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                AdminAccount current = persistence.getAdminAccount(id); //Re-retrieve information in case account is deleted
+                if (current == null)
+                    return false;
+
+                if (!current.getUsername().equals(newUsername)) {
+                    current.setUsername(newUsername);
+                    persistence.updateUsername(current);
+                }
+                if (newPassword != null)
+                    persistence.updateAdminPassword(id, newPassword);
+                return true;
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean updated) {
+                if (!updated) {
+                    v.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Error Account With ID " + id + " Not Found", Toast.LENGTH_LONG).show();
+                    return;
+                }
+                finish(); //Ends activity
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 }
@@ -18,9 +18,12 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.AdminAccount;
+import com.boces.black_stanton_boces.util.ListDiffer;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -49,8 +52,7 @@ public class AdminManageAccounts extends AppCompatActivity {
             }
         });
 
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        accountAdapter = new AdminAccountAdapter(persistence.getAllAdminAccounts());
+        accountAdapter = new AdminAccountAdapter(new ArrayList<AdminAccount>());
         accountList = findViewById(R.id.accountList);
         accountList.setAdapter(accountAdapter);
         accountList.setLayoutManager(new LinearLayoutManager(this));
@@ -62,16 +64,39 @@ public class AdminManageAccounts extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        accountAdapter.setAccounts(persistence.getAllAdminAccounts());
-        accountAdapter.notifyDataSetChanged();
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<List<AdminAccount>>() {
+            @Override
+            public List<AdminAccount> run(PersistenceInteractor persistence) {
+                return persistence.getAllAdminAccounts();
+            }
+        }, new AsyncPersistence.Callback<List<AdminAccount>>() {
+            @Override
+            public void onResult(List<AdminAccount> accounts) {
+                accountAdapter.setAccounts(accounts);
+            }
+        });
     }
 
     private class AdminAccountAdapter extends RecyclerView.Adapter<AdminAccountAdapter.ViewHolder>{
-        List<AdminAccount> accounts;
+
+        /**
+         * Accounts Shown, Swapped In With Only The Changed Rows Rebound
+         */
+        private final ListDiffer<AdminAccount> differ = new ListDiffer<>(this, new ListDiffer.ItemComparator<AdminAccount>() {
+            @Override
+            public boolean isSameItem(AdminAccount oldItem, AdminAccount newItem) {
+                return oldItem.getId().equals(newItem.getId());
+            }
+
+            @Override
+            public boolean isSameContents(AdminAccount oldItem, AdminAccount newItem) {
+                return ListDiffer.equal(oldItem.getUsername(), newItem.getUsername());
+            }
+        });
 
         public AdminAccountAdapter(List<AdminAccount> accounts) {
-            this.accounts = accounts;
+            setHasStableIds(true);
+            differ.submit(accounts);
         }
 
         @Override
@@ -91,7 +116,7 @@ public class AdminManageAccounts extends AppCompatActivity {
          */
         @Override
         public void onBindViewHolder(ViewHolder holder, int position) {
-            AdminAccount adminAccount = accounts.get(position);
+            AdminAccount adminAccount = differ.getList().get(position);
 
             holder.accountId = adminAccount.getId();
             holder.username.setText(adminAccount.getUsername());
@@ -100,15 +125,20 @@ public class AdminManageAccounts extends AppCompatActivity {
 
         @Override
         public int getItemCount() {
-            return accounts.size();
+            return differ.getList().size();
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return differ.getList().get(position).getId();
         }
 
         public List<AdminAccount> getAccounts() {
-            return accounts;
+            return differ.getList();
         }
 
         public void setAccounts(List<AdminAccount> accounts) {
-            this.accounts = accounts;
+            differ.submit(accounts);
         }
 
         @SuppressWarnings("WeakerAccess")
@@ -6,6 +6,7 @@
 package com.boces.black_stanton_boces.activity.login;
 
 import android.content.Intent;
+import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
@@ -15,6 +16,7 @@ import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
 import com.boces.black_stanton_boces.activity.LoginTypeActivity;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Task;
@@ -68,42 +70,63 @@ public class StudentCurrentTaskViewActivity extends AppCompatActivity {
         // Painfully Validate That We Got Something
         if (extras == null)
             throw new IllegalArgumentException("No Data Passed");
-        int taskId = extras.getInt(BUNDLE_KEY.TASK_ID.name());
+        final int taskId = extras.getInt(BUNDLE_KEY.TASK_ID.name());
         if (taskId == 0)
             throw new IllegalArgumentException("Task ID Not Passed");
-        int studentId = extras.getInt(BUNDLE_KEY.STUDENT_ID.name());
+        final int studentId = extras.getInt(BUNDLE_KEY.STUDENT_ID.name());
         if (studentId == 0)
             throw new IllegalArgumentException("Student ID Not Passed");
         punchId = extras.getInt(BUNDLE_KEY.PUNCH_ID.name());
         if (punchId == 0)
             throw new IllegalArgumentException("Punch ID Not Passed");
 
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-
-        Task task = persistence.getTask(taskId);
-        if (task == null)
-            throw new IllegalStateException("Task With ID " + taskId + " Not Found");
-
-        Student student = persistence.getStudent(studentId);
-        if (student == null)
-            throw new IllegalStateException("Student With ID " + studentId + " Not Found");
+        lblTaskTime = (TextView) findViewById(R.id.timeCurrent);
 
-        final TaskPunch taskPunch = persistence.getTaskPunch(punchId);
-        if (taskPunch == null)
-            throw new IllegalStateException("Punch With ID "+ punchId + " Not Found");
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<CurrentPunch>() {
+            @Override
+            public CurrentPunch run(PersistenceInteractor persistence) {
+                CurrentPunch current = new CurrentPunch();
+                current.task = persistence.getTask(taskId);
+                current.student = persistence.getStudent(studentId);
+                current.punch = persistence.getTaskPunch(punchId);
+
+                // Decode Here, Off The UI Thread
+                if (current.task != null)
+                    current.image = current.task.getImage();
+                return current;
+            }
+        }, new AsyncPersistence.Callback<CurrentPunch>() {
+            @Override
+            public void onResult(CurrentPunch current) {
+                if (current.task == null)
+                    throw new IllegalStateException("Task With ID " + taskId + " Not Found");
+                if (current.student == null)
+                    throw new IllegalStateException("Student With ID " + studentId + " Not Found");
+                if (current.punch == null)
+                    throw new IllegalStateException("Punch With ID "+ punchId + " Not Found");
+                bind(current);
+            }
+        });
+    }
 
+    /**
+     * Shows The Loaded Punch & Starts The Task Time
+     * @param current
+     * Student, Task & Punch Loaded Together
+     */
+    private void bind(CurrentPunch current) {
         TextView lblCurrentTaskStudentName = (TextView) findViewById(R.id.lblCurrentTaskStudentName);
-        String studentName = student.getFirstName() + " " + student.getLastName();
+        String studentName = current.student.getFirstName() + " " + current.student.getLastName();
         lblCurrentTaskStudentName.setText(studentName);
 
         TextView lblCurrentTaskTaskName = (TextView) findViewById(R.id.lblCurrentTaskTaskName);
-        lblCurrentTaskTaskName.setText(task.getName());
-        lblTaskTime = (TextView) findViewById(R.id.timeCurrent);
+        lblCurrentTaskTaskName.setText(current.task.getName());
         ImageView imageCurrentTask = (ImageView) findViewById(R.id.imageCurrentTask);
-        if (task.getImage() != null) {
-            imageCurrentTask.setImageBitmap(task.getImage());
+        if (current.image != null) {
+            imageCurrentTask.setImageBitmap(current.image);
         }
 
+        final TaskPunch taskPunch = current.punch;
         timer = new Timer();
         TimerTask timerTask = new TimerTask() {
             long seconds = new Date().getTime() / 1000L - taskPunch.getTimeStart().getTime() / 1000L;
@@ -164,17 +187,50 @@ public class StudentCurrentTaskViewActivity extends AppCompatActivity {
      * @param view
      * Current View
      */
-    public void onTaskComplete(View view) {
-        timer.cancel();
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        TaskPunch taskPunch = persistence.getTaskPunch(punchId);
-        if (taskPunch != null) {
-            taskPunch.setTimeEnd(new Date());
-            persistence.update(taskPunch);
-
-            startActivity(new Intent(this, LoginTypeActivity.class).setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP));
-        } else {
-            Toast.makeText(this, "Task Not Found", Toast.LENGTH_LONG).show();
-        }
+    public void onTaskComplete(final View view) {
+        // Not Started If The Punch Is Still Loading
+        if (timer != null)
+            timer.cancel();
+        final Date end = new Date();
+
+        // Only Punch Out Once Per Tap
+        view.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                TaskPunch taskPunch = persistence.getTaskPunch(punchId);
+                if (taskPunch == null)
+                    return false;
+                taskPunch.setTimeEnd(end);
+                persistence.update(taskPunch);
+                return true;
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean found) {
+                view.setEnabled(true);
+                if (found) {
+                    startActivity(new Intent(getApplicationContext(), LoginTypeActivity.class).setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP));
+                } else {
+                    Toast.makeText(getApplicationContext(), "Task Not Found", Toast.LENGTH_LONG).show();
+                }
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                view.setEnabled(true);
+                super.onError(e);
+            }
+        });
+    }
+
+    /**
+     * The Open Punch Along With Its Student & Task, Loaded Together Off The UI Thread
+     */
+    private static class CurrentPunch {
+        Task task;
+        Student student;
+        TaskPunch punch;
+        Bitmap image;
     }
 }
@@ -13,12 +13,16 @@ import android.support.v7.widget.RecyclerView;
 import android.widget.SearchView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.TaskPunch;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
 import com.boces.black_stanton_boces.student.StudentAdapter;
 import com.boces.black_stanton_boces.student.StudentAdapterOnclick;
 
+import java.util.ArrayList;
+
 /**
  * Allows Student to Choose Themselves
  */
@@ -28,7 +32,7 @@ public class StudentLoginSelectStudentActivity extends AppCompatActivity {
      * Id Of The Teacher Students Belong To
      */
     private int teacherId;
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private RecyclerView studentList;
 
     /**
@@ -58,32 +62,48 @@ public class StudentLoginSelectStudentActivity extends AppCompatActivity {
         if (teacherId == 0)
             throw new IllegalArgumentException("Teacher ID Not Passed To Edit");
 
-        persistence = new PersistenceInteractor(this);
-
-        Teacher teacher = persistence.getTeacher(teacherId);
-        if (teacher == null)
-            throw new IllegalArgumentException("Teacher With ID " + teacherId + " Not Found");
+        asyncPersistence = AsyncPersistence.getInstance(this);
 
+        asyncPersistence.read(new AsyncPersistence.Query<Teacher>() {
+            @Override
+            public Teacher run(PersistenceInteractor persistence) {
+                return persistence.getTeacher(teacherId);
+            }
+        }, new AsyncPersistence.Callback<Teacher>() {
+            @Override
+            public void onResult(Teacher teacher) {
+                if (teacher == null)
+                    throw new IllegalArgumentException("Teacher With ID " + teacherId + " Not Found");
+            }
+        });
 
         StudentAdapterOnclick onclick = new StudentAdapterOnclick() {
             @Override
-            public void onClick(int studentId) {
-                TaskPunch openPunch = persistence.getOpenPunch(studentId);
-                if (openPunch != null) {
-                    Intent currentTask = new Intent(getApplicationContext(), StudentCurrentTaskViewActivity.class);
-                    currentTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.TASK_ID.name(), openPunch.getTaskId());
-                    currentTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.STUDENT_ID.name(), studentId);
-                    currentTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.PUNCH_ID.name(), openPunch.getId());
-                    startActivity(currentTask);
-                } else {
-                    Intent selectTask = new Intent(getApplicationContext(), StudentLoginSelectTaskActivity.class);
-                    selectTask.putExtra(StudentLoginSelectTaskActivity.BUNDLE_KEY.STUDENT_ID.name(), studentId);
-                    startActivity(selectTask);
-                }
-
+            public void onClick(final int studentId) {
+                asyncPersistence.read(new AsyncPersistence.Query<TaskPunch>() {
+                    @Override
+                    public TaskPunch run(PersistenceInteractor persistence) {
+                        return persistence.getOpenPunch(studentId);
+                    }
+                }, new AsyncPersistence.Callback<TaskPunch>() {
+                    @Override
+                    public void onResult(TaskPunch openPunch) {
+                        if (openPunch != null) {
+                            Intent currentTask = new Intent(getApplicationContext(), StudentCurrentTaskViewActivity.class);
+                            currentTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.TASK_ID.name(), openPunch.getTaskId());
+                            currentTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.STUDENT_ID.name(), studentId);
+                            currentTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.PUNCH_ID.name(), openPunch.getId());
+                            startActivity(currentTask);
+                        } else {
+                            Intent selectTask = new Intent(getApplicationContext(), StudentLoginSelectTaskActivity.class);
+                            selectTask.putExtra(StudentLoginSelectTaskActivity.BUNDLE_KEY.STUDENT_ID.name(), studentId);
+                            startActivity(selectTask);
+                        }
+                    }
+                });
             }
         };
-        final StudentAdapter adapter = new StudentAdapter(persistence.getStudentsForTeacher(teacherId), persistence, onclick);
+        final StudentAdapter adapter = new StudentAdapter(new ArrayList<Student>(), onclick);
 
         studentList = findViewById(R.id.recyclerSelectStudent);
         studentList.setAdapter(adapter);
@@ -110,7 +130,16 @@ public class StudentLoginSelectStudentActivity extends AppCompatActivity {
     @Override
     public void onResume() {
         super.onResume();
-        ((StudentAdapter) studentList.getAdapter()).setStudents(persistence.getStudentsForTeacher(teacherId));
-        studentList.getAdapter().notifyDataSetChanged();
+        asyncPersistence.read(new AsyncPersistence.Query<StudentAdapter.Rows>() {
+            @Override
+            public StudentAdapter.Rows run(PersistenceInteractor persistence) {
+                return new StudentAdapter.Rows(persistence.getStudentsForTeacher(teacherId), persistence.getTeacherNames());
+            }
+        }, new AsyncPersistence.Callback<StudentAdapter.Rows>() {
+            @Override
+            public void onResult(StudentAdapter.Rows rows) {
+                ((StudentAdapter) studentList.getAdapter()).setRows(rows);
+            }
+        });
     }
 }
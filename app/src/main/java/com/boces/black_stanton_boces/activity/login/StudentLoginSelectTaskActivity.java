@@ -13,10 +13,16 @@ import android.support.v7.widget.RecyclerView;
 import android.widget.SearchView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
+import com.boces.black_stanton_boces.persistence.model.Task;
 import com.boces.black_stanton_boces.task.TaskAdapter;
 import com.boces.black_stanton_boces.task.TaskAdapterOnclick;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Allows Student to Choose A Task
  */
@@ -26,7 +32,7 @@ public class StudentLoginSelectTaskActivity extends AppCompatActivity {
      * Id of The Student Starting The Task
      */
     private int studentId;
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private RecyclerView taskList;
 
     /**
@@ -54,12 +60,21 @@ public class StudentLoginSelectTaskActivity extends AppCompatActivity {
             throw new IllegalStateException("No Data Passed To Edit");
         studentId = extras.getInt(BUNDLE_KEY.STUDENT_ID.name());
 
-        persistence = new PersistenceInteractor(this);
-        Student currentStudent = persistence.getStudent(studentId);
-        if (currentStudent == null)
-            throw new IllegalStateException("Student With ID " + studentId + " Not Found");
+        asyncPersistence = AsyncPersistence.getInstance(this);
+        asyncPersistence.read(new AsyncPersistence.Query<Student>() {
+            @Override
+            public Student run(PersistenceInteractor persistence) {
+                return persistence.getStudent(studentId);
+            }
+        }, new AsyncPersistence.Callback<Student>() {
+            @Override
+            public void onResult(Student currentStudent) {
+                if (currentStudent == null)
+                    throw new IllegalStateException("Student With ID " + studentId + " Not Found");
+            }
+        });
 
-        final TaskAdapter adapter = new TaskAdapter(persistence.getAllTasks(), new TaskAdapterOnclick() {
+        final TaskAdapter adapter = new TaskAdapter(new ArrayList<Task>(), new TaskAdapterOnclick() {
             @Override
             public void onClick(int taskId) {
                 Intent startTask = new Intent(getApplicationContext(), StudentTaskStart.class);
@@ -94,7 +109,16 @@ public class StudentLoginSelectTaskActivity extends AppCompatActivity {
     @Override
     public void onResume() {
         super.onResume();
-        ((TaskAdapter) taskList.getAdapter()).setTasks(persistence.getAllTasks());
-        taskList.getAdapter().notifyDataSetChanged();
+        asyncPersistence.read(new AsyncPersistence.Query<List<Task>>() {
+            @Override
+            public List<Task> run(PersistenceInteractor persistence) {
+                return persistence.getAllTasks();
+            }
+        }, new AsyncPersistence.Callback<List<Task>>() {
+            @Override
+            public void onResult(List<Task> tasks) {
+                ((TaskAdapter) taskList.getAdapter()).setTasks(tasks);
+            }
+        });
     }
 }
@@ -13,10 +13,15 @@ import android.support.v7.widget.RecyclerView;
 import android.widget.SearchView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.Teacher;
 import com.boces.black_stanton_boces.teacher.TeacherAdapter;
 import com.boces.black_stanton_boces.teacher.TeacherAdapterOnclick;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Allows Student to Choose a Teacher
  */
@@ -24,7 +29,7 @@ import com.boces.black_stanton_boces.teacher.TeacherAdapterOnclick;
 public class StudentLoginSelectTeacherActivity extends AppCompatActivity {
 
     private RecyclerView teacherList;
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
 
     /**
      * Brings in Extras, Validates
@@ -38,8 +43,8 @@ public class StudentLoginSelectTeacherActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_student_login_select_teacher);
 
-        persistence = new PersistenceInteractor(this);
-        final TeacherAdapter adapter = new TeacherAdapter(persistence.getAllTeachers(), new TeacherAdapterOnclick() {
+        asyncPersistence = AsyncPersistence.getInstance(this);
+        final TeacherAdapter adapter = new TeacherAdapter(new ArrayList<Teacher>(), new TeacherAdapterOnclick() {
             @Override
             public void onClick(int teacherId) {
                 Intent selectStudent = new Intent(getApplicationContext(), StudentLoginSelectStudentActivity.class);
@@ -74,7 +79,16 @@ public class StudentLoginSelectTeacherActivity extends AppCompatActivity {
     @Override
     public void onResume() {
         super.onResume();
-        ((TeacherAdapter) teacherList.getAdapter()).setTeachers(persistence.getAllTeachers());
-        teacherList.getAdapter().notifyDataSetChanged();
+        asyncPersistence.read(new AsyncPersistence.Query<List<Teacher>>() {
+            @Override
+            public List<Teacher> run(PersistenceInteractor persistence) {
+                return persistence.getAllTeachers();
+            }
+        }, new AsyncPersistence.Callback<List<Teacher>>() {
+            @Override
+            public void onResult(List<Teacher> teachers) {
+                ((TeacherAdapter) teacherList.getAdapter()).setTeachers(teachers);
+            }
+        });
     }
 }
@@ -6,6 +6,7 @@
 package com.boces.black_stanton_boces.activity.login;
 
 import android.content.Intent;
+import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
@@ -13,6 +14,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Task;
@@ -30,7 +32,6 @@ public class StudentTaskStart extends AppCompatActivity {
      */
     private int taskId;
     private int studentId;
-    private PersistenceInteractor persistence;
 
     /**
      * Recognised Values That May Be Passed Through Bundles
@@ -53,7 +54,6 @@ public class StudentTaskStart extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_student_task_start);
 
-        persistence = new PersistenceInteractor(this);
         Bundle extras = getIntent().getExtras();
 
         // Painfully Validate That We Got Something
@@ -66,26 +66,40 @@ public class StudentTaskStart extends AppCompatActivity {
         if (studentId == 0)
             throw new IllegalArgumentException("Student ID Not Passed");
 
-        Task task = persistence.getTask(taskId);
-        if (task == null)
-            throw new IllegalStateException("Task With ID " + taskId + " Not Found");
-
-        Student student = persistence.getStudent(studentId);
-        if (student == null)
-            throw new IllegalStateException("Student With ID " + studentId + " Not Found");
-
         // Get Elements
-        TextView lblStudentName = findViewById(R.id.lblStudentName);
-        TextView lblTaskName = findViewById(R.id.lblTaskName);
-        ImageView imgCurrentTask = findViewById(R.id.imgCurrentTask);
-
-        String studentName = student.getFirstName() + " " + student.getLastName();
-        lblStudentName.setText(studentName);
-
-        lblTaskName.setText(task.getName());
-
-        if (task.getImage() != null)
-            imgCurrentTask.setImageBitmap(task.getImage());
+        final TextView lblStudentName = findViewById(R.id.lblStudentName);
+        final TextView lblTaskName = findViewById(R.id.lblTaskName);
+        final ImageView imgCurrentTask = findViewById(R.id.imgCurrentTask);
+
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<PunchPreview>() {
+            @Override
+            public PunchPreview run(PersistenceInteractor persistence) {
+                PunchPreview preview = new PunchPreview();
+                preview.task = persistence.getTask(taskId);
+                preview.student = persistence.getStudent(studentId);
+
+                // Decode Here, Off The UI Thread
+                if (preview.task != null)
+                    preview.image = preview.task.getImage();
+                return preview;
+            }
+        }, new AsyncPersistence.Callback<PunchPreview>() {
+            @Override
+            public void onResult(PunchPreview preview) {
+                if (preview.task == null)
+                    throw new IllegalStateException("Task With ID " + taskId + " Not Found");
+                if (preview.student == null)
+                    throw new IllegalStateException("Student With ID " + studentId + " Not Found");
+
+                String studentName = preview.student.getFirstName() + " " + preview.student.getLastName();
+                lblStudentName.setText(studentName);
+
+                lblTaskName.setText(preview.task.getName());
+
+                if (preview.image != null)
+                    imgCurrentTask.setImageBitmap(preview.image);
+            }
+        });
     }
 
     /**
@@ -99,17 +113,38 @@ public class StudentTaskStart extends AppCompatActivity {
         startActivity(new Intent(this, StudentLoginSelectTeacherActivity.class).setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP));
     }
 
-    public void onReady(View v) {
-        TaskPunch taskPunch = new TaskPunch();
+    public void onReady(final View v) {
+        final TaskPunch taskPunch = new TaskPunch();
         taskPunch.setStudentId(studentId);
         taskPunch.setTaskId(taskId);
         taskPunch.setTimeStart(new Date());
-        int punchId = persistence.addTaskPunch(taskPunch);
 
-        Intent startTask = new Intent(getApplicationContext(), StudentCurrentTaskViewActivity.class);
-        startTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.TASK_ID.name(), taskId);
-        startTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.STUDENT_ID.name(), studentId);
-        startTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.PUNCH_ID.name(), punchId);
-        startActivity(startTask);
+        // Only Punch In Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Integer>() {
+            @Override
+            public Integer run(PersistenceInteractor persistence) {
+                return persistence.addTaskPunch(taskPunch);
+            }
+        }, new AsyncPersistence.Callback<Integer>() {
+            @Override
+            public void onResult(Integer punchId) {
+                v.setEnabled(true);
+                Intent startTask = new Intent(getApplicationContext(), StudentCurrentTaskViewActivity.class);
+                startTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.TASK_ID.name(), taskId);
+                startTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.STUDENT_ID.name(), studentId);
+                startTask.putExtra(StudentCurrentTaskViewActivity.BUNDLE_KEY.PUNCH_ID.name(), (int) punchId);
+                startActivity(startTask);
+            }
+        });
+    }
+
+    /**
+     * The Student & Task About To Be Punched, Loaded Together Off The UI Thread
+     */
+    private static class PunchPreview {
+        Task task;
+        Student student;
+        Bitmap image;
     }
 }
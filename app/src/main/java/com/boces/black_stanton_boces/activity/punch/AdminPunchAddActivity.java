@@ -17,6 +17,7 @@ import android.widget.Spinner;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Task;
@@ -30,6 +31,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
@@ -39,7 +41,6 @@ import java.util.concurrent.TimeUnit;
 public class AdminPunchAddActivity extends AppCompatActivity {
 
     private int studentId;
-    private PersistenceInteractor persistence;
 
     private Spinner spinnerStudent;
     private StudentSpinnerInteractor studentSpinnerInteractor;
@@ -79,7 +80,6 @@ public class AdminPunchAddActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_punch_add);
         Bundle extras = getIntent().getExtras();
-        persistence = new PersistenceInteractor(this);
 
         // Painfully Validate That We Got Something
         if (extras == null)
@@ -87,16 +87,30 @@ public class AdminPunchAddActivity extends AppCompatActivity {
         studentId = extras.getInt(BUNDLE_KEY.STUDENT_ID.name());
         if (studentId == 0)
             throw new IllegalStateException("Student ID Not Passed");
-        Student student = persistence.getStudent(studentId);
-        if (student == null)
-            throw new IllegalStateException("Student With ID: " + studentId+ " Not Found");
 
         spinnerStudent = findViewById(R.id.spinnerStudent);
-        studentSpinnerInteractor = new StudentSpinnerInteractor(spinnerStudent, this, persistence.getAllStudents());
-        studentSpinnerInteractor.setSelectedItem(studentId);
-
         spinnerTask = findViewById(R.id.spinnerTask);
-        taskSpinnerInteractor = new TaskSpinnerInteractor(spinnerTask, this, persistence.getAllTasks());
+
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<PunchChoices>() {
+            @Override
+            public PunchChoices run(PersistenceInteractor persistence) {
+                PunchChoices choices = new PunchChoices();
+                choices.student = persistence.getStudent(studentId);
+                choices.students = persistence.getAllStudents();
+                choices.tasks = persistence.getAllTasks();
+                return choices;
+            }
+        }, new AsyncPersistence.Callback<PunchChoices>() {
+            @Override
+            public void onResult(PunchChoices choices) {
+                if (choices.student == null)
+                    throw new IllegalStateException("Student With ID: " + studentId+ " Not Found");
+
+                studentSpinnerInteractor = new StudentSpinnerInteractor(spinnerStudent, AdminPunchAddActivity.this, choices.students);
+                studentSpinnerInteractor.setSelectedItem(studentId);
+                taskSpinnerInteractor = new TaskSpinnerInteractor(spinnerTask, AdminPunchAddActivity.this, choices.tasks);
+            }
+        });
 
         txtDate = findViewById(R.id.txtDate);
         txtStart = findViewById(R.id.txtStart);
@@ -175,8 +189,11 @@ public class AdminPunchAddActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onSave(View v) {
-        TaskPunch punch = new TaskPunch();
+    public void onSave(final View v) {
+        // Still Loading
+        if (studentSpinnerInteractor == null)
+            return;
+        final TaskPunch punch = new TaskPunch();
         boolean hasError = false;
 
         if (txtDate.getText().toString().trim().isEmpty()) {
@@ -266,8 +283,26 @@ public class AdminPunchAddActivity extends AppCompatActivity {
         if (hasError)
             return;
 
-        persistence.addTaskPunch(punch);
-        finish();
+        // Save Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.addTaskPunch(punch);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -314,4 +349,13 @@ public class AdminPunchAddActivity extends AppCompatActivity {
         public Date startDate = new Date();
         public Date endDate = new Date();
     }
+
+    /**
+     * The Student & Everything The Spinners Offer, Loaded Together Off The UI Thread
+     */
+    private static class PunchChoices {
+        Student student;
+        List<Student> students;
+        List<Task> tasks;
+    }
 }
@@ -18,6 +18,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Task;
@@ -31,6 +32,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
@@ -40,7 +42,11 @@ import java.util.concurrent.TimeUnit;
 public class AdminPunchEditActivity extends AppCompatActivity {
 
     private int punchId;
-    private PersistenceInteractor persistence;
+
+    /**
+     * Punch Being Edited, null Until Loaded
+     */
+    private TaskPunch punch;
 
     private Spinner spinnerStudent;
     private StudentSpinnerInteractor studentSpinnerInteractor;
@@ -76,7 +82,6 @@ public class AdminPunchEditActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_punch_edit);
         Bundle extras = getIntent().getExtras();
-        persistence = new PersistenceInteractor(this);
 
         // Painfully Validate That We Got Something
         if (extras == null)
@@ -84,23 +89,47 @@ public class AdminPunchEditActivity extends AppCompatActivity {
         punchId = extras.getInt(BUNDLE_KEY.PUNCH_ID.name());
         if (punchId == 0)
             throw new IllegalStateException("Punch ID Not Passed");
-        final TaskPunch punch = persistence.getTaskPunch(punchId);
-        if (punch == null)
-            throw new IllegalStateException("Punch Not Found");
 
         spinnerStudent = findViewById(R.id.spinnerStudent);
-        studentSpinnerInteractor = new StudentSpinnerInteractor(spinnerStudent, this, persistence.getAllStudents());
-        studentSpinnerInteractor.setSelectedItem(punch.getStudentId());
-
         spinnerTask = findViewById(R.id.spinnerTask);
-        taskSpinnerInteractor = new TaskSpinnerInteractor(spinnerTask, this, persistence.getAllTasks());
-        taskSpinnerInteractor.setSelectedItem(punch.getTaskId());
-
         txtDate = findViewById(R.id.txtDate);
         txtStart = findViewById(R.id.txtStart);
         txtEnd = findViewById(R.id.txtEnd);
         lblDurationValue = findViewById(R.id.lblDurationValue);
 
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<PunchForm>() {
+            @Override
+            public PunchForm run(PersistenceInteractor persistence) {
+                PunchForm form = new PunchForm();
+                form.punch = persistence.getTaskPunch(punchId);
+                form.students = persistence.getAllStudents();
+                form.tasks = persistence.getAllTasks();
+                return form;
+            }
+        }, new AsyncPersistence.Callback<PunchForm>() {
+            @Override
+            public void onResult(PunchForm form) {
+                if (form.punch == null)
+                    throw new IllegalStateException("Punch Not Found");
+                bind(form);
+            }
+        });
+    }
+
+    /**
+     * Fills The Fields With The Loaded Punch
+     * @param form
+     * Punch & Spinner Choices Loaded Together
+     */
+    private void bind(PunchForm form) {
+        punch = form.punch;
+
+        studentSpinnerInteractor = new StudentSpinnerInteractor(spinnerStudent, this, form.students);
+        studentSpinnerInteractor.setSelectedItem(punch.getStudentId());
+
+        taskSpinnerInteractor = new TaskSpinnerInteractor(spinnerTask, this, form.tasks);
+        taskSpinnerInteractor.setSelectedItem(punch.getTaskId());
+
         final Context context = this;
 
         txtDate.setOnClickListener(new View.OnClickListener() {
@@ -176,12 +205,10 @@ public class AdminPunchEditActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onSave(View v) {
-        TaskPunch punch = persistence.getTaskPunch(punchId);
-        if (punch == null) {
-            Toast.makeText(this, "Error: Task Punch Not Found", Toast.LENGTH_LONG).show();
+    public void onSave(final View v) {
+        // Still Loading
+        if (punch == null)
             return;
-        }
 
         boolean hasError = false;
 
@@ -272,8 +299,35 @@ public class AdminPunchEditActivity extends AppCompatActivity {
         if (hasError)
             return;
 
-        persistence.update(punch);
-        finish();
+        // Save Once Per Tap
+        v.setEnabled(false);
+        final TaskPunch edited = punch;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                // Re-retrieve In Case The Punch Was Deleted Since Loading
+                if (persistence.getTaskPunch(punchId) == null)
+                    return false;
+                persistence.update(edited);
+                return true;
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean updated) {
+                if (!updated) {
+                    v.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Error: Task Punch Not Found", Toast.LENGTH_LONG).show();
+                    return;
+                }
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -283,9 +337,27 @@ public class AdminPunchEditActivity extends AppCompatActivity {
      * Current View
      * Unused, May Be null
      */
-    public void onDelete(View v) {
-        persistence.deleteTaskPunch(punchId);
-        finish();
+    public void onDelete(final View v) {
+        // Delete Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.deleteTaskPunch(punchId);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -322,4 +394,13 @@ public class AdminPunchEditActivity extends AppCompatActivity {
         cal.set(Calendar.MILLISECOND, 0);
         return cal.getTime();
     }
+
+    /**
+     * A Punch & Everything The Spinners Offer, Loaded Together Off The UI Thread
+     */
+    private static class PunchForm {
+        TaskPunch punch;
+        List<Student> students;
+        List<Task> tasks;
+    }
 }
@@ -13,17 +13,21 @@ import android.support.v7.widget.RecyclerView;
 import android.widget.SearchView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.student.StudentAdapter;
 import com.boces.black_stanton_boces.student.StudentAdapterOnclick;
 
+import java.util.ArrayList;
+
 
 /**
  * Selects a Student To Manage the Punches of
  */
 public class AdminPunchSelectStudentActivity extends AppCompatActivity {
 
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private RecyclerView studentList;
     private SearchView studentSearch;
 
@@ -37,7 +41,7 @@ public class AdminPunchSelectStudentActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_punch_select_student);
 
-        persistence = new PersistenceInteractor(this);
+        asyncPersistence = AsyncPersistence.getInstance(this);
         StudentAdapterOnclick onclick = new StudentAdapterOnclick() {
             @Override
             public void onClick(int studentId) {
@@ -48,7 +52,8 @@ public class AdminPunchSelectStudentActivity extends AppCompatActivity {
         };
 
         studentList = findViewById(R.id.recyclerSelectStudent);
-        final StudentAdapter adapter = new StudentAdapter(persistence.getAllStudents(), persistence, onclick);
+        final StudentAdapter adapter = new StudentAdapter(new ArrayList<Student>(), onclick);
+
         studentList.setAdapter(adapter);
         studentList.setLayoutManager(new LinearLayoutManager(this));
 
@@ -74,13 +79,18 @@ public class AdminPunchSelectStudentActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        StudentAdapter adapter = (StudentAdapter) studentList.getAdapter();
-        adapter.setStudents(persistence.getAllStudents());
-        adapter.notifyDataSetChanged();
-
-        // If We Have A Query Resubmit It
-        if (studentSearch.getQuery().length() > 0)
-            studentSearch.setQuery(studentSearch.getQuery(), true);
+        asyncPersistence.read(new AsyncPersistence.Query<StudentAdapter.Rows>() {
+            @Override
+            public StudentAdapter.Rows run(PersistenceInteractor persistence) {
+                return new StudentAdapter.Rows(persistence.getAllStudents(), persistence.getTeacherNames());
+            }
+        }, new AsyncPersistence.Callback<StudentAdapter.Rows>() {
+            @Override
+            public void onResult(StudentAdapter.Rows rows) {
+                StudentAdapter adapter = (StudentAdapter) studentList.getAdapter();
+                adapter.setRows(rows);
+            }
+        });
 
     }
 }
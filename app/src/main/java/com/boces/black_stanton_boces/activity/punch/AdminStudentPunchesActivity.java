@@ -5,7 +5,6 @@
  */
 package com.boces.black_stanton_boces.activity.punch;
 
-import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
@@ -14,22 +13,23 @@ import android.support.v7.widget.RecyclerView;
 import android.view.View;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
-import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.persistence.model.TaskPunch;
 import com.boces.black_stanton_boces.taskpunch.PunchAdapter;
 import com.boces.black_stanton_boces.taskpunch.PunchAdapterOnclick;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Shows Existing Punches and Allows User Choose to Edit or Create and New One
  */
 public class AdminStudentPunchesActivity extends AppCompatActivity {
 
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private int studentId;
     private RecyclerView punchesList;
 
@@ -50,7 +50,7 @@ public class AdminStudentPunchesActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_student_punches);
         Bundle extras = getIntent().getExtras();
-        persistence = new PersistenceInteractor(this);
+        asyncPersistence = AsyncPersistence.getInstance(this);
 
         // Painfully Validate That We Got Something
         if (extras == null)
@@ -58,9 +58,6 @@ public class AdminStudentPunchesActivity extends AppCompatActivity {
         studentId = extras.getInt(BUNDLE_KEY.STUDENT_ID.name());
         if (studentId == 0)
             throw new IllegalStateException("Student ID Not Passed");
-        Student student = persistence.getStudent(studentId);
-        if (student == null)
-            throw new IllegalStateException("Student Not Found");
 
 
         PunchAdapterOnclick onclick = new PunchAdapterOnclick() {
@@ -71,9 +68,33 @@ public class AdminStudentPunchesActivity extends AppCompatActivity {
                 startActivity(editPunch);
             }
         };
-        PunchAdapter adapter = new PunchAdapter(persistence.getTaskPunchesForStudent(studentId),
-                Collections.singletonMap(studentId, student),
-                getTaskCache() ,onclick);
+        // Names Are Filled In By onResume's Read
+        PunchAdapter adapter = new PunchAdapter(Collections.<Integer, Student>emptyMap(),
+                Collections.<Integer, String>emptyMap(), onclick);
+
+        // Punches Arrive A Page At A Time, However Long The Student's History
+        adapter.setPageLoader(new PunchAdapter.PageLoader() {
+            @Override
+            public void load(final PunchAdapter.PageRequest request) {
+                asyncPersistence.read(new AsyncPersistence.Query<List<TaskPunch>>() {
+                    @Override
+                    public List<TaskPunch> run(PersistenceInteractor persistence) {
+                        return persistence.getTaskPunchesForStudent(studentId, request.getAfter(), request.getLimit());
+                    }
+                }, new AsyncPersistence.Callback<List<TaskPunch>>() {
+                    @Override
+                    public void onResult(List<TaskPunch> punches) {
+                        request.deliver(punches);
+                    }
+
+                    @Override
+                    public void onError(RuntimeException e) {
+                        super.onError(e);
+                        request.fail();
+                    }
+                });
+            }
+        });
 
         punchesList = findViewById(R.id.punchList);
         punchesList.setAdapter(adapter);
@@ -82,15 +103,29 @@ public class AdminStudentPunchesActivity extends AppCompatActivity {
 
     /**
      * Re-retrieves Information In Case of Updates
+     * Only Names Are Loaded Here, Punches Are Reloaded Through The Adapter's Pages
      */
     @Override
     protected void onResume() {
         super.onResume();
-        PunchAdapter adapter = (PunchAdapter) punchesList.getAdapter();
-        adapter.setPunches(persistence.getTaskPunchesForStudent(studentId));
-        adapter.setStudents(Collections.singletonMap(studentId, persistence.getStudent(studentId)));
-        adapter.setTasks(getTaskCache());
-        adapter.notifyDataSetChanged();
+        asyncPersistence.read(new AsyncPersistence.Query<PunchNames>() {
+            @Override
+            public PunchNames run(PersistenceInteractor persistence) {
+                PunchNames names = new PunchNames();
+                names.student = persistence.getStudent(studentId);
+                names.tasks = persistence.getTaskNames();
+                return names;
+            }
+        }, new AsyncPersistence.Callback<PunchNames>() {
+            @Override
+            public void onResult(PunchNames names) {
+                if (names.student == null)
+                    throw new IllegalStateException("Student Not Found");
+                PunchAdapter adapter = (PunchAdapter) punchesList.getAdapter();
+                adapter.setNames(Collections.singletonMap(studentId, names.student), names.tasks);
+                adapter.refresh();
+            }
+        });
     }
 
     /**
@@ -105,17 +140,10 @@ public class AdminStudentPunchesActivity extends AppCompatActivity {
     }
 
     /**
-     * Makes Adapter Aware of Tasks
-     * @return
-     * Tasks
+     * Names Shown Alongside Punches, Loaded Together Off The UI Thread
      */
-    private HashMap<Integer, Task> getTaskCache() {
-        @SuppressLint("UseSparseArrays")
-        HashMap<Integer, Task> tasks = new HashMap<>();
-        ArrayList<Task> dbTasks = persistence.getAllTasks();
-        for (Task task : dbTasks) {
-            tasks.put(task.getId(), task);
-        }
-        return tasks;
+    private static class PunchNames {
+        Student student;
+        HashMap<Integer, String> tasks;
     }
 }
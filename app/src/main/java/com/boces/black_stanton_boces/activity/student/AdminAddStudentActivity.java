@@ -11,7 +11,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -21,28 +20,36 @@ import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AlertDialog;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.Spinner;
+import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
 import com.boces.black_stanton_boces.teacher.TeacherSpinnerInteractor;
+import com.boces.black_stanton_boces.util.ImageImporter;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Collects Account Information From User And Creates New Student
  */
 public class AdminAddStudentActivity extends AppCompatActivity {
 
-    private PersistenceInteractor persistence;
     private EditText firstName;
     private EditText lastName;
     private EditText age;
     private EditText year;
     private ImageView imageView;
-    private Bitmap image;
+    private ImageHandle image;
+    private Button save;
     private TeacherSpinnerInteractor teacherSpinnerInteractor;
 
     private static final int EXTERNAL_STORAGE_REQUEST = 0;
@@ -64,13 +71,22 @@ public class AdminAddStudentActivity extends AppCompatActivity {
         age = (EditText) findViewById(R.id.inputStudentAge);
         year = (EditText) findViewById(R.id.inputStudentYear);
         imageView = (ImageView) findViewById(R.id.imgAddStudent);
+        save = (Button) findViewById(R.id.btnSaveStudent);
 
-        // Get Access To The Database
-        persistence = new PersistenceInteractor(this);
-
-        // Get Spinner For Input/Setup
-        Spinner teacherSpinner = (Spinner) findViewById(R.id.spinnerTeacher);
-        teacherSpinnerInteractor = new TeacherSpinnerInteractor(teacherSpinner, persistence.getAllTeachers(), this);
+        // Get Spinner For Input/Setup, Empty Until The Teachers Load
+        final Spinner teacherSpinner = (Spinner) findViewById(R.id.spinnerTeacher);
+        teacherSpinnerInteractor = new TeacherSpinnerInteractor(teacherSpinner, new ArrayList<Teacher>(), this);
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<List<Teacher>>() {
+            @Override
+            public List<Teacher> run(PersistenceInteractor persistence) {
+                return persistence.getAllTeachers();
+            }
+        }, new AsyncPersistence.Callback<List<Teacher>>() {
+            @Override
+            public void onResult(List<Teacher> teachers) {
+                teacherSpinnerInteractor = new TeacherSpinnerInteractor(teacherSpinner, teachers, AdminAddStudentActivity.this);
+            }
+        });
     }
 
     /**
@@ -79,7 +95,7 @@ public class AdminAddStudentActivity extends AppCompatActivity {
      * Current View
      */
     public void onClickAdminStudentAddSave(View v) {
-        Student student = new Student();
+        final Student student = new Student();
         boolean hasError = false;
 
         if (firstName.getText().toString().isEmpty()) {
@@ -143,14 +159,31 @@ public class AdminAddStudentActivity extends AppCompatActivity {
             student.setTeacherId(spinnerTeacher.getId());
 
         if (image != null)
-            student.setImage(image);
+            student.setImageHandle(image);
 
         // Stop If We Have An Error
         if (hasError)
             return;
 
-        persistence.addStudent(student);
-        finish();//Ends activity
+        // Image Is Written On The Writer Thread. Save Once Per Tap
+        save.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Integer>() {
+            @Override
+            public Integer run(PersistenceInteractor persistence) {
+                return persistence.addStudent(student);
+            }
+        }, new AsyncPersistence.Callback<Integer>() {
+            @Override
+            public void onResult(Integer result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                save.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -195,11 +228,22 @@ public class AdminAddStudentActivity extends AppCompatActivity {
             if (path.isEmpty())
                 return;
 
-            image = BitmapFactory.decodeFile(path);
-            if (image == null)
-                return;
+            // Downsample, Orient And Encode Off The UI Thread. Saving Waits For It
+            save.setEnabled(false);
+            ImageImporter.load(path, new ImageImporter.Callback() {
+                @Override
+                public void onLoaded(Bitmap bitmap, byte[] encoded) {
+                    image = ImageHandle.of(bitmap, encoded);
+                    imageView.setImageBitmap(bitmap);
+                    save.setEnabled(true);
+                }
 
-            imageView.setImageBitmap(image);
+                @Override
+                public void onFailed() {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Could Not Load Image", Toast.LENGTH_LONG).show();
+                }
+            });
         }
     }
 
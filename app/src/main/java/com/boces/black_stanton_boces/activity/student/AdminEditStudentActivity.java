@@ -11,7 +11,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -21,16 +20,22 @@ import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AlertDialog;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.Spinner;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
 import com.boces.black_stanton_boces.teacher.TeacherSpinnerInteractor;
+import com.boces.black_stanton_boces.util.ImageImporter;
+
+import java.util.List;
 
 /**
  * Pulls Existing Information And Save Updated Information From User
@@ -44,7 +49,13 @@ public class AdminEditStudentActivity extends AppCompatActivity {
     private EditText year;
     private TeacherSpinnerInteractor teacherSpinnerInteractor;
     private ImageView imageView;
-    private Bitmap image;
+    private ImageHandle image;
+    private Button save;
+
+    /**
+     * Student Being Edited, null Until Loaded
+     */
+    private Student student;
 
     private static final int EXTERNAL_STORAGE_REQUEST = 0;
     private static final int RESULT_LOAD_IMAGE = 1;
@@ -76,34 +87,58 @@ public class AdminEditStudentActivity extends AppCompatActivity {
         if (studentId == 0)
             throw new IllegalStateException("Student ID Not Passed To Edit");
 
-
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        Student currentStudent = persistence.getStudent(studentId); //Re-retrieve information in case account is deleted
-
-        if (currentStudent == null)
-            throw new IllegalStateException("Student With ID " + studentId + " Not Found"); //ID doesn't match student
-
         // Get Input References
         firstName = (EditText) findViewById(R.id.inputStudentFirstName);
         lastName = (EditText) findViewById(R.id.inputStudentLastName);
         age = (EditText) findViewById(R.id.inputStudentAge);
         year = (EditText) findViewById(R.id.inputStudentYear);
         imageView = (ImageView) findViewById(R.id.imgEditStudent);
+        save = (Button) findViewById(R.id.btnSaveStudent);
+
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<StudentForm>() {
+            @Override
+            public StudentForm run(PersistenceInteractor persistence) {
+                StudentForm form = new StudentForm();
+                form.student = persistence.getStudent(studentId); //Re-retrieve information in case account is deleted
+                form.teachers = persistence.getAllTeachers();
+
+                // Decode Here, Off The UI Thread
+                if (form.student != null)
+                    form.image = form.student.getImage();
+                return form;
+            }
+        }, new AsyncPersistence.Callback<StudentForm>() {
+            @Override
+            public void onResult(StudentForm form) {
+                if (form.student == null)
+                    throw new IllegalStateException("Student With ID " + studentId + " Not Found"); //ID doesn't match student
+                bind(form);
+            }
+        });
+    }
 
-        if (currentStudent.getImage() != null)
-            imageView.setImageBitmap(currentStudent.getImage());
+    /**
+     * Fills The Fields With The Loaded Student
+     * @param form
+     * Student & Teachers Loaded Together
+     */
+    private void bind(StudentForm form) {
+        student = form.student;
+
+        // An Image Picked While Loading Wins
+        if (form.image != null && image == null)
+            imageView.setImageBitmap(form.image);
 
         // Get Spinner For Input/Setup
         Spinner teacherSpinner = (Spinner) findViewById(R.id.spinnerTeacher);
-        teacherSpinnerInteractor = new TeacherSpinnerInteractor(teacherSpinner, persistence.getAllTeachers(), this);
-        if (currentStudent.getTeacherId() != null)
-            teacherSpinnerInteractor.setSelectedItem(currentStudent.getTeacherId());
-
-        firstName.setText(currentStudent.getFirstName());
-        lastName.setText(currentStudent.getLastName());
-        age.setText(Integer.toString(currentStudent.getAge()));
-        year.setText(Integer.toString(currentStudent.getYear()));
-
+        teacherSpinnerInteractor = new TeacherSpinnerInteractor(teacherSpinner, form.teachers, this);
+        if (student.getTeacherId() != null)
+            teacherSpinnerInteractor.setSelectedItem(student.getTeacherId());
+
+        firstName.setText(student.getFirstName());
+        lastName.setText(student.getLastName());
+        age.setText(Integer.toString(student.getAge()));
+        year.setText(Integer.toString(student.getYear()));
     }
 
     /**
@@ -112,13 +147,9 @@ public class AdminEditStudentActivity extends AppCompatActivity {
      * Current View
      */
     public void onSave(View v) {
-        // Collect Existing Info
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        Student student = persistence.getStudent(studentId);
-        if (student == null) {
-            Toast.makeText(this, "Error Student With ID " + studentId + " Not Found", Toast.LENGTH_LONG).show();
+        // Still Loading
+        if (student == null)
             return;
-        }
         boolean hasError = false;
 
         if (firstName.getText().toString().isEmpty()) {
@@ -182,16 +213,41 @@ public class AdminEditStudentActivity extends AppCompatActivity {
             student.setTeacherId(spinnerTeacher.getId());
 
         if (image != null)
-            student.setImage(image);
+            student.setImageHandle(image);
 
         // Stop If We Have An Error
         if (hasError)
             return;
 
-        persistence.update(student);
+        // Image Is Written On The Writer Thread. Save Once Per Tap
+        save.setEnabled(false);
+        final Student edited = student;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                // Re-retrieve In Case The Student Was Deleted Since Loading
+                if (persistence.getStudent(studentId) == null)
+                    return false;
+                persistence.update(edited);
+                return true;
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean updated) {
+                if (!updated) {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Error Student With ID " + studentId + " Not Found", Toast.LENGTH_LONG).show();
+                    return;
+                }
+                finish();
+            }
 
-        // End The Current Activity
-        finish(); //Ends activity
+            @Override
+            public void onError(RuntimeException e) {
+                save.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     public void onSelectImage(View v) {
@@ -229,11 +285,22 @@ public class AdminEditStudentActivity extends AppCompatActivity {
             if (path.isEmpty())
                 return;
 
-            image = BitmapFactory.decodeFile(path);
-            if (image == null)
-                return;
+            // Downsample, Orient And Encode Off The UI Thread. Saving Waits For It
+            save.setEnabled(false);
+            ImageImporter.load(path, new ImageImporter.Callback() {
+                @Override
+                public void onLoaded(Bitmap bitmap, byte[] encoded) {
+                    image = ImageHandle.of(bitmap, encoded);
+                    imageView.setImageBitmap(bitmap);
+                    save.setEnabled(true);
+                }
 
-            imageView.setImageBitmap(image);
+                @Override
+                public void onFailed() {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Could Not Load Image", Toast.LENGTH_LONG).show();
+                }
+            });
         }
     }
 
@@ -257,10 +324,35 @@ public class AdminEditStudentActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onDeleteStudent(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        persistence.deleteStudent(studentId);
-        finish();
+    public void onDeleteStudent(final View v) {
+        // Punches, Totals & Search Entries Go With The Student. Delete Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.deleteStudent(studentId);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
+    /**
+     * A Student Along With Everything Its Form Shows, Loaded Together Off The UI Thread
+     */
+    private static class StudentForm {
+        Student student;
+        Bitmap image;
+        List<Teacher> teachers;
+    }
 }
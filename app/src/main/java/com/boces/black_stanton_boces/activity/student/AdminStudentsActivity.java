@@ -14,16 +14,20 @@ import android.view.View;
 import android.widget.SearchView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.student.StudentAdapter;
 import com.boces.black_stanton_boces.student.StudentAdapterOnclick;
 
+import java.util.ArrayList;
+
 /**
  * Shows Existing Students and Allows User Choose to Edit or Create and New One
  */
 public class AdminStudentsActivity extends AppCompatActivity {
 
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private RecyclerView studentList;
     private SearchView searchAdminStudent;
 
@@ -45,8 +49,8 @@ public class AdminStudentsActivity extends AppCompatActivity {
             }
         };
 
-        persistence = new PersistenceInteractor(this);
-        final StudentAdapter adapter = new StudentAdapter(persistence.getAllStudents(), persistence, onclick);
+        asyncPersistence = AsyncPersistence.getInstance(this);
+        final StudentAdapter adapter = new StudentAdapter(new ArrayList<Student>(), onclick);
 
         studentList = findViewById(R.id.recyclerSelectStudent);
         studentList.setAdapter(adapter);
@@ -73,12 +77,17 @@ public class AdminStudentsActivity extends AppCompatActivity {
     @Override
     public void onResume() {
         super.onResume();
-        ((StudentAdapter) studentList.getAdapter()).setStudents(persistence.getAllStudents());
-        studentList.getAdapter().notifyDataSetChanged();
-
-        // If We Have A Query Resubmit It
-        if (searchAdminStudent.getQuery().length() > 0)
-            searchAdminStudent.setQuery(searchAdminStudent.getQuery(), true);
+        asyncPersistence.read(new AsyncPersistence.Query<StudentAdapter.Rows>() {
+            @Override
+            public StudentAdapter.Rows run(PersistenceInteractor persistence) {
+                return new StudentAdapter.Rows(persistence.getAllStudents(), persistence.getTeacherNames());
+            }
+        }, new AsyncPersistence.Callback<StudentAdapter.Rows>() {
+            @Override
+            public void onResult(StudentAdapter.Rows rows) {
+                ((StudentAdapter) studentList.getAdapter()).setRows(rows);
+            }
+        });
     }
 
     /**
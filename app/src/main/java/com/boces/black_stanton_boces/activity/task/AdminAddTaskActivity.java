@@ -10,7 +10,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -19,12 +18,17 @@ import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
+import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.util.ImageImporter;
 
 /**
  * Collects Account Information From User And Creates New Task
@@ -33,8 +37,8 @@ public class AdminAddTaskActivity extends AppCompatActivity {
 
     private EditText taskName;
     private ImageView imageView;
-    private Bitmap image;
-    private PersistenceInteractor persistence;
+    private ImageHandle image;
+    private Button save;
 
     private static final int EXTERNAL_STORAGE_REQUEST = 0;
     private static final int RESULT_LOAD_IMAGE = 1;
@@ -52,8 +56,7 @@ public class AdminAddTaskActivity extends AppCompatActivity {
         // Get Input References
         taskName = (EditText) findViewById(R.id.inputTask);
         imageView = (ImageView) findViewById(R.id.imgTask);
-
-        persistence = new PersistenceInteractor(this);
+        save = (Button) findViewById(R.id.btnSaveTask);
     }
 
     /**
@@ -62,7 +65,7 @@ public class AdminAddTaskActivity extends AppCompatActivity {
      * Current View
      */
     public void onSave(View v) {
-        Task task = new Task();
+        final Task task = new Task();
         if (taskName.getText().toString().trim().isEmpty()) {
             taskName.setError("Name Is Required");
             return;
@@ -70,10 +73,27 @@ public class AdminAddTaskActivity extends AppCompatActivity {
 
         task.setName(taskName.getText().toString());
         if (image != null)
-            task.setImage(image);
+            task.setImageHandle(image);
+
+        // Image Is Written On The Writer Thread. Save Once Per Tap
+        save.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Integer>() {
+            @Override
+            public Integer run(PersistenceInteractor persistence) {
+                return persistence.addTask(task);
+            }
+        }, new AsyncPersistence.Callback<Integer>() {
+            @Override
+            public void onResult(Integer result) {
+                finish();
+            }
 
-        persistence.addTask(task);
-        finish();//Ends activity
+            @Override
+            public void onError(RuntimeException e) {
+                save.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -118,11 +138,22 @@ public class AdminAddTaskActivity extends AppCompatActivity {
             if (path.isEmpty())
                 return;
 
-            image = BitmapFactory.decodeFile(path);
-            if (image == null)
-                return;
+            // Downsample, Orient And Encode Off The UI Thread. Saving Waits For It
+            save.setEnabled(false);
+            ImageImporter.load(path, new ImageImporter.Callback() {
+                @Override
+                public void onLoaded(Bitmap bitmap, byte[] encoded) {
+                    image = ImageHandle.of(bitmap, encoded);
+                    imageView.setImageBitmap(bitmap);
+                    save.setEnabled(true);
+                }
 
-            imageView.setImageBitmap(image);
+                @Override
+                public void onFailed() {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Could Not Load Image", Toast.LENGTH_LONG).show();
+                }
+            });
         }
     }
 
@@ -10,7 +10,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -19,13 +18,17 @@ import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.util.ImageImporter;
 
 /**
  * Pulls Existing Information And Save Update Information From User
@@ -35,7 +38,13 @@ public class AdminEditTaskActivity extends AppCompatActivity {
     private int id;
     private EditText taskName;
     private ImageView imageView;
-    private Bitmap image;
+    private ImageHandle image;
+    private Button save;
+
+    /**
+     * Task Being Edited, null Until Loaded
+     */
+    private Task task;
 
     /**
      * Recognised Values That May Be Passed Through Bundles
@@ -67,20 +76,36 @@ public class AdminEditTaskActivity extends AppCompatActivity {
         if (id == 0)
             throw new IllegalStateException("Task ID Not Passed To Edit");
 
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        Task task = persistence.getTask(id);//Re-retrieve information in case account is deleted
-
-        if (task == null)
-            throw new IllegalStateException("Task With ID " + id + " Not Found"); //ID doesn't match task
-
         // Get Input References
         taskName = (EditText) findViewById(R.id.inputTask);
         imageView = (ImageView) findViewById(R.id.imgTask);
-        if (task.getImage() != null)
-            imageView.setImageBitmap(task.getImage());
+        save = (Button) findViewById(R.id.btnSaveTask);
+
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<Task>() {
+            @Override
+            public Task run(PersistenceInteractor persistence) {
+                Task task = persistence.getTask(id);//Re-retrieve information in case account is deleted
 
-        // Set Current Values
-        taskName.setText(task.getName());
+                // Decode Here, So Showing It Is A Cache Hit
+                if (task != null)
+                    task.getImage();
+                return task;
+            }
+        }, new AsyncPersistence.Callback<Task>() {
+            @Override
+            public void onResult(Task loaded) {
+                if (loaded == null)
+                    throw new IllegalStateException("Task With ID " + id + " Not Found"); //ID doesn't match task
+                task = loaded;
+
+                // An Image Picked While Loading Wins
+                if (task.getImage() != null && image == null)
+                    imageView.setImageBitmap(task.getImage());
+
+                // Set Current Values
+                taskName.setText(task.getName());
+            }
+        });
     }
 
     /**
@@ -89,12 +114,9 @@ public class AdminEditTaskActivity extends AppCompatActivity {
      * Current View
      */
     public void onSave(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        Task task = persistence.getTask(id);
-        if (task == null) {
-            Toast.makeText(this, "Error Task With ID " + id + " Not Found", Toast.LENGTH_LONG).show();
+        // Still Loading
+        if (task == null)
             return;
-        }
 
         if (taskName.getText().toString().trim().isEmpty()) {
             taskName.setError("Name Is Required");
@@ -103,10 +125,37 @@ public class AdminEditTaskActivity extends AppCompatActivity {
         task.setName(taskName.getText().toString().trim());
 
         if (image != null)
-            task.setImage(image);
+            task.setImageHandle(image);
 
-        persistence.update(task);
-        finish(); //Ends activity
+        // Image Is Written On The Writer Thread. Save Once Per Tap
+        save.setEnabled(false);
+        final Task edited = task;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                // Re-retrieve In Case The Task Was Deleted Since Loading
+                if (persistence.getTask(id) == null)
+                    return false;
+                persistence.update(edited);
+                return true;
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean updated) {
+                if (!updated) {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Error Task With ID " + id + " Not Found", Toast.LENGTH_LONG).show();
+                    return;
+                }
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                save.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -150,11 +199,22 @@ public class AdminEditTaskActivity extends AppCompatActivity {
             if (path.isEmpty())
                 return;
 
-            image = BitmapFactory.decodeFile(path);
-            if (image == null)
-                return;
+            // Downsample, Orient And Encode Off The UI Thread. Saving Waits For It
+            save.setEnabled(false);
+            ImageImporter.load(path, new ImageImporter.Callback() {
+                @Override
+                public void onLoaded(Bitmap bitmap, byte[] encoded) {
+                    image = ImageHandle.of(bitmap, encoded);
+                    imageView.setImageBitmap(bitmap);
+                    save.setEnabled(true);
+                }
 
-            imageView.setImageBitmap(image);
+                @Override
+                public void onFailed() {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Could Not Load Image", Toast.LENGTH_LONG).show();
+                }
+            });
         }
     }
 
@@ -178,10 +238,27 @@ public class AdminEditTaskActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onDelete(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        persistence.deleteTask(id);
-        finish();
+    public void onDelete(final View v) {
+        // Punches & Totals Go With The Task. Delete Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.deleteTask(id);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
 }
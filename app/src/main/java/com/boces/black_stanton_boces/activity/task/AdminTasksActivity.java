@@ -14,16 +14,21 @@ import android.view.View;
 import android.widget.SearchView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.Task;
 import com.boces.black_stanton_boces.task.TaskAdapter;
 import com.boces.black_stanton_boces.task.TaskAdapterOnclick;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Shows Existing Tasks and Allows User Choose to Edit or Create and New One
  */
 public class AdminTasksActivity extends AppCompatActivity {
 
-    private PersistenceInteractor persistence;
+    private AsyncPersistence asyncPersistence;
     private RecyclerView taskList;
     private SearchView searchView;
 
@@ -36,8 +41,8 @@ public class AdminTasksActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_tasks);
-        persistence = new PersistenceInteractor(this);
-        final TaskAdapter adapter = new TaskAdapter(persistence.getAllTasks(), new TaskAdapterOnclick() {
+        asyncPersistence = AsyncPersistence.getInstance(this);
+        final TaskAdapter adapter = new TaskAdapter(new ArrayList<Task>(), new TaskAdapterOnclick() {
             @Override
             public void onClick(int taskId) {
                 Intent editTask = new Intent(getApplicationContext(), AdminEditTaskActivity.class);
@@ -72,13 +77,17 @@ public class AdminTasksActivity extends AppCompatActivity {
     @Override
     public void onResume() {
         super.onResume();
-        ((TaskAdapter) taskList.getAdapter()).setTasks(persistence.getAllTasks());
-        taskList.getAdapter().notifyDataSetChanged();
-
-        // If We Have A Query Resubmit It
-        if (searchView.getQuery().length() > 0)
-            searchView.setQuery(searchView.getQuery(), true);
-
+        asyncPersistence.read(new AsyncPersistence.Query<List<Task>>() {
+            @Override
+            public List<Task> run(PersistenceInteractor persistence) {
+                return persistence.getAllTasks();
+            }
+        }, new AsyncPersistence.Callback<List<Task>>() {
+            @Override
+            public void onResult(List<Task> tasks) {
+                ((TaskAdapter) taskList.getAdapter()).setTasks(tasks);
+            }
+        });
     }
 
     /**
@@ -11,7 +11,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -20,12 +19,17 @@ import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
+import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.util.ImageImporter;
 
 /**
  * Collects Account Information From User And Creates New Teacher
@@ -37,8 +41,8 @@ public class AdminAddTeacherActivity extends AppCompatActivity {
     private EditText email;
     private EditText phone;
     private ImageView imageView;
-    private Bitmap image;
-    private PersistenceInteractor persistence;
+    private ImageHandle image;
+    private Button save;
 
     private static final int EXTERNAL_STORAGE_REQUEST = 0;
     private static final int RESULT_LOAD_IMAGE = 1;
@@ -59,8 +63,7 @@ public class AdminAddTeacherActivity extends AppCompatActivity {
         email = findViewById(R.id.inputTeacherEmail);
         phone = findViewById(R.id.inputTeacherPhone);
         imageView = findViewById(R.id.imgTeacher);
-
-        persistence = new PersistenceInteractor(this);
+        save = findViewById(R.id.btnSaveTeacher);
     }
 
     /**
@@ -69,7 +72,7 @@ public class AdminAddTeacherActivity extends AppCompatActivity {
      * Current View
      */
     public void onSave(View v) {
-        Teacher teacher = new Teacher();
+        final Teacher teacher = new Teacher();
         boolean hasError = false;
 
         if (firstName.getText().toString().trim().isEmpty()) {
@@ -89,13 +92,30 @@ public class AdminAddTeacherActivity extends AppCompatActivity {
         teacher.setPhoneNumber(phone.getText().toString());
 
         if (image != null)
-            teacher.setImage(image);
+            teacher.setImageHandle(image);
 
         if (hasError)
             return;
 
-        persistence.addTeacher(teacher);
-        finish();//Ends activity
+        // Image Is Written On The Writer Thread. Save Once Per Tap
+        save.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Integer>() {
+            @Override
+            public Integer run(PersistenceInteractor persistence) {
+                return persistence.addTeacher(teacher);
+            }
+        }, new AsyncPersistence.Callback<Integer>() {
+            @Override
+            public void onResult(Integer result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                save.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     /**
@@ -139,11 +159,22 @@ public class AdminAddTeacherActivity extends AppCompatActivity {
             if (path.isEmpty())
                 return;
 
-            image = BitmapFactory.decodeFile(path);
-            if (image == null)
-                return;
+            // Downsample, Orient And Encode Off The UI Thread. Saving Waits For It
+            save.setEnabled(false);
+            ImageImporter.load(path, new ImageImporter.Callback() {
+                @Override
+                public void onLoaded(Bitmap bitmap, byte[] encoded) {
+                    image = ImageHandle.of(bitmap, encoded);
+                    imageView.setImageBitmap(bitmap);
+                    save.setEnabled(true);
+                }
 
-            imageView.setImageBitmap(image);
+                @Override
+                public void onFailed() {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Could Not Load Image", Toast.LENGTH_LONG).show();
+                }
+            });
         }
     }
 
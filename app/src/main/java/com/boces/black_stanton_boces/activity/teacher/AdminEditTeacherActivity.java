@@ -10,7 +10,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -19,13 +18,17 @@ import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
+import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.Toast;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.AsyncPersistence;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.util.ImageImporter;
 
 /**
  * Pulls Existing Information And Save Update Information From User
@@ -38,7 +41,13 @@ public class AdminEditTeacherActivity extends AppCompatActivity {
     private EditText email;
     private EditText phone;
     private ImageView imageView;
-    private Bitmap image;
+    private ImageHandle image;
+    private Button save;
+
+    /**
+     * Teacher Being Edited, null Until Loaded
+     */
+    private Teacher teacher;
 
     private static final int EXTERNAL_STORAGE_REQUEST = 0;
     private static final int RESULT_LOAD_IMAGE = 1;
@@ -70,26 +79,42 @@ public class AdminEditTeacherActivity extends AppCompatActivity {
         if (id == 0)
             throw new IllegalStateException("Teacher ID Not Passed To Edit");
 
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        Teacher teacher = persistence.getTeacher(id); //Re-retrieve information in case account is deleted
-
-        if (teacher == null)
-            throw new IllegalStateException("Teacher With ID " + id + " Not Found"); //ID doesn't match teacher
-
         // Get Input References
         firstName = findViewById(R.id.inputTeacherFirstName);
         lastName = findViewById(R.id.inputTeacherLastName);
         email = findViewById(R.id.inputTeacherEmail);
         phone = findViewById(R.id.inputTeacherPhone);
         imageView = findViewById(R.id.imgEditTeacher);
+        save = findViewById(R.id.btnSaveTeacher);
+
+        AsyncPersistence.getInstance(this).read(new AsyncPersistence.Query<Teacher>() {
+            @Override
+            public Teacher run(PersistenceInteractor persistence) {
+                Teacher teacher = persistence.getTeacher(id); //Re-retrieve information in case account is deleted
 
-        // Set Current Values
-        firstName.setText(teacher.getFirstName());
-        lastName.setText(teacher.getLastName());
-        email.setText(teacher.getEmail());
-        phone.setText(teacher.getPhoneNumber());
-        if (teacher.getImage() != null)
-            imageView.setImageBitmap(teacher.getImage());
+                // Decode Here, So Showing It Is A Cache Hit
+                if (teacher != null)
+                    teacher.getImage();
+                return teacher;
+            }
+        }, new AsyncPersistence.Callback<Teacher>() {
+            @Override
+            public void onResult(Teacher loaded) {
+                if (loaded == null)
+                    throw new IllegalStateException("Teacher With ID " + id + " Not Found"); //ID doesn't match teacher
+                teacher = loaded;
+
+                // Set Current Values
+                firstName.setText(teacher.getFirstName());
+                lastName.setText(teacher.getLastName());
+                email.setText(teacher.getEmail());
+                phone.setText(teacher.getPhoneNumber());
+
+                // An Image Picked While Loading Wins
+                if (teacher.getImage() != null && image == null)
+                    imageView.setImageBitmap(teacher.getImage());
+            }
+        });
     }
 
     /**
@@ -98,12 +123,9 @@ public class AdminEditTeacherActivity extends AppCompatActivity {
      * Current View
      */
     public void onSave(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        Teacher teacher = persistence.getTeacher(id);
-        if (teacher == null) {
-            Toast.makeText(this, "Error Teacher With ID " + id + " Not Found", Toast.LENGTH_LONG).show();
+        // Still Loading
+        if (teacher == null)
             return;
-        }
         boolean hasError = false;
 
         if (firstName.getText().toString().trim().isEmpty()) {
@@ -122,13 +144,40 @@ public class AdminEditTeacherActivity extends AppCompatActivity {
         teacher.setPhoneNumber(phone.getText().toString());
 
         if (image != null)
-            teacher.setImage(image);
+            teacher.setImageHandle(image);
 
         if (hasError)
             return;
 
-        persistence.update(teacher);
-        finish();
+        // Image Is Written On The Writer Thread. Save Once Per Tap
+        save.setEnabled(false);
+        final Teacher edited = teacher;
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Boolean>() {
+            @Override
+            public Boolean run(PersistenceInteractor persistence) {
+                // Re-retrieve In Case The Teacher Was Deleted Since Loading
+                if (persistence.getTeacher(id) == null)
+                    return false;
+                persistence.update(edited);
+                return true;
+            }
+        }, new AsyncPersistence.Callback<Boolean>() {
+            @Override
+            public void onResult(Boolean updated) {
+                if (!updated) {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Error Teacher With ID " + id + " Not Found", Toast.LENGTH_LONG).show();
+                    return;
+                }
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                save.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
     public void onSelectImage(View v) {
@@ -161,11 +210,22 @@ public class AdminEditTeacherActivity extends AppCompatActivity {
             if (path.isEmpty())
                 return;
 
-            image = BitmapFactory.decodeFile(path);
-            if (image == null)
-                return;
+            // Downsample, Orient And Encode Off The UI Thread. Saving Waits For It
+            save.setEnabled(false);
+            ImageImporter.load(path, new ImageImporter.Callback() {
+                @Override
+                public void onLoaded(Bitmap bitmap, byte[] encoded) {
+                    image = ImageHandle.of(bitmap, encoded);
+                    imageView.setImageBitmap(bitmap);
+                    save.setEnabled(true);
+                }
 
-            imageView.setImageBitmap(image);
+                @Override
+                public void onFailed() {
+                    save.setEnabled(true);
+                    Toast.makeText(getApplicationContext(), "Could Not Load Image", Toast.LENGTH_LONG).show();
+                }
+            });
         }
     }
 
@@ -185,10 +245,27 @@ public class AdminEditTeacherActivity extends AppCompatActivity {
      * @param v
      * Current View
      */
-    public void onDeleteTeacher(View v) {
-        PersistenceInteractor persistence = new PersistenceInteractor(this);
-        persistence.deleteTeacher(id);
-        finish();
+    public void onDeleteTeacher(final View v) {
+        // Students Are Left Without A Teacher. Delete Once Per Tap
+        v.setEnabled(false);
+        AsyncPersistence.getInstance(this).write(new AsyncPersistence.Query<Void>() {
+            @Override
+            public Void run(PersistenceInteractor persistence) {
+                persistence.deleteTeacher(id);
+                return null;
+            }
+        }, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                finish();
+            }
+
+            @Override
+            public void onError(RuntimeException e) {
+                v.setEnabled(true);
+                super.onError(e);
+            }
+        });
     }
 
 }
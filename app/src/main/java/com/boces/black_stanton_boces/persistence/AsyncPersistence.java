@@ -0,0 +1,297 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
+
+import com.boces.black_stanton_boces.util.SearchSource;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs PersistenceInteractor Calls Off The UI Thread
+ * Mutations Run One At A Time On A Single Writer Thread,
+ * Queries Run Concurrently On A Small Pool of Readers.
+ * Results Are Delivered Back On The Main Looper
+ */
+public class AsyncPersistence {
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesAsyncPersistence";
+
+    /**
+     * Number of Threads Queries May Run On At Once
+     * WAL Lets These Read While The Writer Commits
+     */
+    private static final int READER_THREADS = 2;
+
+    /**
+     * Shared Instance
+     */
+    private static AsyncPersistence instance;
+
+    /**
+     * Database Calls Are Made Against
+     */
+    private final PersistenceInteractor persistence;
+
+    /**
+     * Application Context, Used To Tell The User About Failures
+     */
+    private final Context context;
+
+    /**
+     * Runs Mutations In Submission Order
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(new NamedThreadFactory("bocesDbWriter"));
+
+    /**
+     * Runs Queries
+     */
+    private final ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS, new NamedThreadFactory("bocesDbReader"));
+
+    /**
+     * Delivers Results On The UI Thread
+     */
+    private final Handler main = new Handler(Looper.getMainLooper());
+
+    /**
+     * Most Recently Submitted Mutation
+     * Queries Wait On It So They Always See Writes Submitted Before Them
+     */
+    private Future<?> lastWrite;
+
+    /**
+     * A Unit of Work Against The Database
+     * @param <T>
+     * Type of The Result
+     */
+    public interface Query<T> {
+        T run(PersistenceInteractor persistence);
+    }
+
+    /**
+     * A Search Against The Database, Run For Each Query Typed
+     * @param <T>
+     * Type of The Result
+     */
+    public interface Search<T> {
+        T run(PersistenceInteractor persistence, String query);
+    }
+
+    /**
+     * Receives The Result of A Query or Mutation On The UI Thread
+     * @param <T>
+     * Type of The Result
+     */
+    public static abstract class Callback<T> {
+
+        /**
+         * Called With The Result When The Work Succeeds
+         * @param result
+         * Whatever The Work Returned
+         */
+        public abstract void onResult(T result);
+
+        /**
+         * Called When The Work Throws
+         * The Failure Is Already Logged. By Default The User Is Told With A Toast
+         * @param e
+         * The Exception Thrown
+         */
+        public void onError(RuntimeException e) {
+            Toast.makeText(instance.context, "Database Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
+        }
+    }
+
+    /**
+     * Gets The Shared Instance
+     * @param context
+     * Application/Current Context
+     * @return
+     * The Instance For The Application
+     */
+    public static synchronized AsyncPersistence getInstance(Context context) {
+        if (instance == null)
+            instance = new AsyncPersistence(PersistenceInteractor.getInstance(context), context.getApplicationContext());
+        return instance;
+    }
+
+    /**
+     * Use getInstance
+     * @param persistence
+     * Database Calls Are Made Against
+     * @param context
+     * Application Context
+     */
+    private AsyncPersistence(PersistenceInteractor persistence, Context context) {
+        this.persistence = persistence;
+        this.context = context;
+    }
+
+    /**
+     * Runs A Query On A Reader Thread
+     * The Query Sees Every Mutation Submitted Before It
+     *
+     * @param query
+     * Work That Only Reads
+     *
+     * @param callback
+     * Receives The Result On The UI Thread, May Be null
+     *
+     * @return
+     * Future For The Result
+     */
+    public synchronized <T> Future<T> read(final Query<T> query, final Callback<T> callback) {
+        final Future<?> barrier = lastWrite;
+        return readers.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                awaitWrite(barrier);
+                return execute(query, callback);
+            }
+        });
+    }
+
+    /**
+     * Runs A Mutation On The Writer Thread
+     * Mutations Are Applied In The Order They Are Submitted
+     *
+     * @param mutation
+     * Work That Changes The Database
+     *
+     * @param callback
+     * Receives The Result On The UI Thread, May Be null
+     *
+     * @return
+     * Future For The Result
+     */
+    public synchronized <T> Future<T> write(final Query<T> mutation, final Callback<T> callback) {
+        Future<T> future = writer.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return execute(mutation, callback);
+            }
+        });
+        lastWrite = future;
+        return future;
+    }
+
+    /**
+     * Runs An Adapter's Searches On A Reader Thread, Like Any Other Query
+     * The Filtering Thread Calling The Source Waits For Each Result, Since It Has To Return It.
+     * Failures Are Logged And Thrown To The Filter, Which Keeps The List As It Was
+     *
+     * @param search
+     * Work That Only Reads
+     *
+     * @return
+     * A Source To Hand To The Adapter
+     */
+    public <T> SearchSource<T> searchSource(final Search<T> search) {
+        return new SearchSource<T>() {
+            @Override
+            public T search(final String query) {
+                Future<T> result = read(new Query<T>() {
+                    @Override
+                    public T run(PersistenceInteractor persistence) {
+                        return search.run(persistence, query);
+                    }
+                }, null);
+
+                try {
+                    return result.get();
+                } catch (InterruptedException e) {
+                    result.cancel(true);
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Search Interrupted", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException)
+                        throw (RuntimeException) e.getCause();
+                    throw new IllegalStateException("Search Failed", e.getCause());
+                }
+            }
+        };
+    }
+
+    /**
+     * Runs Work And Posts Its Outcome To The Callback
+     * @param work
+     * Work To Run
+     * @param callback
+     * Receives The Outcome, May Be null
+     * @return
+     * Result of The Work
+     */
+    private <T> T execute(Query<T> work, final Callback<T> callback) {
+        final T result;
+        try {
+            result = work.run(persistence);
+        } catch (final RuntimeException e) {
+            Log.e(TAG, "Database Work Failed", e);
+            if (callback != null) {
+                main.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onError(e);
+                    }
+                });
+            }
+            throw e;
+        }
+
+        if (callback != null) {
+            main.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onResult(result);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Waits For A Mutation To Finish, Whether Or Not It Succeeded
+     * @param write
+     * The Mutation, May Be null
+     */
+    private static void awaitWrite(Future<?> write) throws InterruptedException {
+        if (write == null)
+            return;
+        try {
+            write.get();
+        } catch (ExecutionException e) {
+            // Already Reported To The Writer's Callback
+        }
+    }
+
+    /**
+     * Names Database Threads So They Can Be Told Apart In Traces
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
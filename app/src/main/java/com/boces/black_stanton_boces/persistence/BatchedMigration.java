@@ -0,0 +1,95 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+/**
+ * A Migration Over A Potentially Large Table
+ * Rows Are Moved A Batch At A Time So No Single Query Reads The Whole Table.
+ * The Upgrade Only Records The Step, MigrationRunner.finishPending Then Moves The Rows
+ * Once The Upgrade Has Committed, Each Batch In Its Own Transaction.
+ * Later Steps Must Not Depend On The Moved Rows
+ */
+public abstract class BatchedMigration extends Migration {
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesMigration";
+
+    /**
+     * Largest Number of Rows Handled Per Batch
+     */
+    private final int batchSize;
+
+    /**
+     * Default Constructor
+     *
+     * @param version
+     * Database Version After This Step Runs
+     *
+     * @param description
+     * What The Step Does
+     *
+     * @param batchSize
+     * Largest Number of Rows Handled Per Batch
+     */
+    public BatchedMigration(int version, String description, int batchSize) {
+        super(version, description);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Schema Changes The Batches Need, Made In The Upgrade Transaction
+     * Nothing By Default
+     *
+     * @param db
+     * A Writable Database, Already In A Transaction
+     */
+    @Override
+    public void migrate(SQLiteDatabase db) {
+    }
+
+    /**
+     * Runs Batches Until One Reports No Remaining Rows
+     * Each Batch Commits On Its Own, So An Interrupted Run Resumes From The Last Batch
+     *
+     * @param db
+     * A Writable Database, Not In A Transaction
+     *
+     * @return
+     * Number of Rows Migrated
+     */
+    public final long finish(SQLiteDatabase db) {
+        long total = 0;
+        int migrated;
+        do {
+            db.beginTransaction();
+            try {
+                migrated = migrateBatch(db, batchSize);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            total += migrated;
+        } while (migrated > 0);
+
+        Log.i(TAG, getDescription() + ": " + total + " Rows Migrated");
+        return total;
+    }
+
+    /**
+     * Migrates The Next Batch of Rows
+     * Must Only Select Rows That Have Not Been Migrated Yet
+     *
+     * @param db
+     * A Writable Database, In This Batch's Transaction
+     *
+     * @param batchSize
+     * Largest Number of Rows To Handle
+     *
+     * @return
+     * Number of Rows Migrated, 0 Once Done
+     */
+    protected abstract int migrateBatch(SQLiteDatabase db, int batchSize);
+}
@@ -0,0 +1,89 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+/**
+ * Process Wide, Size Bounded Cache of Decoded Images
+ * Keyed By Image Store Key, So Any Model Sharing An Image Shares One Bitmap
+ */
+public class BitmapCache {
+
+    /**
+     * Fraction of The Heap The Cache May Use
+     */
+    private static final int HEAP_FRACTION = 8;
+
+    /**
+     * The Single Shared Instance
+     */
+    private static final BitmapCache INSTANCE = new BitmapCache();
+
+    /**
+     * Bitmaps Sized In Kilobytes
+     */
+    private final LruCache<String, Bitmap> cache;
+
+    private BitmapCache() {
+        final int maxKilobytes = (int) (Runtime.getRuntime().maxMemory() / 1024L / HEAP_FRACTION);
+        cache = new LruCache<String, Bitmap>(maxKilobytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount() / 1024;
+            }
+        };
+    }
+
+    /**
+     * @return
+     * The Shared Cache
+     */
+    public static BitmapCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves A Cached Image
+     *
+     * @param key
+     * Image Store Key
+     *
+     * @return
+     * The Decoded Image, or
+     * null If It Is Not Cached
+     */
+    public Bitmap get(String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Caches A Decoded Image
+     *
+     * @param key
+     * Image Store Key
+     *
+     * @param bitmap
+     * The Decoded Image
+     */
+    public void put(String key, Bitmap bitmap) {
+        cache.put(key, bitmap);
+    }
+
+    /**
+     * Drops A Single Image And Its Thumbnail, Such As One That Was Replaced or Removed
+     *
+     * @param key
+     * Image Store Key
+     */
+    public void invalidate(String key) {
+        cache.remove(key);
+        cache.remove(key + ImageHandle.THUMBNAIL_SUFFIX);
+    }
+
+    /**
+     * Drops Every Cached Image
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+}
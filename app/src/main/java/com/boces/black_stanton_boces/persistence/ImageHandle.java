@@ -0,0 +1,183 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.graphics.Bitmap;
+
+/**
+ * Lightweight Reference To A Student, Teacher or Task Image
+ * Stored Images Are Only Decoded On First Access, Through The Shared BitmapCache
+ */
+public class ImageHandle {
+
+    /**
+     * Appended To The Image Store Key When Caching Thumbnails
+     */
+    static final String THUMBNAIL_SUFFIX = "@thumbnail";
+
+    /**
+     * Image Store Key
+     * null If The Image Has Not Been Saved Yet
+     */
+    private final String key;
+
+    /**
+     * Store The Image Is Read From
+     * null If The Image Has Not Been Saved Yet
+     */
+    private final ImageStore store;
+
+    /**
+     * Image Set By The User That Still Has To Be Saved
+     */
+    private final Bitmap pending;
+
+    /**
+     * The Pending Image Already Encoded, So Saving Skips Compression
+     * null If Not Encoded Yet
+     */
+    private final byte[] encoded;
+
+    private ImageHandle(String key, ImageStore store, Bitmap pending, byte[] encoded) {
+        this.key = key;
+        this.store = store;
+        this.pending = pending;
+        this.encoded = encoded;
+    }
+
+    /**
+     * Wraps A New Image That Has Not Been Saved Yet
+     *
+     * @param bitmap
+     * The New Image
+     *
+     * @return
+     * A Handle That Will Be Saved With Its Model
+     */
+    public static ImageHandle of(Bitmap bitmap) {
+        return of(bitmap, null);
+    }
+
+    /**
+     * Wraps A New Image That Was Encoded Off The UI Thread
+     *
+     * @param bitmap
+     * The New Image
+     *
+     * @param encoded
+     * The Image's Encoded Bytes, May Be null
+     *
+     * @return
+     * A Handle That Will Be Saved With Its Model
+     */
+    public static ImageHandle of(Bitmap bitmap, byte[] encoded) {
+        if (bitmap == null)
+            throw new IllegalArgumentException("Bitmap May Not Be null");
+        return new ImageHandle(null, null, bitmap, encoded);
+    }
+
+    /**
+     * References An Image Already In The Store
+     *
+     * @param key
+     * Image Store Key
+     *
+     * @param store
+     * Store Holding The Image
+     *
+     * @return
+     * A Handle That Decodes The Image When First Needed
+     */
+    static ImageHandle stored(String key, ImageStore store) {
+        return new ImageHandle(key, store, null, null);
+    }
+
+    /**
+     * Retrieves The Image, Decoding It If It Is Not Cached
+     *
+     * @return
+     * The Image, or
+     * null If The Stored Image Is Missing
+     */
+    public Bitmap get() {
+        if (pending != null)
+            return pending;
+
+        BitmapCache cache = BitmapCache.getInstance();
+        Bitmap bitmap = cache.get(key);
+        if (bitmap == null) {
+            bitmap = store.get(key);
+            if (bitmap != null)
+                cache.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Retrieves A List Row Sized Version of The Image, Decoding It If It Is Not Cached
+     * List Rows Should Use This Rather Than get, So Each Image Is Decoded Once
+     * At Row Size And Then Served From The Shared Cache
+     *
+     * @return
+     * The Thumbnail, or
+     * null If The Stored Image Is Missing
+     */
+    public Bitmap getThumbnail() {
+        if (pending != null)
+            return pending;
+
+        final String thumbnailKey = key + THUMBNAIL_SUFFIX;
+        BitmapCache cache = BitmapCache.getInstance();
+        Bitmap bitmap = cache.get(thumbnailKey);
+        if (bitmap == null) {
+            bitmap = store.getThumbnail(key);
+            if (bitmap != null)
+                cache.put(thumbnailKey, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return
+     * True If The Image Is Already Saved
+     */
+    public boolean isStored() {
+        return key != null;
+    }
+
+    /**
+     * @return
+     * Image Store Key, or null If The Image Has Not Been Saved Yet
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Checks Whether Two Handles Show The Same Image, Without Decoding Either
+     * Keys Are Content Hashes, So Stored Images Match When Their Keys Do.
+     * Images Not Yet Saved Only Match Themselves
+     *
+     * @return
+     * True If Both Show The Same Image, or Both Are null
+     */
+    public static boolean isSame(ImageHandle a, ImageHandle b) {
+        if (a == null || b == null || a.key == null || b.key == null)
+            return a == b;
+        return a.key.equals(b.key);
+    }
+
+    /**
+     * @return
+     * The Image Still To Be Saved, or null If Already Stored
+     */
+    Bitmap getPending() {
+        return pending;
+    }
+
+    /**
+     * @return
+     * The Pending Image's Encoded Bytes, or null If Not Encoded Yet
+     */
+    byte[] getEncoded() {
+        return encoded;
+    }
+}
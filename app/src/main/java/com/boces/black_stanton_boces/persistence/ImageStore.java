@@ -0,0 +1,383 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import com.boces.black_stanton_boces.util.ImageImporter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * Content Addressed Storage For Student, Teacher & Task Images
+ * Images Are Saved As Files Named By The Hash of Their Encoded Bytes,
+ * So Tables Only Hold A Short Key And Identical Images Are Stored Once.
+ * A Put Image Stays Pinned Until unpin Is Called, So It Is Never Removed
+ * Before The Row Referencing It Has Been Saved
+ */
+public class ImageStore {
+
+    /**
+     * Answers Whether The Database Still Uses An Image
+     */
+    public interface References {
+
+        /**
+         * Called Without The Store Locked, So Puts Are Never Held Up By The Database
+         * @param key
+         * Key of The Image
+         * @return
+         * true If Any Row Holds The Key
+         */
+        boolean isReferenced(String key);
+
+        /**
+         * Called Without The Store Locked, So Puts Are Never Held Up By The Database
+         * @return
+         * Every Key Held By Any Row
+         */
+        Set<String> getAll();
+    }
+
+    /**
+     * Directory Under The App's Private Files Images Are Kept In
+     */
+    private static final String DIRECTORY = "images";
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesImageStore";
+
+    /**
+     * Characters Used To Hex Encode Hashes
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Directory All Images Are Stored In
+     */
+    private final File directory;
+
+    /**
+     * Held While Pinning, Unpinning And Removing, So A Removal Never Races A Put
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Keys Put But Not Yet Unpinned, With How Many Puts Are Outstanding
+     */
+    private final HashMap<String, Integer> pinned = new HashMap<>();
+
+    /**
+     * Counts Pins, So A Removal Can Tell A Put Happened While It Asked The Database
+     */
+    private long pins;
+
+    /**
+     * Default Constructor
+     * @param context
+     * Application/Current Context
+     */
+    public ImageStore(Context context) {
+        this.directory = new File(context.getFilesDir(), DIRECTORY);
+    }
+
+    /**
+     * Encodes And Saves An Image
+     * The Key Stays Pinned Until unpin Is Called
+     *
+     * @param bitmap
+     * The Image To Save
+     *
+     * @return
+     * The Key The Image Is Stored Under
+     */
+    public String put(Bitmap bitmap) {
+        return put(ImageImporter.encode(bitmap));
+    }
+
+    /**
+     * Saves An Already Encoded Image
+     * Nothing Is Written If An Identical Image Is Already Stored.
+     * The Key Stays Pinned Until unpin Is Called
+     *
+     * @param encoded
+     * The Encoded Image Bytes
+     *
+     * @return
+     * The Key The Image Is Stored Under
+     */
+    public String put(byte[] encoded) {
+        final String key = hash(encoded);
+        pin(key);
+        try {
+            write(key, encoded);
+        } catch (RuntimeException e) {
+            unpin(key);
+            throw e;
+        }
+        return key;
+    }
+
+    /**
+     * Lets An Image Be Removed Again Once The Row Using It Is Saved, or Failed To Save
+     *
+     * @param key
+     * Key Returned By put
+     */
+    public void unpin(String key) {
+        synchronized (lock) {
+            Integer count = pinned.get(key);
+            if (count == null)
+                return;
+            if (count == 1)
+                pinned.remove(key);
+            else
+                pinned.put(key, count - 1);
+        }
+    }
+
+    /**
+     * Keeps An Already Stored Image From Being Removed Until unpin Is Called
+     *
+     * @param key
+     * Key of The Image
+     */
+    public void pin(String key) {
+        synchronized (lock) {
+            Integer count = pinned.get(key);
+            pinned.put(key, count == null ? 1 : count + 1);
+            pins++;
+        }
+    }
+
+    /**
+     * Writes An Image Under Its Key, Unless It Is Already Stored
+     */
+    private void write(String key, byte[] encoded) {
+        File file = getFile(key);
+
+        // Same Content, Same Key. Already Stored
+        if (file.exists())
+            return;
+
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IllegalStateException("Could Not Create Image Directory " + directory);
+
+        // Write To A Temporary File First So A Partial Image Is Never Visible Under Its Key
+        // Each Put Gets Its Own, So Two Puts of The Same Image Never Share One
+        File temp = null;
+        FileOutputStream out = null;
+        try {
+            temp = File.createTempFile(key + ".", ".tmp", directory);
+            out = new FileOutputStream(temp);
+            out.write(encoded);
+            out.getFD().sync();
+        } catch (IOException e) {
+            if (temp != null) {
+                //noinspection ResultOfMethodCallIgnored
+                temp.delete();
+            }
+            throw new IllegalStateException("Could Not Write Image " + key, e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed To Close Image " + key);
+                }
+            }
+        }
+
+        if (!temp.renameTo(file)) {
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+
+            // A Concurrent Put of The Same Image Got There First
+            if (file.exists())
+                return;
+            throw new IllegalStateException("Could Not Save Image " + key);
+        }
+    }
+
+    /**
+     * Decodes A Stored Image
+     *
+     * @param key
+     * The Key Returned When The Image Was Stored
+     *
+     * @return
+     * The Decoded Image, or
+     * null If No Image Is Stored Under The Key
+     */
+    public Bitmap get(String key) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            Log.w(TAG, "Missing Image " + key);
+            return null;
+        }
+        // Bounded Even For Images Saved Before Import Downsampling
+        return ImageImporter.decodeSampled(file.getPath(), ImageImporter.DETAIL_SIZE);
+    }
+
+    /**
+     * Decodes A Stored Image At List Row Size
+     * Pixels Are Skipped While Decoding, So The Full Image Is Never Loaded
+     *
+     * @param key
+     * The Key Returned When The Image Was Stored
+     *
+     * @return
+     * The Decoded Thumbnail, or
+     * null If No Image Is Stored Under The Key
+     */
+    public Bitmap getThumbnail(String key) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            Log.w(TAG, "Missing Image " + key);
+            return null;
+        }
+        return ImageImporter.decodeSampled(file.getPath(), ImageImporter.THUMBNAIL_SIZE);
+    }
+
+    /**
+     * Gets The File An Image Is Stored In
+     *
+     * @param key
+     * The Key Returned When The Image Was Stored
+     *
+     * @return
+     * The File For The Key, Which May Not Exist
+     */
+    public File getFile(String key) {
+        return new File(directory, key);
+    }
+
+    /**
+     * Removes An Image No Row Uses Any More, Such As One That Was Replaced or Whose Row Was Deleted
+     *
+     * @param key
+     * Key of The Image That May Now Be Unused
+     *
+     * @param references
+     * Checks The Database
+     */
+    public void release(String key, References references) {
+        while (true) {
+            long stamp;
+            synchronized (lock) {
+                if (pinned.containsKey(key))
+                    return;
+                stamp = pins;
+            }
+
+            if (references.isReferenced(key))
+                return;
+
+            synchronized (lock) {
+                // A Put May Have Saved A Row With This Key While The Database Was Asked
+                if (stamp != pins)
+                    continue;
+
+                BitmapCache.getInstance().invalidate(key);
+                File file = getFile(key);
+                if (file.exists() && !file.delete())
+                    Log.w(TAG, "Could Not Remove Unused Image " + key);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes Every Stored Image No Row Uses
+     * Lists Every File, So Only For Maintenance
+     *
+     * @param references
+     * Checks The Database
+     */
+    public void retainOnly(References references) {
+        while (true) {
+            long stamp;
+            synchronized (lock) {
+                stamp = pins;
+            }
+
+            Set<String> keys = references.getAll();
+
+            synchronized (lock) {
+                // A Put May Have Saved A Row The Keys Do Not Include Yet
+                if (stamp != pins)
+                    continue;
+
+                File[] files = directory.listFiles();
+                if (files == null)
+                    return;
+
+                for (File file : files) {
+                    // Temporary Files Belong To A Put Still Writing, Named Key.Unique.tmp
+                    String key = file.getName();
+                    if (key.endsWith(".tmp"))
+                        key = key.substring(0, key.indexOf('.'));
+                    if (keys.contains(key) || pinned.containsKey(key))
+                        continue;
+
+                    BitmapCache.getInstance().invalidate(key);
+                    if (!file.delete())
+                        Log.w(TAG, "Could Not Remove Unused Image " + file.getName());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes Every Stored Image Except Those Still Being Put
+     * Used Once The Database Itself Is Gone
+     */
+    public void clear() {
+        retainOnly(new References() {
+            @Override
+            public boolean isReferenced(String key) {
+                return false;
+            }
+
+            @Override
+            public Set<String> getAll() {
+                return Collections.emptySet();
+            }
+        });
+    }
+
+    /**
+     * Hashes Encoded Image Bytes Into A Key
+     *
+     * @param encoded
+     * The Encoded Image Bytes
+     *
+     * @return
+     * A Hex Encoded SHA-1 of The Bytes
+     */
+    private static String hash(byte[] encoded) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(encoded);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 Not Available", e);
+        }
+
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
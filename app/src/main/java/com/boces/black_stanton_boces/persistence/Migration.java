@@ -0,0 +1,50 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * A Single Step In Upgrading The Database Schema
+ * Each Step Moves The Database From version - 1 To version
+ */
+public abstract class Migration {
+
+    /**
+     * Database Version After This Step Runs
+     */
+    private final int version;
+
+    /**
+     * What The Step Does, Used When Logging
+     */
+    private final String description;
+
+    /**
+     * Default Constructor
+     *
+     * @param version
+     * Database Version After This Step Runs
+     *
+     * @param description
+     * What The Step Does
+     */
+    public Migration(int version, String description) {
+        this.version = version;
+        this.description = description;
+    }
+
+    /**
+     * Applies The Step
+     *
+     * @param db
+     * A Writable Database, Already In A Transaction
+     */
+    public abstract void migrate(SQLiteDatabase db);
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,176 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Upgrades The Database Through An Ordered List of Migrations
+ * Every Version Between The Old And New Version Must Have Exactly One Step
+ */
+public class MigrationRunner {
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesMigration";
+
+    /**
+     * Records Batched Steps Whose Rows Have Not All Been Moved Yet
+     */
+    private static final String PENDING_TABLE = "PendingMigration";
+    private static final String PENDING_VERSION = "Version";
+    private static final String PENDING_DDL = "CREATE TABLE IF NOT EXISTS " + PENDING_TABLE + " (" +
+            PENDING_VERSION + " INTEGER PRIMARY KEY)";
+
+    /**
+     * All Known Steps, Ordered By Version
+     */
+    private final List<Migration> migrations;
+
+    /**
+     * Default Constructor
+     *
+     * @param migrations
+     * All Known Steps, In Any Order
+     */
+    public MigrationRunner(List<Migration> migrations) {
+        this.migrations = new ArrayList<>(migrations);
+        Collections.sort(this.migrations, new Comparator<Migration>() {
+            @Override
+            public int compare(Migration a, Migration b) {
+                return a.getVersion() < b.getVersion() ? -1 : (a.getVersion() == b.getVersion() ? 0 : 1);
+            }
+        });
+    }
+
+    /**
+     * Finds The Steps Needed To Move Between Two Versions
+     *
+     * @param oldVersion
+     * Current Version of The Database
+     *
+     * @param newVersion
+     * Version To Upgrade To
+     *
+     * @return
+     * The Steps, In The Order They Must Run
+     *
+     * @throws IllegalStateException
+     * If Any Version In The Range Is Missing or Has More Than One Step
+     */
+    public List<Migration> plan(int oldVersion, int newVersion) {
+        ArrayList<Migration> steps = new ArrayList<>();
+        int expected = oldVersion + 1;
+
+        for (Migration migration : migrations) {
+            if (migration.getVersion() <= oldVersion || migration.getVersion() > newVersion)
+                continue;
+
+            if (migration.getVersion() != expected)
+                throw new IllegalStateException("No Single Migration To Version " + expected +
+                        ", Found Version " + migration.getVersion());
+
+            steps.add(migration);
+            expected++;
+        }
+
+        if (expected != newVersion + 1)
+            throw new IllegalStateException("No Migration To Version " + expected);
+
+        return steps;
+    }
+
+    /**
+     * Runs Every Step Between Two Versions, Each In Its Own Nested Transaction
+     * Batched Steps Are Recorded For finishPending Rather Than Moving Their Rows Here
+     *
+     * @param db
+     * A Writable Database, Already In The Upgrade Transaction
+     *
+     * @param oldVersion
+     * Current Version of The Database
+     *
+     * @param newVersion
+     * Version To Upgrade To
+     */
+    public void run(SQLiteDatabase db, int oldVersion, int newVersion) {
+        final long upgradeStart = System.nanoTime();
+        db.execSQL(PENDING_DDL);
+
+        for (Migration migration : plan(oldVersion, newVersion)) {
+            final long stepStart = System.nanoTime();
+
+            db.beginTransaction();
+            try {
+                migration.migrate(db);
+                if (migration instanceof BatchedMigration)
+                    db.execSQL("INSERT OR IGNORE INTO " + PENDING_TABLE + " (" + PENDING_VERSION + ") VALUES (?)",
+                            new Object[]{migration.getVersion()});
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+
+            Log.i(TAG, "Version " + migration.getVersion() + " (" + migration.getDescription() + ") Took " +
+                    (System.nanoTime() - stepStart) / 1000000L + "ms");
+        }
+
+        Log.i(TAG, "Upgrade From " + oldVersion + " To " + newVersion + " Took " +
+                (System.nanoTime() - upgradeStart) / 1000000L + "ms");
+    }
+
+    /**
+     * Moves The Rows of Every Batched Step run Recorded, Oldest First
+     * Called Each Time The Database Opens, So A Step Interrupted Part Way Resumes
+     *
+     * @param db
+     * A Writable Database, Not In A Transaction
+     *
+     * @throws IllegalStateException
+     * If A Recorded Step Is No Longer Known
+     */
+    public void finishPending(SQLiteDatabase db) {
+        db.execSQL(PENDING_DDL);
+
+        ArrayList<Integer> versions = new ArrayList<>();
+        Cursor cursor = db.rawQuery("SELECT " + PENDING_VERSION + " FROM " + PENDING_TABLE +
+                " ORDER BY " + PENDING_VERSION, null);
+        while (cursor.moveToNext())
+            versions.add(cursor.getInt(0));
+        cursor.close();
+
+        for (int version : versions) {
+            BatchedMigration migration = findBatched(version);
+            final long stepStart = System.nanoTime();
+
+            migration.finish(db);
+            db.execSQL("DELETE FROM " + PENDING_TABLE + " WHERE " + PENDING_VERSION + " = ?", new Object[]{version});
+
+            Log.i(TAG, "Version " + version + " (" + migration.getDescription() + ") Rows Took " +
+                    (System.nanoTime() - stepStart) / 1000000L + "ms");
+        }
+    }
+
+    /**
+     * Finds The Batched Step For A Version
+     *
+     * @param version
+     * Version Recorded By run
+     *
+     * @return
+     * The Step
+     */
+    private BatchedMigration findBatched(int version) {
+        for (Migration migration : migrations) {
+            if (migration.getVersion() == version && migration instanceof BatchedMigration)
+                return (BatchedMigration) migration;
+        }
+        throw new IllegalStateException("No Batched Migration To Version " + version);
+    }
+}
@@ -1,35 +1,55 @@
 package com.boces.black_stanton_boces.persistence;
 
+import android.annotation.SuppressLint;
+import android.annotation.TargetApi;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Build;
+import android.support.annotation.VisibleForTesting;
 import android.util.Log;
 
 import com.boces.black_stanton_boces.persistence.model.AdminAccount;
+import com.boces.black_stanton_boces.persistence.model.ScheduledReport;
 import com.boces.black_stanton_boces.persistence.model.Student;
 import com.boces.black_stanton_boces.persistence.model.Task;
 import com.boces.black_stanton_boces.persistence.model.TaskPunch;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.report.ReportCache;
+import com.boces.black_stanton_boces.report.ReportCompression;
+import com.boces.black_stanton_boces.report.ReportPeriod;
+import com.boces.black_stanton_boces.report.ReportRow;
+import com.boces.black_stanton_boces.report.ReportRowHandler;
+import com.boces.black_stanton_boces.report.ReportSource;
+import com.boces.black_stanton_boces.report.ReportType;
 import com.boces.black_stanton_boces.report.StudentPunches;
+import com.boces.black_stanton_boces.report.SummaryRow;
+import com.boces.black_stanton_boces.util.SearchIndex;
 
 import org.mindrot.jbcrypt.BCrypt;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
-public class PersistenceInteractor extends SQLiteOpenHelper {
+public class PersistenceInteractor extends SQLiteOpenHelper implements ReportSource {
 
     /**
      * Semantic Version of The Database
      * Increments When The Schema Changes
      */
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 7;
 
     /**
      * Schema Name
@@ -85,6 +105,67 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
         private static final String TIME_STOP = "TimeStop";
     }
 
+    /**
+     * All Fields/Table Associated With The Daily Punch Rollup
+     * One Row Per Student, Task & UTC Day Holding Totals For Closed Punches
+     */
+    private static class PUNCH_DAILY {
+        /**
+         * Table Daily Totals Are Stored In
+         */
+        private static final String TABLE = "PunchDaily";
+        private static final String STUDENT_ID = "StudentID";
+        private static final String TASK_ID = "TaskID";
+        private static final String DAY = "Day";
+        private static final String PUNCHES = "Punches";
+        private static final String SECONDS = "Seconds";
+
+        /**
+         * Latest Stop of The Row's Punches. Never Lowered, So May Be Later Than Any Remaining Punch
+         */
+        private static final String LAST_STOP = "LastStop";
+    }
+
+    /**
+     * All Fields/Table Associated With Report Versions
+     * Each Row Holds The Sequence Number of The Last Change Affecting A UTC Day of Punches,
+     * Or Affecting The Names Reports Show
+     */
+    private static class REPORT_VERSION {
+        /**
+         * Table Versions Are Stored In
+         */
+        private static final String TABLE = "ReportVersion";
+        private static final String DAY = "Day";
+        private static final String VERSION = "Version";
+
+        /**
+         * Day Standing For Student, Task & Teacher Names
+         */
+        private static final long NAMES = -1;
+    }
+
+    /**
+     * All Fields/Table Associated With Scheduled Reports
+     */
+    private static class SCHEDULED_REPORT {
+        /**
+         * Table Schedules Are Stored In
+         */
+        private static final String TABLE = "ScheduledReport";
+        private static final String ID = "ScheduledReportId";
+        private static final String PERIOD = "Period";
+        private static final String TYPE = "Type";
+        private static final String COMPRESSION = "Compression";
+        private static final String FILE_NAME = "FileName";
+        private static final String LAST_PERIOD_END = "LastPeriodEnd";
+    }
+
+    /**
+     * Length of A Rollup Day. Days Are UTC, So Their Bounds Never Move With The Time Zone
+     */
+    private static final long SECONDS_PER_DAY = 24L * 60L * 60L;
+
     /**
      * All Fields/Table Associated With Students
      */
@@ -102,6 +183,25 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
         private static final String IMAGE = "StudentImage";
     }
 
+    /**
+     * All Fields/Table Associated With Name Search
+     * A Full Text Index Holding The Folded Names of Every Student, Teacher & Task.
+     * Each Row's docid Is The Owner's ID Times KINDS, Plus Its Kind
+     */
+    private static class NAME_SEARCH {
+        /**
+         * Table Names Are Indexed In
+         */
+        private static final String TABLE = "NameSearch";
+        private static final String DOC_ID = "docid";
+        private static final String NAMES = "Names";
+
+        private static final int KINDS = 3;
+        private static final int STUDENT = 0;
+        private static final int TEACHER = 1;
+        private static final int TASK = 2;
+    }
+
     /**
      * All Fields/Table Associated With Admin Accounts
      */
@@ -126,7 +226,7 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
                     STUDENT.LAST_NAME + " TEXT, " +
                     STUDENT.AGE + " INTEGER, " +
                     STUDENT.YEAR + " INTEGER, " +
-                    STUDENT.IMAGE + " BLOB DEFAULT NULL, " +
+                    STUDENT.IMAGE + " TEXT DEFAULT NULL, " +
                     "FOREIGN KEY(" + STUDENT.TEACHER_ID +") " +
                         "REFERENCES " + TEACHER.TABLE + "(" + TEACHER.ID + ")" +
                         " ON DELETE SET NULL " +
@@ -139,7 +239,7 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
             "CREATE TABLE " + TASK.TABLE + "( " +
                     TASK.ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
                     TASK.NAME + " TEXT, " +
-                    TASK.IMAGE + " BLOB DEFAULT NULL " +
+                    TASK.IMAGE + " TEXT DEFAULT NULL " +
                     ")";
 
     /**
@@ -160,6 +260,109 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
                             "ON DELETE CASCADE " +
                     ")";
 
+    /**
+     * Index For A Student's Punches, Ordered By Start Time
+     */
+    private static final String TASK_PUNCH_STUDENT_START_INDEX_DDL =
+            "CREATE INDEX IF NOT EXISTS TaskPunchStudentStart ON " + TASK_PUNCH.TABLE + "(" +
+                    TASK_PUNCH.STUDENT_ID + ", " + TASK_PUNCH.TIME_START + ")";
+
+    /**
+     * Index For Punches In A Time Range
+     */
+    private static final String TASK_PUNCH_START_INDEX_DDL =
+            "CREATE INDEX IF NOT EXISTS TaskPunchStart ON " + TASK_PUNCH.TABLE + "(" +
+                    TASK_PUNCH.TIME_START + ")";
+
+    /**
+     * Partial Index Holding Only Open Punches, So It Stays Tiny As History Grows
+     * Requires SQLite 3.8.0, Which Ships With Lollipop
+     */
+    private static final String TASK_PUNCH_OPEN_INDEX_DDL =
+            "CREATE INDEX IF NOT EXISTS TaskPunchOpen ON " + TASK_PUNCH.TABLE + "(" +
+                    TASK_PUNCH.STUDENT_ID + ") WHERE " + TASK_PUNCH.TIME_STOP + " IS NULL";
+
+    /**
+     * DDL of The Daily Punch Rollup
+     */
+    private static final String PUNCH_DAILY_DDL =
+            "CREATE TABLE IF NOT EXISTS " + PUNCH_DAILY.TABLE + "( " +
+                    PUNCH_DAILY.STUDENT_ID + " INTEGER NOT NULL, " +
+                    PUNCH_DAILY.TASK_ID + " INTEGER NOT NULL, " +
+                    PUNCH_DAILY.DAY + " INTEGER NOT NULL, " +
+                    PUNCH_DAILY.PUNCHES + " INTEGER NOT NULL, " +
+                    PUNCH_DAILY.SECONDS + " INTEGER NOT NULL, " +
+                    PUNCH_DAILY.LAST_STOP + " INTEGER NOT NULL, " +
+                    "PRIMARY KEY(" + PUNCH_DAILY.STUDENT_ID + ", " + PUNCH_DAILY.TASK_ID + ", " + PUNCH_DAILY.DAY + "), " +
+                    "FOREIGN KEY(" + PUNCH_DAILY.STUDENT_ID + ") " +
+                        "REFERENCES " + STUDENT.TABLE + "(" + STUDENT.ID + ") " +
+                            "ON DELETE CASCADE, " +
+                    "FOREIGN KEY(" + PUNCH_DAILY.TASK_ID + ") " +
+                        "REFERENCES " + TASK.TABLE + "(" + TASK.ID + ") " +
+                            "ON DELETE CASCADE " +
+                    ")";
+
+    /**
+     * Index For Rollup Rows In A Range of Days
+     * Holds The Latest Stop Too, So Rows Needing Their Punches Are Found Without Reading The Table
+     */
+    private static final String PUNCH_DAILY_DAY_INDEX_DDL =
+            "CREATE INDEX IF NOT EXISTS PunchDailyDay ON " + PUNCH_DAILY.TABLE + "(" +
+                    PUNCH_DAILY.DAY + ", " + PUNCH_DAILY.LAST_STOP + ")";
+
+    /**
+     * Recomputes Every Rollup Row From The Punch History
+     */
+    private static final String PUNCH_DAILY_REBUILD =
+            "INSERT INTO " + PUNCH_DAILY.TABLE + " (" +
+                    PUNCH_DAILY.STUDENT_ID + ", " +
+                    PUNCH_DAILY.TASK_ID + ", " +
+                    PUNCH_DAILY.DAY + ", " +
+                    PUNCH_DAILY.PUNCHES + ", " +
+                    PUNCH_DAILY.SECONDS + ", " +
+                    PUNCH_DAILY.LAST_STOP +
+                    ") SELECT " +
+                    TASK_PUNCH.STUDENT_ID + ", " +
+                    TASK_PUNCH.TASK_ID + ", " +
+                    TASK_PUNCH.TIME_START + " / " + SECONDS_PER_DAY + ", " +
+                    "COUNT(*), " +
+                    "SUM(" + TASK_PUNCH.TIME_STOP + " - " + TASK_PUNCH.TIME_START + "), " +
+                    "MAX(" + TASK_PUNCH.TIME_STOP + ")" +
+                    " FROM " + TASK_PUNCH.TABLE +
+                    " WHERE " + TASK_PUNCH.TIME_STOP + " IS NOT NULL" +
+                    " GROUP BY " + TASK_PUNCH.STUDENT_ID + ", " + TASK_PUNCH.TASK_ID + ", " + TASK_PUNCH.TIME_START + " / " + SECONDS_PER_DAY;
+
+    /**
+     * DDL of The Report Version Table
+     */
+    private static final String REPORT_VERSION_DDL =
+            "CREATE TABLE IF NOT EXISTS " + REPORT_VERSION.TABLE + "( " +
+                    REPORT_VERSION.DAY + " INTEGER PRIMARY KEY, " +
+                    REPORT_VERSION.VERSION + " INTEGER NOT NULL " +
+                    ")";
+
+    /**
+     * DDL of The Scheduled Report Table
+     */
+    private static final String SCHEDULED_REPORT_DDL =
+            "CREATE TABLE IF NOT EXISTS " + SCHEDULED_REPORT.TABLE + "( " +
+                    SCHEDULED_REPORT.ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    SCHEDULED_REPORT.PERIOD + " TEXT NOT NULL, " +
+                    SCHEDULED_REPORT.TYPE + " TEXT NOT NULL, " +
+                    SCHEDULED_REPORT.COMPRESSION + " TEXT NOT NULL, " +
+                    SCHEDULED_REPORT.FILE_NAME + " TEXT NOT NULL, " +
+                    SCHEDULED_REPORT.LAST_PERIOD_END + " INTEGER DEFAULT NULL " +
+                    ")";
+
+    /**
+     * DDL of The Name Search Index
+     * FTS4 Ships With Every Supported Version, The Default Tokenizer Is Used As unicode61 Does Not
+     */
+    private static final String NAME_SEARCH_DDL =
+            "CREATE VIRTUAL TABLE IF NOT EXISTS " + NAME_SEARCH.TABLE + " USING fts4(" +
+                    NAME_SEARCH.NAMES +
+                    ")";
+
     /**
      * DDL of The Teacher Table
      */
@@ -170,7 +373,7 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
                     TEACHER.LAST_NAME + " TEXT, " +
                     TEACHER.EMAIL + " TEXT, " +
                     TEACHER.PHONE_NUMBER + " TEXT, " +
-                    TEACHER.IMAGE + " BLOB DEFAULT NULL " +
+                    TEACHER.IMAGE + " TEXT DEFAULT NULL " +
                     ")";
 
     /**
@@ -183,13 +386,120 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
                     ADMIN_ACCOUNT.PASSWORD + " TEXT NOT NULL " +
                     ")";
 
+    /**
+     * Image Columns Hold Keys Into This Store Rather Than Image Data
+     */
+    private final ImageStore imageStore;
+
+    /**
+     * Finished Reports, Keyed By Data Versions That Start Over When The Tables Are Recreated
+     */
+    private final ReportCache reportCache;
+
+    /**
+     * Upgrades Existing Databases Without Losing Data
+     */
+    private final MigrationRunner migrationRunner;
+
+    /**
+     * Compiled Inserts, Updates And Deletes
+     */
+    private final StatementCache statementCache = new StatementCache();
+
+    /**
+     * Number of Rows Moved Per Query When Migrating Inline Images
+     */
+    private static final int IMAGE_MIGRATION_BATCH = 50;
+
+    /**
+     * Largest Slice of A BLOB Read At Once, Kept Well Under The Cursor Window Size
+     */
+    private static final int BLOB_CHUNK_SIZE = 512 * 1024;
+
+    /**
+     * The Single Application Wide Instance
+     */
+    private static PersistenceInteractor instance;
+
     /**
      * Default Constructor
+     * Use getInstance So All Screens Share One Connection
+     * @param context
+     * Application Context
+     */
+    private PersistenceInteractor(Context context) {
+        this(context, DATABASE_NAME);
+    }
+
+    /**
+     * Opens A Database Under Any Name
+     * @param context
+     * Application Context
+     * @param databaseName
+     * File Name of The Database
+     */
+    private PersistenceInteractor(Context context, String databaseName) {
+        super(context, databaseName, null, DATABASE_VERSION);
+
+        // Write Ahead Logging Lets Reports & Lists Read While Punches Are Written
+        // Each Reader Gets Its Own Pooled Connection, So Pragmas Must Be Set In onConfigure
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+            setWriteAheadLoggingEnabled(true);
+
+        imageStore = new ImageStore(context);
+        reportCache = ReportCache.getInstance(context);
+        migrationRunner = new MigrationRunner(createMigrations());
+    }
+
+    /**
+     * Retrieves The Application Wide Instance, Creating It On First Use
+     * The Database Itself Is Only Opened When First Queried
+     *
+     * @param context
+     * Application/Current Context
+     *
+     * @return
+     * The Shared Instance
+     */
+    public static synchronized PersistenceInteractor getInstance(Context context) {
+        if (instance == null)
+            instance = new PersistenceInteractor(context.getApplicationContext());
+        return instance;
+    }
+
+    /**
+     * Creates An Instance Over A Separate Database, Leaving The App's Own Data Alone
+     * Only For Tests & Benchmarks, The App Must Share getInstance
+     *
      * @param context
      * Application/Current Context
+     *
+     * @param databaseName
+     * File Name of The Separate Database, Deleted With Context.deleteDatabase When Done
+     *
+     * @return
+     * A New Instance, Which The Caller Must Close
+     */
+    @VisibleForTesting
+    public static PersistenceInteractor createDetached(Context context, String databaseName) {
+        if (DATABASE_NAME.equals(databaseName))
+            throw new IllegalArgumentException("Use getInstance For The App's Database");
+        return new PersistenceInteractor(context.getApplicationContext(), databaseName);
+    }
+
+    /**
+     * Opens The Database On A Background Thread
+     * Creation And Migrations Then Happen Before A Screen Blocks On Them
      */
-    public PersistenceInteractor(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    public void openInBackground() {
+        Thread opener = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                getWritableDatabase();
+            }
+        }, "bocesDatabaseOpen");
+        opener.start();
     }
 
     /**
@@ -205,649 +515,2242 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
         sqLiteDatabase.execSQL(STUDENT_DDL);
         sqLiteDatabase.execSQL(TASK_PUNCH_DDL);
         sqLiteDatabase.execSQL(ADMIN_ACCOUNT_DDL);
+        createTaskPunchIndexes(sqLiteDatabase);
+        createPunchRollup(sqLiteDatabase);
+        createReportScheduling(sqLiteDatabase);
+        sqLiteDatabase.execSQL(NAME_SEARCH_DDL);
         createInitialData(sqLiteDatabase);
     }
 
-    @Override
-    public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
-        emptyAndRecreate();
-    }
-
     /**
-     * Enables Foreign Keys Along With Default Behavior
-     * @param db
-     * The Database
+     * Called When The Database Is Older Than DATABASE_VERSION
+     * Runs Every Migration Between The Two Versions In Order
+     * @param sqLiteDatabase
+     * A Writable Database, Already In A Transaction
      */
     @Override
-    public void onOpen(SQLiteDatabase db) {
-        super.onOpen(db);
-        // Make Sure The Reference Is Not Readonly
-        if (!db.isReadOnly())
-            db.execSQL("PRAGMA foreign_keys = 1;");
+    public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
+        migrationRunner.run(sqLiteDatabase, oldVersion, newVersion);
     }
 
     /**
-     * Drop All Tables & Recreate Them With Initial Data
+     * Builds Every Schema Migration
+     * Each Step Upgrades From The Previous Version, A Step Must Be Added Whenever DATABASE_VERSION Increments
+     *
+     * @return
+     * All Migrations
      */
-    public void emptyAndRecreate() {
-        SQLiteDatabase db = this.getWritableDatabase();
+    private List<Migration> createMigrations() {
+        ArrayList<Migration> migrations = new ArrayList<>();
+
+        migrations.add(new BatchedMigration(2, "Move Inline Images To Image Store", IMAGE_MIGRATION_BATCH) {
+            @Override
+            protected int migrateBatch(SQLiteDatabase db, int batchSize) {
+                int moved = moveImagesToStore(db, STUDENT.TABLE, STUDENT.ID, STUDENT.IMAGE, batchSize);
+                moved += moveImagesToStore(db, TEACHER.TABLE, TEACHER.ID, TEACHER.IMAGE, batchSize);
+                moved += moveImagesToStore(db, TASK.TABLE, TASK.ID, TASK.IMAGE, batchSize);
+                return moved;
+            }
+        });
 
-        db.execSQL("DROP TABLE IF EXISTS " + TASK_PUNCH.TABLE);
-        db.execSQL("DROP TABLE IF EXISTS " + STUDENT.TABLE);
-        db.execSQL("DROP TABLE IF EXISTS " + TASK.TABLE);
-        db.execSQL("DROP TABLE IF EXISTS " + TEACHER.TABLE);
-        db.execSQL("DROP TABLE IF EXISTS " + ADMIN_ACCOUNT.TABLE);
+        migrations.add(new Migration(3, "Index Task Punches") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                createTaskPunchIndexes(db);
+            }
+        });
 
-        this.onCreate(db);
+        migrations.add(new Migration(4, "Add Daily Punch Rollup") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                createPunchRollup(db);
+                db.execSQL(PUNCH_DAILY_REBUILD);
+            }
+        });
+
+        migrations.add(new Migration(5, "Add Scheduled Reports & Report Versions") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                createReportScheduling(db);
+            }
+        });
+
+        migrations.add(new Migration(6, "Add Name Search") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL(NAME_SEARCH_DDL);
+                rebuildNameSearch(db);
+            }
+        });
+
+        migrations.add(new Migration(7, "Track Latest Stop In Daily Rollup") {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("DROP TABLE IF EXISTS " + PUNCH_DAILY.TABLE);
+                createPunchRollup(db);
+                db.execSQL(PUNCH_DAILY_REBUILD);
+            }
+        });
+
+        return migrations;
     }
 
     /**
-     * Completely Drops The Database
-     * May Require An App Restart To Take Effect
+     * Creates The Daily Punch Rollup And Its Index
      *
-     * @param context
-     * Application/Current Context
+     * @param db
+     * A Writable Database
      */
-    public void dropDatabase(Context context) {
-        context.deleteDatabase(DATABASE_NAME);
+    private void createPunchRollup(SQLiteDatabase db) {
+        db.execSQL(PUNCH_DAILY_DDL);
+        db.execSQL(PUNCH_DAILY_DAY_INDEX_DDL);
     }
 
     /**
-     * Inserts The Initial Setup Data
-     * May Be Called After Tables Are Created
-     * @param writable
-     * A Writable Database Reference
+     * Creates The Scheduled Report And Report Version Tables
+     *
+     * @param db
+     * A Writable Database
      */
-    private void createInitialData(SQLiteDatabase writable) {
-        writable.beginTransaction();
+    private void createReportScheduling(SQLiteDatabase db) {
+        db.execSQL(SCHEDULED_REPORT_DDL);
+        db.execSQL(REPORT_VERSION_DDL);
+    }
 
-        try {
-            // Create Initial Admin Account
-            {
-                ContentValues values = new ContentValues();
-                values.put(ADMIN_ACCOUNT.USERNAME, "admin");
-                values.put(ADMIN_ACCOUNT.PASSWORD, BCrypt.hashpw("a", BCrypt.gensalt()));
-                writable.insertOrThrow(ADMIN_ACCOUNT.TABLE, null, values);
-            }
+    /**
+     * Creates The Indexes Used By Student, Open Punch And Range Lookups
+     *
+     * @param db
+     * A Writable Database
+     */
+    private void createTaskPunchIndexes(SQLiteDatabase db) {
+        db.execSQL(TASK_PUNCH_STUDENT_START_INDEX_DDL);
+        db.execSQL(TASK_PUNCH_START_INDEX_DDL);
 
-            // Last Thing That Should Be Run
-            // Marks All Operations As Successful
-            writable.setTransactionSuccessful();
-        } catch (Exception e) { // Log Failures
-            Log.e(TAG, "Error Creating Initial Data. Message: " + e.getMessage());
-        } finally { // In Anything Fails, Rollback
-            writable.endTransaction();
-        }
+        // Older Devices Fall Back To The Student Index For Open Punches
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+            db.execSQL(TASK_PUNCH_OPEN_INDEX_DDL);
     }
 
     /**
-     * Base Query To Select Students
+     * Indexes The Names of Every Student, Teacher & Task From Scratch
+     * Only Needed If Name Search Is Suspected To Have Drifted From The Tables
      */
-    private final String STUDENT_QUERY = "SELECT " +
-            STUDENT.ID + " , " +
-            STUDENT.FIRST_NAME + " , " +
-            STUDENT.LAST_NAME + " , " +
-            STUDENT.AGE + " , " +
-            STUDENT.YEAR + " , " +
-            STUDENT.TEACHER_ID + ", " +
-            STUDENT.IMAGE +
-            " FROM " + STUDENT.TABLE;
+    public void rebuildNameSearch() {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            rebuildNameSearch(db);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
 
     /**
-     * Converts A Result Row To A Student Model
-     *
-     * @param cursor
-     * A Cursor On A Student Row Having Results In Order the Base Query
+     * Indexes The Names of Every Student, Teacher & Task From Scratch
      *
-     * @return
-     * A Model With All Previously Saved Info Populated
+     * @param db
+     * A Writable Database
      */
-    private Student studentFromRow(Cursor cursor) {
-        Student student = new Student();
-        student.setId(cursor.getInt(0));
-        student.setFirstName(cursor.getString(1));
-        student.setLastName(cursor.getString(2));
-        student.setAge(cursor.getInt(3));
-        student.setYear(cursor.getInt(4));
-
-        // Handle Optional Fields
-        if (cursor.isNull(5))
-            student.setTeacherId(null);
-        else
-            student.setTeacherId(cursor.getInt(5));
+    private void rebuildNameSearch(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + NAME_SEARCH.TABLE);
 
-        // Convert Image
-        if (!cursor.isNull(6)) {
-            ByteArrayInputStream istream = new ByteArrayInputStream(cursor.getBlob(6));
-            Bitmap teacherImage = BitmapFactory.decodeStream(istream);
-            student.setImage(teacherImage);
+        SQLiteStatement insert = db.compileStatement(NAME_SEARCH_INSERT);
+        try {
+            indexTable(db, insert, "SELECT " + STUDENT.ID + ", " + STUDENT.FIRST_NAME + ", " + STUDENT.LAST_NAME +
+                    " FROM " + STUDENT.TABLE, NAME_SEARCH.STUDENT);
+            indexTable(db, insert, "SELECT " + TEACHER.ID + ", " + TEACHER.FIRST_NAME + ", " + TEACHER.LAST_NAME +
+                    " FROM " + TEACHER.TABLE, NAME_SEARCH.TEACHER);
+            indexTable(db, insert, "SELECT " + TASK.ID + ", " + TASK.NAME +
+                    " FROM " + TASK.TABLE, NAME_SEARCH.TASK);
+        } finally {
+            insert.close();
         }
-        return student;
     }
 
     /**
-     * Retrieves A Student By ID
+     * Indexes Every Row A Query Returns
      *
-     * @param id
-     * The ID of The Student To Retrieve
+     * @param db
+     * A Writable Database
      *
-     * @return
-     * A Filled In Model Object, or
-     * Null if The Student Was Not Found
+     * @param insert
+     * Compiled NAME_SEARCH_INSERT
+     *
+     * @param query
+     * Selects The ID, Then Each Name
+     *
+     * @param kind
+     * Kind of Row, From NAME_SEARCH
      */
-    public Student getStudent(int id) {
-        Student student = null;
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery( STUDENT_QUERY +" WHERE " + STUDENT.ID + "=" +id, null);
-
-        if (cursor.moveToFirst()) {
-            student = studentFromRow(cursor);
+    private static void indexTable(SQLiteDatabase db, SQLiteStatement insert, String query, int kind) {
+        Cursor cursor = db.rawQuery(query, null);
+        try {
+            String[] names = new String[cursor.getColumnCount() - 1];
+            while (cursor.moveToNext()) {
+                for (int i = 0; i < names.length; i++)
+                    names[i] = cursor.getString(i + 1);
+                insert.bindLong(1, searchDocId(kind, cursor.getInt(0)));
+                insert.bindString(2, searchText(names));
+                insert.executeInsert();
+                insert.clearBindings();
+            }
+        } finally {
+            cursor.close();
         }
-        cursor.close();
-        return student;
     }
 
     /**
-     * Retrieves All Saved Students
+     * Replaces A Batch of Inline Image BLOBs In A Table With Their Image Store Keys
+     * BLOBs Are Read In Slices, So Large Images Never Have To Fit In A Single Cursor Window
+     *
+     * @param db
+     * A Writable Database
+     *
+     * @param table
+     * Table To Migrate
+     *
+     * @param idColumn
+     * Primary Key of The Table
+     *
+     * @param imageColumn
+     * Column Holding The Image
+     *
+     * @param limit
+     * Largest Number of Rows To Move
      *
      * @return
-     * An ArrayList of All Students
-     * An Empty List If There Are None
+     * Number of Rows Moved
      */
-    public ArrayList<Student> getAllStudents() {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(STUDENT_QUERY, null);
-
-        ArrayList<Student> students = new ArrayList<>();
-
-        if (cursor.moveToFirst()) {
+    private int moveImagesToStore(SQLiteDatabase db, String table, String idColumn, String imageColumn, int limit) {
+        final String chunkQuery = "SELECT substr(" + imageColumn + ", ?, " + BLOB_CHUNK_SIZE + ")" +
+                " FROM " + table + " WHERE " + idColumn + " = ?";
+
+        Cursor batch = db.rawQuery("SELECT " + idColumn + ", length(" + imageColumn + ")" +
+                " FROM " + table +
+                " WHERE typeof(" + imageColumn + ") = 'blob'" +
+                " ORDER BY " + idColumn +
+                " LIMIT " + limit, null);
+
+        int moved = 0;
+        if (batch.moveToFirst()) {
             do {
-                students.add(studentFromRow(cursor));
-            } while (cursor.moveToNext());
+                final String id = Integer.toString(batch.getInt(0));
+                final int length = batch.getInt(1);
+
+                // Read The Image A Slice At A Time. substr Is 1 Indexed
+                ByteArrayOutputStream stream = new ByteArrayOutputStream(length);
+                for (int offset = 1; offset <= length; offset += BLOB_CHUNK_SIZE) {
+                    Cursor chunk = db.rawQuery(chunkQuery, new String[]{Integer.toString(offset), id});
+                    if (chunk.moveToFirst()) {
+                        byte[] bytes = chunk.getBlob(0);
+                        stream.write(bytes, 0, bytes.length);
+                    }
+                    chunk.close();
+                }
+
+                ContentValues values = new ContentValues();
+                String key = null;
+                if (length == 0) {
+                    values.putNull(imageColumn);
+                } else {
+                    key = imageStore.put(stream.toByteArray());
+                    values.put(imageColumn, key);
+                }
+                try {
+                    db.update(table, values, idColumn + " = ?", new String[]{id});
+                } finally {
+                    if (key != null)
+                        imageStore.unpin(key);
+                }
+                moved++;
+            } while (batch.moveToNext());
         }
+        batch.close();
+        return moved;
+    }
 
-        cursor.close();
-        return students;
+    /**
+     * Configures Every Pooled Connection Before It Is Used
+     * Only Called On Jelly Bean And Later
+     * @param db
+     * The Database
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        db.setForeignKeyConstraintsEnabled(true);
     }
 
     /**
-     * Retrieves All Students Associated With A Teacher
-     *
-     * @param teacherID
-     * The ID of The Teacher
-     *
-     * @return
-     * An ArrayList of That Teachers Students
-     * An Empty List If The Teacher Does Not Exist or
-     * No Students Were Found
+     * Enables Foreign Keys Along With Default Behavior
+     * Then Finishes Any Batched Migration, Before Any Screen Can Read The Rows It Moves
+     * @param db
+     * The Database
      */
-    public ArrayList<Student> getStudentsForTeacher(int teacherID) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(STUDENT_QUERY + " WHERE " + STUDENT.TEACHER_ID + "=" + teacherID, null);
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        if (db.isReadOnly())
+            return;
 
-        ArrayList<Student> students = new ArrayList<>();
+        // Older Versions Have No onConfigure And Use A Single Connection
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN)
+            db.execSQL("PRAGMA foreign_keys = 1;");
 
-        if (cursor.moveToFirst()) {
-            do {
-                students.add(studentFromRow(cursor));
-            } while (cursor.moveToNext());
-        }
+        migrationRunner.finishPending(db);
+    }
 
+    /**
+     * Copies Committed Pages From The Write Ahead Log Back Into The Database
+     * Passive, So It Never Waits On Readers or Blocks Writers
+     * Keeps The Log Short When The App Goes Idle Instead of Waiting For The Automatic Checkpoint
+     */
+    public void checkpoint() {
+        // Older Versions Have No Write Ahead Log
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN)
+            return;
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        if (!db.isWriteAheadLoggingEnabled())
+            return;
+
+        // The Pragma Returns A Row, So It Must Be Run As A Query
+        Cursor cursor = db.rawQuery("PRAGMA wal_checkpoint(PASSIVE)", null);
+        cursor.moveToFirst();
         cursor.close();
-        return students;
     }
 
     /**
-     * Adds A New Student
-     *
-     * @param student
-     * A Filled In Student Model
-     * Image & TeacherId May Be Null
-     *
-     * @return
-     * The ID of The New Student
-     * -1 If The Insert Failed
+     * Releases Compiled Statements Along With The Database
      */
-    public int addStudent(Student student) {
+    @Override
+    public synchronized void close() {
+        statementCache.clear();
+        super.close();
+    }
+
+    /**
+     * Drop All Tables & Recreate Them With Initial Data
+     */
+    public void emptyAndRecreate() {
         SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
 
-        values.put(STUDENT.FIRST_NAME, student.getFirstName());
-        values.put(STUDENT.LAST_NAME, student.getLastName());
-        values.put(STUDENT.AGE, student.getAge());
-        values.put(STUDENT.YEAR, student.getYear());
+        db.execSQL("DROP TABLE IF EXISTS " + NAME_SEARCH.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + SCHEDULED_REPORT.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + REPORT_VERSION.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + PUNCH_DAILY.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + TASK_PUNCH.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + STUDENT.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + TASK.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + TEACHER.TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + ADMIN_ACCOUNT.TABLE);
 
-        if (student.getTeacherId() == null)
-            values.putNull(STUDENT.TEACHER_ID);
-        else
-            values.put(STUDENT.TEACHER_ID, student.getTeacherId());
+        this.onCreate(db);
+        pruneImages();
+        reportCache.clear();
+    }
 
-        // Encode Image
-        if (student.getImage() != null) {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            student.getImage().compress(Bitmap.CompressFormat.PNG, 100, stream);
-            values.put(STUDENT.IMAGE, stream.toByteArray());
-        }
+    /**
+     * Removes Stored Images No Longer Referenced By Any Student, Teacher or Task
+     * Lists Every Stored Image, So Only For Maintenance. Saves & Deletes Release Their Own Image
+     */
+    public void pruneImages() {
+        imageStore.retainOnly(imageReferences);
+    }
 
-        long rowId = db.insert(STUDENT.TABLE, null, values);
+    /**
+     * Query For Whether Any Row Holds An Image Key
+     */
+    private static final String IMAGE_REFERENCED_QUERY =
+            "SELECT 1 FROM " + STUDENT.TABLE + " WHERE " + STUDENT.IMAGE + " = ?" +
+            " UNION ALL SELECT 1 FROM " + TEACHER.TABLE + " WHERE " + TEACHER.IMAGE + " = ?" +
+            " UNION ALL SELECT 1 FROM " + TASK.TABLE + " WHERE " + TASK.IMAGE + " = ?" +
+            " LIMIT 1";
 
-        // Abort on failed insert
-        if (rowId == -1)
-            return -1;
+    /**
+     * Query For Every Image Key Held By Any Row
+     */
+    private static final String IMAGE_KEYS_QUERY =
+            "SELECT " + STUDENT.IMAGE + " FROM " + STUDENT.TABLE +
+                    " WHERE " + STUDENT.IMAGE + " IS NOT NULL" +
+            " UNION SELECT " + TEACHER.IMAGE + " FROM " + TEACHER.TABLE +
+                    " WHERE " + TEACHER.IMAGE + " IS NOT NULL" +
+            " UNION SELECT " + TASK.IMAGE + " FROM " + TASK.TABLE +
+                    " WHERE " + TASK.IMAGE + " IS NOT NULL";
 
-        // Get The New Student And Return Its ID
-        Cursor cursor = db.rawQuery(
-                "SELECT " + STUDENT.ID + " FROM " + STUDENT.TABLE +
-                        " WHERE ROWID = " + rowId , null);
+    /**
+     * Lets The Image Store Ask Which Images Rows Still Use
+     */
+    private final ImageStore.References imageReferences = new ImageStore.References() {
+        @Override
+        public boolean isReferenced(String key) {
+            Cursor cursor = getReadableDatabase().rawQuery(IMAGE_REFERENCED_QUERY, new String[]{key, key, key});
+            boolean referenced = cursor.moveToFirst();
+            cursor.close();
+            return referenced;
+        }
 
-        int studentId = -1;
+        @Override
+        public Set<String> getAll() {
+            Cursor cursor = getReadableDatabase().rawQuery(IMAGE_KEYS_QUERY, null);
 
-        if (cursor.moveToFirst()) {
-            studentId = cursor.getInt(0);
+            HashSet<String> keys = new HashSet<>();
+            if (cursor.moveToFirst()) {
+                do {
+                    keys.add(cursor.getString(0));
+                } while (cursor.moveToNext());
+            }
+            cursor.close();
+            return keys;
         }
-        cursor.close();
-        return studentId;
-    }
+    };
 
     /**
-     * Updates A Student's Fields
-     * All Fields Except For ID May Be Updated
+     * Saves A Model's Image If It Is New
      *
-     * @param student
-     * A Student Model With Updated Fields
-     * Image & TeacherId May Be Null
+     * @param handle
+     * The Model's Image Handle
+     *
+     * @return
+     * The Image Store Key To Save In The Model's Row
+     * Pinned Until releaseReplacedImage Is Called With It
      */
-    public void update(Student student) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-
-        values.put(STUDENT.FIRST_NAME, student.getFirstName());
-        values.put(STUDENT.LAST_NAME, student.getLastName());
-        values.put(STUDENT.AGE, student.getAge());
-        values.put(STUDENT.YEAR, student.getYear());
-
-        // Handle Optional ID
-        if (student.getTeacherId() == null)
-            values.putNull(STUDENT.TEACHER_ID);
-        else
-            values.put(STUDENT.TEACHER_ID, student.getTeacherId());
-
-        if (student.getImage() != null) {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            student.getImage().compress(Bitmap.CompressFormat.PNG, 100, stream);
-            values.put(STUDENT.IMAGE, stream.toByteArray());
+    private String storeImage(ImageHandle handle) {
+        if (handle.isStored()) {
+            imageStore.pin(handle.getKey());
+            return handle.getKey();
         }
 
-        int affectedRows = db.update(STUDENT.TABLE, values,
-                STUDENT.ID + " = ?",
-                new String[]{student.getId().toString()});
+        // Usually Encoded When Imported, Leaving Only The Write
+        final String key = handle.getEncoded() != null
+                ? imageStore.put(handle.getEncoded())
+                : imageStore.put(handle.getPending());
 
-        if (affectedRows < 1)
-            Log.w(TAG, "Update Affected No Rows");
+        // Already Decoded, No Need To Read It Back
+        BitmapCache.getInstance().put(key, handle.getPending());
+        return key;
     }
 
     /**
-     * Removes A Student
+     * Retrieves The Image Key Currently Saved In A Row
      *
-     * @param studentId
-     * The ID of The Student
+     * @param db
+     * A Database Reference
+     *
+     * @param table
+     * Table of The Row
+     *
+     * @param idColumn
+     * Primary Key of The Table
+     *
+     * @param imageColumn
+     * Column Holding The Image Key
+     *
+     * @param id
+     * Id of The Row
+     *
+     * @return
+     * The Key, or null If The Row Has No Image
      */
-    public void deleteStudent(int studentId) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(STUDENT.TABLE, STUDENT.ID + " = ?", new String[]{Integer.toString(studentId)});
+    private String currentImageKey(SQLiteDatabase db, String table, String idColumn, String imageColumn, int id) {
+        Cursor cursor = db.rawQuery(
+                "SELECT " + imageColumn + " FROM " + table + " WHERE " + idColumn + " = ?",
+                new String[]{Integer.toString(id)});
+
+        String key = null;
+        if (cursor.moveToFirst() && !cursor.isNull(0))
+            key = cursor.getString(0);
+        cursor.close();
+        return key;
     }
 
     /**
-     * Base Query For Selecting A Task
+     * Unpins A Saved Image And Removes The One It Replaced If No Other Row Uses It
+     * Only The Changed Row's Image Is Checked, Never The Whole Store
+     *
+     * @param previousKey
+     * Key Saved Before The Write, May Be null
+     *
+     * @param newKey
+     * Key Returned By storeImage For The Write, May Be null
      */
-    private static final String TASK_QUERY = "SELECT " +
-            TASK.ID + ", " +
-            TASK.NAME + ", " +
-            TASK.IMAGE +
-            " FROM " + TASK.TABLE;
+    private void releaseReplacedImage(String previousKey, String newKey) {
+        if (newKey != null)
+            imageStore.unpin(newKey);
+
+        if (previousKey == null || previousKey.equals(newKey))
+            return;
+
+        imageStore.release(previousKey, imageReferences);
+    }
 
     /**
-     * Converts A Result Row To A Task Model
+     * Retrieves A Compiled Statement For The Writable Database
      *
-     * @param cursor
-     * A Cursor On A Task Row Having Results In Order the Base Query
+     * @param sql
+     * SQL With ? Placeholders For Every Value
      *
      * @return
-     * A Model With All Previously Saved Info Populated
+     * A Cached Statement. Synchronize On It While Binding And Executing
      */
-    private Task taskFromRow(Cursor cursor) {
-        Task task = new Task();
-        task.setId(cursor.getInt(0));
-        task.setName(cursor.getString(1));
-        if (!cursor.isNull(2)) {
-            ByteArrayInputStream istream = new ByteArrayInputStream(cursor.getBlob(2));
-            Bitmap taskImage = BitmapFactory.decodeStream(istream);
-            task.setImage(taskImage);
-        }
-        return task;
+    private SQLiteStatement statement(String sql) {
+        return statementCache.get(this.getWritableDatabase(), sql);
     }
 
     /**
-     * Retrieves A Task By ID
+     * Runs A Cached Delete By ID
      *
-     * @param id
-     * The ID of The Task To Retrieve
+     * @param sql
+     * A Delete With A Single ? For The ID
      *
-     * @return
-     * A Filled In Model Object, or
-     * Null if The Task Was Not Found
+     * @param id
+     * ID of The Row To Remove
      */
-    public Task getTask(int id) {
-        Task task = null;
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery( TASK_QUERY + " WHERE " + TASK.ID + "=" +id, null);
-
-        if (cursor.moveToFirst()) {
-            task = taskFromRow(cursor);
+    private void executeDelete(String sql, int id) {
+        SQLiteStatement statement = statement(sql);
+        synchronized (statement) {
+            statement.bindLong(1, id);
+            statement.executeUpdateDelete();
+            statement.clearBindings();
         }
-        cursor.close();
-        return task;
     }
 
     /**
-     * Retrieves All Saved Tasks
-     *
-     * @return
-     * An ArrayList of All Tasks
-     * An Empty List If There Are None
+     * Binds A Value That May Be null
      */
-    public ArrayList<Task> getAllTasks() {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(TASK_QUERY,null);
-
-        ArrayList<Task> tasks = new ArrayList<>();
+    private static void bindNullable(SQLiteStatement statement, int index, String value) {
+        if (value == null)
+            statement.bindNull(index);
+        else
+            statement.bindString(index, value);
+    }
 
-        if (cursor.moveToFirst()) {
-            do {
-                tasks.add(taskFromRow(cursor));
-            } while (cursor.moveToNext());
-        }
+    /**
+     * Binds A Value That May Be null
+     */
+    private static void bindNullable(SQLiteStatement statement, int index, Integer value) {
+        if (value == null)
+            statement.bindNull(index);
+        else
+            statement.bindLong(index, value);
+    }
 
-        cursor.close();
-        return tasks;
+    /**
+     * Binds A Date As Seconds Since The Epoch, or null
+     */
+    private static void bindSeconds(SQLiteStatement statement, int index, Date date) {
+        if (date == null)
+            statement.bindNull(index);
+        else
+            statement.bindLong(index, date.getTime() / 1000L);
     }
 
-    public int addTask(Task task) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
+    /**
+     * Most Matches A Name Search Returns, Unless Asked For Fewer
+     */
+    public static final int NAME_SEARCH_LIMIT = 100;
 
-        values.put(TASK.NAME, task.getName());
-        if (task.getImage() != null) {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            task.getImage().compress(Bitmap.CompressFormat.PNG, 100, stream);
-            values.put(TASK.IMAGE, stream.toByteArray());
-        }
+    /**
+     * Indexes A Row's Names
+     */
+    private static final String NAME_SEARCH_INSERT = "INSERT INTO " + NAME_SEARCH.TABLE + " (" +
+            NAME_SEARCH.DOC_ID + ", " +
+            NAME_SEARCH.NAMES +
+            ") VALUES (?, ?)";
 
-        long rowId = db.insert(TASK.TABLE, null, values);
+    /**
+     * Removes A Row's Names
+     */
+    private static final String NAME_SEARCH_DELETE =
+            "DELETE FROM " + NAME_SEARCH.TABLE + " WHERE " + NAME_SEARCH.DOC_ID + " = ?";
 
-        // Abort on failed insert
-        if (rowId == -1)
-            return -1;
+    /**
+     * Orders Matches Whose Names Start With The Search First, Then Shorter Names
+     * Binds The Prefix Pattern From nameSearchTerms
+     */
+    private static final String NAME_SEARCH_ORDER =
+            " ORDER BY MatchNames GLOB ? DESC, length(MatchNames), MatchNames";
 
-        // Get The New Task And Return Its ID
-        Cursor cursor = db.rawQuery(
-                "SELECT " + TASK.ID + " FROM " + TASK.TABLE +
-                        " WHERE ROWID = " + rowId , null);
+    /**
+     * Splits Folded Text Into The Words The Index Holds
+     */
+    private static final Pattern NAME_SEARCH_WORD_BREAK = Pattern.compile("[^\\p{L}\\p{N}]+");
 
-        int taskId = -1;
+    /**
+     * Gets The Name Search Row Standing For A Student, Teacher or Task
+     */
+    private static long searchDocId(int kind, int id) {
+        return (long) id * NAME_SEARCH.KINDS + kind;
+    }
 
-        if (cursor.moveToFirst()) {
-            taskId = cursor.getInt(0);
+    /**
+     * Gets The Text Indexed For A Row's Names
+     * Folded The Same Way As In Memory Searches, So Case & Accents Don't Matter
+     */
+    private static String searchText(String... names) {
+        StringBuilder text = new StringBuilder();
+        for (String name : names) {
+            if (name == null)
+                continue;
+            if (text.length() > 0)
+                text.append(' ');
+            text.append(name);
         }
-        cursor.close();
-        return taskId;
+        return SearchIndex.fold(text);
     }
 
     /**
-     * Updates A Task's Fields
-     * All Fields Except For ID May Be Updated
+     * Replaces The Indexed Names of A Student, Teacher or Task
      *
-     * @param task
-     * A Task Model With Updated Fields
-     * Image May Be Null
+     * @param kind
+     * Kind of Row, From NAME_SEARCH
+     *
+     * @param id
+     * ID of The Row
+     *
+     * @param names
+     * Names To Find It By, May Be null
      */
-    public void update(Task task) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-
-        values.put(TASK.NAME, task.getName());
-        if (task.getImage() != null) {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            task.getImage().compress(Bitmap.CompressFormat.PNG, 100, stream);
-            values.put(TASK.IMAGE, stream.toByteArray());
+    private void indexNames(int kind, int id, String... names) {
+        unindexNames(kind, id);
+
+        SQLiteStatement statement = statement(NAME_SEARCH_INSERT);
+        synchronized (statement) {
+            statement.bindLong(1, searchDocId(kind, id));
+            statement.bindString(2, searchText(names));
+            statement.executeInsert();
+            statement.clearBindings();
         }
-
-        int affectedRows = db.update(TASK.TABLE, values,
-                TASK.ID + " = ?",
-                new String[]{task.getId().toString()});
-
-        if (affectedRows < 1)
-            Log.w(TAG, "Update Affected No Rows");
     }
 
     /**
-     * Removes A Task
+     * Removes The Indexed Names of A Student, Teacher or Task
      *
-     * @param taskId
-     * The ID of The Task
+     * @param kind
+     * Kind of Row, From NAME_SEARCH
+     *
+     * @param id
+     * ID of The Row
      */
-    public void deleteTask(int taskId) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TASK.TABLE, TASK.ID + " = ?", new String[]{Integer.toString(taskId)});
+    private void unindexNames(int kind, int id) {
+        SQLiteStatement statement = statement(NAME_SEARCH_DELETE);
+        synchronized (statement) {
+            statement.bindLong(1, searchDocId(kind, id));
+            statement.executeUpdateDelete();
+            statement.clearBindings();
+        }
     }
 
     /**
-     * Base Query For Selecting A Punch
+     * Joins A Table To The Rows of One Kind Matching A Search
+     * Binds The Match Expression From nameSearchTerms
+     *
+     * @param idColumn
+     * Primary Key of The Table
+     *
+     * @param kind
+     * Kind of Row, From NAME_SEARCH
      */
-    private static final String TASK_PUNCH_QUERY =
-            "SELECT " +
-            TASK_PUNCH.ID + ", " +
-            TASK_PUNCH.STUDENT_ID + ", " +
-            TASK_PUNCH.TASK_ID + ", " +
-            TASK_PUNCH.TIME_START + ", " +
-            TASK_PUNCH.TIME_STOP +
-            " FROM " + TASK_PUNCH.TABLE;
+    private static String nameSearchJoin(String idColumn, int kind) {
+        return " JOIN (SELECT " +
+                NAME_SEARCH.DOC_ID + " / " + NAME_SEARCH.KINDS + " AS MatchId, " +
+                NAME_SEARCH.NAMES + " AS MatchNames" +
+                " FROM " + NAME_SEARCH.TABLE +
+                " WHERE " + NAME_SEARCH.NAMES + " MATCH ?" +
+                " AND " + NAME_SEARCH.DOC_ID + " % " + NAME_SEARCH.KINDS + " = " + kind +
+                ") ON " + idColumn + " = MatchId";
+    }
 
     /**
-     * Converts A Result Row To A TaskPunch Model
+     * Turns What Was Typed Into A Full Text Match And A Ranking Pattern
+     * Every Word Must Start A Word of The Name, So "an le" Finds "Ann Lee"
      *
-     * @param cursor
-     * A Cursor On A TaskPunch Row Having Results In Order the Base Query
+     * @param query
+     * Search As Typed
      *
      * @return
-     * A Model With All Previously Saved Info Populated
-     * TimeEnd May Be null
+     * The Match Expression, Then The Prefix Pattern For NAME_SEARCH_ORDER.
+     * null When The Search Has No Words
      */
-    private TaskPunch taskPunchFromRow(Cursor cursor) {
-        TaskPunch taskPunch = new TaskPunch();
-        taskPunch.setId(cursor.getInt(0));
-        taskPunch.setStudentId(cursor.getInt(1));
-        taskPunch.setTaskId(cursor.getInt(2));
-        taskPunch.setTimeStart(new Date(cursor.getLong(3) * 1000L));
-        if (!cursor.isNull(4))
-            taskPunch.setTimeEnd(new Date(cursor.getLong(4) * 1000L));
-        return taskPunch;
+    private static String[] nameSearchTerms(String query) {
+        StringBuilder match = new StringBuilder();
+        StringBuilder prefix = new StringBuilder();
+        for (String word : NAME_SEARCH_WORD_BREAK.split(SearchIndex.fold(query))) {
+            if (word.isEmpty())
+                continue;
+            if (match.length() > 0) {
+                match.append(' ');
+                prefix.append(' ');
+            }
+            match.append(word).append('*');
+            prefix.append(word);
+        }
+
+        if (match.length() == 0)
+            return null;
+        return new String[]{match.toString(), prefix.append('*').toString()};
     }
 
     /**
-     * Retrieves A Punch By ID
+     * Completely Drops The Database
+     * May Require An App Restart To Take Effect
+     *
+     * @param context
+     * Application/Current Context
+     */
+    public void dropDatabase(Context context) {
+        // Shared Connection Must Be Closed Before The File Goes Away
+        close();
+        context.deleteDatabase(DATABASE_NAME);
+        imageStore.clear();
+        reportCache.clear();
+    }
+
+    /**
+     * Inserts The Initial Setup Data
+     * May Be Called After Tables Are Created
+     * @param writable
+     * A Writable Database Reference
+     */
+    private void createInitialData(SQLiteDatabase writable) {
+        writable.beginTransaction();
+
+        try {
+            // Create Initial Admin Account
+            {
+                ContentValues values = new ContentValues();
+                values.put(ADMIN_ACCOUNT.USERNAME, "admin");
+                values.put(ADMIN_ACCOUNT.PASSWORD, BCrypt.hashpw("a", BCrypt.gensalt()));
+                writable.insertOrThrow(ADMIN_ACCOUNT.TABLE, null, values);
+            }
+
+            // Last Thing That Should Be Run
+            // Marks All Operations As Successful
+            writable.setTransactionSuccessful();
+        } catch (Exception e) { // Log Failures
+            Log.e(TAG, "Error Creating Initial Data. Message: " + e.getMessage());
+        } finally { // In Anything Fails, Rollback
+            writable.endTransaction();
+        }
+    }
+
+    /**
+     * Base Query To Select Students
+     */
+    private final String STUDENT_QUERY = "SELECT " +
+            STUDENT.ID + " , " +
+            STUDENT.FIRST_NAME + " , " +
+            STUDENT.LAST_NAME + " , " +
+            STUDENT.AGE + " , " +
+            STUDENT.YEAR + " , " +
+            STUDENT.TEACHER_ID + ", " +
+            STUDENT.IMAGE +
+            " FROM " + STUDENT.TABLE;
+
+    /**
+     * Converts A Result Row To A Student Model
+     *
+     * @param cursor
+     * A Cursor On A Student Row Having Results In Order the Base Query
+     *
+     * @return
+     * A Model With All Previously Saved Info Populated
+     */
+    private Student studentFromRow(Cursor cursor) {
+        Student student = new Student();
+        student.setId(cursor.getInt(0));
+        student.setFirstName(cursor.getString(1));
+        student.setLastName(cursor.getString(2));
+        student.setAge(cursor.getInt(3));
+        student.setYear(cursor.getInt(4));
+
+        // Handle Optional Fields
+        if (cursor.isNull(5))
+            student.setTeacherId(null);
+        else
+            student.setTeacherId(cursor.getInt(5));
+
+        // Reference Image, Decoded Only When Needed
+        if (!cursor.isNull(6))
+            student.setImageHandle(ImageHandle.stored(cursor.getString(6), imageStore));
+        return student;
+    }
+
+    /**
+     * Retrieves A Student By ID
      *
      * @param id
-     * The ID of The Punch To Retrieve
+     * The ID of The Student To Retrieve
      *
      * @return
      * A Filled In Model Object, or
-     * Null if The Punch Was Not Found
+     * Null if The Student Was Not Found
      */
-    public TaskPunch getTaskPunch(int id) {
-        TaskPunch taskPunch = null;
+    public Student getStudent(int id) {
+        Student student = null;
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(TASK_PUNCH_QUERY + " WHERE " + TASK_PUNCH.ID + "=" + id, null);
+        Cursor cursor = db.rawQuery(STUDENT_QUERY + " WHERE " + STUDENT.ID + " = ?",
+                new String[]{Integer.toString(id)});
 
-        if (cursor.moveToFirst())
-            taskPunch = taskPunchFromRow(cursor);
+        if (cursor.moveToFirst()) {
+            student = studentFromRow(cursor);
+        }
+        cursor.close();
+        return student;
+    }
+
+    /**
+     * Retrieves All Saved Students
+     *
+     * @return
+     * An ArrayList of All Students
+     * An Empty List If There Are None
+     */
+    public ArrayList<Student> getAllStudents() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(STUDENT_QUERY, null);
+
+        ArrayList<Student> students = new ArrayList<>();
+
+        if (cursor.moveToFirst()) {
+            do {
+                students.add(studentFromRow(cursor));
+            } while (cursor.moveToNext());
+        }
 
         cursor.close();
+        return students;
+    }
 
-        return taskPunch;
+    /**
+     * Retrieves All Students Associated With A Teacher
+     *
+     * @param teacherID
+     * The ID of The Teacher
+     *
+     * @return
+     * An ArrayList of That Teachers Students
+     * An Empty List If The Teacher Does Not Exist or
+     * No Students Were Found
+     */
+    public ArrayList<Student> getStudentsForTeacher(int teacherID) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(STUDENT_QUERY + " WHERE " + STUDENT.TEACHER_ID + " = ?",
+                new String[]{Integer.toString(teacherID)});
+
+        ArrayList<Student> students = new ArrayList<>();
+
+        if (cursor.moveToFirst()) {
+            do {
+                students.add(studentFromRow(cursor));
+            } while (cursor.moveToNext());
+        }
+
+        cursor.close();
+        return students;
     }
 
     /**
-     * Adds A New Punch
+     * Finds Students By Name Without Loading Every Student
      *
-     * @param taskPunch
-     * A Filled In TaskPunch Model
-     * timeEnd May Be Null
+     * @param query
+     * Search As Typed, Each Word Matching The Start of A First or Last Name
+     *
+     * @param teacherId
+     * Teacher The Students Must Belong To, or null For Any
+     *
+     * @param limit
+     * Most Students To Return
      *
      * @return
-     * The ID of The New Punch
-     * -1 If The Insert Failed
+     * Matching Students, Best Matches First
+     * An Empty List If None Match
      */
-    public int addTaskPunch(TaskPunch taskPunch) {
-        SQLiteDatabase db = getWritableDatabase();
-        ContentValues values = new ContentValues();
+    public ArrayList<Student> searchStudents(String query, Integer teacherId, int limit) {
+        ArrayList<Student> students = new ArrayList<>();
+        String[] terms = nameSearchTerms(query);
+        if (terms == null)
+            return students;
+
+        String sql = STUDENT_QUERY + nameSearchJoin(STUDENT.ID, NAME_SEARCH.STUDENT);
+        String[] args;
+        if (teacherId == null) {
+            args = terms;
+        } else {
+            sql += " WHERE " + STUDENT.TEACHER_ID + " = ?";
+            args = new String[]{terms[0], Integer.toString(teacherId), terms[1]};
+        }
 
-        values.put(TASK_PUNCH.STUDENT_ID, taskPunch.getStudentId());
-        values.put(TASK_PUNCH.TASK_ID, taskPunch.getTaskId());
-        values.put(TASK_PUNCH.TIME_START, taskPunch.getTimeStart().getTime() / 1000L);
-        if (taskPunch.getTimeEnd() != null)
-            values.put(TASK_PUNCH.TIME_STOP, taskPunch.getTimeEnd().getTime() / 1000L);
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(sql + NAME_SEARCH_ORDER + " LIMIT " + limit, args);
+        try {
+            while (cursor.moveToNext())
+                students.add(studentFromRow(cursor));
+        } finally {
+            cursor.close();
+        }
+        return students;
+    }
 
-        long rowId = db.insertOrThrow(TASK_PUNCH.TABLE, null, values);
+    /**
+     * Inserts A Student
+     */
+    private static final String STUDENT_INSERT = "INSERT INTO " + STUDENT.TABLE + " (" +
+            STUDENT.FIRST_NAME + ", " +
+            STUDENT.LAST_NAME + ", " +
+            STUDENT.AGE + ", " +
+            STUDENT.YEAR + ", " +
+            STUDENT.TEACHER_ID + ", " +
+            STUDENT.IMAGE +
+            ") VALUES (?, ?, ?, ?, ?, ?)";
 
-        // Abort on failed insert
-        if (rowId == -1)
-            return -1;
+    /**
+     * Updates A Student, Keeping The Current Image When None Is Bound
+     */
+    private static final String STUDENT_UPDATE = "UPDATE " + STUDENT.TABLE + " SET " +
+            STUDENT.FIRST_NAME + " = ?, " +
+            STUDENT.LAST_NAME + " = ?, " +
+            STUDENT.AGE + " = ?, " +
+            STUDENT.YEAR + " = ?, " +
+            STUDENT.TEACHER_ID + " = ?, " +
+            STUDENT.IMAGE + " = COALESCE(?, " + STUDENT.IMAGE + ")" +
+            " WHERE " + STUDENT.ID + " = ?";
 
-        // Get The New Punch And Return Its ID
-        Cursor cursor = db.rawQuery(
-                "SELECT " + TASK_PUNCH.ID + " FROM " + TASK_PUNCH.TABLE +
-                        " WHERE ROWID = " + rowId , null);
+    /**
+     * Removes A Student
+     */
+    private static final String STUDENT_DELETE =
+            "DELETE FROM " + STUDENT.TABLE + " WHERE " + STUDENT.ID + " = ?";
 
-        int punchId = -1;
-        if (cursor.moveToFirst())
-            punchId = cursor.getInt(0);
-        cursor.close();
+    /**
+     * Adds A New Student
+     *
+     * @param student
+     * A Filled In Student Model
+     * Image & TeacherId May Be Null
+     *
+     * @return
+     * The ID of The New Student
+     * -1 If The Insert Failed
+     */
+    public int addStudent(Student student) {
+        // Store Image, Keep Only Its Key
+        String imageKey = null;
+        if (student.getImageHandle() != null)
+            imageKey = storeImage(student.getImageHandle());
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            db.beginTransaction();
+            try {
+                int id;
+                SQLiteStatement statement = statement(STUDENT_INSERT);
+                synchronized (statement) {
+                    bindNullable(statement, 1, student.getFirstName());
+                    bindNullable(statement, 2, student.getLastName());
+                    statement.bindLong(3, student.getAge());
+                    statement.bindLong(4, student.getYear());
+                    bindNullable(statement, 5, student.getTeacherId());
+                    bindNullable(statement, 6, imageKey);
+
+                    // ID Is The Row ID, No Need To Query It Back
+                    try {
+                        id = (int) statement.executeInsert();
+                    } catch (SQLException e) {
+                        Log.e(TAG, "Error Adding Student. Message: " + e.getMessage());
+                        return -1;
+                    } finally {
+                        statement.clearBindings();
+                    }
+                }
 
-        return punchId;
+                if (id != -1)
+                    indexNames(NAME_SEARCH.STUDENT, id, student.getFirstName(), student.getLastName());
+
+                db.setTransactionSuccessful();
+                return id;
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            releaseReplacedImage(null, imageKey);
+        }
     }
 
     /**
-     * Updates A Punch Fields
+     * Updates A Student's Fields
      * All Fields Except For ID May Be Updated
      *
-     * @param taskPunch
-     * A Punch Model With Updated Fields
-     * timeEnd May Be Null
+     * @param student
+     * A Student Model With Updated Fields
+     * Image & TeacherId May Be Null
      */
-    public void update(TaskPunch taskPunch) {
+    public void update(Student student) {
         SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
 
-        values.put(TASK_PUNCH.STUDENT_ID, taskPunch.getStudentId());
-        values.put(TASK_PUNCH.TASK_ID, taskPunch.getTaskId());
-        values.put(TASK_PUNCH.TIME_START, taskPunch.getTimeStart().getTime()/1000L);
-        if (taskPunch.getTimeEnd() != null)
-            values.put(TASK_PUNCH.TIME_STOP, taskPunch.getTimeEnd().getTime()/1000L);
+        // Only Replace The Image If One Was Set
+        String previousImageKey = null;
+        String imageKey = null;
+        if (student.getImageHandle() != null) {
+            previousImageKey = currentImageKey(db, STUDENT.TABLE, STUDENT.ID, STUDENT.IMAGE, student.getId());
+            imageKey = storeImage(student.getImageHandle());
+        }
+
+        try {
+            db.beginTransaction();
+            try {
+                int affectedRows;
+                SQLiteStatement statement = statement(STUDENT_UPDATE);
+                synchronized (statement) {
+                    bindNullable(statement, 1, student.getFirstName());
+                    bindNullable(statement, 2, student.getLastName());
+                    statement.bindLong(3, student.getAge());
+                    statement.bindLong(4, student.getYear());
+                    bindNullable(statement, 5, student.getTeacherId());
+                    bindNullable(statement, 6, imageKey);
+                    statement.bindLong(7, student.getId());
+                    affectedRows = statement.executeUpdateDelete();
+                    statement.clearBindings();
+                }
 
-        int affectedRows = db.update(TASK_PUNCH.TABLE, values,
-                TASK_PUNCH.ID + "= ?", new String[]{taskPunch.getId().toString()});
+                if (affectedRows < 1)
+                    Log.w(TAG, "Update Affected No Rows");
+                else
+                    indexNames(NAME_SEARCH.STUDENT, student.getId(), student.getFirstName(), student.getLastName());
 
-        if (affectedRows < 1)
-            Log.w(TAG, "Update Affected No Rows");
+                // Names Show In Reports
+                touchReportVersion(REPORT_VERSION.NAMES);
+
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            releaseReplacedImage(previousImageKey, imageKey);
+        }
+    }
+
+    /**
+     * Removes A Student
+     *
+     * @param studentId
+     * The ID of The Student
+     */
+    public void deleteStudent(int studentId) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        String imageKey;
+        db.beginTransaction();
+        try {
+            imageKey = currentImageKey(db, STUDENT.TABLE, STUDENT.ID, STUDENT.IMAGE, studentId);
+            executeDelete(STUDENT_DELETE, studentId);
+            unindexNames(NAME_SEARCH.STUDENT, studentId);
+            touchReportVersion(REPORT_VERSION.NAMES);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        releaseReplacedImage(imageKey, null);
+    }
+
+    /**
+     * Base Query For Selecting A Task
+     */
+    private static final String TASK_QUERY = "SELECT " +
+            TASK.ID + ", " +
+            TASK.NAME + ", " +
+            TASK.IMAGE +
+            " FROM " + TASK.TABLE;
+
+    /**
+     * Converts A Result Row To A Task Model
+     *
+     * @param cursor
+     * A Cursor On A Task Row Having Results In Order the Base Query
+     *
+     * @return
+     * A Model With All Previously Saved Info Populated
+     */
+    private Task taskFromRow(Cursor cursor) {
+        Task task = new Task();
+        task.setId(cursor.getInt(0));
+        task.setName(cursor.getString(1));
+        if (!cursor.isNull(2))
+            task.setImageHandle(ImageHandle.stored(cursor.getString(2), imageStore));
+        return task;
+    }
+
+    /**
+     * Retrieves A Task By ID
+     *
+     * @param id
+     * The ID of The Task To Retrieve
+     *
+     * @return
+     * A Filled In Model Object, or
+     * Null if The Task Was Not Found
+     */
+    public Task getTask(int id) {
+        Task task = null;
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_QUERY + " WHERE " + TASK.ID + " = ?",
+                new String[]{Integer.toString(id)});
+
+        if (cursor.moveToFirst()) {
+            task = taskFromRow(cursor);
+        }
+        cursor.close();
+        return task;
+    }
+
+    /**
+     * Retrieves All Saved Tasks
+     *
+     * @return
+     * An ArrayList of All Tasks
+     * An Empty List If There Are None
+     */
+    public ArrayList<Task> getAllTasks() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_QUERY,null);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        if (cursor.moveToFirst()) {
+            do {
+                tasks.add(taskFromRow(cursor));
+            } while (cursor.moveToNext());
+        }
+
+        cursor.close();
+        return tasks;
+    }
+
+    /**
+     * Finds Tasks By Name Without Loading Every Task
+     *
+     * @param query
+     * Search As Typed, Each Word Matching The Start of A Word In The Name
+     *
+     * @param limit
+     * Most Tasks To Return
+     *
+     * @return
+     * Matching Tasks, Best Matches First
+     * An Empty List If None Match
+     */
+    public ArrayList<Task> searchTasks(String query, int limit) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        String[] terms = nameSearchTerms(query);
+        if (terms == null)
+            return tasks;
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_QUERY + nameSearchJoin(TASK.ID, NAME_SEARCH.TASK) +
+                NAME_SEARCH_ORDER + " LIMIT " + limit, terms);
+        try {
+            while (cursor.moveToNext())
+                tasks.add(taskFromRow(cursor));
+        } finally {
+            cursor.close();
+        }
+        return tasks;
+    }
+
+    /**
+     * Task Names Only, Skipping Images
+     */
+    private static final String TASK_NAMES_QUERY = "SELECT " +
+            TASK.ID + ", " +
+            TASK.NAME +
+            " FROM " + TASK.TABLE;
+
+    /**
+     * Retrieves The Name of Every Task In One Query
+     * Lets Lists Show Task Names Without Loading Any Task Images
+     *
+     * @return
+     * Names Keyed By Task ID
+     * An Empty Map If There Are None
+     */
+    public HashMap<Integer, String> getTaskNames() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_NAMES_QUERY, null);
+
+        @SuppressLint("UseSparseArrays")
+        HashMap<Integer, String> names = new HashMap<>();
+        try {
+            while (cursor.moveToNext())
+                names.put(cursor.getInt(0), cursor.getString(1));
+        } finally {
+            cursor.close();
+        }
+        return names;
+    }
+
+    /**
+     * Inserts A Task
+     */
+    private static final String TASK_INSERT = "INSERT INTO " + TASK.TABLE + " (" +
+            TASK.NAME + ", " +
+            TASK.IMAGE +
+            ") VALUES (?, ?)";
+
+    /**
+     * Updates A Task, Keeping The Current Image When None Is Bound
+     */
+    private static final String TASK_UPDATE = "UPDATE " + TASK.TABLE + " SET " +
+            TASK.NAME + " = ?, " +
+            TASK.IMAGE + " = COALESCE(?, " + TASK.IMAGE + ")" +
+            " WHERE " + TASK.ID + " = ?";
+
+    /**
+     * Removes A Task
+     */
+    private static final String TASK_DELETE =
+            "DELETE FROM " + TASK.TABLE + " WHERE " + TASK.ID + " = ?";
+
+    /**
+     * Adds A New Task
+     *
+     * @param task
+     * A Filled In Task Model
+     * Image May Be Null
+     *
+     * @return
+     * The ID of The New Task
+     * -1 If The Insert Failed
+     */
+    public int addTask(Task task) {
+        // Store Image, Keep Only Its Key
+        String imageKey = null;
+        if (task.getImageHandle() != null)
+            imageKey = storeImage(task.getImageHandle());
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            db.beginTransaction();
+            try {
+                int id;
+                SQLiteStatement statement = statement(TASK_INSERT);
+                synchronized (statement) {
+                    bindNullable(statement, 1, task.getName());
+                    bindNullable(statement, 2, imageKey);
+
+                    // ID Is The Row ID, No Need To Query It Back
+                    try {
+                        id = (int) statement.executeInsert();
+                    } catch (SQLException e) {
+                        Log.e(TAG, "Error Adding Task. Message: " + e.getMessage());
+                        return -1;
+                    } finally {
+                        statement.clearBindings();
+                    }
+                }
+
+                if (id != -1)
+                    indexNames(NAME_SEARCH.TASK, id, task.getName());
+
+                db.setTransactionSuccessful();
+                return id;
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            releaseReplacedImage(null, imageKey);
+        }
+    }
+
+    /**
+     * Updates A Task's Fields
+     * All Fields Except For ID May Be Updated
+     *
+     * @param task
+     * A Task Model With Updated Fields
+     * Image May Be Null
+     */
+    public void update(Task task) {
+        SQLiteDatabase db = this.getWritableDatabase();
+
+        // Only Replace The Image If One Was Set
+        String previousImageKey = null;
+        String imageKey = null;
+        if (task.getImageHandle() != null) {
+            previousImageKey = currentImageKey(db, TASK.TABLE, TASK.ID, TASK.IMAGE, task.getId());
+            imageKey = storeImage(task.getImageHandle());
+        }
+
+        try {
+            db.beginTransaction();
+            try {
+                int affectedRows;
+                SQLiteStatement statement = statement(TASK_UPDATE);
+                synchronized (statement) {
+                    bindNullable(statement, 1, task.getName());
+                    bindNullable(statement, 2, imageKey);
+                    statement.bindLong(3, task.getId());
+                    affectedRows = statement.executeUpdateDelete();
+                    statement.clearBindings();
+                }
+
+                if (affectedRows < 1)
+                    Log.w(TAG, "Update Affected No Rows");
+                else
+                    indexNames(NAME_SEARCH.TASK, task.getId(), task.getName());
+
+                // Names Show In Reports
+                touchReportVersion(REPORT_VERSION.NAMES);
+
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            releaseReplacedImage(previousImageKey, imageKey);
+        }
+    }
+
+    /**
+     * Removes A Task
+     *
+     * @param taskId
+     * The ID of The Task
+     */
+    public void deleteTask(int taskId) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        String imageKey;
+        db.beginTransaction();
+        try {
+            imageKey = currentImageKey(db, TASK.TABLE, TASK.ID, TASK.IMAGE, taskId);
+            executeDelete(TASK_DELETE, taskId);
+            unindexNames(NAME_SEARCH.TASK, taskId);
+            touchReportVersion(REPORT_VERSION.NAMES);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        releaseReplacedImage(imageKey, null);
+    }
+
+    /**
+     * Base Query For Selecting A Punch
+     */
+    private static final String TASK_PUNCH_QUERY =
+            "SELECT " +
+            TASK_PUNCH.ID + ", " +
+            TASK_PUNCH.STUDENT_ID + ", " +
+            TASK_PUNCH.TASK_ID + ", " +
+            TASK_PUNCH.TIME_START + ", " +
+            TASK_PUNCH.TIME_STOP +
+            " FROM " + TASK_PUNCH.TABLE;
+
+    /**
+     * Converts A Result Row To A TaskPunch Model
+     *
+     * @param cursor
+     * A Cursor On A TaskPunch Row Having Results In Order the Base Query
+     *
+     * @return
+     * A Model With All Previously Saved Info Populated
+     * TimeEnd May Be null
+     */
+    private TaskPunch taskPunchFromRow(Cursor cursor) {
+        TaskPunch taskPunch = new TaskPunch();
+        taskPunch.setId(cursor.getInt(0));
+        taskPunch.setStudentId(cursor.getInt(1));
+        taskPunch.setTaskId(cursor.getInt(2));
+        taskPunch.setTimeStart(new Date(cursor.getLong(3) * 1000L));
+        if (!cursor.isNull(4))
+            taskPunch.setTimeEnd(new Date(cursor.getLong(4) * 1000L));
+        return taskPunch;
+    }
+
+    /**
+     * Retrieves A Punch By ID
+     *
+     * @param id
+     * The ID of The Punch To Retrieve
+     *
+     * @return
+     * A Filled In Model Object, or
+     * Null if The Punch Was Not Found
+     */
+    public TaskPunch getTaskPunch(int id) {
+        TaskPunch taskPunch = null;
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_PUNCH_QUERY + " WHERE " + TASK_PUNCH.ID + " = ?",
+                new String[]{Integer.toString(id)});
+
+        if (cursor.moveToFirst())
+            taskPunch = taskPunchFromRow(cursor);
+
+        cursor.close();
+
+        return taskPunch;
+    }
+
+    /**
+     * Inserts A Punch
+     */
+    private static final String TASK_PUNCH_INSERT = "INSERT INTO " + TASK_PUNCH.TABLE + " (" +
+            TASK_PUNCH.STUDENT_ID + ", " +
+            TASK_PUNCH.TASK_ID + ", " +
+            TASK_PUNCH.TIME_START + ", " +
+            TASK_PUNCH.TIME_STOP +
+            ") VALUES (?, ?, ?, ?)";
+
+    /**
+     * Updates A Punch, Keeping The Current Stop Time When None Is Bound
+     */
+    private static final String TASK_PUNCH_UPDATE = "UPDATE " + TASK_PUNCH.TABLE + " SET " +
+            TASK_PUNCH.STUDENT_ID + " = ?, " +
+            TASK_PUNCH.TASK_ID + " = ?, " +
+            TASK_PUNCH.TIME_START + " = ?, " +
+            TASK_PUNCH.TIME_STOP + " = COALESCE(?, " + TASK_PUNCH.TIME_STOP + ")" +
+            " WHERE " + TASK_PUNCH.ID + " = ?";
+
+    /**
+     * Removes A Punch
+     */
+    private static final String TASK_PUNCH_DELETE =
+            "DELETE FROM " + TASK_PUNCH.TABLE + " WHERE " + TASK_PUNCH.ID + " = ?";
+
+    /**
+     * Adds A Closed Punch's Totals To Its Rollup Row
+     */
+    private static final String PUNCH_DAILY_ADD = "UPDATE " + PUNCH_DAILY.TABLE + " SET " +
+            PUNCH_DAILY.PUNCHES + " = " + PUNCH_DAILY.PUNCHES + " + ?, " +
+            PUNCH_DAILY.SECONDS + " = " + PUNCH_DAILY.SECONDS + " + ?, " +
+            PUNCH_DAILY.LAST_STOP + " = MAX(" + PUNCH_DAILY.LAST_STOP + ", ?)" +
+            " WHERE " + PUNCH_DAILY.STUDENT_ID + " = ?" +
+            " AND " + PUNCH_DAILY.TASK_ID + " = ?" +
+            " AND " + PUNCH_DAILY.DAY + " = ?";
+
+    /**
+     * Starts A Rollup Row For The First Closed Punch On A Day
+     */
+    private static final String PUNCH_DAILY_INSERT = "INSERT INTO " + PUNCH_DAILY.TABLE + " (" +
+            PUNCH_DAILY.PUNCHES + ", " +
+            PUNCH_DAILY.SECONDS + ", " +
+            PUNCH_DAILY.LAST_STOP + ", " +
+            PUNCH_DAILY.STUDENT_ID + ", " +
+            PUNCH_DAILY.TASK_ID + ", " +
+            PUNCH_DAILY.DAY +
+            ") VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Removes A Rollup Row Once Its Last Closed Punch Is Gone
+     */
+    private static final String PUNCH_DAILY_DELETE_EMPTY = "DELETE FROM " + PUNCH_DAILY.TABLE +
+            " WHERE " + PUNCH_DAILY.STUDENT_ID + " = ?" +
+            " AND " + PUNCH_DAILY.TASK_ID + " = ?" +
+            " AND " + PUNCH_DAILY.DAY + " = ?" +
+            " AND " + PUNCH_DAILY.PUNCHES + " <= 0";
+
+    /**
+     * Adds A New Punch
+     * The Daily Rollup Is Updated In The Same Transaction
+     *
+     * @param taskPunch
+     * A Filled In TaskPunch Model
+     * timeEnd May Be Null
+     *
+     * @return
+     * The ID of The New Punch
+     * -1 If The Insert Failed
+     */
+    public int addTaskPunch(TaskPunch taskPunch) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            final int id;
+            SQLiteStatement statement = statement(TASK_PUNCH_INSERT);
+            synchronized (statement) {
+                statement.bindLong(1, taskPunch.getStudentId());
+                statement.bindLong(2, taskPunch.getTaskId());
+                statement.bindLong(3, taskPunch.getTimeStart().getTime() / 1000L);
+                bindSeconds(statement, 4, taskPunch.getTimeEnd());
+
+                // ID Is The Row ID, No Need To Query It Back
+                try {
+                    id = (int) statement.executeInsert();
+                } finally {
+                    statement.clearBindings();
+                }
+            }
+
+            if (id != -1) {
+                applyToRollup(taskPunch, 1);
+                touchReportDay(taskPunch);
+            }
+
+            db.setTransactionSuccessful();
+            return id;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Updates A Punch Fields
+     * All Fields Except For ID May Be Updated
+     *
+     * @param taskPunch
+     * A Punch Model With Updated Fields
+     * timeEnd May Be Null
+     */
+    public void update(TaskPunch taskPunch) {
+        int affectedRows;
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            TaskPunch old = getTaskPunch(taskPunch.getId());
+
+            SQLiteStatement statement = statement(TASK_PUNCH_UPDATE);
+            synchronized (statement) {
+                statement.bindLong(1, taskPunch.getStudentId());
+                statement.bindLong(2, taskPunch.getTaskId());
+                statement.bindLong(3, taskPunch.getTimeStart().getTime() / 1000L);
+                bindSeconds(statement, 4, taskPunch.getTimeEnd());
+                statement.bindLong(5, taskPunch.getId());
+                affectedRows = statement.executeUpdateDelete();
+                statement.clearBindings();
+            }
+
+            // Stop Time Is Kept When None Is Given, So Roll Up What Was Actually Stored
+            if (affectedRows > 0) {
+                applyToRollup(old, -1);
+                applyToRollup(getTaskPunch(taskPunch.getId()), 1);
+                touchReportDay(old);
+                touchReportDay(taskPunch);
+            }
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (affectedRows < 1)
+            Log.w(TAG, "Update Affected No Rows");
+    }
+
+    /**
+     * Removes A Punch
+     * The Daily Rollup Is Updated In The Same Transaction
+     *
+     * @param taskPunchId
+     * The ID of The Punch
+     */
+    public void deleteTaskPunch(int taskPunchId) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            TaskPunch old = getTaskPunch(taskPunchId);
+            executeDelete(TASK_PUNCH_DELETE, taskPunchId);
+            applyToRollup(old, -1);
+            touchReportDay(old);
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Adds or Removes A Closed Punch From The Daily Rollup
+     * Must Be Called Inside The Transaction Changing The Punch
+     *
+     * @param taskPunch
+     * The Punch As Stored. Open Punches And null Are Ignored
+     *
+     * @param sign
+     * 1 To Add The Punch, -1 To Remove It
+     */
+    private void applyToRollup(TaskPunch taskPunch, int sign) {
+        if (taskPunch == null || taskPunch.getTimeEnd() == null)
+            return;
+
+        final long start = taskPunch.getTimeStart().getTime() / 1000L;
+        final long stop = taskPunch.getTimeEnd().getTime() / 1000L;
+        final long seconds = stop - start;
+        final long day = start / SECONDS_PER_DAY;
+
+        // Removing A Punch Leaves The Latest Stop Alone, It Already Covers This One
+        int affectedRows;
+        SQLiteStatement add = statement(PUNCH_DAILY_ADD);
+        synchronized (add) {
+            add.bindLong(1, sign);
+            add.bindLong(2, sign * seconds);
+            add.bindLong(3, stop);
+            add.bindLong(4, taskPunch.getStudentId());
+            add.bindLong(5, taskPunch.getTaskId());
+            add.bindLong(6, day);
+            affectedRows = add.executeUpdateDelete();
+            add.clearBindings();
+        }
+
+        // Bind Order Matches PUNCH_DAILY_ADD, So The Same Values Start A New Row or Clear An Empty One
+        final String followUp;
+        if (sign > 0 && affectedRows < 1)
+            followUp = PUNCH_DAILY_INSERT;
+        else if (sign < 0)
+            followUp = PUNCH_DAILY_DELETE_EMPTY;
+        else
+            return;
+
+        SQLiteStatement statement = statement(followUp);
+        synchronized (statement) {
+            int index = 1;
+            if (sign > 0) {
+                statement.bindLong(index++, 1);
+                statement.bindLong(index++, seconds);
+                statement.bindLong(index++, stop);
+            }
+            statement.bindLong(index++, taskPunch.getStudentId());
+            statement.bindLong(index++, taskPunch.getTaskId());
+            statement.bindLong(index, day);
+            if (sign > 0)
+                statement.executeInsert();
+            else
+                statement.executeUpdateDelete();
+            statement.clearBindings();
+        }
+    }
+
+    /**
+     * Moves A Day, or Names, To The Next Report Version
+     * Versions Come From One Sequence, So The Highest Version Over Any Set of Days Only Ever Grows
+     */
+    private static final String REPORT_VERSION_TOUCH = "INSERT OR REPLACE INTO " + REPORT_VERSION.TABLE + " (" +
+            REPORT_VERSION.DAY + ", " +
+            REPORT_VERSION.VERSION +
+            ") SELECT ?, IFNULL(MAX(" + REPORT_VERSION.VERSION + "), 0) + 1 FROM " + REPORT_VERSION.TABLE;
+
+    /**
+     * Marks The Day A Punch Starts On As Changed
+     *
+     * @param taskPunch
+     * The Punch, Open or Closed. null Is Ignored
+     */
+    private void touchReportDay(TaskPunch taskPunch) {
+        if (taskPunch != null)
+            touchReportVersion(taskPunch.getTimeStart().getTime() / 1000L / SECONDS_PER_DAY);
+    }
+
+    /**
+     * Marks A Day, or Names, As Changed So Cached Reports Covering It Are No Longer Used
+     *
+     * @param day
+     * UTC Day Since The Epoch, or REPORT_VERSION.NAMES
+     */
+    private void touchReportVersion(long day) {
+        SQLiteStatement statement = statement(REPORT_VERSION_TOUCH);
+        synchronized (statement) {
+            statement.bindLong(1, day);
+            statement.executeInsert();
+            statement.clearBindings();
+        }
+    }
+
+    /**
+     * Highest Version Among Names And A Range of Days
+     */
+    private static final String REPORT_VERSION_QUERY =
+            "SELECT IFNULL(MAX(" + REPORT_VERSION.VERSION + "), 0) FROM " + REPORT_VERSION.TABLE +
+            " WHERE " + REPORT_VERSION.DAY + " = " + REPORT_VERSION.NAMES +
+            " OR (" + REPORT_VERSION.DAY + " >= ? AND " + REPORT_VERSION.DAY + " <= ?)";
+
+    /**
+     * Open Punches A Report Starting At A Given Time Would List
+     */
+    private static final String REPORT_OPEN_PUNCHES_QUERY =
+            "SELECT " + TASK_PUNCH.ID + " FROM " + TASK_PUNCH.TABLE +
+            " WHERE " + TASK_PUNCH.TIME_STOP + " IS NULL AND " + TASK_PUNCH.TIME_START + " > ?" +
+            " ORDER BY " + TASK_PUNCH.ID;
+
+    /**
+     * Gets A Version For The Data A Report Over A Range Would Show
+     * The Version Changes Whenever A Punch Starting In The Range, Any Name, or The Set of
+     * Open Punches The Report Lists Changes, And Stays The Same Otherwise
+     *
+     * @param startDate
+     * Date The Report Starts From, Exclusive
+     *
+     * @param endDate
+     * Date The Report Ends On, Exclusive
+     *
+     * @return
+     * An Opaque Version, Equal For Two Calls Only If The Report Would Be The Same
+     */
+    public String getReportVersion(Date startDate, Date endDate) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        final String start = Long.toString(startDate.getTime() / 1000L);
+
+        StringBuilder version = new StringBuilder();
+        Cursor cursor = db.rawQuery(REPORT_VERSION_QUERY, new String[]{
+                Long.toString(startDate.getTime() / 1000L / SECONDS_PER_DAY),
+                Long.toString(endDate.getTime() / 1000L / SECONDS_PER_DAY)});
+        try {
+            if (cursor.moveToFirst())
+                version.append(cursor.getLong(0));
+        } finally {
+            cursor.close();
+        }
+
+        // Open Punches Started After The Range Still Show In It, Without Touching Its Days
+        cursor = db.rawQuery(REPORT_OPEN_PUNCHES_QUERY, new String[]{start});
+        try {
+            while (cursor.moveToNext())
+                version.append('-').append(cursor.getInt(0));
+        } finally {
+            cursor.close();
+        }
+        return version.toString();
+    }
+
+    /**
+     * Recomputes The Daily Rollup From Every Punch
+     * Only Needed If The Rollup Is Suspected To Have Drifted From The Punch History
+     */
+    public void rebuildPunchRollup() {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.execSQL("DELETE FROM " + PUNCH_DAILY.TABLE);
+            db.execSQL(PUNCH_DAILY_REBUILD);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Retrieves All Saved Punches
+     *
+     * @return
+     * An ArrayList of All Punches
+     * An Empty List If There Are None
+     */
+    public ArrayList<TaskPunch> getAllTaskPunches() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_PUNCH_QUERY, null);
+
+        ArrayList<TaskPunch> taskPunches = new ArrayList<>();
+
+        if (cursor.moveToFirst()) {
+            do {
+                taskPunches.add(taskPunchFromRow(cursor));
+            }while (cursor.moveToNext());
+        }
+
+        cursor.close();
+
+        return taskPunches;
+    }
+
+    /**
+     * A Student's Punches Newest First, Starting After A Given Punch
+     * Ties On Start Time Are Broken By ID, Which The Start Time Index Also Orders By
+     */
+    private static final String TASK_PUNCH_STUDENT_PAGE_QUERY = TASK_PUNCH_QUERY +
+            " WHERE " + TASK_PUNCH.STUDENT_ID + " = ?" +
+            " AND " + TASK_PUNCH.TIME_START + " <= ?" +
+            " AND (" + TASK_PUNCH.TIME_START + " < ? OR " + TASK_PUNCH.ID + " < ?)" +
+            " ORDER BY " + TASK_PUNCH.TIME_START + " DESC, " + TASK_PUNCH.ID + " DESC" +
+            " LIMIT ?";
+
+    /**
+     * Retrieves One Page of A Student's Punches, Newest First
+     * Pages Continue From The Last Punch Shown Rather Than An Offset,
+     * So Each Costs The Same However Far Into The History It Is
+     *
+     * @param studentId
+     * The Id Of The Student To Search Punches For
+     *
+     * @param after
+     * Last Punch of The Previous Page, or null For The First Page
+     *
+     * @param limit
+     * Most Punches To Return
+     *
+     * @return
+     * Up To limit Punches. Fewer Once The History Runs Out
+     */
+    public ArrayList<TaskPunch> getTaskPunchesForStudent(int studentId, TaskPunch after, int limit) {
+        String start = Long.toString(Long.MAX_VALUE);
+        String id = Integer.toString(Integer.MAX_VALUE);
+        if (after != null) {
+            start = Long.toString(after.getTimeStart().getTime() / 1000L);
+            id = Integer.toString(after.getId());
+        }
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TASK_PUNCH_STUDENT_PAGE_QUERY,
+                new String[]{Integer.toString(studentId), start, start, id, Integer.toString(limit)});
+
+        ArrayList<TaskPunch> taskPunches = new ArrayList<>(limit);
+        try {
+            while (cursor.moveToNext())
+                taskPunches.add(taskPunchFromRow(cursor));
+        } finally {
+            cursor.close();
+        }
+        return taskPunches;
+    }
+
+    /**
+     * Finds An Open Punch For A Given Student
+     * @param studentId
+     * Id of The Student To Search Punches For
+     * @return
+     * TaskPunch Model if An Open Punch Was Found, null Otherwise
+     */
+    public TaskPunch getOpenPunch(int studentId) {
+        TaskPunch taskPunch = null;
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(
+                TASK_PUNCH_QUERY +
+                        " WHERE " + TASK_PUNCH.STUDENT_ID + " = ?" +
+                        " AND " + TASK_PUNCH.TIME_STOP + " IS NULL",
+                new String[]{Integer.toString(studentId)});
+        if (cursor.moveToFirst())
+            taskPunch = taskPunchFromRow(cursor);
+        cursor.close();
+        return taskPunch;
+    }
+
+    /**
+     * Query For Selecting Punches Joined With The Name of Their Student
+     * Punch Columns Come First So taskPunchFromRow May Be Used On Its Rows
+     * Student Images Are Intentionally Left Out, Reports Only Need Names
+     */
+    private static final String STUDENT_PUNCH_REPORT_QUERY =
+            "SELECT " +
+            "p." + TASK_PUNCH.ID + ", " +
+            "p." + TASK_PUNCH.STUDENT_ID + ", " +
+            "p." + TASK_PUNCH.TASK_ID + ", " +
+            "p." + TASK_PUNCH.TIME_START + ", " +
+            "p." + TASK_PUNCH.TIME_STOP + ", " +
+            "s." + STUDENT.FIRST_NAME + ", " +
+            "s." + STUDENT.LAST_NAME +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " INNER JOIN " + STUDENT.TABLE + " s" +
+                " ON s." + STUDENT.ID + " = p." + TASK_PUNCH.STUDENT_ID +
+            " WHERE p." + TASK_PUNCH.TIME_START + " > ?" +
+                " AND (p." + TASK_PUNCH.TIME_STOP + " IS NULL OR p." + TASK_PUNCH.TIME_STOP + " < ?)" +
+            " ORDER BY p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TIME_START;
+
+    /**
+     * Converts A Report Row To A Name Only Student Model
+     *
+     * @param cursor
+     * A Cursor On A Row Having Results In Order of The Report Query
+     *
+     * @return
+     * A Model With Only The ID & Names Populated
+     */
+    private Student reportStudentFromRow(Cursor cursor) {
+        Student student = new Student();
+        student.setId(cursor.getInt(1));
+        student.setFirstName(cursor.getString(5));
+        student.setLastName(cursor.getString(6));
+        return student;
+    }
+
+    /**
+     * Retrieves All Saved Punches Within A Given Range
+     * Students Are Read From The Same Query, So Only Their ID & Names Are Populated
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive.
+     * May Not Be null
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive.
+     * May Not Be Null
+     *
+     * @return
+     * An ArrayList of All Punches
+     * An Empty List If There Are None
+     */
+    public ArrayList<StudentPunches> getStudentPunches(Date startDate, Date endDate) {
+        long startSeconds = startDate.getTime()/1000L;
+        long endSeconds = endDate.getTime()/1000L;
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(STUDENT_PUNCH_REPORT_QUERY,
+                new String[]{Long.toString(startSeconds), Long.toString(endSeconds)});
+
+        ArrayList<StudentPunches> studentPunches = new ArrayList<>();
+        if (cursor.moveToFirst()) {
+            StudentPunches currentStudentPunches = new StudentPunches(reportStudentFromRow(cursor));
+
+            do {
+                if (currentStudentPunches.getStudent().getId() != cursor.getInt(1)) {
+                    // Add Previous Student Punches And Start The Next Set
+                    studentPunches.add(currentStudentPunches);
+                    currentStudentPunches = new StudentPunches(reportStudentFromRow(cursor));
+                }
+
+                currentStudentPunches.getPunches().add(taskPunchFromRow(cursor));
+
+            } while (cursor.moveToNext());
+
+            // Add Last StudentPunches
+            studentPunches.add(currentStudentPunches);
+        }
+        cursor.close();
+        return studentPunches;
+    }
+
+    /**
+     * Number of Report Rows Read Per Query When Streaming
+     */
+    private static final int REPORT_CHUNK_SIZE = 500;
+
+    /**
+     * Report Query Resuming After The Last Row of The Previous Chunk
+     * Rows Are Ordered By Student, Start & ID So Each Chunk Starts Exactly Where The Last Ended
+     */
+    private static final String STUDENT_PUNCH_REPORT_CHUNK_QUERY =
+            "SELECT " +
+            "p." + TASK_PUNCH.ID + ", " +
+            "p." + TASK_PUNCH.STUDENT_ID + ", " +
+            "p." + TASK_PUNCH.TASK_ID + ", " +
+            "p." + TASK_PUNCH.TIME_START + ", " +
+            "p." + TASK_PUNCH.TIME_STOP + ", " +
+            "s." + STUDENT.FIRST_NAME + ", " +
+            "s." + STUDENT.LAST_NAME +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " INNER JOIN " + STUDENT.TABLE + " s" +
+                " ON s." + STUDENT.ID + " = p." + TASK_PUNCH.STUDENT_ID +
+            " WHERE p." + TASK_PUNCH.TIME_START + " > ?" +
+                " AND (p." + TASK_PUNCH.TIME_STOP + " IS NULL OR p." + TASK_PUNCH.TIME_STOP + " < ?)" +
+                " AND p." + TASK_PUNCH.STUDENT_ID + " <= ?" +
+                " AND p." + TASK_PUNCH.STUDENT_ID + " >= ?" +
+                " AND (p." + TASK_PUNCH.STUDENT_ID + " > ?" +
+                    " OR p." + TASK_PUNCH.TIME_START + " > ?" +
+                    " OR (p." + TASK_PUNCH.TIME_START + " = ? AND p." + TASK_PUNCH.ID + " > ?))" +
+            " ORDER BY p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TIME_START + ", p." + TASK_PUNCH.ID +
+            " LIMIT " + REPORT_CHUNK_SIZE;
+
+    /**
+     * Reads All Punches Within A Given Range, Handing Them Over One Row At A Time
+     * Rows Are Read In Fixed Size Chunks, So Memory Use Does Not Depend On The Size of The Range
+     * Rows Arrive In The Same Order As getStudentPunches
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive.
+     * May Not Be null
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive.
+     * May Not Be Null
+     *
+     * @param handler
+     * Receives Each Row. The Row Object Is Reused
+     *
+     * @throws IOException
+     * When The Handler Fails, No Further Rows Are Read
+     */
+    public void streamStudentPunches(Date startDate, Date endDate, ReportRowHandler handler) throws IOException {
+        streamStudentPunches(startDate, endDate, Integer.MIN_VALUE, Integer.MAX_VALUE, handler);
+    }
+
+    /**
+     * Reads The Punches of A Range of Students Within A Given Range, One Row At A Time
+     * Rows Are Read In Fixed Size Chunks, So Memory Use Does Not Depend On The Size of The Range
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive.
+     * May Not Be null
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive.
+     * May Not Be Null
+     *
+     * @param fromStudentId
+     * Lowest Student ID To Include
+     *
+     * @param toStudentId
+     * Highest Student ID To Include
+     *
+     * @param handler
+     * Receives Each Row. The Row Object Is Reused
+     *
+     * @throws IOException
+     * When The Handler Fails, No Further Rows Are Read
+     */
+    @Override
+    public void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException {
+        final String startSeconds = Long.toString(startDate.getTime()/1000L);
+        final String endSeconds = Long.toString(endDate.getTime()/1000L);
+        final String maxStudentId = Integer.toString(toStudentId);
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        ReportRow row = new ReportRow();
+
+        // Start Before Every Possible Row of The First Student
+        String lastStudentId = Integer.toString(fromStudentId);
+        String lastTimeStart = Long.toString(Long.MIN_VALUE);
+        String lastId = Integer.toString(Integer.MIN_VALUE);
+
+        int read;
+        do {
+            read = 0;
+            Cursor cursor = db.rawQuery(STUDENT_PUNCH_REPORT_CHUNK_QUERY, new String[]{
+                    startSeconds, endSeconds, maxStudentId,
+                    lastStudentId, lastStudentId,
+                    lastTimeStart, lastTimeStart, lastId});
+            try {
+                while (cursor.moveToNext()) {
+                    row.setPunchId(cursor.getInt(0));
+                    row.setStudentId(cursor.getInt(1));
+                    row.setTaskId(cursor.getInt(2));
+                    row.setTimeStart(cursor.getLong(3));
+                    if (cursor.isNull(4))
+                        row.clearTimeEnd();
+                    else
+                        row.setTimeEnd(cursor.getLong(4));
+                    row.setFirstName(cursor.getString(5));
+                    row.setLastName(cursor.getString(6));
+
+                    handler.onRow(row);
+                    read++;
+                }
+            } finally {
+                cursor.close();
+            }
+
+            lastStudentId = Integer.toString(row.getStudentId());
+            lastTimeStart = Long.toString(row.getTimeStart());
+            lastId = Integer.toString(row.getPunchId());
+        } while (read == REPORT_CHUNK_SIZE);
+    }
+
+    /**
+     * Report Query Grouping Rows By Teacher, For Writing One Zip Entry Per Teacher From A Single Cursor
+     * Teachers Are Ordered By Name, Students Without A Teacher, or Whose Teacher Was Deleted, Come Last
+     */
+    private static final String TEACHER_PUNCH_REPORT_QUERY =
+            "SELECT " +
+            "p." + TASK_PUNCH.ID + ", " +
+            "p." + TASK_PUNCH.STUDENT_ID + ", " +
+            "p." + TASK_PUNCH.TASK_ID + ", " +
+            "p." + TASK_PUNCH.TIME_START + ", " +
+            "p." + TASK_PUNCH.TIME_STOP + ", " +
+            "s." + STUDENT.FIRST_NAME + ", " +
+            "s." + STUDENT.LAST_NAME + ", " +
+            "te." + TEACHER.ID +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " INNER JOIN " + STUDENT.TABLE + " s" +
+                " ON s." + STUDENT.ID + " = p." + TASK_PUNCH.STUDENT_ID +
+            " LEFT JOIN " + TEACHER.TABLE + " te" +
+                " ON te." + TEACHER.ID + " = s." + STUDENT.TEACHER_ID +
+            " WHERE p." + TASK_PUNCH.TIME_START + " > ?" +
+                " AND (p." + TASK_PUNCH.TIME_STOP + " IS NULL OR p." + TASK_PUNCH.TIME_STOP + " < ?)" +
+            " ORDER BY te." + TEACHER.ID + " IS NULL" +
+                ", te." + TEACHER.LAST_NAME + " COLLATE NOCASE" +
+                ", te." + TEACHER.FIRST_NAME + " COLLATE NOCASE" +
+                ", te." + TEACHER.ID +
+                ", p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TIME_START + ", p." + TASK_PUNCH.ID;
+
+    /**
+     * Reads All Punches Within A Given Range Grouped By Teacher, One Row At A Time
+     * Rows Come From One Ordered Cursor, So Each Teacher's Rows Arrive Together
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive.
+     * May Not Be null
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive.
+     * May Not Be Null
+     *
+     * @param handler
+     * Receives Each Row. The Row Object Is Reused
+     *
+     * @throws IOException
+     * When The Handler Fails, No Further Rows Are Read
+     */
+    @Override
+    public void streamTeacherPunches(Date startDate, Date endDate, ReportRowHandler handler) throws IOException {
+        long startSeconds = startDate.getTime()/1000L;
+        long endSeconds = endDate.getTime()/1000L;
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TEACHER_PUNCH_REPORT_QUERY,
+                new String[]{Long.toString(startSeconds), Long.toString(endSeconds)});
+
+        ReportRow row = new ReportRow();
+        try {
+            while (cursor.moveToNext()) {
+                row.setPunchId(cursor.getInt(0));
+                row.setStudentId(cursor.getInt(1));
+                row.setTaskId(cursor.getInt(2));
+                row.setTimeStart(cursor.getLong(3));
+                if (cursor.isNull(4))
+                    row.clearTimeEnd();
+                else
+                    row.setTimeEnd(cursor.getLong(4));
+                row.setFirstName(cursor.getString(5));
+                row.setLastName(cursor.getString(6));
+                row.setTeacherId(cursor.isNull(7) ? ReportRow.NO_TEACHER : cursor.getInt(7));
+
+                handler.onRow(row);
+            }
+        } finally {
+            cursor.close();
+        }
     }
 
     /**
-     * Removes A Punch
-     *
-     * @param taskPunchId
-     * The ID of The Punch
+     * Query Counting Report Punches Per Student, Matching The Rows of The Report Query
      */
-    public void deleteTaskPunch(int taskPunchId) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TASK_PUNCH.TABLE, TASK_PUNCH.ID + " = ?", new String[]{Integer.toString(taskPunchId)});
-    }
+    private static final String STUDENT_PUNCH_COUNT_QUERY =
+            "SELECT p." + TASK_PUNCH.STUDENT_ID + ", COUNT(*)" +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " INNER JOIN " + STUDENT.TABLE + " s" +
+                " ON s." + STUDENT.ID + " = p." + TASK_PUNCH.STUDENT_ID +
+            " WHERE p." + TASK_PUNCH.TIME_START + " > ?" +
+                " AND (p." + TASK_PUNCH.TIME_STOP + " IS NULL OR p." + TASK_PUNCH.TIME_STOP + " < ?)" +
+            " GROUP BY p." + TASK_PUNCH.STUDENT_ID +
+            " ORDER BY p." + TASK_PUNCH.STUDENT_ID;
 
     /**
-     * Retrieves All Saved Punches
+     * Counts The Punches of Each Student Within A Given Range
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive.
+     * May Not Be null
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive.
+     * May Not Be Null
      *
      * @return
-     * An ArrayList of All Punches
-     * An Empty List If There Are None
+     * Punch Counts Keyed By Student ID, In Ascending ID Order.
+     * Students Without Punches Are Left Out
      */
-    public ArrayList<TaskPunch> getAllTaskPunches() {
+    @Override
+    public LinkedHashMap<Integer, Integer> getPunchCountsByStudent(Date startDate, Date endDate) {
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(TASK_PUNCH_QUERY, null);
-
-        ArrayList<TaskPunch> taskPunches = new ArrayList<>();
+        Cursor cursor = db.rawQuery(STUDENT_PUNCH_COUNT_QUERY, new String[]{
+                Long.toString(startDate.getTime()/1000L), Long.toString(endDate.getTime()/1000L)});
 
-        if (cursor.moveToFirst()) {
-            do {
-                taskPunches.add(taskPunchFromRow(cursor));
-            }while (cursor.moveToNext());
+        LinkedHashMap<Integer, Integer> counts = new LinkedHashMap<>();
+        try {
+            while (cursor.moveToNext())
+                counts.put(cursor.getInt(0), cursor.getInt(1));
+        } finally {
+            cursor.close();
         }
-
-        cursor.close();
-
-        return taskPunches;
+        return counts;
     }
 
     /**
-     * Retrieves All Saved Punches Associated With A Student
-     *
-     * @param studentId
-     * The Id Of The Student To Search Punches For
+     * Seconds A Punch Counts Toward Totals. Open Punches Count As Zero
+     */
+    private static final String PUNCH_SECONDS =
+            "CASE WHEN p." + TASK_PUNCH.TIME_STOP + " IS NULL THEN 0" +
+            " ELSE p." + TASK_PUNCH.TIME_STOP + " - p." + TASK_PUNCH.TIME_START + " END";
+
+    /**
+     * Punch Totals Counted By Summaries, As (StudentID, TaskID, Punches, Seconds)
+     * Whole Days Inside The Range Come From The Daily Rollup, Unless A Punch In The Row
+     * May Stop At or After The Range End. Those Rows Are Counted From Their Punches Instead,
+     * As Are The Partial Days At Either End And Open Punches
      *
-     * @return
-     * An ArrayList of The Student's Punches
-     * An Empty List If There Are None
+     * Bound As: First Whole Day, Day After The Last Whole Day, Range End,
+     * First Whole Day, Day After The Last Whole Day, Range End, Range End,
+     * Range Start, First Whole Day Start, Range End,
+     * Day After The Last Whole Day Start, Range End,
+     * First Whole Day Start, Day After The Last Whole Day Start
      */
-    public ArrayList<TaskPunch> getTaskPunchesForStudent(int studentId) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(
-                TASK_PUNCH_QUERY + " WHERE " + STUDENT.ID + "=?",
-                new String[]{Integer.toString(studentId)});
+    private static final String SUMMARY_PUNCHES =
+            "SELECT " + PUNCH_DAILY.STUDENT_ID + ", " + PUNCH_DAILY.TASK_ID + ", " +
+                    PUNCH_DAILY.PUNCHES + ", " + PUNCH_DAILY.SECONDS +
+            " FROM " + PUNCH_DAILY.TABLE +
+            " WHERE " + PUNCH_DAILY.DAY + " >= ? AND " + PUNCH_DAILY.DAY + " < ?" +
+            " AND " + PUNCH_DAILY.LAST_STOP + " < ?" +
+            " UNION ALL" +
+            " SELECT p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TASK_ID + ", 1, " + PUNCH_SECONDS +
+            " FROM " + PUNCH_DAILY.TABLE + " d" +
+            " INNER JOIN " + TASK_PUNCH.TABLE + " p" +
+                " ON p." + TASK_PUNCH.STUDENT_ID + " = d." + PUNCH_DAILY.STUDENT_ID +
+                " AND p." + TASK_PUNCH.TASK_ID + " = d." + PUNCH_DAILY.TASK_ID +
+                " AND p." + TASK_PUNCH.TIME_START + " >= d." + PUNCH_DAILY.DAY + " * " + SECONDS_PER_DAY +
+                " AND p." + TASK_PUNCH.TIME_START + " < (d." + PUNCH_DAILY.DAY + " + 1) * " + SECONDS_PER_DAY +
+            " WHERE d." + PUNCH_DAILY.DAY + " >= ? AND d." + PUNCH_DAILY.DAY + " < ?" +
+            " AND d." + PUNCH_DAILY.LAST_STOP + " >= ?" +
+            " AND p." + TASK_PUNCH.TIME_STOP + " < ?" +
+            " UNION ALL" +
+            " SELECT p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TASK_ID + ", 1, " + PUNCH_SECONDS +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " WHERE p." + TASK_PUNCH.TIME_START + " > ? AND p." + TASK_PUNCH.TIME_START + " < ?" +
+            " AND (p." + TASK_PUNCH.TIME_STOP + " IS NULL OR p." + TASK_PUNCH.TIME_STOP + " < ?)" +
+            " UNION ALL" +
+            " SELECT p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TASK_ID + ", 1, " + PUNCH_SECONDS +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " WHERE p." + TASK_PUNCH.TIME_START + " >= ?" +
+            " AND (p." + TASK_PUNCH.TIME_STOP + " IS NULL OR p." + TASK_PUNCH.TIME_STOP + " < ?)" +
+            " UNION ALL" +
+            " SELECT p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TASK_ID + ", 1, 0" +
+            " FROM " + TASK_PUNCH.TABLE + " p" +
+            " WHERE p." + TASK_PUNCH.TIME_STOP + " IS NULL" +
+            " AND p." + TASK_PUNCH.TIME_START + " >= ? AND p." + TASK_PUNCH.TIME_START + " < ?";
+
+    private static final String STUDENT_NAME = "s." + STUDENT.LAST_NAME + " || ' ' || s." + STUDENT.FIRST_NAME;
+    private static final String TEACHER_NAME = "te." + TEACHER.LAST_NAME + " || ' ' || te." + TEACHER.FIRST_NAME;
+    private static final String TASK_NAME = "t." + TASK.NAME;
+
+    private static final String JOIN_STUDENT =
+            " LEFT JOIN " + STUDENT.TABLE + " s ON s." + STUDENT.ID + " = p." + TASK_PUNCH.STUDENT_ID;
+    private static final String JOIN_TASK =
+            " LEFT JOIN " + TASK.TABLE + " t ON t." + TASK.ID + " = p." + TASK_PUNCH.TASK_ID;
+    private static final String JOIN_TEACHER =
+            " LEFT JOIN " + TEACHER.TABLE + " te ON te." + TEACHER.ID + " = s." + STUDENT.TEACHER_ID;
 
-        ArrayList<TaskPunch> taskPunches = new ArrayList<>();
+    /**
+     * Builds A Summary Query
+     * Rows Are (Name, Detail Name, Punch Count, Total Seconds)
+     */
+    private static String summaryQuery(String name, String detailName, String joins, String groupBy, String orderBy) {
+        return "SELECT " + name + ", " + detailName + ", SUM(p." + PUNCH_DAILY.PUNCHES + "), SUM(p." + PUNCH_DAILY.SECONDS + ")" +
+                " FROM (" + SUMMARY_PUNCHES + ") p" + joins +
+                " GROUP BY " + groupBy +
+                " ORDER BY " + orderBy;
+    }
 
-        if (cursor.moveToFirst()) {
-            do {
-                taskPunches.add(taskPunchFromRow(cursor));
-            } while (cursor.moveToNext());
-        }
+    private static final String STUDENT_SUMMARY_QUERY = summaryQuery(
+            STUDENT_NAME, "NULL", JOIN_STUDENT,
+            "p." + TASK_PUNCH.STUDENT_ID,
+            "s." + STUDENT.LAST_NAME + ", s." + STUDENT.FIRST_NAME + ", p." + TASK_PUNCH.STUDENT_ID);
 
-        cursor.close();
+    private static final String TASK_SUMMARY_QUERY = summaryQuery(
+            TASK_NAME, "NULL", JOIN_TASK,
+            "p." + TASK_PUNCH.TASK_ID,
+            TASK_NAME + ", p." + TASK_PUNCH.TASK_ID);
 
-        return taskPunches;
-    }
+    private static final String STUDENT_TASK_SUMMARY_QUERY = summaryQuery(
+            STUDENT_NAME, TASK_NAME, JOIN_STUDENT + JOIN_TASK,
+            "p." + TASK_PUNCH.STUDENT_ID + ", p." + TASK_PUNCH.TASK_ID,
+            "s." + STUDENT.LAST_NAME + ", s." + STUDENT.FIRST_NAME + ", p." + TASK_PUNCH.STUDENT_ID + ", " + TASK_NAME + ", p." + TASK_PUNCH.TASK_ID);
 
-    /**
-     * Finds An Open Punch For A Given Student
-     * @param studentId
-     * Id of The Student To Search Punches For
-     * @return
-     * TaskPunch Model if An Open Punch Was Found, null Otherwise
-     */
-    public TaskPunch getOpenPunch(int studentId) {
-        TaskPunch taskPunch = null;
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(
-                TASK_PUNCH_QUERY +
-                        " WHERE " + TASK_PUNCH.STUDENT_ID + "=" + studentId +
-                        " AND " + TASK_PUNCH.TIME_STOP + " IS NULL" , null);
-        if (cursor.moveToFirst())
-            taskPunch = taskPunchFromRow(cursor);
-        cursor.close();
-        return taskPunch;
-    }
+    private static final String TEACHER_SUMMARY_QUERY = summaryQuery(
+            TEACHER_NAME, "NULL", JOIN_STUDENT + JOIN_TEACHER,
+            "s." + STUDENT.TEACHER_ID,
+            "te." + TEACHER.LAST_NAME + ", te." + TEACHER.FIRST_NAME + ", s." + STUDENT.TEACHER_ID);
 
     /**
-     * Retrieves All Saved Punches Within A Given Range
+     * Totals Punches Within A Given Range
+     * Totals Are Computed By The Database, Only The Summary Rows Are Read.
+     * Whole Days Are Read From The Daily Rollup, Counting The Same Punches As The Punch History Would
+     *
+     * @param type
+     * Which Totals To Compute. May Not Be DETAIL
      *
      * @param startDate
      * Date To Start Searching From, Exclusive.
@@ -858,41 +2761,61 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      * May Not Be Null
      *
      * @return
-     * An ArrayList of All Punches
-     * An Empty List If There Are None
+     * One Row Per Student, Task, Student & Task or Teacher, Ordered By Name
+     * An Empty List If There Are No Punches
      */
-    public ArrayList<StudentPunches> getStudentPunches(Date startDate, Date endDate) {
-        long startSeconds = startDate.getTime()/1000L;
-        long endSeconds = endDate.getTime()/1000L;
-
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(TASK_PUNCH_QUERY +
-                " WHERE " + TASK_PUNCH.TIME_START + ">" + Long.toString(startSeconds) +
-                    " AND (" + TASK_PUNCH.TIME_STOP + " IS NULL OR " + TASK_PUNCH.TIME_STOP +"<" + Long.toString(endSeconds) +")" +
-                " ORDER BY " + TASK_PUNCH.STUDENT_ID + ", " + TASK_PUNCH.TIME_START, null);
-
-        ArrayList<StudentPunches> studentPunches = new ArrayList<>();
-        if (cursor.moveToFirst()) {
-            StudentPunches currentStudentPunches = new StudentPunches();
-            currentStudentPunches.setStudent(getStudent(cursor.getInt(1)));
-
-            do {
-                if (currentStudentPunches.getStudent().getId() != cursor.getInt(1)) {
-                    // Add Previous Student Punches And Start The Next Set
-                    studentPunches.add(currentStudentPunches);
-                    currentStudentPunches = new StudentPunches();
-                    currentStudentPunches.setStudent(getStudent(cursor.getInt(1)));
-                }
+    public ArrayList<SummaryRow> getSummary(ReportType type, Date startDate, Date endDate) {
+        final String query;
+        switch (type) {
+            case STUDENT_TOTALS:
+                query = STUDENT_SUMMARY_QUERY;
+                break;
+            case TASK_TOTALS:
+                query = TASK_SUMMARY_QUERY;
+                break;
+            case STUDENT_TASK_TOTALS:
+                query = STUDENT_TASK_SUMMARY_QUERY;
+                break;
+            case TEACHER_TOTALS:
+                query = TEACHER_SUMMARY_QUERY;
+                break;
+            default:
+                throw new IllegalArgumentException("Not A Summary " + type);
+        }
 
-                currentStudentPunches.getPunches().add(taskPunchFromRow(cursor));
+        // Whole UTC Days Strictly Inside The Range
+        final long start = startDate.getTime() / 1000L;
+        final long end = endDate.getTime() / 1000L;
+        final long firstDay = start / SECONDS_PER_DAY + 1;
+        final long lastDay = Math.max(firstDay, end / SECONDS_PER_DAY);
 
-            } while (cursor.moveToNext());
+        final String startSeconds = Long.toString(start);
+        final String endSeconds = Long.toString(end);
+        final String firstDayStart = Long.toString(firstDay * SECONDS_PER_DAY);
+        final String lastDayStart = Long.toString(lastDay * SECONDS_PER_DAY);
 
-            // Add Last StudentPunches
-            studentPunches.add(currentStudentPunches);
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(query, new String[]{
+                Long.toString(firstDay), Long.toString(lastDay), endSeconds,
+                Long.toString(firstDay), Long.toString(lastDay), endSeconds, endSeconds,
+                startSeconds, firstDayStart, endSeconds,
+                lastDayStart, endSeconds,
+                firstDayStart, lastDayStart});
+
+        ArrayList<SummaryRow> rows = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                SummaryRow row = new SummaryRow();
+                row.setName(cursor.isNull(0) ? null : cursor.getString(0));
+                row.setDetailName(cursor.isNull(1) ? null : cursor.getString(1));
+                row.setPunchCount(cursor.getInt(2));
+                row.setSeconds(cursor.getLong(3));
+                rows.add(row);
+            }
+        } finally {
+            cursor.close();
         }
-        cursor.close();
-        return studentPunches;
+        return rows;
     }
 
     /**
@@ -912,11 +2835,8 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
         teacher.setLastName(cursor.getString(2));
         teacher.setEmail(cursor.getString(3));
         teacher.setPhoneNumber(cursor.getString(4));
-        if (!cursor.isNull(5)) {
-            ByteArrayInputStream istream = new ByteArrayInputStream(cursor.getBlob(5));
-            Bitmap teacherImage = BitmapFactory.decodeStream(istream);
-            teacher.setImage(teacherImage);
-        }
+        if (!cursor.isNull(5))
+            teacher.setImageHandle(ImageHandle.stored(cursor.getString(5), imageStore));
 
         return teacher;
     }
@@ -945,8 +2865,8 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      */
     public Teacher getTeacher(int id) {
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(TEACHER_QUERY + " WHERE " + TEACHER.ID + "=" + id
-                , null);
+        Cursor cursor = db.rawQuery(TEACHER_QUERY + " WHERE " + TEACHER.ID + " = ?",
+                new String[]{Integer.toString(id)});
 
 
         Teacher teacher = null;
@@ -980,6 +2900,97 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
         return teachers;
     }
 
+    /**
+     * Teacher Names Only, Skipping Contact Details & Images
+     */
+    private static final String TEACHER_NAMES_QUERY = "SELECT " +
+            TEACHER.ID + " , " +
+            TEACHER.FIRST_NAME + " , " +
+            TEACHER.LAST_NAME +
+            " FROM " + TEACHER.TABLE;
+
+    /**
+     * Retrieves The Display Name of Every Teacher In One Query
+     * Lets Lists Show Each Student's Teacher Without A Query Per Row
+     *
+     * @return
+     * "First Last" Names Keyed By Teacher ID
+     * An Empty Map If There Are None
+     */
+    public HashMap<Integer, String> getTeacherNames() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TEACHER_NAMES_QUERY, null);
+
+        @SuppressLint("UseSparseArrays")
+        HashMap<Integer, String> names = new HashMap<>();
+        try {
+            while (cursor.moveToNext())
+                names.put(cursor.getInt(0), cursor.getString(1) + " " + cursor.getString(2));
+        } finally {
+            cursor.close();
+        }
+        return names;
+    }
+
+    /**
+     * Finds Teachers By Name Without Loading Every Teacher
+     *
+     * @param query
+     * Search As Typed, Each Word Matching The Start of A First or Last Name
+     *
+     * @param limit
+     * Most Teachers To Return
+     *
+     * @return
+     * Matching Teachers, Best Matches First
+     * An Empty List If None Match
+     */
+    public ArrayList<Teacher> searchTeachers(String query, int limit) {
+        ArrayList<Teacher> teachers = new ArrayList<>();
+        String[] terms = nameSearchTerms(query);
+        if (terms == null)
+            return teachers;
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(TEACHER_QUERY + nameSearchJoin(TEACHER.ID, NAME_SEARCH.TEACHER) +
+                NAME_SEARCH_ORDER + " LIMIT " + limit, terms);
+        try {
+            while (cursor.moveToNext())
+                teachers.add(teacherFromRow(cursor));
+        } finally {
+            cursor.close();
+        }
+        return teachers;
+    }
+
+    /**
+     * Inserts A Teacher
+     */
+    private static final String TEACHER_INSERT = "INSERT INTO " + TEACHER.TABLE + " (" +
+            TEACHER.FIRST_NAME + ", " +
+            TEACHER.LAST_NAME + ", " +
+            TEACHER.EMAIL + ", " +
+            TEACHER.PHONE_NUMBER + ", " +
+            TEACHER.IMAGE +
+            ") VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Updates A Teacher, Keeping The Current Image When None Is Bound
+     */
+    private static final String TEACHER_UPDATE = "UPDATE " + TEACHER.TABLE + " SET " +
+            TEACHER.FIRST_NAME + " = ?, " +
+            TEACHER.LAST_NAME + " = ?, " +
+            TEACHER.EMAIL + " = ?, " +
+            TEACHER.PHONE_NUMBER + " = ?, " +
+            TEACHER.IMAGE + " = COALESCE(?, " + TEACHER.IMAGE + ")" +
+            " WHERE " + TEACHER.ID + " = ?";
+
+    /**
+     * Removes A Teacher
+     */
+    private static final String TEACHER_DELETE =
+            "DELETE FROM " + TEACHER.TABLE + " WHERE " + TEACHER.ID + " = ?";
+
     /**
      * Adds A New Teacher
      *
@@ -992,39 +3003,43 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      * -1 If The Insert Failed
      */
     public int addTeacher(Teacher teacher) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-
-        values.put(TEACHER.FIRST_NAME, teacher.getFirstName());
-        values.put(TEACHER.LAST_NAME, teacher.getLastName());
-        values.put(TEACHER.EMAIL, teacher.getEmail());
-        values.put(TEACHER.PHONE_NUMBER, teacher.getPhoneNumber());
-
-        // Convert Image To Byte Array For Persistence
-        if (teacher.getImage() != null) {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            teacher.getImage().compress(Bitmap.CompressFormat.PNG, 100, stream);
-            values.put(TEACHER.IMAGE, stream.toByteArray());
-        }
-
-        long rowId = db.insertOrThrow(TEACHER.TABLE, null, values);
+        // Store Image, Keep Only Its Key
+        String imageKey = null;
+        if (teacher.getImageHandle() != null)
+            imageKey = storeImage(teacher.getImageHandle());
 
-        // Abort on failed insert
-        if (rowId == -1)
-            return -1;
-
-        Cursor cursor = db.rawQuery(
-                "SELECT " + TEACHER.ID + " FROM " + TEACHER.TABLE + " WHERE ROWID=" + rowId, null
-        );
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            db.beginTransaction();
+            try {
+                int id;
+                SQLiteStatement statement = statement(TEACHER_INSERT);
+                synchronized (statement) {
+                    bindNullable(statement, 1, teacher.getFirstName());
+                    bindNullable(statement, 2, teacher.getLastName());
+                    bindNullable(statement, 3, teacher.getEmail());
+                    bindNullable(statement, 4, teacher.getPhoneNumber());
+                    bindNullable(statement, 5, imageKey);
+
+                    // ID Is The Row ID, No Need To Query It Back
+                    try {
+                        id = (int) statement.executeInsert();
+                    } finally {
+                        statement.clearBindings();
+                    }
+                }
 
-        int id = -1;
+                if (id != -1)
+                    indexNames(NAME_SEARCH.TEACHER, id, teacher.getFirstName(), teacher.getLastName());
 
-        if (cursor.moveToFirst()) {
-            id = cursor.getInt(0);
+                db.setTransactionSuccessful();
+                return id;
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            releaseReplacedImage(null, imageKey);
         }
-
-        cursor.close();
-        return id;
     }
 
     /**
@@ -1037,23 +3052,46 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      */
     public void update(Teacher teacher) {
         SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
 
-        values.put(TEACHER.FIRST_NAME, teacher.getFirstName());
-        values.put(TEACHER.LAST_NAME, teacher.getLastName());
-        values.put(TEACHER.EMAIL, teacher.getEmail());
-        values.put(TEACHER.PHONE_NUMBER, teacher.getPhoneNumber());
-        if (teacher.getImage() != null) {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            teacher.getImage().compress(Bitmap.CompressFormat.PNG, 100, stream);
-            values.put(TEACHER.IMAGE, stream.toByteArray());
+        // Only Replace The Image If One Was Set
+        String previousImageKey = null;
+        String imageKey = null;
+        if (teacher.getImageHandle() != null) {
+            previousImageKey = currentImageKey(db, TEACHER.TABLE, TEACHER.ID, TEACHER.IMAGE, teacher.getId());
+            imageKey = storeImage(teacher.getImageHandle());
         }
 
-        int affectedRows = db.update(TEACHER.TABLE, values,
-                TEACHER.ID + " = ?", new String[]{teacher.getId().toString()});
+        try {
+            db.beginTransaction();
+            try {
+                int affectedRows;
+                SQLiteStatement statement = statement(TEACHER_UPDATE);
+                synchronized (statement) {
+                    bindNullable(statement, 1, teacher.getFirstName());
+                    bindNullable(statement, 2, teacher.getLastName());
+                    bindNullable(statement, 3, teacher.getEmail());
+                    bindNullable(statement, 4, teacher.getPhoneNumber());
+                    bindNullable(statement, 5, imageKey);
+                    statement.bindLong(6, teacher.getId());
+                    affectedRows = statement.executeUpdateDelete();
+                    statement.clearBindings();
+                }
+
+                if (affectedRows < 1)
+                    Log.w(TAG, "Update Affected No Rows");
+                else
+                    indexNames(NAME_SEARCH.TEACHER, teacher.getId(), teacher.getFirstName(), teacher.getLastName());
 
-        if (affectedRows < 1)
-            Log.w(TAG, "Update Affected No Rows");
+                // Names Show In Reports
+                touchReportVersion(REPORT_VERSION.NAMES);
+
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            releaseReplacedImage(previousImageKey, imageKey);
+        }
     }
 
     /**
@@ -1064,7 +3102,18 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      */
     public void deleteTeacher(int teacherId) {
         SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TEACHER.TABLE, TEACHER.ID + " = ?", new String[]{Integer.toString(teacherId)});
+        String imageKey;
+        db.beginTransaction();
+        try {
+            imageKey = currentImageKey(db, TEACHER.TABLE, TEACHER.ID, TEACHER.IMAGE, teacherId);
+            executeDelete(TEACHER_DELETE, teacherId);
+            unindexNames(NAME_SEARCH.TEACHER, teacherId);
+            touchReportVersion(REPORT_VERSION.NAMES);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        releaseReplacedImage(imageKey, null);
     }
 
     /**
@@ -1109,7 +3158,8 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
     public AdminAccount getAdminAccount(int id) {
         SQLiteDatabase db = this.getReadableDatabase();
         Cursor cursor = db.rawQuery(
-                ADMIN_ACCOUNT_QUERY + " WHERE " + ADMIN_ACCOUNT.ID + "=" + id, null);
+                ADMIN_ACCOUNT_QUERY + " WHERE " + ADMIN_ACCOUNT.ID + " = ?",
+                new String[]{Integer.toString(id)});
 
         AdminAccount adminAccount = null;
         if (cursor.moveToFirst()) {
@@ -1171,6 +3221,32 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
         return adminAccounts;
     }
 
+    /**
+     * Inserts An Account
+     */
+    private static final String ADMIN_ACCOUNT_INSERT = "INSERT INTO " + ADMIN_ACCOUNT.TABLE + " (" +
+            ADMIN_ACCOUNT.USERNAME + ", " +
+            ADMIN_ACCOUNT.PASSWORD +
+            ") VALUES (?, ?)";
+
+    /**
+     * Changes The Username of An Account
+     */
+    private static final String ADMIN_ACCOUNT_UPDATE_USERNAME = "UPDATE " + ADMIN_ACCOUNT.TABLE +
+            " SET " + ADMIN_ACCOUNT.USERNAME + " = ? WHERE " + ADMIN_ACCOUNT.ID + " = ?";
+
+    /**
+     * Changes The Password of An Account
+     */
+    private static final String ADMIN_ACCOUNT_UPDATE_PASSWORD = "UPDATE " + ADMIN_ACCOUNT.TABLE +
+            " SET " + ADMIN_ACCOUNT.PASSWORD + " = ? WHERE " + ADMIN_ACCOUNT.ID + " = ?";
+
+    /**
+     * Removes An Account
+     */
+    private static final String ADMIN_ACCOUNT_DELETE =
+            "DELETE FROM " + ADMIN_ACCOUNT.TABLE + " WHERE " + ADMIN_ACCOUNT.ID + " = ?";
+
     /**
      * Creates A New Account
      *
@@ -1185,31 +3261,20 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      * -1 If The Insert Failed
      */
     public int createAdminAccount(String username, String plaintextPassword) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-
         final String hashedPassword = BCrypt.hashpw(plaintextPassword, BCrypt.gensalt());
 
-        values.put(ADMIN_ACCOUNT.USERNAME, username);
-        values.put(ADMIN_ACCOUNT.PASSWORD, hashedPassword);
-
-        long rowId = db.insertOrThrow(ADMIN_ACCOUNT.TABLE, null, values);
+        SQLiteStatement statement = statement(ADMIN_ACCOUNT_INSERT);
+        synchronized (statement) {
+            statement.bindString(1, username);
+            statement.bindString(2, hashedPassword);
 
-        // Abort on failed insert
-        if (rowId == -1)
-            return -1;
-
-        Cursor cursor = db.rawQuery(
-                "SELECT " + ADMIN_ACCOUNT.ID + " FROM " + ADMIN_ACCOUNT.TABLE + " WHERE ROWID=" + rowId, null
-        );
-
-        int id = -1;
-        if (cursor.moveToFirst()) {
-            id = cursor.getInt(0);
+            // ID Is The Row ID, No Need To Query It Back
+            try {
+                return (int) statement.executeInsert();
+            } finally {
+                statement.clearBindings();
+            }
         }
-        cursor.close();
-
-        return id;
     }
 
     /**
@@ -1219,22 +3284,20 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      * A Model With An ID And A Username
      */
     public void updateUsername(AdminAccount adminAccount) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-
-        if (adminAccount.getUsername() != null)
-            values.put(ADMIN_ACCOUNT.USERNAME, adminAccount.getUsername());
-        else
+        if (adminAccount.getUsername() == null)
             throw new IllegalArgumentException("Username Must Not Be Null");
 
-
-        int affectedRows = db.update(ADMIN_ACCOUNT.TABLE, values,
-                ADMIN_ACCOUNT.ID + " = ?", new String[]{adminAccount.getId().toString()});
-
+        int affectedRows;
+        SQLiteStatement statement = statement(ADMIN_ACCOUNT_UPDATE_USERNAME);
+        synchronized (statement) {
+            statement.bindString(1, adminAccount.getUsername());
+            statement.bindLong(2, adminAccount.getId());
+            affectedRows = statement.executeUpdateDelete();
+            statement.clearBindings();
+        }
 
         if (affectedRows < 1)
             Log.w(TAG, "Update Affected No Rows");
-
     }
 
     /**
@@ -1247,14 +3310,16 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      * The New Password of The Account In PlainText
      */
     public void updateAdminPassword(int id, String newPlaintextPassword) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-
         final String hashedPassword = BCrypt.hashpw(newPlaintextPassword, BCrypt.gensalt());
 
-        values.put(ADMIN_ACCOUNT.PASSWORD, hashedPassword);
-        int affectedRows = db.update(ADMIN_ACCOUNT.TABLE, values,
-                ADMIN_ACCOUNT.ID + " = ?", new String[]{Integer.toString(id)});
+        int affectedRows;
+        SQLiteStatement statement = statement(ADMIN_ACCOUNT_UPDATE_PASSWORD);
+        synchronized (statement) {
+            statement.bindString(1, hashedPassword);
+            statement.bindLong(2, id);
+            affectedRows = statement.executeUpdateDelete();
+            statement.clearBindings();
+        }
 
         if (affectedRows < 1)
             Log.w(TAG, "Update Affected No Rows");
@@ -1284,7 +3349,139 @@ public class PersistenceInteractor extends SQLiteOpenHelper {
      * The Id of The Account To Remove
      */
     public void deleteAdminAccount(int id) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(ADMIN_ACCOUNT.TABLE, ADMIN_ACCOUNT.ID + " = ?", new String[]{Integer.toString(id)});
+        executeDelete(ADMIN_ACCOUNT_DELETE, id);
+    }
+
+    /**
+     * Base Query For Selecting A Scheduled Report
+     */
+    private static final String SCHEDULED_REPORT_QUERY = "SELECT " +
+            SCHEDULED_REPORT.ID + ", " +
+            SCHEDULED_REPORT.PERIOD + ", " +
+            SCHEDULED_REPORT.TYPE + ", " +
+            SCHEDULED_REPORT.COMPRESSION + ", " +
+            SCHEDULED_REPORT.FILE_NAME + ", " +
+            SCHEDULED_REPORT.LAST_PERIOD_END +
+            " FROM " + SCHEDULED_REPORT.TABLE;
+
+    /**
+     * Converts A Result Row To A ScheduledReport Model
+     *
+     * @param cursor
+     * A Cursor On A ScheduledReport Row Having Results In Order the Base Query
+     *
+     * @return
+     * A Model With All Previously Saved Info Populated
+     */
+    private ScheduledReport scheduledReportFromRow(Cursor cursor) {
+        ScheduledReport report = new ScheduledReport();
+        report.setId(cursor.getInt(0));
+        report.setPeriod(ReportPeriod.valueOf(cursor.getString(1)));
+        report.setType(ReportType.valueOf(cursor.getString(2)));
+        report.setCompression(ReportCompression.valueOf(cursor.getString(3)));
+        report.setFileNamePattern(cursor.getString(4));
+        if (!cursor.isNull(5))
+            report.setLastPeriodEnd(new Date(cursor.getLong(5) * 1000L));
+        return report;
+    }
+
+    /**
+     * Retrieves All Scheduled Reports
+     *
+     * @return
+     * An ArrayList of All Schedules
+     * An Empty List If There Are None
+     */
+    public ArrayList<ScheduledReport> getAllScheduledReports() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SCHEDULED_REPORT_QUERY, null);
+
+        ArrayList<ScheduledReport> reports = new ArrayList<>();
+        try {
+            while (cursor.moveToNext())
+                reports.add(scheduledReportFromRow(cursor));
+        } finally {
+            cursor.close();
+        }
+        return reports;
+    }
+
+    /**
+     * Inserts A Scheduled Report
+     */
+    private static final String SCHEDULED_REPORT_INSERT = "INSERT INTO " + SCHEDULED_REPORT.TABLE + " (" +
+            SCHEDULED_REPORT.PERIOD + ", " +
+            SCHEDULED_REPORT.TYPE + ", " +
+            SCHEDULED_REPORT.COMPRESSION + ", " +
+            SCHEDULED_REPORT.FILE_NAME + ", " +
+            SCHEDULED_REPORT.LAST_PERIOD_END +
+            ") VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Records The Latest Period A Scheduled Report Has Exported
+     */
+    private static final String SCHEDULED_REPORT_UPDATE_LAST_PERIOD = "UPDATE " + SCHEDULED_REPORT.TABLE + " SET " +
+            SCHEDULED_REPORT.LAST_PERIOD_END + " = ?" +
+            " WHERE " + SCHEDULED_REPORT.ID + " = ?";
+
+    /**
+     * Removes A Scheduled Report
+     */
+    private static final String SCHEDULED_REPORT_DELETE =
+            "DELETE FROM " + SCHEDULED_REPORT.TABLE + " WHERE " + SCHEDULED_REPORT.ID + " = ?";
+
+    /**
+     * Adds A New Scheduled Report
+     *
+     * @param report
+     * A Filled In ScheduledReport Model
+     * lastPeriodEnd May Be Null
+     *
+     * @return
+     * The ID of The New Schedule
+     * -1 If The Insert Failed
+     */
+    public int addScheduledReport(ScheduledReport report) {
+        SQLiteStatement statement = statement(SCHEDULED_REPORT_INSERT);
+        synchronized (statement) {
+            statement.bindString(1, report.getPeriod().name());
+            statement.bindString(2, report.getType().name());
+            statement.bindString(3, report.getCompression().name());
+            statement.bindString(4, report.getFileNamePattern());
+            bindSeconds(statement, 5, report.getLastPeriodEnd());
+
+            // ID Is The Row ID, No Need To Query It Back
+            try {
+                return (int) statement.executeInsert();
+            } finally {
+                statement.clearBindings();
+            }
+        }
+    }
+
+    /**
+     * Records The Latest Period A Scheduled Report Has Exported
+     *
+     * @param report
+     * A Saved Schedule With lastPeriodEnd Set
+     */
+    public void updateLastPeriod(ScheduledReport report) {
+        SQLiteStatement statement = statement(SCHEDULED_REPORT_UPDATE_LAST_PERIOD);
+        synchronized (statement) {
+            bindSeconds(statement, 1, report.getLastPeriodEnd());
+            statement.bindLong(2, report.getId());
+            statement.executeUpdateDelete();
+            statement.clearBindings();
+        }
+    }
+
+    /**
+     * Removes A Scheduled Report
+     *
+     * @param id
+     * The ID of The Schedule
+     */
+    public void deleteScheduledReport(int id) {
+        executeDelete(SCHEDULED_REPORT_DELETE, id);
     }
 }
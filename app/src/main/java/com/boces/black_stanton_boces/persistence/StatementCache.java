@@ -0,0 +1,60 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.HashMap;
+
+/**
+ * Keeps Compiled Statements So Hot Inserts, Updates And Deletes Are Only Prepared Once
+ * Callers Must Synchronize On A Statement While Binding And Executing It
+ */
+class StatementCache {
+
+    /**
+     * Compiled Statements Keyed By Their SQL
+     */
+    private final HashMap<String, SQLiteStatement> statements = new HashMap<>();
+
+    /**
+     * Database The Cached Statements Were Compiled Against
+     */
+    private SQLiteDatabase database;
+
+    /**
+     * Retrieves A Compiled Statement, Compiling It On First Use
+     *
+     * @param db
+     * The Database To Run The Statement On
+     *
+     * @param sql
+     * SQL With ? Placeholders For Every Value
+     *
+     * @return
+     * A Compiled Statement With No Bindings
+     */
+    synchronized SQLiteStatement get(SQLiteDatabase db, String sql) {
+        // Statements Belong To A Single Database Reference
+        if (db != database) {
+            clear();
+            database = db;
+        }
+
+        SQLiteStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = db.compileStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Releases Every Compiled Statement
+     */
+    synchronized void clear() {
+        for (SQLiteStatement statement : statements.values())
+            statement.close();
+        statements.clear();
+        database = null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.boces.black_stanton_boces.persistence.model;
+
+import com.boces.black_stanton_boces.report.ReportCompression;
+import com.boces.black_stanton_boces.report.ReportPeriod;
+import com.boces.black_stanton_boces.report.ReportType;
+
+import java.util.Date;
+
+public class ScheduledReport {
+
+    /**
+     * Id of The Schedule In The Database
+     * May Be null If A Create Model
+     */
+    private Integer id;
+
+    /**
+     * How Often The Report Is Made, And Which Range It Covers
+     */
+    private ReportPeriod period;
+
+    private ReportType type;
+
+    private ReportCompression compression;
+
+    /**
+     * Name of The File, Without Extension
+     * {start} & {end} Are Replaced With The Dates The Report Covers
+     */
+    private String fileNamePattern;
+
+    /**
+     * End of The Latest Period Already Exported
+     * null If The Report Has Never Run
+     */
+    private Date lastPeriodEnd;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public ReportPeriod getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(ReportPeriod period) {
+        this.period = period;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public void setType(ReportType type) {
+        this.type = type;
+    }
+
+    public ReportCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(ReportCompression compression) {
+        this.compression = compression;
+    }
+
+    public String getFileNamePattern() {
+        return fileNamePattern;
+    }
+
+    public void setFileNamePattern(String fileNamePattern) {
+        this.fileNamePattern = fileNamePattern;
+    }
+
+    public Date getLastPeriodEnd() {
+        return lastPeriodEnd;
+    }
+
+    public void setLastPeriodEnd(Date lastPeriodEnd) {
+        this.lastPeriodEnd = lastPeriodEnd;
+    }
+}
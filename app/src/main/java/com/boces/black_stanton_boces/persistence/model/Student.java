@@ -2,6 +2,8 @@ package com.boces.black_stanton_boces.persistence.model;
 
 import android.graphics.Bitmap;
 
+import com.boces.black_stanton_boces.persistence.ImageHandle;
+
 public class Student {
 
     /**
@@ -38,9 +40,10 @@ public class Student {
 
     /**
      * Image Associated With The Student
+     * Only Decoded When First Accessed
      * May Be null
      */
-    private Bitmap image;
+    private ImageHandle image;
 
     public Integer getId() {
         return id;
@@ -91,10 +94,23 @@ public class Student {
     }
 
     public Bitmap getImage() {
-        return image;
+        if (image == null)
+            return null;
+        return image.get();
     }
 
     public void setImage(Bitmap image) {
+        if (image == null)
+            this.image = null;
+        else
+            this.image = ImageHandle.of(image);
+    }
+
+    public ImageHandle getImageHandle() {
+        return image;
+    }
+
+    public void setImageHandle(ImageHandle image) {
         this.image = image;
     }
 }
@@ -2,6 +2,8 @@ package com.boces.black_stanton_boces.persistence.model;
 
 import android.graphics.Bitmap;
 
+import com.boces.black_stanton_boces.persistence.ImageHandle;
+
 public class Task {
     /**
      * Id of The Task In The Database
@@ -16,9 +18,10 @@ public class Task {
 
     /**
      * Image Associated With The Task
+     * Only Decoded When First Accessed
      * May Be null
      */
-    private Bitmap image;
+    private ImageHandle image;
 
 
     public Integer getId() {
@@ -38,10 +41,23 @@ public class Task {
     }
 
     public Bitmap getImage() {
-        return image;
+        if (image == null)
+            return null;
+        return image.get();
     }
 
     public void setImage(Bitmap image) {
+        if (image == null)
+            this.image = null;
+        else
+            this.image = ImageHandle.of(image);
+    }
+
+    public ImageHandle getImageHandle() {
+        return image;
+    }
+
+    public void setImageHandle(ImageHandle image) {
         this.image = image;
     }
 }
@@ -2,6 +2,8 @@ package com.boces.black_stanton_boces.persistence.model;
 
 import android.graphics.Bitmap;
 
+import com.boces.black_stanton_boces.persistence.ImageHandle;
+
 public class Teacher {
 
     /**
@@ -32,9 +34,10 @@ public class Teacher {
 
     /**
      * Image Associated With The Teacher
+     * Only Decoded When First Accessed
      * May Be null
      */
-    private Bitmap image;
+    private ImageHandle image;
 
     public Integer getId() {
         return id;
@@ -77,10 +80,23 @@ public class Teacher {
     }
 
     public Bitmap getImage() {
-        return image;
+        if (image == null)
+            return null;
+        return image.get();
     }
 
     public void setImage(Bitmap image) {
+        if (image == null)
+            this.image = null;
+        else
+            this.image = ImageHandle.of(image);
+    }
+
+    public ImageHandle getImageHandle() {
+        return image;
+    }
+
+    public void setImageHandle(ImageHandle image) {
         this.image = image;
     }
 }
@@ -0,0 +1,87 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes CSV Rows Field By Field Without Building Intermediate Strings
+ * Output Matches opencsv's CSVWriter Defaults: Every Field Quoted,
+ * Quotes Doubled, Comma Separated, One \n Per Row
+ */
+class CsvRowWriter {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char LINE_END = '\n';
+
+    private final Writer writer;
+
+    /**
+     * Whether The Next Field Is The First of Its Row
+     */
+    private boolean rowStart = true;
+
+    /**
+     * Default Constructor
+     * @param writer
+     * Where Rows Are Written, Should Be Buffered
+     */
+    CsvRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes One Field of The Current Row
+     * @param value
+     * Contents of The Field
+     * @throws IOException
+     * When The Field Could Not Be Written
+     */
+    void field(CharSequence value) throws IOException {
+        if (!rowStart)
+            writer.write(SEPARATOR);
+        rowStart = false;
+
+        writer.write(QUOTE);
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c == QUOTE)
+                writer.write(QUOTE);
+            writer.write(c);
+        }
+        writer.write(QUOTE);
+    }
+
+    /**
+     * Writes A Whole Row
+     * @param values
+     * Contents of Each Field
+     * @throws IOException
+     * When The Row Could Not Be Written
+     */
+    void row(CharSequence... values) throws IOException {
+        for (CharSequence value : values)
+            field(value);
+        endRow();
+    }
+
+    /**
+     * Ends The Current Row
+     * @throws IOException
+     * When The Row Could Not Be Written
+     */
+    void endRow() throws IOException {
+        writer.write(LINE_END);
+        rowStart = true;
+    }
+
+    /**
+     * Pushes Written Rows To The Underlying Writer
+     * @throws IOException
+     * When The Rows Could Not Be Written
+     */
+    void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,269 @@
+package com.boces.black_stanton_boces.report;
+
+import android.content.Context;
+import android.os.Environment;
+import android.util.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes A Report To A File
+ * Output Goes To A Temporary File Which Only Takes The Report's Name Once It Is Complete,
+ * So A Failed or Abandoned Report Never Leaves A Partial File Behind.
+ * Output May Be Deflated On Its Way To The File, As Gzip or As Zip Entries
+ */
+public class FileReportSink implements ReportSink {
+
+    /**
+     * Size of The Write Buffer
+     * Large Enough That A Report Takes A Handful of Writes Instead of One Per Row
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Directory Under The App's Private Files Reports Are Kept In
+     */
+    private static final String DIRECTORY = "reports";
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesFileReportSink";
+
+    /**
+     * Suffix of The File Written To Until The Report Is Complete
+     */
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final File file;
+    private final File partial;
+    private final ReportCompression compression;
+    private FileOutputStream stream;
+
+    /**
+     * Compresses Between The Writer And The File, null When Not Compressing
+     */
+    private DeflaterOutputStream deflater;
+    private Writer writer;
+
+    /**
+     * Whether A Zip Entry Has Been Started
+     */
+    private boolean hasEntry;
+
+    /**
+     * Default Constructor
+     * @param file
+     * The File The Finished Report Is Saved As
+     */
+    public FileReportSink(File file) {
+        this(file, ReportCompression.NONE);
+    }
+
+    /**
+     * Creates A Sink That Compresses The Report
+     * @param file
+     * The File The Finished Report Is Saved As
+     * @param compression
+     * How The Report Is Compressed. ZIP Requires nextEntry Before Anything Is Written
+     */
+    public FileReportSink(File file, ReportCompression compression) {
+        this.file = file;
+        this.partial = new File(file.getPath() + PARTIAL_SUFFIX);
+        this.compression = compression;
+    }
+
+    /**
+     * Creates A Sink For A File In The Public Downloads Directory
+     * @param fileName
+     * Name of The File, Including Extension
+     * @return
+     * A Sink For The File
+     */
+    public static FileReportSink downloads(String fileName) {
+        return downloads(fileName, ReportCompression.NONE);
+    }
+
+    /**
+     * Creates A Compressing Sink For A File In The Public Downloads Directory
+     * @param fileName
+     * Name of The File, Including Extension
+     * @param compression
+     * How The Report Is Compressed
+     * @return
+     * A Sink For The File
+     */
+    public static FileReportSink downloads(String fileName, ReportCompression compression) {
+        return new FileReportSink(new File(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS), fileName), compression);
+    }
+
+    /**
+     * Creates A Sink For A File Only This App Can Read
+     * @param context
+     * Application/Current Context
+     * @param fileName
+     * Name of The File, Including Extension
+     * @return
+     * A Sink For The File
+     */
+    public static FileReportSink appPrivate(Context context, String fileName) {
+        return new FileReportSink(new File(new File(context.getFilesDir(), DIRECTORY), fileName));
+    }
+
+    /**
+     * Gets The File The Finished Report Is Saved As
+     * @return
+     * The File, Which Only Exists Once The Sink Is Closed
+     */
+    public File getFile() {
+        return file;
+    }
+
+    public ReportCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Starts A New File In A Zip, Finishing The Previous One
+     * Everything Written Afterwards Goes Into The New Entry
+     * @param name
+     * Name of The Entry, Including Extension
+     * @throws IOException
+     * When The Entry Could Not Be Started
+     */
+    public void nextEntry(String name) throws IOException {
+        if (compression != ReportCompression.ZIP)
+            throw new IllegalStateException("Entries Are Only Written To Zip Files");
+        if (writer == null)
+            throw new IllegalStateException("Sink Not Open");
+
+        // Buffered Text Belongs To The Previous Entry
+        writer.flush();
+        ZipOutputStream zip = (ZipOutputStream) deflater;
+        if (hasEntry)
+            zip.closeEntry();
+        zip.putNextEntry(new ZipEntry(name));
+        hasEntry = true;
+    }
+
+    /**
+     * Saves A Copy of An Already Finished Report Instead of Writing One
+     * The Copy Is Synced And Renamed Into Place Just As A Written Report Would Be
+     * @param report
+     * A Finished Report, Already In This Sink's Format
+     * @throws IOException
+     * When The Copy Could Not Be Saved, Nothing Is Left Behind
+     */
+    public void copyFrom(File report) throws IOException {
+        if (writer != null)
+            throw new IllegalStateException("Sink Already Open");
+
+        File directory = partial.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs())
+            throw new IOException("Could Not Create Directory " + directory);
+
+        try {
+            ReportCache.copy(report, partial);
+
+            FileOutputStream sync = new FileOutputStream(partial, true);
+            try {
+                sync.getFD().sync();
+            } finally {
+                sync.close();
+            }
+
+            if (!partial.renameTo(file))
+                throw new IOException("Could Not Save Report " + file);
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public Writer open() throws IOException {
+        if (writer != null)
+            throw new IllegalStateException("Sink Already Open");
+
+        File directory = partial.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs())
+            throw new IOException("Could Not Create Directory " + directory);
+
+        stream = new FileOutputStream(partial);
+        switch (compression) {
+            case GZIP:
+                deflater = new GZIPOutputStream(stream, BUFFER_SIZE);
+                break;
+            case ZIP:
+                // Entry Headers Are Written In Small Pieces, So Buffer Under The Zip Too
+                deflater = new ZipOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+                break;
+            default:
+                deflater = null;
+        }
+        hasEntry = false;
+
+        OutputStream out = deflater == null ? stream : deflater;
+        writer = new BufferedWriter(new OutputStreamWriter(out, Charset.forName("UTF-8")), BUFFER_SIZE);
+        return writer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null)
+            throw new IllegalStateException("Sink Not Open");
+
+        try {
+            writer.flush();
+            if (deflater != null) {
+                // A Zip Must Hold At Least One Entry
+                if (compression == ReportCompression.ZIP && !hasEntry)
+                    nextEntry(file.getName().replaceFirst("\\.zip$", "") + ".csv");
+                deflater.finish();
+                deflater.flush();
+            }
+            stream.getFD().sync();
+            writer.close();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+        writer = null;
+        deflater = null;
+        stream = null;
+
+        if (!partial.renameTo(file)) {
+            abort();
+            throw new IOException("Could Not Save Report " + file);
+        }
+    }
+
+    @Override
+    public void abort() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed To Close Abandoned Report " + file);
+            }
+            writer = null;
+            deflater = null;
+            stream = null;
+        }
+
+        if (partial.exists() && !partial.delete())
+            Log.w(TAG, "Could Not Remove Partial Report " + partial);
+    }
+}
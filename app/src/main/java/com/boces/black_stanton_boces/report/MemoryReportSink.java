@@ -0,0 +1,50 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Keeps A Report In Memory
+ * Meant For Tests & Small Previews, Not For Full Exports
+ */
+public class MemoryReportSink implements ReportSink {
+
+    private StringWriter writer;
+
+    /**
+     * Contents Saved Once The Sink Is Closed
+     */
+    private String contents;
+
+    @Override
+    public Writer open() {
+        if (writer != null)
+            throw new IllegalStateException("Sink Already Open");
+        writer = new StringWriter();
+        contents = null;
+        return writer;
+    }
+
+    @Override
+    public void close() {
+        if (writer == null)
+            throw new IllegalStateException("Sink Not Open");
+        contents = writer.toString();
+        writer = null;
+    }
+
+    @Override
+    public void abort() {
+        writer = null;
+        contents = null;
+    }
+
+    /**
+     * Gets What Was Written
+     * @return
+     * The Report, or null If The Sink Was Never Closed
+     */
+    public String getContents() {
+        return contents;
+    }
+}
@@ -0,0 +1,214 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes A Task Report By Formatting Ranges of Students Concurrently
+ * Every Partition Starts On A New Student, So Stitching Them Back Together In Order
+ * Gives Exactly The Same Bytes As Writing The Report In One Pass
+ */
+class PartitionedTaskReport {
+
+    /**
+     * Roughly How Many Punches Each Partition Holds
+     * Bounds The Memory of A Formatted Partition Waiting To Be Written
+     */
+    static final int PARTITION_ROWS = 2000;
+
+    /**
+     * Most Threads Ever Used, Whatever The Number of Cores
+     */
+    private static final int MAX_THREADS = 4;
+
+    private static ExecutorService pool;
+
+    /**
+     * Gets The Shared Pool Partitions Are Formatted On
+     * @return
+     * A Pool Sized To The Device, Whose Threads Exit When Idle
+     */
+    static synchronized ExecutorService getPool() {
+        if (pool == null) {
+            final int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "bocesReport-" + count.incrementAndGet());
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+            executor.allowCoreThreadTimeOut(true);
+            pool = executor;
+        }
+        return pool;
+    }
+
+    /**
+     * Gets The Number of Partitions Formatted Ahead of The One Being Written
+     * @return
+     * Twice The Pool Size, Enough To Keep Every Thread Busy
+     */
+    static int getWindow() {
+        return 2 * Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Splits Students Into Contiguous ID Ranges of Roughly Equal Punch Counts
+     * Ranges Cover Every Possible ID, So No Row Can Fall Between Them
+     *
+     * @param counts
+     * Punch Counts Keyed By Student ID, In Ascending ID Order
+     *
+     * @param targetRows
+     * Roughly How Many Punches Each Range Should Hold
+     *
+     * @return
+     * Inclusive {from, to} Student ID Ranges, In Order
+     */
+    static List<int[]> partition(LinkedHashMap<Integer, Integer> counts, int targetRows) {
+        List<int[]> partitions = new ArrayList<>();
+        int from = Integer.MIN_VALUE;
+        int rows = 0;
+        int remaining = counts.size();
+
+        for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+            rows += count.getValue();
+            remaining--;
+
+            // The Last Range Is Left Open So It Reaches The Highest Possible ID
+            if (rows >= targetRows && remaining > 0) {
+                partitions.add(new int[]{from, count.getKey()});
+                from = count.getKey() + 1;
+                rows = 0;
+            }
+        }
+
+        partitions.add(new int[]{from, Integer.MAX_VALUE});
+        return partitions;
+    }
+
+    /**
+     * Writes The Report Body, Formatting Partitions Concurrently And Writing Them In Order
+     * At Most window Formatted Partitions Are Held At Once
+     *
+     * @param source
+     * Where Punches Are Read From
+     *
+     * @param taskNames
+     * Task Names Keyed By Task ID. Only Read
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param out
+     * Where The Rows Are Written, After The Header
+     *
+     * @param executor
+     * Pool To Format Partitions On
+     *
+     * @param window
+     * Most Partitions Formatted Ahead of The One Being Written
+     *
+     * @param progress
+     * Counts Rows As They Are Formatted. Its Total Is Set From The Punch Counts
+     *
+     * @throws IOException
+     * When Any Partition Fails or The Report Is Cancelled, The Rest Are Cancelled
+     */
+    static void write(final ReportSource source, final Map<Integer, String> taskNames,
+                      final Date startDate, final Date endDate, Writer out,
+                      ExecutorService executor, int window, ReportProgress progress) throws IOException {
+        LinkedHashMap<Integer, Integer> counts = source.getPunchCountsByStudent(startDate, endDate);
+        int total = 0;
+        for (int count : counts.values())
+            total += count;
+        progress.setTotal(total);
+
+        List<int[]> partitions = partition(counts, PARTITION_ROWS);
+
+        ArrayDeque<Future<CharArrayWriter>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (next < partitions.size() && inFlight.size() < window)
+                inFlight.add(executor.submit(format(source, taskNames, startDate, endDate, partitions.get(next++), progress)));
+
+            while (!inFlight.isEmpty()) {
+                progress.checkCancelled();
+                await(inFlight.poll()).writeTo(out);
+                if (next < partitions.size())
+                    inFlight.add(executor.submit(format(source, taskNames, startDate, endDate, partitions.get(next++), progress)));
+            }
+        } finally {
+            // Only Left Over When Something Failed
+            for (Future<CharArrayWriter> future : inFlight)
+                future.cancel(true);
+        }
+    }
+
+    /**
+     * Creates The Work of Formatting One Partition
+     */
+    private static Callable<CharArrayWriter> format(final ReportSource source, final Map<Integer, String> taskNames,
+                                                    final Date startDate, final Date endDate, final int[] range,
+                                                    final ReportProgress progress) {
+        return new Callable<CharArrayWriter>() {
+            @Override
+            public CharArrayWriter call() throws Exception {
+                // Partitions Still Queued When The Report Is Cancelled Do No Work
+                progress.checkCancelled();
+
+                CharArrayWriter buffer = new CharArrayWriter(8 * 1024);
+                ProgressRowHandler handler = progress.track(new TaskReportWriter(buffer, taskNames));
+                source.streamStudentPunches(startDate, endDate, range[0], range[1], handler);
+                handler.finish();
+                return buffer;
+            }
+        };
+    }
+
+    /**
+     * Waits For A Partition, Passing On Whatever It Failed With
+     */
+    private static CharArrayWriter await(Future<CharArrayWriter> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Report Interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException("Report Partition Failed", cause);
+        }
+    }
+}
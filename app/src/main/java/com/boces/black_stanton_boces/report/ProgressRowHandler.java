@@ -0,0 +1,43 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.IOException;
+
+/**
+ * Counts Rows On Their Way To Another Handler
+ * Counts Are Batched Locally And Handed To The Shared ReportProgress Every CHECK_INTERVAL Rows
+ */
+class ProgressRowHandler implements ReportRowHandler {
+
+    private final ReportRowHandler handler;
+    private final ReportProgress progress;
+
+    /**
+     * Rows Not Yet Added To progress
+     */
+    private int pending;
+
+    ProgressRowHandler(ReportRowHandler handler, ReportProgress progress) {
+        this.handler = handler;
+        this.progress = progress;
+    }
+
+    @Override
+    public void onRow(ReportRow row) throws IOException {
+        handler.onRow(row);
+        if (++pending == ReportProgress.CHECK_INTERVAL) {
+            pending = 0;
+            progress.addRows(ReportProgress.CHECK_INTERVAL);
+        }
+    }
+
+    /**
+     * Adds Any Rows Still Counted Locally
+     * @throws ReportCancelledException
+     * When The Report Was Cancelled
+     */
+    void finish() throws ReportCancelledException {
+        final int count = pending;
+        pending = 0;
+        progress.addRows(count);
+    }
+}
@@ -0,0 +1,205 @@
+package com.boces.black_stanton_boces.report;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Keeps Finished Reports So An Identical Request Can Be Answered By Copying A File
+ * Reports Are Keyed By Everything That Decides Their Contents, Including The Data Version,
+ * So A Cached Report Is Never Returned Once The Data It Was Made From Has Changed
+ */
+public class ReportCache {
+
+    /**
+     * Most Reports Kept, The Least Recently Used Are Removed First
+     */
+    private static final int MAX_ENTRIES = 20;
+
+    /**
+     * Directory Under The App's Cache Reports Are Kept In
+     */
+    private static final String DIRECTORY = "reports";
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesReportCache";
+
+    private static ReportCache instance;
+
+    private final File directory;
+
+    /**
+     * Default Constructor
+     * @param directory
+     * Directory Reports Are Kept In, Created When First Needed
+     */
+    public ReportCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets The Shared Cache
+     * @param context
+     * Application/Current Context
+     * @return
+     * A Cache In The App's Cache Directory, Which The System May Clear When Low On Space
+     */
+    public static synchronized ReportCache getInstance(Context context) {
+        if (instance == null)
+            instance = new ReportCache(new File(context.getApplicationContext().getCacheDir(), DIRECTORY));
+        return instance;
+    }
+
+    /**
+     * Builds The Key A Report Is Cached Under
+     *
+     * @param type
+     * Which Report
+     *
+     * @param compression
+     * How The File Is Compressed
+     *
+     * @param startDate
+     * Date The Report Starts From
+     *
+     * @param endDate
+     * Date The Report Ends On
+     *
+     * @param dataVersion
+     * Version of The Data In The Range, From PersistenceInteractor.getReportVersion
+     *
+     * @return
+     * A Key Safe To Use As A File Name
+     */
+    public static String key(ReportType type, ReportCompression compression, Date startDate, Date endDate, String dataVersion) {
+        String identity = type.name() + '|' + compression.name() + '|' +
+                startDate.getTime() / 1000L + '|' + endDate.getTime() / 1000L + '|' + dataVersion;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(identity.getBytes(Charset.forName("UTF-8")));
+            StringBuilder key = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 Unavailable", e);
+        }
+    }
+
+    /**
+     * Finds A Cached Report
+     * @param key
+     * Key From key
+     * @return
+     * The Cached File, or null If There Is None
+     */
+    public synchronized File get(String key) {
+        File file = new File(directory, key);
+        if (!file.isFile())
+            return null;
+
+        // Mark As Recently Used
+        if (!file.setLastModified(System.currentTimeMillis()))
+            Log.w(TAG, "Could Not Mark Report As Used " + key);
+        return file;
+    }
+
+    /**
+     * Keeps A Copy of A Finished Report
+     * Failures Are Logged And Ignored, The Report Itself Is Already Saved
+     * @param key
+     * Key From key
+     * @param report
+     * The Finished Report
+     */
+    public synchronized void put(String key, File report) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "Could Not Create Cache Directory " + directory);
+            return;
+        }
+
+        File partial = new File(directory, key + ".part");
+        try {
+            copy(report, partial);
+            if (!partial.renameTo(new File(directory, key)))
+                throw new IOException("Could Not Rename " + partial);
+        } catch (IOException e) {
+            Log.w(TAG, "Could Not Cache Report " + key, e);
+            if (partial.exists() && !partial.delete())
+                Log.w(TAG, "Could Not Remove " + partial);
+            return;
+        }
+
+        evict();
+    }
+
+    /**
+     * Removes Every Cached Report
+     * Needed Whenever Data Versions Start Over, Such As When The Database Is Recreated
+     */
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files == null)
+            return;
+
+        for (File file : files) {
+            if (!file.delete())
+                Log.w(TAG, "Could Not Remove " + file);
+        }
+    }
+
+    /**
+     * Removes The Least Recently Used Reports Beyond MAX_ENTRIES
+     */
+    private void evict() {
+        File[] files = directory.listFiles();
+        if (files == null || files.length <= MAX_ENTRIES)
+            return;
+
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                long difference = b.lastModified() - a.lastModified();
+                return difference < 0 ? -1 : difference > 0 ? 1 : 0;
+            }
+        });
+        for (int i = MAX_ENTRIES; i < files.length; i++) {
+            if (!files[i].delete())
+                Log.w(TAG, "Could Not Evict " + files[i]);
+        }
+    }
+
+    /**
+     * Copies One File To Another
+     * @throws IOException
+     * When The Copy Fails, The Destination May Be Partly Written
+     */
+    static void copy(File from, File to) throws IOException {
+        InputStream in = new FileInputStream(from);
+        try {
+            OutputStream out = new FileOutputStream(to);
+            try {
+                byte[] buffer = new byte[FileReportSink.BUFFER_SIZE];
+                for (int read; (read = in.read(buffer)) != -1; )
+                    out.write(buffer, 0, read);
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Thrown When A Report Is Cancelled Part Way Through
+ * The Sink Is Aborted Like Any Other Failure, So No Partial File Is Left Behind
+ */
+public class ReportCancelledException extends InterruptedIOException {
+
+    public ReportCancelledException() {
+        super("Report Cancelled");
+    }
+}
@@ -0,0 +1,36 @@
+package com.boces.black_stanton_boces.report;
+
+/**
+ * How A Report File Is Compressed
+ * Reports Repeat The Same Names On Every Row, So Deflate Shrinks Them Many Times Over
+ */
+public enum ReportCompression {
+    NONE("CSV", ".csv"),
+    GZIP("Compressed CSV (.gz)", ".csv.gz"),
+    ZIP("Zip, One CSV Per Teacher", ".zip");
+
+    private final String label;
+    private final String extension;
+
+    ReportCompression(String label, String extension) {
+        this.label = label;
+        this.extension = extension;
+    }
+
+    /**
+     * Gets The Extension Files Written This Way Should Have
+     * @return
+     * The Extension, Including The Leading Dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Shown In The Compression Spinner
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
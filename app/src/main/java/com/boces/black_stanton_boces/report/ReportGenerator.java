@@ -1,108 +1,561 @@
 package com.boces.black_stanton_boces.report;
 
 import android.annotation.SuppressLint;
-import android.os.Environment;
 
+import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 import com.boces.black_stanton_boces.persistence.model.Task;
 import com.boces.black_stanton_boces.persistence.model.TaskPunch;
-import com.opencsv.CSVWriter;
+import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.util.TimeFormat;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.io.Writer;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Pareses Info Into Reports ANd Writes 
  */
 public class ReportGenerator {
+
+    /**
+     * Shown In Place of A Name That No Longer Exists
+     */
+    private static final String UNKNOWN = "Unknown/Deleted";
+
+    /**
+     * Zip Entry Holding Students Without A Teacher
+     */
+    private static final String NO_TEACHER = "No Teacher";
+
+    /**
+     * Writes A Task Report For Punches Already In Memory
+     *
+     * @param studentPunches
+     * Punches Grouped By Student, In Report Order
+     *
+     * @param fileName
+     * Name of The File To Create In Downloads, Without Extension
+     *
+     * @param tasks
+     * All Tasks, Used For Naming Punches
+     *
+     * @throws IOException
+     * When The File Could Not Be Written
+     */
     public static void exportTaskReport(List<StudentPunches> studentPunches, String fileName, List<Task> tasks) throws IOException {
-        File tempFile = new File(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS),  fileName+".csv");
-        @SuppressLint("UseSparseArrays")
-        HashMap<Integer, Task> taskMap = new HashMap<>();
+        exportTaskReport(studentPunches, FileReportSink.downloads(fileName + ".csv"), tasks);
+    }
 
-        // Key All Tasks For Later Retrieval
-        for (Task task : tasks) {
-            taskMap.put(task.getId(), task);
+    /**
+     * Writes A Task Report For Punches Already In Memory
+     *
+     * @param studentPunches
+     * Punches Grouped By Student, In Report Order
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure
+     *
+     * @param tasks
+     * All Tasks, Used For Naming Punches
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportTaskReport(List<StudentPunches> studentPunches, ReportSink sink, List<Task> tasks) throws IOException {
+        try {
+            TaskReportWriter reportWriter = new TaskReportWriter(sink.open(), getTaskNames(tasks));
+            reportWriter.writeHeader();
+
+            ReportRow row = new ReportRow();
+            for (StudentPunches studentPunch : studentPunches) {
+                row.setStudentId(studentPunch.getStudent().getId());
+                row.setFirstName(studentPunch.getStudent().getFirstName());
+                row.setLastName(studentPunch.getStudent().getLastName());
+
+                for (TaskPunch taskPunch : studentPunch.getPunches()) {
+                    row.setPunchId(taskPunch.getId());
+                    row.setTaskId(taskPunch.getTaskId());
+                    row.setTimeStart(taskPunch.getTimeStart().getTime() / 1000L);
+                    if (taskPunch.getTimeEnd() != null)
+                        row.setTimeEnd(taskPunch.getTimeEnd().getTime() / 1000L);
+                    else
+                        row.clearTimeEnd();
+
+                    reportWriter.onRow(row);
+                }
+            }
+
+            // Make Sure Contents Are Completely Written Before Returning
+            reportWriter.flush();
+            sink.close();
+        } catch (IOException | RuntimeException e) {
+            sink.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes A Task Report Straight From The Database Into Downloads, In One Pass
+     *
+     * @param persistence
+     * Database To Read Punches From
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param fileName
+     * Name of The File To Create In Downloads, Without Extension
+     *
+     * @throws IOException
+     * When The File Could Not Be Written
+     */
+    public static void exportTaskReport(PersistenceInteractor persistence, Date startDate, Date endDate, String fileName) throws IOException {
+        exportTaskReport(persistence, startDate, endDate, FileReportSink.downloads(fileName + ".csv"));
+    }
+
+    /**
+     * Writes A Task Report Straight From The Database In One Pass
+     * Punches Are Read In Chunks And Written As They Arrive,
+     * So Memory Use Does Not Depend On The Size of The Range
+     *
+     * @param persistence
+     * Database To Read Punches From
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportTaskReport(PersistenceInteractor persistence, Date startDate, Date endDate, ReportSink sink) throws IOException {
+        exportTaskReport(persistence, startDate, endDate, sink, new ReportProgress());
+    }
+
+    /**
+     * Writes A Task Report Straight From The Database In One Pass
+     * The Total Is Left Unknown, So Progress Only Counts Rows Written
+     *
+     * @param persistence
+     * Database To Read Punches From
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure or Cancellation
+     *
+     * @param progress
+     * Receives Row Counts, And May Cancel The Report
+     *
+     * @throws ReportCancelledException
+     * When The Report Was Cancelled
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportTaskReport(PersistenceInteractor persistence, Date startDate, Date endDate,
+                                        ReportSink sink, ReportProgress progress) throws IOException {
+        progress.checkCancelled();
+        exportTaskReport(persistence, getTaskNames(persistence.getAllTasks()), startDate, endDate, sink, progress);
+    }
+
+    /**
+     * Writes A Task Report Straight From The Database, Formatting Students In Parallel
+     * Output Is Byte For Byte The Same As exportTaskReport
+     *
+     * @param persistence
+     * Database To Read Punches From
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportTaskReportParallel(PersistenceInteractor persistence, Date startDate, Date endDate, ReportSink sink) throws IOException {
+        exportTaskReportParallel(persistence, startDate, endDate, sink, new ReportProgress());
+    }
+
+    /**
+     * Writes A Task Report Straight From The Database, Formatting Students In Parallel
+     * Progress Is Reported Against The Number of Punches In The Range
+     *
+     * @param persistence
+     * Database To Read Punches From
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure or Cancellation
+     *
+     * @param progress
+     * Receives Row Counts, And May Cancel The Report
+     *
+     * @throws ReportCancelledException
+     * When The Report Was Cancelled
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportTaskReportParallel(PersistenceInteractor persistence, Date startDate, Date endDate,
+                                                ReportSink sink, ReportProgress progress) throws IOException {
+        exportTaskReportParallel(persistence, getTaskNames(persistence.getAllTasks()), startDate, endDate, sink,
+                PartitionedTaskReport.getPool(), PartitionedTaskReport.getWindow(), progress);
+    }
+
+    /**
+     * Writes A Task Report From Any Source In One Pass
+     * The Total Is Left Unknown, Counting Punches First Would Cost A Second Pass
+     */
+    static void exportTaskReport(ReportSource source, Map<Integer, String> taskNames,
+                                 Date startDate, Date endDate, ReportSink sink, ReportProgress progress) throws IOException {
+        try {
+            TaskReportWriter reportWriter = new TaskReportWriter(sink.open(), taskNames);
+            reportWriter.writeHeader();
+
+            ProgressRowHandler handler = progress.track(reportWriter);
+            source.streamStudentPunches(startDate, endDate, Integer.MIN_VALUE, Integer.MAX_VALUE, handler);
+            handler.finish();
+
+            // Make Sure Contents Are Completely Written Before Returning
+            reportWriter.flush();
+            sink.close();
+            progress.finish();
+        } catch (IOException | RuntimeException e) {
+            sink.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes A Task Report From Any Source, Formatting Partitions On The Given Pool
+     */
+    static void exportTaskReportParallel(ReportSource source, Map<Integer, String> taskNames,
+                                         Date startDate, Date endDate, ReportSink sink,
+                                         ExecutorService executor, int window, ReportProgress progress) throws IOException {
+        try {
+            Writer out = sink.open();
+            TaskReportWriter headerWriter = new TaskReportWriter(out, taskNames);
+            headerWriter.writeHeader();
+
+            PartitionedTaskReport.write(source, taskNames, startDate, endDate, out, executor, window, progress);
+
+            // Make Sure Contents Are Completely Written Before Returning
+            headerWriter.flush();
+            sink.close();
+            progress.finish();
+        } catch (IOException | RuntimeException e) {
+            sink.abort();
+            throw e;
         }
+    }
 
-        final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-        final SimpleDateFormat timeFormat = new SimpleDateFormat("h:mm a", Locale.US);
-        StringBuilder stringBuilder = new StringBuilder();
+    /**
+     * Writes A Task Report Into A Zip, With One CSV Per Teacher
+     * Each Entry Lists The Teacher's Students Exactly As The Full Report Would.
+     * Teachers Without Punches In The Range Get No Entry
+     *
+     * @param persistence
+     * Database To Read Punches From
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * A ZIP Sink. Closed On Success, Aborted On Failure or Cancellation
+     *
+     * @param progress
+     * Receives Row Counts, And May Cancel The Report
+     *
+     * @throws ReportCancelledException
+     * When The Report Was Cancelled
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportTaskReportByTeacher(PersistenceInteractor persistence, Date startDate, Date endDate,
+                                                 FileReportSink sink, ReportProgress progress) throws IOException {
+        exportTaskReportByTeacher(persistence, getTaskNames(persistence.getAllTasks()), persistence.getAllTeachers(),
+                startDate, endDate, sink, progress);
+    }
 
+    /**
+     * Writes A Task Report Into A Zip From One Stream of Rows Grouped By Teacher,
+     * Starting A New Entry Whenever The Teacher Changes
+     *
+     * @param teachers
+     * All Teachers, Used To Name The Entries
+     */
+    static void exportTaskReportByTeacher(ReportSource source, Map<Integer, String> taskNames, List<Teacher> teachers,
+                                          Date startDate, Date endDate, FileReportSink sink,
+                                          ReportProgress progress) throws IOException {
+        try {
+            Writer out = sink.open();
 
-        CSVWriter writer = new CSVWriter(new FileWriter(tempFile));
+            int total = 0;
+            for (int count : source.getPunchCountsByStudent(startDate, endDate).values())
+                total += count;
+            progress.setTotal(total);
 
-        final String header[] = new String[]{"Student", "Task", "Date", "Time In", "Time Out", "Duration"};
-        // Header
-        writer.writeNext(header);
+            TeacherEntryWriter entryWriter = new TeacherEntryWriter(sink, out, taskNames, teachers);
+            ProgressRowHandler handler = progress.track(entryWriter);
+            source.streamTeacherPunches(startDate, endDate, handler);
+            handler.finish();
 
+            // An Empty Range Still Gets Column Names
+            if (!entryWriter.flush()) {
+                sink.nextEntry("Report" + ReportCompression.NONE.getExtension());
+                TaskReportWriter reportWriter = new TaskReportWriter(out, taskNames);
+                reportWriter.writeHeader();
+                reportWriter.flush();
+            }
 
-        // Data
-        String buffer[] = new String[header.length];
-        int lastStudentId = -1;
-        for (StudentPunches studentPunch : studentPunches) {
+            sink.close();
+            progress.finish();
+        } catch (IOException | RuntimeException e) {
+            sink.abort();
+            throw e;
+        }
+    }
 
-            for (TaskPunch taskPunch : studentPunch.getPunches()) {
+    /**
+     * Writes Rows Grouped By Teacher, Starting A Zip Entry Named For The Teacher Whenever It Changes
+     * Teachers Without Punches Never Get An Entry
+     */
+    private static class TeacherEntryWriter implements ReportRowHandler {
+        private final FileReportSink sink;
+        private final Writer out;
+        private final Map<Integer, String> taskNames;
+        @SuppressLint("UseSparseArrays")
+        private final Map<Integer, Teacher> teachers = new HashMap<>();
+        private final Set<String> used = new HashSet<>();
 
-                // If We've Moved To A New Student, Write Their Name
-                if (studentPunch.getStudent().getId() != lastStudentId) {
-                    buffer[0] = studentPunch.getStudent().getLastName() + " " + studentPunch.getStudent().getFirstName();
-                    lastStudentId = studentPunch.getStudent().getId();
-                } else // Do Not Repeat Student Names If We Don't Need To
-                    buffer[0] = "";
+        private TaskReportWriter reportWriter;
+        private int teacherId;
 
-                // Make Sure Task Wasn't Deleted
-                Task task = taskMap.get(taskPunch.getTaskId());
-                if (task == null)
-                    buffer[1] = "Unknown/Deleted";
-                else
-                    buffer[1] = taskMap.get(taskPunch.getTaskId()).getName();
+        TeacherEntryWriter(FileReportSink sink, Writer out, Map<Integer, String> taskNames, List<Teacher> teachers) {
+            this.sink = sink;
+            this.out = out;
+            this.taskNames = taskNames;
+            for (Teacher teacher : teachers)
+                this.teachers.put(teacher.getId(), teacher);
+        }
 
-                buffer[2] = dateFormat.format(taskPunch.getTimeStart());
+        @Override
+        public void onRow(ReportRow row) throws IOException {
+            if (reportWriter == null || row.getTeacherId() != teacherId) {
+                flush();
+                teacherId = row.getTeacherId();
+                sink.nextEntry(entryName(teacherId));
+                reportWriter = new TaskReportWriter(out, taskNames);
+                reportWriter.writeHeader();
+            }
+            reportWriter.onRow(row);
+        }
 
-                // Both Start Date & Time Come From timeStart
-                buffer[3] = timeFormat.format(taskPunch.getTimeStart());
+        /**
+         * Names The Entry of A Teacher. Entries Are Started In Teacher Order,
+         * So Names Are Made Unique In The Same Order As The Rows
+         */
+        private String entryName(int teacherId) {
+            if (teacherId == ReportRow.NO_TEACHER)
+                return ReportGenerator.entryName(NO_TEACHER, used);
 
-                // If Task Is Still Open, Sow That It Is Clocked In
-                if (taskPunch.getTimeEnd() != null)
-                    buffer[4] = timeFormat.format(taskPunch.getTimeEnd());
-                else
-                    buffer[4] = "--Clocked In--";
+            // Added After The Teachers Were Read
+            Teacher teacher = teachers.get(teacherId);
+            if (teacher == null)
+                return ReportGenerator.entryName(UNKNOWN, used);
+            return ReportGenerator.entryName(teacher.getLastName() + " " + teacher.getFirstName(), used);
+        }
 
-                // If Task Is Still Open, Do Not Show Duration
-                if (taskPunch.getTimeEnd() != null) {
-                    final long deltaTime = taskPunch.getTimeEnd().getTime() - taskPunch.getTimeStart().getTime();
-                    final long deltaHours = TimeUnit.MILLISECONDS.toHours(deltaTime);
-                    final long extraMinutes = TimeUnit.MILLISECONDS.toMinutes(deltaTime) % 60;
-                    final long extraSeconds = TimeUnit.MILLISECONDS.toSeconds(deltaTime) % 60;
+        /**
+         * Flushes The Current Entry
+         * @return
+         * Whether Any Entry Was Started
+         */
+        boolean flush() throws IOException {
+            if (reportWriter == null)
+                return false;
+            reportWriter.flush();
+            return true;
+        }
+    }
 
-                    // Only Add Hours If Needed
-                    if (deltaHours > 0)
-                        stringBuilder.append(Long.toString(deltaHours)).append(":");
+    /**
+     * Makes A Name Safe To Use As A Zip Entry, And Unique Among Those Already Used
+     */
+    private static String entryName(String name, Set<String> used) {
+        String base = name.trim().replaceAll("[^A-Za-z0-9 ._-]", "_");
+        if (base.isEmpty())
+            base = UNKNOWN.replace('/', '_');
+
+        String unique = base;
+        for (int i = 2; !used.add(unique.toLowerCase()); i++)
+            unique = base + " " + i;
+        return unique + ReportCompression.NONE.getExtension();
+    }
 
-                    // Always Add Minutes/Seconds
-                    stringBuilder.append(String.format(Locale.US, "%02d", extraMinutes)).append(":");
-                    stringBuilder.append(String.format(Locale.US, "%02d", extraSeconds));
+    /**
+     * Writes A Summary Report of Totals Computed By The Database
+     *
+     * @param persistence
+     * Database To Total Punches In
+     *
+     * @param type
+     * Which Totals To Write. May Not Be DETAIL
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportSummaryReport(PersistenceInteractor persistence, ReportType type, Date startDate, Date endDate, ReportSink sink) throws IOException {
+        exportSummaryReport(persistence, type, startDate, endDate, sink, new ReportProgress());
+    }
+
+    /**
+     * Writes A Summary Report of Totals Computed By The Database
+     * Progress Is Reported Against The Number of Summary Rows
+     *
+     * @param persistence
+     * Database To Total Punches In
+     *
+     * @param type
+     * Which Totals To Write. May Not Be DETAIL
+     *
+     * @param startDate
+     * Date To Start The Report From, Exclusive
+     *
+     * @param endDate
+     * Date To End The Report On, Exclusive
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure or Cancellation
+     *
+     * @param progress
+     * Receives Row Counts, And May Cancel The Report
+     *
+     * @throws ReportCancelledException
+     * When The Report Was Cancelled
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    public static void exportSummaryReport(PersistenceInteractor persistence, ReportType type, Date startDate, Date endDate,
+                                           ReportSink sink, ReportProgress progress) throws IOException {
+        progress.checkCancelled();
+        writeSummary(type, persistence.getSummary(type, startDate, endDate), sink, progress);
+    }
 
-                    buffer[5] = stringBuilder.toString();
-                } else // Show Open Punch
-                    buffer[5] = "--Clocked In--";
+    /**
+     * Writes Summary Rows As CSV
+     *
+     * @param type
+     * Which Totals The Rows Hold
+     *
+     * @param rows
+     * The Totals
+     *
+     * @param sink
+     * Where The Report Is Written. Closed On Success, Aborted On Failure or Cancellation
+     *
+     * @param progress
+     * Receives Row Counts, And May Cancel The Report
+     *
+     * @throws IOException
+     * When The Report Could Not Be Written
+     */
+    static void writeSummary(ReportType type, List<SummaryRow> rows, ReportSink sink, ReportProgress progress) throws IOException {
+        if (!type.isSummary())
+            throw new IllegalArgumentException("Not A Summary " + type);
 
+        final boolean hasDetail = type == ReportType.STUDENT_TASK_TOTALS;
+        try {
+            progress.setTotal(rows.size());
+            CsvRowWriter writer = new CsvRowWriter(sink.open());
+            writer.row(type.getHeader());
 
-                // Empty String Builder
-                stringBuilder.setLength(0);
+            StringBuilder field = new StringBuilder(16);
+            int pending = 0;
+            for (SummaryRow row : rows) {
+                writer.field(row.getName() == null ? UNKNOWN : row.getName());
+                if (hasDetail)
+                    writer.field(row.getDetailName() == null ? UNKNOWN : row.getDetailName());
 
-                // Write Line
-                writer.writeNext(buffer);
+                field.setLength(0);
+                writer.field(field.append(row.getPunchCount()));
+                field.setLength(0);
+                writer.field(TimeFormat.appendDuration(field, row.getSeconds(), true));
+                writer.endRow();
+
+                if (++pending == ReportProgress.CHECK_INTERVAL) {
+                    pending = 0;
+                    progress.addRows(ReportProgress.CHECK_INTERVAL);
+                }
             }
+            progress.addRows(pending);
+
+            // Make Sure Contents Are Completely Written Before Returning
+            writer.flush();
+            sink.close();
+            progress.finish();
+        } catch (IOException | RuntimeException e) {
+            sink.abort();
+            throw e;
         }
+    }
 
-        // Make Sure Contents Are Completely Written Before Returning
-        writer.flush();
+    /**
+     * Key All Task Names For Later Retrieval
+     * @param tasks
+     * All Tasks
+     * @return
+     * Task Names Keyed By ID
+     */
+    private static HashMap<Integer, String> getTaskNames(List<Task> tasks) {
+        @SuppressLint("UseSparseArrays")
+        HashMap<Integer, String> taskNames = new HashMap<>();
+        for (Task task : tasks) {
+            taskNames.put(task.getId(), task.getName());
+        }
+        return taskNames;
     }
 }
@@ -0,0 +1,40 @@
+package com.boces.black_stanton_boces.report;
+
+import android.annotation.TargetApi;
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+import android.os.Build;
+
+/**
+ * Runs Due Scheduled Reports When JobScheduler Wakes The App
+ * JobService Callbacks Arrive On The Main Thread, So The Work Is Moved To Its Own Thread
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+public class ReportJobService extends JobService {
+
+    private ReportScheduler.DueReports dueReports;
+
+    @Override
+    public boolean onStartJob(final JobParameters params) {
+        final ReportScheduler.DueReports reports = new ReportScheduler.DueReports(this);
+        dueReports = reports;
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                reports.run();
+                jobFinished(params, false);
+            }
+        }, "bocesScheduledReports").start();
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        if (dueReports != null)
+            dueReports.stop();
+
+        // Unfinished Reports Are Still Due, Let The Scheduler Retry
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.boces.black_stanton_boces.report;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * How Often A Scheduled Report Runs, And The Range Each Run Covers
+ * Runs Only Ever Cover Periods That Have Already Ended, So Their Results Never Change
+ */
+public enum ReportPeriod {
+    WEEKLY("Every Week"),
+    MONTHLY("Every Month");
+
+    private final String label;
+
+    ReportPeriod(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets The Most Recent Period That Has Fully Ended
+     * Weeks Start On The Calendar's First Day of The Week, Both In The Device Time Zone
+     *
+     * @param now
+     * The Current Time
+     *
+     * @return
+     * {Start, End} of The Period. Start Is Inclusive And End Exclusive
+     */
+    public Date[] lastClosed(Date now) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(now);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+
+        // Move To The Start of The Current Period, Which Is The End of The Last One
+        if (this == WEEKLY) {
+            cal.set(Calendar.DAY_OF_WEEK, cal.getFirstDayOfWeek());
+            if (cal.getTime().after(now))
+                cal.add(Calendar.WEEK_OF_YEAR, -1);
+        } else {
+            cal.set(Calendar.DAY_OF_MONTH, 1);
+        }
+        Date end = cal.getTime();
+
+        cal.add(this == WEEKLY ? Calendar.WEEK_OF_YEAR : Calendar.MONTH, -1);
+        return new Date[]{cal.getTime(), end};
+    }
+
+    /**
+     * Shown In The Schedule Spinner
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
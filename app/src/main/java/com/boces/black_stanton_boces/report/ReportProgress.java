@@ -0,0 +1,157 @@
+package com.boces.black_stanton_boces.report;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks How Far A Report Has Got, And Whether It Should Stop
+ * Rows Are Counted In Batches, So Tracking Costs Almost Nothing Per Row.
+ * The Listener Hears About Progress At Most Once Per NOTIFY_INTERVAL_MS,
+ * However Many Threads Are Writing. All Methods Are Thread Safe
+ */
+public class ReportProgress {
+
+    /**
+     * Rows Written Between Progress Updates & Cancellation Checks
+     */
+    static final int CHECK_INTERVAL = 256;
+
+    /**
+     * Shortest Time Between Two Calls To The Listener
+     */
+    private static final long NOTIFY_INTERVAL_MS = 100;
+
+    /**
+     * Total Used While The Number of Rows Is Not Yet Known
+     */
+    public static final int UNKNOWN_TOTAL = -1;
+
+    /**
+     * Hears About Progress
+     */
+    public interface Listener {
+
+        /**
+         * Called From Whichever Thread Is Writing The Report
+         * @param rows
+         * Rows Written So Far
+         * @param total
+         * Rows Expected, or UNKNOWN_TOTAL
+         */
+        void onProgress(int rows, int total);
+    }
+
+    private final Listener listener;
+    private final AtomicInteger rows = new AtomicInteger();
+    private final AtomicLong lastNotify;
+    private volatile int total = UNKNOWN_TOTAL;
+    private volatile boolean cancelled;
+
+    /**
+     * Tracks A Report No One Is Listening To
+     */
+    public ReportProgress() {
+        this(null);
+    }
+
+    /**
+     * Default Constructor
+     * @param listener
+     * Hears About Progress, May Be null
+     */
+    public ReportProgress(Listener listener) {
+        this.listener = listener;
+        this.lastNotify = new AtomicLong(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(NOTIFY_INTERVAL_MS));
+    }
+
+    /**
+     * Asks The Report To Stop
+     * Writers Notice Within CHECK_INTERVAL Rows And Abort Their Sink
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getRows() {
+        return rows.get();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Records How Many Rows The Report Is Expected To Hold
+     * @param total
+     * Rows Expected
+     */
+    void setTotal(int total) {
+        this.total = total;
+        notifyListener(true);
+    }
+
+    /**
+     * Stops The Report If It Was Cancelled
+     * @throws ReportCancelledException
+     * When cancel Has Been Called
+     */
+    void checkCancelled() throws ReportCancelledException {
+        if (cancelled)
+            throw new ReportCancelledException();
+    }
+
+    /**
+     * Records Rows Written, Then Stops The Report If It Was Cancelled
+     * @param count
+     * Rows Written Since The Last Call
+     * @throws ReportCancelledException
+     * When cancel Has Been Called
+     */
+    void addRows(int count) throws ReportCancelledException {
+        rows.addAndGet(count);
+        notifyListener(false);
+        checkCancelled();
+    }
+
+    /**
+     * Tells The Listener The Final Count
+     */
+    void finish() {
+        notifyListener(true);
+    }
+
+    /**
+     * Wraps A Handler So Rows Passing Through It Are Counted
+     * @param handler
+     * Handler Rows Are Passed On To
+     * @return
+     * A Counting Handler, Used By A Single Thread
+     */
+    ProgressRowHandler track(ReportRowHandler handler) {
+        return new ProgressRowHandler(handler, this);
+    }
+
+    /**
+     * Calls The Listener, Unless It Was Called Too Recently
+     * @param force
+     * Call The Listener Regardless
+     */
+    private void notifyListener(boolean force) {
+        if (listener == null)
+            return;
+
+        final long now = System.nanoTime();
+        final long last = lastNotify.get();
+        if (!force && now - last < TimeUnit.MILLISECONDS.toNanos(NOTIFY_INTERVAL_MS))
+            return;
+
+        // Only One Racing Thread Wins A Given Interval
+        if (lastNotify.compareAndSet(last, now) || force)
+            listener.onProgress(rows.get(), total);
+    }
+}
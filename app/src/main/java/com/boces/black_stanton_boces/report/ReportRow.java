@@ -0,0 +1,112 @@
+package com.boces.black_stanton_boces.report;
+
+/**
+ * One Punch of A Report Along With The Name of Its Student
+ * Rows Are Reused While Streaming, So Handlers Must Copy Anything They Keep
+ */
+public class ReportRow {
+
+    /**
+     * Teacher ID of Rows Whose Student Has No Teacher
+     */
+    public static final int NO_TEACHER = 0;
+
+    private int punchId;
+    private int studentId;
+    private String firstName;
+    private String lastName;
+    private int taskId;
+
+    /**
+     * Start of The Punch In Epoch Seconds
+     */
+    private long timeStart;
+
+    /**
+     * End of The Punch In Epoch Seconds, Only Valid If hasTimeEnd
+     */
+    private long timeEnd;
+    private boolean hasTimeEnd;
+
+    /**
+     * Teacher of The Student, or NO_TEACHER. Only Set By streamTeacherPunches
+     */
+    private int teacherId;
+
+    public int getPunchId() {
+        return punchId;
+    }
+
+    public void setPunchId(int punchId) {
+        this.punchId = punchId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public long getTimeStart() {
+        return timeStart;
+    }
+
+    public void setTimeStart(long timeStart) {
+        this.timeStart = timeStart;
+    }
+
+    public long getTimeEnd() {
+        return timeEnd;
+    }
+
+    public void setTimeEnd(long timeEnd) {
+        this.timeEnd = timeEnd;
+        this.hasTimeEnd = true;
+    }
+
+    /**
+     * Marks The Punch As Still Clocked In
+     */
+    public void clearTimeEnd() {
+        this.timeEnd = 0;
+        this.hasTimeEnd = false;
+    }
+
+    public boolean hasTimeEnd() {
+        return hasTimeEnd;
+    }
+
+    public int getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(int teacherId) {
+        this.teacherId = teacherId;
+    }
+}
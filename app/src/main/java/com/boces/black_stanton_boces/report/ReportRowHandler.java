@@ -0,0 +1,18 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.IOException;
+
+/**
+ * Receives Report Rows One At A Time As They Are Read
+ */
+public interface ReportRowHandler {
+
+    /**
+     * Handles A Single Row
+     * @param row
+     * The Row. Reused For The Next Row Once This Returns
+     * @throws IOException
+     * When The Row Could Not Be Written, Stopping The Stream
+     */
+    void onRow(ReportRow row) throws IOException;
+}
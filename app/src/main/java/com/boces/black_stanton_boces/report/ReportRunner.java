@@ -1,22 +1,81 @@
 package com.boces.black_stanton_boces.report;
 
-import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.util.Date;
 
 
 public class ReportRunner implements Runnable {
+    private PersistenceInteractor persistence;
+    private ReportType type;
+    private ReportCompression compression;
     private String filename;
-    private List<StudentPunches> punches;
-    private List<Task> tasks;
+    private Date start;
+    private Date end;
     private Callback callback;
 
-    public ReportRunner(String filename, List<StudentPunches> punches, List<Task> tasks, Callback callback) {
+    /**
+     * Progress of The Running Report, Shared With The Caller So It Can Cancel
+     */
+    private final ReportProgress progress;
+
+    /**
+     * Finished Reports To Reuse, null When Every Report Is Written Fresh
+     */
+    private ReportCache cache;
+
+    public ReportRunner(PersistenceInteractor persistence, String filename, Date start, Date end, Callback callback) {
+        this(persistence, ReportType.DETAIL, filename, start, end, callback);
+    }
+
+    public ReportRunner(PersistenceInteractor persistence, ReportType type, String filename, Date start, Date end, Callback callback) {
+        this(persistence, type, ReportCompression.NONE, filename, start, end, callback);
+    }
+
+    /**
+     * Creates A Report Job
+     * @param compression
+     * How The File Is Compressed. ZIP Splits A DETAIL Report By Teacher, And Is Not Available For Summaries
+     * @param filename
+     * Name of The File To Create In Downloads, Without Extension
+     */
+    public ReportRunner(PersistenceInteractor persistence, ReportType type, ReportCompression compression,
+                        String filename, Date start, Date end, final Callback callback) {
+        if (compression == ReportCompression.ZIP && type.isSummary())
+            throw new IllegalArgumentException("Summaries Can Not Be Split By Teacher");
+
+        this.persistence = persistence;
+        this.type = type;
+        this.compression = compression;
         this.filename = filename;
-        this.punches = punches;
-        this.tasks = tasks;
+        this.start = start;
+        this.end = end;
         this.callback = callback;
+        this.progress = new ReportProgress(new ReportProgress.Listener() {
+            @Override
+            public void onProgress(int rows, int total) {
+                callback.onProgress(rows, total);
+            }
+        });
+    }
+
+    /**
+     * Asks The Report To Stop
+     * The Partial File Is Removed And onCancelled Is Called Instead of onSuccess
+     */
+    public void cancel() {
+        progress.cancel();
+    }
+
+    /**
+     * Reuses Identical Reports Over Ranges That Have Already Ended
+     * @param cache
+     * Cache To Read & Fill, or null To Always Write The Report
+     */
+    public void setCache(ReportCache cache) {
+        this.cache = cache;
     }
 
     @Override
@@ -24,16 +83,51 @@ public class ReportRunner implements Runnable {
         android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
 
         try {
-            ReportGenerator.exportTaskReport(punches, filename, tasks);
+            // Query & Write Both Happen Here, Off The UI Thread
+            FileReportSink sink = FileReportSink.downloads(filename + compression.getExtension(), compression);
+
+            // Ranges Still Running Change Under Us, So Only Closed Ranges Are Cached
+            String key = null;
+            if (cache != null && !end.after(new Date()))
+                key = ReportCache.key(type, compression, start, end, persistence.getReportVersion(start, end));
+
+            File cached = key == null ? null : cache.get(key);
+            if (cached != null)
+                sink.copyFrom(cached);
+            else if (type.isSummary())
+                ReportGenerator.exportSummaryReport(persistence, type, start, end, sink, progress);
+            else if (compression == ReportCompression.ZIP)
+                ReportGenerator.exportTaskReportByTeacher(persistence, start, end, sink, progress);
+            else
+                // One Pass Beats The Parallel Writer In ReportPipelineBenchmark, So It Stays The Default
+                ReportGenerator.exportTaskReport(persistence, start, end, sink, progress);
+
+            if (key != null && cached == null)
+                cache.put(key, sink.getFile());
             callback.onSuccess();
+        } catch (ReportCancelledException e) {
+            callback.onCancelled();
         } catch (IOException e) {
             callback.onFail(e.getMessage());
+        } catch (RuntimeException e) {
+            // Database Errors Should Still Dismiss The Caller's Progress
+            callback.onFail(e.getMessage());
         }
         callback.always();
     }
 
     public interface Callback {
+
+        /**
+         * Called At Most A Few Times A Second From The Report Threads
+         * @param rows
+         * Rows Written So Far
+         * @param total
+         * Rows Expected, or ReportProgress.UNKNOWN_TOTAL
+         */
+        void onProgress(int rows, int total);
         void onSuccess();
+        void onCancelled();
         void onFail(String message);
         void always();
     }
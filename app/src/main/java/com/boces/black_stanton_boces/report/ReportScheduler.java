@@ -0,0 +1,201 @@
+package com.boces.black_stanton_boces.report;
+
+import android.Manifest;
+import android.annotation.TargetApi;
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.support.v4.content.ContextCompat;
+import android.util.Log;
+
+import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.model.ScheduledReport;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs Scheduled Reports Once Their Period Has Ended
+ * On API 21+ JobScheduler Wakes The App While Charging. Older Devices Have No
+ * Equivalent, So Due Reports Are Run In The Background When The App Starts Instead
+ */
+public final class ReportScheduler {
+
+    /**
+     * Id of The Periodic Job, Unique Within The App
+     */
+    static final int JOB_ID = 1900;
+
+    /**
+     * How Often The Job Looks For Due Reports
+     */
+    private static final long CHECK_INTERVAL_MS = TimeUnit.HOURS.toMillis(12);
+
+    /**
+     * Placeholders Replaced In A Scheduled Report's File Name
+     */
+    public static final String START_TOKEN = "{start}";
+    public static final String END_TOKEN = "{end}";
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesReportScheduler";
+
+    private ReportScheduler() {
+    }
+
+    /**
+     * Makes Sure Due Reports Will Be Run
+     * Safe To Call Repeatedly, An Existing Job Is Replaced
+     * @param context
+     * Application/Current Context
+     */
+    public static void schedule(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+            scheduleJob(context);
+    }
+
+    /**
+     * Stops Looking For Due Reports, Used Once No Reports Are Scheduled
+     * @param context
+     * Application/Current Context
+     */
+    public static void cancel(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+            cancelJob(context);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private static void scheduleJob(Context context) {
+        // Not Idle As Well, A Kiosk Tablet Is Rarely Left Alone Long Enough For Both
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, ReportJobService.class))
+                .setPeriodic(CHECK_INTERVAL_MS)
+                .setRequiresCharging(true)
+                .setPersisted(true)
+                .build();
+
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (scheduler.schedule(job) != JobScheduler.RESULT_SUCCESS)
+            Log.w(TAG, "Could Not Schedule Reports");
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private static void cancelJob(Context context) {
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        scheduler.cancel(JOB_ID);
+    }
+
+    /**
+     * Works Out The File Name For One Run of A Scheduled Report
+     * @param pattern
+     * File Name With START_TOKEN/END_TOKEN Placeholders
+     * @param period
+     * {Start, End} From ReportPeriod.lastClosed, End Exclusive
+     * @return
+     * The File Name, Dates Written As yyyy-MM-dd With END_TOKEN As The Last Day Covered
+     */
+    public static String fileName(String pattern, Date[] period) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        return pattern
+                .replace(START_TOKEN, format.format(period[0]))
+                .replace(END_TOKEN, format.format(new Date(period[1].getTime() - 1)));
+    }
+
+    /**
+     * Runs Every Scheduled Report Whose Latest Period Has Not Been Written Yet
+     * Blocks Until Done, So Must Be Run Off The UI Thread
+     */
+    public static class DueReports implements Runnable {
+
+        private final Context context;
+        private volatile boolean stopped;
+        private volatile ReportRunner current;
+
+        public DueReports(Context context) {
+            this.context = context.getApplicationContext();
+        }
+
+        /**
+         * Asks The Run To Stop, The Report Being Written Is Cancelled And Retried Next Time
+         */
+        public void stop() {
+            stopped = true;
+            ReportRunner runner = current;
+            if (runner != null)
+                runner.cancel();
+        }
+
+        @Override
+        public void run() {
+            android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+
+            // Without Storage Access Every Report Would Fail, Wait Until It Is Granted In The App
+            if (ContextCompat.checkSelfPermission(context, Manifest.permission.WRITE_EXTERNAL_STORAGE)
+                    != PackageManager.PERMISSION_GRANTED) {
+                Log.i(TAG, "Skipping Scheduled Reports, Storage Permission Not Granted");
+                return;
+            }
+
+            PersistenceInteractor persistence = PersistenceInteractor.getInstance(context);
+            List<ScheduledReport> reports = persistence.getAllScheduledReports();
+            final Date now = new Date();
+
+            for (final ScheduledReport report : reports) {
+                if (stopped)
+                    return;
+
+                final Date[] period = report.getPeriod().lastClosed(now);
+                if (report.getLastPeriodEnd() != null && !report.getLastPeriodEnd().before(period[1]))
+                    continue;
+
+                final boolean[] succeeded = new boolean[1];
+                // Report Starts Are Exclusive, Step Back So Punches At The Period's First Instant Count
+                ReportRunner runner = new ReportRunner(persistence, report.getType(), report.getCompression(),
+                        fileName(report.getFileNamePattern(), period),
+                        new Date(period[0].getTime() - 1), period[1], new ReportRunner.Callback() {
+                    @Override
+                    public void onProgress(int rows, int total) {
+                    }
+
+                    @Override
+                    public void onSuccess() {
+                        succeeded[0] = true;
+                    }
+
+                    @Override
+                    public void onCancelled() {
+                        Log.i(TAG, "Scheduled Report Stopped " + report.getId());
+                    }
+
+                    @Override
+                    public void onFail(String message) {
+                        Log.w(TAG, "Scheduled Report Failed " + report.getId() + ": " + message);
+                    }
+
+                    @Override
+                    public void always() {
+                    }
+                });
+                runner.setCache(ReportCache.getInstance(context));
+
+                current = runner;
+                if (stopped)
+                    return;
+                runner.run();
+                current = null;
+
+                if (succeeded[0]) {
+                    report.setLastPeriodEnd(period[1]);
+                    persistence.updateLastPeriod(report);
+                }
+            }
+        }
+    }
+}
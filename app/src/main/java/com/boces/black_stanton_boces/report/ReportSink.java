@@ -0,0 +1,36 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Somewhere A Report Is Written To
+ * A Sink Is Opened Once, Written Through Its Writer, Then Either Closed or Aborted
+ */
+public interface ReportSink extends Closeable {
+
+    /**
+     * Opens The Sink For Writing
+     * @return
+     * A Buffered Writer. Callers Must Not Close It Themselves
+     * @throws IOException
+     * When The Sink Could Not Be Opened
+     */
+    Writer open() throws IOException;
+
+    /**
+     * Finishes The Report
+     * Everything Written Is Flushed And Durable Once This Returns
+     * @throws IOException
+     * When The Report Could Not Be Finished, Nothing Is Left Behind
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Gives Up On The Report, Discarding Anything Written
+     * Safe To Call At Any Point, Including After A Failed close
+     */
+    void abort();
+}
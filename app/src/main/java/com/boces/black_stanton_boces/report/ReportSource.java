@@ -0,0 +1,69 @@
+package com.boces.black_stanton_boces.report;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+
+/**
+ * Where Report Punches Are Read From
+ */
+public interface ReportSource {
+
+    /**
+     * Reads The Punches of A Range of Students Within A Given Range, One Row At A Time
+     * Rows Arrive Ordered By Student, Then Start Time, Then Punch ID
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive
+     *
+     * @param fromStudentId
+     * Lowest Student ID To Include
+     *
+     * @param toStudentId
+     * Highest Student ID To Include
+     *
+     * @param handler
+     * Receives Each Row. The Row Object Is Reused
+     *
+     * @throws IOException
+     * When The Handler Fails
+     */
+    void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException;
+
+    /**
+     * Reads Every Punch Within A Given Range Grouped By Teacher, One Row At A Time
+     * Teachers Are Ordered By Name, Students Without A Teacher Come Last.
+     * Within A Teacher, Rows Arrive Ordered By Student, Then Start Time, Then Punch ID
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive
+     *
+     * @param handler
+     * Receives Each Row With Its Teacher ID Set. The Row Object Is Reused
+     *
+     * @throws IOException
+     * When The Handler Fails
+     */
+    void streamTeacherPunches(Date startDate, Date endDate, ReportRowHandler handler) throws IOException;
+
+    /**
+     * Counts The Punches of Each Student Within A Given Range
+     *
+     * @param startDate
+     * Date To Start Searching From, Exclusive
+     *
+     * @param endDate
+     * Date To Stop The Search On, Exclusive
+     *
+     * @return
+     * Punch Counts Keyed By Student ID, In Ascending ID Order.
+     * Students Without Punches Are Left Out
+     */
+    LinkedHashMap<Integer, Integer> getPunchCountsByStudent(Date startDate, Date endDate);
+}
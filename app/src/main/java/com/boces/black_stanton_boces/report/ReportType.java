@@ -0,0 +1,46 @@
+package com.boces.black_stanton_boces.report;
+
+/**
+ * Kinds of Report That Can Be Exported
+ */
+public enum ReportType {
+    DETAIL("Every Punch"),
+    STUDENT_TOTALS("Total Per Student", "Student", "Punches", "Total Time"),
+    TASK_TOTALS("Total Per Task", "Task", "Punches", "Total Time"),
+    STUDENT_TASK_TOTALS("Total Per Student & Task", "Student", "Task", "Punches", "Total Time"),
+    TEACHER_TOTALS("Total Per Teacher", "Teacher", "Punches", "Total Time");
+
+    private final String label;
+    private final String[] header;
+
+    ReportType(String label, String... header) {
+        this.label = label;
+        this.header = header;
+    }
+
+    /**
+     * Whether The Report Is Made of Totals Rather Than Individual Punches
+     * @return
+     * True For Every Type But DETAIL
+     */
+    public boolean isSummary() {
+        return this != DETAIL;
+    }
+
+    /**
+     * Gets The Column Names of A Summary
+     * @return
+     * Column Names, Empty For DETAIL
+     */
+    String[] getHeader() {
+        return header;
+    }
+
+    /**
+     * Shown In The Report Type Spinner
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,58 @@
+package com.boces.black_stanton_boces.report;
+
+/**
+ * One Line of A Summary Report
+ */
+public class SummaryRow {
+
+    /**
+     * Name of The Student, Task or Teacher Totalled
+     * null If It Was Deleted
+     */
+    private String name;
+
+    /**
+     * Name of The Task, Only For Student & Task Totals
+     * null If It Was Deleted or Not Used
+     */
+    private String detailName;
+
+    private int punchCount;
+
+    /**
+     * Total Time of Closed Punches In Seconds
+     */
+    private long seconds;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDetailName() {
+        return detailName;
+    }
+
+    public void setDetailName(String detailName) {
+        this.detailName = detailName;
+    }
+
+    public int getPunchCount() {
+        return punchCount;
+    }
+
+    public void setPunchCount(int punchCount) {
+        this.punchCount = punchCount;
+    }
+
+    public long getSeconds() {
+        return seconds;
+    }
+
+    public void setSeconds(long seconds) {
+        this.seconds = seconds;
+    }
+}
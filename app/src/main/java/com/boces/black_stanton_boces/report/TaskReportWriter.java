@@ -0,0 +1,109 @@
+package com.boces.black_stanton_boces.report;
+
+import com.boces.black_stanton_boces.util.TimeFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes Task Report Rows As CSV As They Arrive
+ * Only The Current Row Is Ever Held, So Memory Does Not Grow With The Report.
+ * Fields Are Built In Reused Buffers, So Rows Allocate Nothing
+ */
+class TaskReportWriter implements ReportRowHandler {
+
+    /**
+     * Column Names Written As The First Line
+     */
+    private static final String HEADER[] = new String[]{"Student", "Task", "Date", "Time In", "Time Out", "Duration"};
+
+    private static final String CLOCKED_IN = "--Clocked In--";
+    private static final String UNKNOWN_TASK = "Unknown/Deleted";
+
+    private final CsvRowWriter writer;
+
+    /**
+     * Task Names Keyed By Task ID
+     */
+    private final Map<Integer, String> taskNames;
+
+    /**
+     * Reused For Each Formatted Field
+     */
+    private final StringBuilder field = new StringBuilder(32);
+
+    private int lastStudentId = -1;
+
+    /**
+     * Default Constructor
+     * @param writer
+     * Where Rows Are Written
+     * @param taskNames
+     * Task Names Keyed By Task ID
+     */
+    TaskReportWriter(Writer writer, Map<Integer, String> taskNames) {
+        this.writer = new CsvRowWriter(writer);
+        this.taskNames = taskNames;
+    }
+
+    /**
+     * Writes The Column Names
+     * @throws IOException
+     * When The Header Could Not Be Written
+     */
+    void writeHeader() throws IOException {
+        writer.row(HEADER);
+    }
+
+    /**
+     * Writes A Single Punch
+     * @param row
+     * The Punch To Write
+     * @throws IOException
+     * When The Row Could Not Be Written
+     */
+    @Override
+    public void onRow(ReportRow row) throws IOException {
+
+        // If We've Moved To A New Student, Write Their Name
+        field.setLength(0);
+        if (row.getStudentId() != lastStudentId) {
+            field.append(row.getLastName()).append(' ').append(row.getFirstName());
+            lastStudentId = row.getStudentId();
+        } // Do Not Repeat Student Names If We Don't Need To
+        writer.field(field);
+
+        // Make Sure Task Wasn't Deleted
+        String taskName = taskNames.get(row.getTaskId());
+        writer.field(taskName == null ? UNKNOWN_TASK : taskName);
+
+        // Both Start Date & Time Come From timeStart
+        field.setLength(0);
+        writer.field(TimeFormat.appendDate(field, row.getTimeStart()));
+        field.setLength(0);
+        writer.field(TimeFormat.appendTime(field, row.getTimeStart()));
+
+        // If Task Is Still Open, Show That It Is Clocked In And Do Not Show Duration
+        if (row.hasTimeEnd()) {
+            field.setLength(0);
+            writer.field(TimeFormat.appendTime(field, row.getTimeEnd()));
+            field.setLength(0);
+            writer.field(TimeFormat.appendDuration(field, row.getTimeEnd() - row.getTimeStart(), true));
+        } else {
+            writer.field(CLOCKED_IN);
+            writer.field(CLOCKED_IN);
+        }
+
+        writer.endRow();
+    }
+
+    /**
+     * Pushes Written Rows To The Underlying Writer
+     * @throws IOException
+     * When The Rows Could Not Be Written
+     */
+    void flush() throws IOException {
+        writer.flush();
+    }
+}
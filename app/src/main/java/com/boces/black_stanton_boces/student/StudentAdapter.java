@@ -11,23 +11,54 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
-import com.boces.black_stanton_boces.persistence.PersistenceInteractor;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.model.Student;
-import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.util.ListDiffer;
+import com.boces.black_stanton_boces.util.SearchIndex;
+import com.boces.black_stanton_boces.util.SearchSource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class StudentAdapter extends RecyclerView.Adapter<StudentAdapter.ViewHolder> implements Filterable {
-    private List<Student> displayStudents;
-    private PersistenceInteractor persistence;
+
+    /**
+     * Rows Shown, Swapped In With Only The Changed Rows Rebound
+     */
+    private final ListDiffer<Row> differ = new ListDiffer<>(this, new ListDiffer.ItemComparator<Row>() {
+        @Override
+        public boolean isSameItem(Row oldItem, Row newItem) {
+            return oldItem.student.getId().equals(newItem.student.getId());
+        }
+
+        @Override
+        public boolean isSameContents(Row oldItem, Row newItem) {
+            Student a = oldItem.student;
+            Student b = newItem.student;
+            return ListDiffer.equal(a.getFirstName(), b.getFirstName()) &&
+                    ListDiffer.equal(a.getLastName(), b.getLastName()) &&
+                    ListDiffer.equal(oldItem.teacherName, newItem.teacherName) &&
+                    ImageHandle.isSame(a.getImageHandle(), b.getImageHandle());
+        }
+    });
     private StudentAdapterOnclick onclickHandler;
     private StudentFilter studentFilter;
 
-    public StudentAdapter(List<Student> students, PersistenceInteractor persistence, StudentAdapterOnclick onclickHandler) {
-        this.displayStudents = students;
-        this.persistence = persistence;
+    /**
+     * Searches Students Beyond Those Loaded, or null To Search The Loaded Students
+     */
+    private volatile SearchSource<List<Student>> searchSource;
+
+    /**
+     * Teacher Names Loaded With The Students, Reused For Students Found By searchSource
+     */
+    private volatile Map<Integer, String> teacherNames;
+
+    public StudentAdapter(List<Student> students, StudentAdapterOnclick onclickHandler) {
         this.onclickHandler = onclickHandler;
+        setHasStableIds(true);
+        differ.submit(new Rows(students, null).rows);
     }
 
     @Override
@@ -40,49 +71,110 @@ public class StudentAdapter extends RecyclerView.Adapter<StudentAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(ViewHolder holder, int position) {
-        Student student = displayStudents.get(position);
+        Row row = differ.getList().get(position);
+        Student student = row.student;
         holder.studentId = student.getId();
 
         String studentName = student.getFirstName() + " " + student.getLastName();
         holder.studentName.setText(studentName);
 
-        // Handle If No Teacher Is Set
-        if (student.getTeacherId() == null) {
+        // Handle If No Teacher Is Set, or The Teacher Was Deleted
+        if (row.teacherName == null)
             holder.teacherName.setText(R.string.no_teacher);
-        } else {
-            Teacher teacher = persistence.getTeacher(student.getTeacherId());
-            // Make Sure Teacher Was Found
-            if (teacher != null) {
-                String teacherName = teacher.getFirstName() + " " + teacher.getLastName();
-                holder.teacherName.setText(teacherName);
-            }
-        }
+        else
+            holder.teacherName.setText(row.teacherName);
 
-        if (student.getImage() != null)
-            holder.studentImage.setImageBitmap(student.getImage());
+        ImageHandle image = student.getImageHandle();
+        if (image != null)
+            holder.studentImage.setImageBitmap(image.getThumbnail());
     }
 
     @Override
     public int getItemCount() {
-        return displayStudents.size();
+        return differ.getList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getList().get(position).student.getId();
     }
 
-    public void setStudents(List<Student> students) {
+    /**
+     * Replaces The Students Shown, Keeping Any Search Applied
+     * @param rows
+     * Students Along With Their Teachers' Names
+     */
+    public void setRows(Rows rows) {
+        teacherNames = rows.teacherNames;
         if (studentFilter != null)
-            studentFilter.updateStudents(students);
-        this.displayStudents = students;
+            studentFilter.updateStudents(rows.rows);
+        else
+            differ.submit(rows.rows);
+    }
+
+    /**
+     * Makes Searches Query Somewhere Else, Such As The Database, Instead of The Loaded Students
+     * Only For Lists That Are Not Fully Loaded, The Loaded Students Are Searched Without A Round Trip
+     * Students Found Are Shown With The Teacher Names Passed To setRows
+     * @param searchSource
+     * Runs Each Non Empty Search, or null To Search The Loaded Students
+     */
+    public void setSearchSource(SearchSource<List<Student>> searchSource) {
+        this.searchSource = searchSource;
     }
 
     @Override
     public Filter getFilter() {
         // If The Filter Has Not Been Constructed Yet, Do So
         if (studentFilter == null) {
-            studentFilter = new StudentFilter(this.displayStudents);
+            studentFilter = new StudentFilter(differ.getList());
         }
 
         return studentFilter;
     }
 
+    /**
+     * A Student Joined With Their Teacher's Name, So Binding Never Queries
+     */
+    static class Row {
+        final Student student;
+
+        /**
+         * null If The Student Has No Teacher, or It Was Deleted
+         */
+        final String teacherName;
+
+        Row(Student student, String teacherName) {
+            this.student = student;
+            this.teacherName = teacherName;
+        }
+    }
+
+    /**
+     * Everything A Student List Shows, Loaded & Joined Together Off The UI Thread
+     */
+    public static class Rows {
+        private final List<Row> rows;
+        private final Map<Integer, String> teacherNames;
+
+        /**
+         * Default Constructor
+         * @param students
+         * Students To Show
+         * @param teacherNames
+         * Teacher Display Names Keyed By ID, From PersistenceInteractor.getTeacherNames
+         */
+        public Rows(List<Student> students, Map<Integer, String> teacherNames) {
+            this.teacherNames = teacherNames;
+            rows = new ArrayList<>(students.size());
+            for (Student student : students) {
+                Integer teacherId = student.getTeacherId();
+                String teacherName = teacherId == null || teacherNames == null ? null : teacherNames.get(teacherId);
+                rows.add(new Row(student, teacherName));
+            }
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public class ViewHolder extends RecyclerView.ViewHolder {
         public TextView studentName;
@@ -121,19 +213,50 @@ public class StudentAdapter extends RecyclerView.Adapter<StudentAdapter.ViewHold
 
     @SuppressWarnings("WeakerAccess")
     private class StudentFilter extends Filter {
-        private List<Student> students;
+        private volatile List<Row> students;
+
+        /**
+         * Index Over The Students, Only Touched From The Filtering Thread
+         */
+        private final SearchIndex<Row> index = new SearchIndex<>(new SearchIndex.Keys<Row>() {
+            @Override
+            public int getId(Row row) {
+                return row.student.getId();
+            }
+
+            @Override
+            public String[] getNames(Row row) {
+                return new String[] {row.student.getFirstName(), row.student.getLastName()};
+            }
+        });
+
+        /**
+         * Students The Index Was Last Updated With
+         */
+        private List<Row> indexed;
+
+        /**
+         * Latest Search Run, Re-Applied When The Students Change
+         */
+        private volatile CharSequence constraint;
 
-        public StudentFilter(List<Student> students) {
+        public StudentFilter(List<Row> students) {
             this.students = students;
         }
 
-        public void updateStudents(List<Student> students) {
+        /**
+         * Replaces The Students Searched, Showing Them Through The Current Search
+         */
+        public void updateStudents(List<Row> students) {
             this.students = students;
+            filter(constraint);
         }
 
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
+            final List<Row> students = this.students;
+            this.constraint = constraint;
 
             // Filter Class Requires Empty Filters To Return All Data
             if (constraint == null || constraint.length() == 0) {
@@ -142,30 +265,37 @@ public class StudentAdapter extends RecyclerView.Adapter<StudentAdapter.ViewHold
                 return results;
             }
 
-            final String caseConstraint = constraint.toString().toUpperCase();
-            ArrayList<Student> filteredStudents = new ArrayList<>();
+            // Searches Elsewhere Don't Need The Loaded Students
+            final SearchSource<List<Student>> source = searchSource;
+            if (source != null) {
+                final List<Row> found = new Rows(source.search(constraint.toString()), teacherNames).rows;
+                results.values = found;
+                results.count = found.size();
+                return results;
+            }
 
-            // If Student First/Last Name Contains The Filter, Return Them
-            for (Student student : students) {
-                if (student.getFirstName().toUpperCase().contains(caseConstraint) ||
-                        student.getLastName().toUpperCase().contains(caseConstraint)) {
-                    filteredStudents.add(student);
-                }
+            // Catch The Index Up Here, Off The UI Thread
+            if (indexed != students) {
+                index.update(students);
+                indexed = students;
             }
 
-            // Build Results
-            results.values = filteredStudents;
-            results.count = filteredStudents.size();
+            final List<Row> found = index.search(constraint);
+            results.values = found;
+            results.count = found.size();
 
             return results;
         }
 
         @Override
         protected void publishResults(CharSequence constraint, FilterResults results) {
+            // A Failed Search Leaves The List As It Was
+            if (results.values == null)
+                return;
+
             //noinspection unchecked
-            displayStudents = (List<Student>) results.values;
-            notifyDataSetChanged();
+            differ.submit((List<Row>) results.values);
         }
 
     }
-}
\ No newline at end of file
+}
@@ -11,18 +11,41 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.model.Task;
+import com.boces.black_stanton_boces.util.ListDiffer;
+import com.boces.black_stanton_boces.util.SearchIndex;
+import com.boces.black_stanton_boces.util.SearchSource;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> implements Filterable {
-    private List<Task> displayTasks;
+    /**
+     * Tasks Shown, Swapped In With Only The Changed Rows Rebound
+     */
+    private final ListDiffer<Task> differ = new ListDiffer<>(this, new ListDiffer.ItemComparator<Task>() {
+        @Override
+        public boolean isSameItem(Task oldItem, Task newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean isSameContents(Task oldItem, Task newItem) {
+            return ListDiffer.equal(oldItem.getName(), newItem.getName()) &&
+                    ImageHandle.isSame(oldItem.getImageHandle(), newItem.getImageHandle());
+        }
+    });
     private TaskAdapterOnclick onclickHandler;
     private TaskFilter filter;
 
+    /**
+     * Searches Tasks Beyond Those Loaded, or null To Search The Loaded Tasks
+     */
+    private volatile SearchSource<List<Task>> searchSource;
+
     public TaskAdapter(List<Task> tasks, TaskAdapterOnclick onclickHandler) {
-        this.displayTasks = tasks;
+        setHasStableIds(true);
+        differ.submit(tasks);
         this.onclickHandler = onclickHandler;
     }
 
@@ -36,32 +59,53 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> im
 
     @Override
     public void onBindViewHolder(ViewHolder holder, int position) {
-        Task task = displayTasks.get(position);
+        Task task = differ.getList().get(position);
 
         holder.taskId = task.getId();
         holder.taskName.setText(task.getName());
-        if (task.getImage() != null)
-            holder.taskImage.setImageBitmap(task.getImage());
+        ImageHandle image = task.getImageHandle();
+        if (image != null)
+            holder.taskImage.setImageBitmap(image.getThumbnail());
     }
 
     @Override
     public int getItemCount() {
-        return displayTasks.size();
+        return differ.getList().size();
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getList().get(position).getId();
+    }
+
+    /**
+     * Replaces The Tasks Shown, Keeping Any Search Applied
+     * @param tasks
+     * Tasks To Show, Which Must Not Be Modified Afterwards
+     */
     public void setTasks(List<Task> tasks) {
-        // If We Have A Filter, Update It As Well
-        if (filter != null) {
+        // If We Have A Filter, It Decides What Is Shown
+        if (filter != null)
             filter.updateTasks(tasks);
-        }
-        this.displayTasks = tasks;
+        else
+            differ.submit(tasks);
+    }
+
+    /**
+     * Makes Searches Query Somewhere Else, Such As The Database, Instead of The Loaded Tasks
+     * Only For Lists That Are Not Fully Loaded, The Loaded Tasks Are Searched Without A Round Trip
+     * @param searchSource
+     * Runs Each Non Empty Search, or null To Search The Loaded Tasks
+     */
+    public void setSearchSource(SearchSource<List<Task>> searchSource) {
+        this.searchSource = searchSource;
     }
 
     @Override
     public Filter getFilter() {
         // If The Filter Has Not Been Constructed Yet, Do So
         if (filter == null) {
-            filter = new TaskFilter(this.displayTasks);
+            filter = new TaskFilter(differ.getList());
         }
 
         return filter;
@@ -91,7 +135,32 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> im
     }
 
     private class TaskFilter extends Filter {
-        private List<Task> tasks;
+        private volatile List<Task> tasks;
+
+        /**
+         * Index Over The Tasks, Only Touched From The Filtering Thread
+         */
+        private final SearchIndex<Task> index = new SearchIndex<>(new SearchIndex.Keys<Task>() {
+            @Override
+            public int getId(Task task) {
+                return task.getId();
+            }
+
+            @Override
+            public String[] getNames(Task task) {
+                return new String[] {task.getName()};
+            }
+        });
+
+        /**
+         * Tasks The Index Was Last Updated With
+         */
+        private List<Task> indexed;
+
+        /**
+         * Latest Search Run, Re-Applied When The Tasks Change
+         */
+        private volatile CharSequence constraint;
 
         public TaskFilter(List<Task> tasks) {
             this.tasks = tasks;
@@ -99,11 +168,14 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> im
 
         private void updateTasks(List<Task> tasks) {
             this.tasks = tasks;
+            filter(constraint);
         }
 
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
+            final List<Task> tasks = this.tasks;
+            this.constraint = constraint;
 
             // Filter Class Requires Empty Filters To Return All Data
             if (constraint == null || constraint.length() == 0) {
@@ -112,26 +184,36 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.ViewHolder> im
                 return results;
             }
 
-            final String caseConstant = constraint.toString().toUpperCase();
-            ArrayList<Task> filteredTasks = new ArrayList<>();
-            for (Task task : tasks) {
-                if (task.getName().toUpperCase().contains(caseConstant)) {
-                    filteredTasks.add(task);
-                }
+            // Searches Elsewhere Don't Need The Loaded Tasks
+            final SearchSource<List<Task>> source = searchSource;
+            if (source != null) {
+                final List<Task> found = source.search(constraint.toString());
+                results.values = found;
+                results.count = found.size();
+                return results;
             }
 
-            // Build Results
-            results.values = filteredTasks;
-            results.count = filteredTasks.size();
+            // Catch The Index Up Here, Off The UI Thread
+            if (indexed != tasks) {
+                index.update(tasks);
+                indexed = tasks;
+            }
+
+            final List<Task> found = index.search(constraint);
+            results.values = found;
+            results.count = found.size();
 
             return results;
         }
 
         @Override
         protected void publishResults(CharSequence constraint, FilterResults results) {
+            // A Failed Search Leaves The List As It Was
+            if (results.values == null)
+                return;
+
             //noinspection unchecked
-            displayTasks = (List<Task>) results.values;
-            notifyDataSetChanged();
+            differ.submit((List<Task>) results.values);
         }
     }
 }
@@ -9,27 +9,161 @@ import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
 import com.boces.black_stanton_boces.persistence.model.Student;
-import com.boces.black_stanton_boces.persistence.model.Task;
 import com.boces.black_stanton_boces.persistence.model.TaskPunch;
+import com.boces.black_stanton_boces.util.ListDiffer;
+import com.boces.black_stanton_boces.util.TimeFormat;
 
-import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * Shows Punches A Page At A Time, Newest First
+ * The Next Page Is Asked For While Rows Near The End Are Bound, So It Has Usually
+ * Arrived Before The User Scrolls To It. All Methods Must Be Called On The UI Thread
+ */
 public class PunchAdapter extends RecyclerView.Adapter<PunchAdapter.ViewHolder> {
-    private List<TaskPunch> punches;
-    private Map<Integer, Student> students;
-    private Map<Integer, Task> tasks;
+
+    /**
+     * Punches Asked For At Once
+     */
+    public static final int PAGE_SIZE = 50;
+
+    /**
+     * Rows From The End of The Loaded Punches At Which The Next Page Is Asked For
+     */
+    private static final int PREFETCH_DISTANCE = PAGE_SIZE / 2;
+
+    /**
+     * Times A Failed First Page Is Asked For Again Before Waiting For The Next refresh
+     */
+    private static final int FIRST_PAGE_RETRIES = 3;
+
+    /**
+     * Fetches Pages of Punches
+     */
+    public interface PageLoader {
+
+        /**
+         * Fetches The Punches Off The UI Thread, Then Hands Them To request.deliver On The UI Thread,
+         * or Calls request.fail If They Could Not Be Fetched
+         * @param request
+         * Which Punches To Fetch
+         */
+        void load(PageRequest request);
+    }
+
+    /**
+     * A Page The Adapter Is Waiting On
+     */
+    public class PageRequest {
+        private final int generation;
+        private final TaskPunch after;
+        private final int limit;
+
+        private PageRequest(int generation, TaskPunch after, int limit) {
+            this.generation = generation;
+            this.after = after;
+            this.limit = limit;
+        }
+
+        /**
+         * @return
+         * Last Punch Already Shown, or null To Start From The Newest
+         */
+        public TaskPunch getAfter() {
+            return after;
+        }
+
+        /**
+         * @return
+         * Most Punches To Fetch
+         */
+        public int getLimit() {
+            return limit;
+        }
+
+        /**
+         * Shows The Fetched Punches, Unless The Adapter Has Since Started Over
+         * @param punches
+         * Punches Newest First, Fewer Than limit Once The History Runs Out
+         */
+        public void deliver(List<TaskPunch> punches) {
+            onPage(this, punches);
+        }
+
+        /**
+         * Gives Up On The Page, So It Is Asked For Again Once Rows Near The End Are Bound
+         * A First Page Has No Rows To Bind, So It Is Asked For Again Straight Away
+         */
+        public void fail() {
+            if (generation != PunchAdapter.this.generation)
+                return;
+
+            loading = false;
+            if (after == null && firstPageRetries++ < FIRST_PAGE_RETRIES)
+                loadFirstPage();
+        }
+    }
+
+    /**
+     * Rows Shown, Swapped In With Only The Changed Rows Rebound
+     */
+    private final ListDiffer<Row> differ = new ListDiffer<>(this, new ListDiffer.ItemComparator<Row>() {
+        @Override
+        public boolean isSameItem(Row oldItem, Row newItem) {
+            return oldItem.punch.getId().equals(newItem.punch.getId());
+        }
+
+        @Override
+        public boolean isSameContents(Row oldItem, Row newItem) {
+            TaskPunch a = oldItem.punch;
+            TaskPunch b = newItem.punch;
+            return a.getTaskId() == b.getTaskId() &&
+                    ListDiffer.equal(a.getTimeStart(), b.getTimeStart()) &&
+                    ListDiffer.equal(a.getTimeEnd(), b.getTimeEnd()) &&
+                    oldItem.studentName.equals(newItem.studentName) &&
+                    oldItem.taskName.equals(newItem.taskName);
+        }
+    });
     private PunchAdapterOnclick onclick;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
 
-    public PunchAdapter(List<TaskPunch> punches, Map<Integer, Student> students, Map<Integer, Task> tasks,  PunchAdapterOnclick onclick) {
-        this.punches = punches;
-        this.students = students;
-        this.tasks = tasks;
+    /**
+     * Reused For Formatting Each Row
+     */
+    private final StringBuilder text = new StringBuilder(16);
+
+    /**
+     * Every Row Loaded So Far, Ahead of The Differ While A Diff Runs
+     */
+    private List<Row> rows = new ArrayList<>();
+    private Map<Integer, Student> students;
+    private Map<Integer, String> taskNames;
+
+    private PageLoader pageLoader;
+
+    /**
+     * Bumped Whenever Loading Starts Over, So Older Pages Are Dropped
+     */
+    private int generation;
+    private boolean loading;
+    private boolean exhausted;
+    private int firstPageRetries;
+
+    /**
+     * Default Constructor
+     * @param students
+     * Students Keyed By ID, Covering Every Punch
+     * @param taskNames
+     * Task Names Keyed By ID. Deleted Tasks Show Without A Name
+     * @param onclick
+     * Called When A Punch Is Clicked
+     */
+    public PunchAdapter(Map<Integer, Student> students, Map<Integer, String> taskNames, PunchAdapterOnclick onclick) {
         this.onclick = onclick;
+        this.students = students;
+        this.taskNames = taskNames;
+        setHasStableIds(true);
     }
 
     @Override
@@ -42,68 +176,143 @@ public class PunchAdapter extends RecyclerView.Adapter<PunchAdapter.ViewHolder>
 
     @Override
     public void onBindViewHolder(ViewHolder holder, int position) {
-        TaskPunch punch = punches.get(position);
-        Student student = students.get(punch.getStudentId());
-        String studentName = "";
-        if (student != null)
-            studentName = student.getFirstName() + " " + student.getLastName();
-        String taskName = "";
-        Task task = tasks.get(punch.getTaskId());
-        if (task != null)
-            taskName = task.getName();
+        Row row = differ.getList().get(position);
+        TaskPunch punch = row.punch;
 
         holder.punchId = punch.getId();
-        holder.studentListName.setText(studentName);
-        holder.timeListDate.setText(dateFormat.format(punch.getTimeStart()));
+        holder.studentListName.setText(row.studentName);
+        final long start = punch.getTimeStart().getTime() / 1000L;
+        text.setLength(0);
+        holder.timeListDate.setText(TimeFormat.appendDate(text, start));
         if (punch.getTimeEnd() != null) {
-            final long diff = punch.getTimeEnd().getTime() - punch.getTimeStart().getTime();
-            final long hours = TimeUnit.MILLISECONDS.toHours(diff);
-            final long minutes = TimeUnit.MILLISECONDS.toMinutes(diff) % 60L;
-            final long seconds = TimeUnit.MILLISECONDS.toSeconds(diff) % 60L;
-
-            String duration;
-            if (hours > 0) // Only Show Hours If We Need To
-                duration = Long.toString(hours) + ":" + String.format(Locale.US, "%02d", minutes) + ":" + String.format(Locale.US, "%02d", seconds);
-            else
-                duration = Long.toString(minutes) + ":" + String.format(Locale.US, "%02d", seconds);
-            holder.timeListDuration.setText(duration);
+            text.setLength(0);
+            TimeFormat.appendDuration(text, punch.getTimeEnd().getTime() / 1000L - start, false);
+            holder.timeListDuration.setText(text);
         } else
             holder.timeListDuration.setText(R.string.clocked_in);
-        holder.timeListTask.setText(taskName);
+        holder.timeListTask.setText(row.taskName);
+
+        // Ask For More Before The User Reaches The End
+        if (position >= rows.size() - PREFETCH_DISTANCE)
+            requestNextPage();
     }
 
     @Override
     public int getItemCount() {
-        return punches.size();
+        return differ.getList().size();
     }
 
-    public List<TaskPunch> getPunches() {
-        return punches;
+    @Override
+    public long getItemId(int position) {
+        return differ.getList().get(position).punch.getId();
     }
 
-    public void setPunches(List<TaskPunch> punches) {
-        this.punches = punches;
+    /**
+     * Sets Where Pages Come From
+     * @param pageLoader
+     * Fetches Pages, Called Whenever More Punches Are Needed
+     */
+    public void setPageLoader(PageLoader pageLoader) {
+        this.pageLoader = pageLoader;
     }
 
-    public Map<Integer, Student> getStudents() {
-        return students;
+    /**
+     * Replaces The Names Shown, So Renamed Students & Tasks Rebind Their Rows
+     * @param students
+     * Students Keyed By ID, Covering Every Punch
+     * @param taskNames
+     * Task Names Keyed By ID. Deleted Tasks Show Without A Name
+     */
+    public void setNames(Map<Integer, Student> students, Map<Integer, String> taskNames) {
+        this.students = students;
+        this.taskNames = taskNames;
+
+        List<Row> renamed = new ArrayList<>(rows.size());
+        for (Row row : rows)
+            renamed.add(toRow(row.punch));
+        rows = renamed;
+        differ.submit(rows);
     }
 
-    public void setStudents(Map<Integer, Student> students) {
-        this.students = students;
+    /**
+     * Loads The Punches Again From The Newest, Picking Up Any Changes
+     * As Many Punches As Are Already Loaded Are Fetched At Once, So The List Keeps Its Place
+     */
+    public void refresh() {
+        firstPageRetries = 0;
+        loadFirstPage();
     }
 
-    public Map<Integer, Task> getTasks() {
-        return tasks;
+    /**
+     * Starts Over From The Newest Punch
+     */
+    private void loadFirstPage() {
+        if (pageLoader == null)
+            return;
+
+        generation++;
+        loading = true;
+        exhausted = false;
+        pageLoader.load(new PageRequest(generation, null, Math.max(PAGE_SIZE, rows.size())));
     }
 
-    public void setTasks(Map<Integer, Task> tasks) {
-        this.tasks = tasks;
+    /**
+     * Asks For The Page After The Last Loaded Punch, Unless One Is Already Coming
+     */
+    private void requestNextPage() {
+        if (pageLoader == null || loading || exhausted || rows.isEmpty())
+            return;
+
+        loading = true;
+        pageLoader.load(new PageRequest(generation, rows.get(rows.size() - 1).punch, PAGE_SIZE));
     }
 
-    @Override
-    public void onBindViewHolder(ViewHolder holder, int position, List<Object> payloads) {
-        super.onBindViewHolder(holder, position, payloads);
+    /**
+     * Adds A Delivered Page
+     */
+    private void onPage(PageRequest request, List<TaskPunch> punches) {
+        if (request.generation != generation)
+            return;
+
+        loading = false;
+        exhausted = punches.size() < request.limit;
+
+        List<Row> loaded = new ArrayList<>(request.after == null ? punches.size() : rows.size() + punches.size());
+        if (request.after != null)
+            loaded.addAll(rows);
+        for (TaskPunch punch : punches)
+            loaded.add(toRow(punch));
+        rows = loaded;
+        differ.submit(rows);
+    }
+
+    /**
+     * Joins A Punch With Its Names
+     */
+    private Row toRow(TaskPunch punch) {
+        Student student = students.get(punch.getStudentId());
+        String studentName = "";
+        if (student != null)
+            studentName = student.getFirstName() + " " + student.getLastName();
+        String taskName = taskNames.get(punch.getTaskId());
+        if (taskName == null)
+            taskName = "";
+        return new Row(punch, studentName, taskName);
+    }
+
+    /**
+     * A Punch Joined With The Names It Shows
+     */
+    private static class Row {
+        final TaskPunch punch;
+        final String studentName;
+        final String taskName;
+
+        Row(TaskPunch punch, String studentName, String taskName) {
+            this.punch = punch;
+            this.studentName = studentName;
+            this.taskName = taskName;
+        }
     }
 
     @SuppressWarnings("WeakerAccess")
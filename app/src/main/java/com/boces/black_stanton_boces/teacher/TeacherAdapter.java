@@ -11,18 +11,44 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
+import com.boces.black_stanton_boces.persistence.ImageHandle;
 import com.boces.black_stanton_boces.persistence.model.Teacher;
+import com.boces.black_stanton_boces.util.ListDiffer;
+import com.boces.black_stanton_boces.util.SearchIndex;
+import com.boces.black_stanton_boces.util.SearchSource;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.ViewHolder> implements Filterable {
-    private List<Teacher> displayTeachers;
+    /**
+     * Teachers Shown, Swapped In With Only The Changed Rows Rebound
+     */
+    private final ListDiffer<Teacher> differ = new ListDiffer<>(this, new ListDiffer.ItemComparator<Teacher>() {
+        @Override
+        public boolean isSameItem(Teacher oldItem, Teacher newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean isSameContents(Teacher oldItem, Teacher newItem) {
+            return ListDiffer.equal(oldItem.getFirstName(), newItem.getFirstName()) &&
+                    ListDiffer.equal(oldItem.getLastName(), newItem.getLastName()) &&
+                    ListDiffer.equal(oldItem.getEmail(), newItem.getEmail()) &&
+                    ListDiffer.equal(oldItem.getPhoneNumber(), newItem.getPhoneNumber()) &&
+                    ImageHandle.isSame(oldItem.getImageHandle(), newItem.getImageHandle());
+        }
+    });
     private TeacherAdapterOnclick onclickHandler;
     private TeacherFilter filter;
 
+    /**
+     * Searches Teachers Beyond Those Loaded, or null To Search The Loaded Teachers
+     */
+    private volatile SearchSource<List<Teacher>> searchSource;
+
     public TeacherAdapter(List<Teacher> teachers, TeacherAdapterOnclick onclickHandler) {
-        this.displayTeachers = teachers;
+        setHasStableIds(true);
+        differ.submit(teachers);
         this.onclickHandler = onclickHandler;
     }
 
@@ -37,7 +63,7 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(ViewHolder holder, int position) {
-        Teacher teacher = displayTeachers.get(position);
+        Teacher teacher = differ.getList().get(position);
 
         holder.teacherId = teacher.getId();
 
@@ -46,27 +72,49 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.ViewHold
 
         holder.teacherEmail.setText(teacher.getEmail());
         holder.teacherPhone.setText(teacher.getPhoneNumber());
-        if (teacher.getImage() != null)
-            holder.teacherImage.setImageBitmap(teacher.getImage());
+        ImageHandle image = teacher.getImageHandle();
+        if (image != null)
+            holder.teacherImage.setImageBitmap(image.getThumbnail());
     }
 
     @Override
     public int getItemCount() {
-        return displayTeachers.size();
+        return differ.getList().size();
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getList().get(position).getId();
+    }
+
+    /**
+     * Replaces The Teachers Shown, Keeping Any Search Applied
+     * @param teachers
+     * Teachers To Show, Which Must Not Be Modified Afterwards
+     */
     public void setTeachers(List<Teacher> teachers) {
         // If We Have A Filter, Then It Controls The Content
         if (filter != null)
             filter.updateTeachers(teachers);
-       this.displayTeachers = teachers;
+        else
+            differ.submit(teachers);
+    }
+
+    /**
+     * Makes Searches Query Somewhere Else, Such As The Database, Instead of The Loaded Teachers
+     * Only For Lists That Are Not Fully Loaded, The Loaded Teachers Are Searched Without A Round Trip
+     * @param searchSource
+     * Runs Each Non Empty Search, or null To Search The Loaded Teachers
+     */
+    public void setSearchSource(SearchSource<List<Teacher>> searchSource) {
+        this.searchSource = searchSource;
     }
 
     @Override
     public Filter getFilter() {
         // If The Filter Has Not Been Constructed Yet, Do So
         if (filter == null)
-            filter = new TeacherFilter(displayTeachers);
+            filter = new TeacherFilter(differ.getList());
         return filter;
     }
 
@@ -98,7 +146,32 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.ViewHold
     }
 
     private class TeacherFilter extends Filter {
-        private List<Teacher> teachers;
+        private volatile List<Teacher> teachers;
+
+        /**
+         * Index Over The Teachers, Only Touched From The Filtering Thread
+         */
+        private final SearchIndex<Teacher> index = new SearchIndex<>(new SearchIndex.Keys<Teacher>() {
+            @Override
+            public int getId(Teacher teacher) {
+                return teacher.getId();
+            }
+
+            @Override
+            public String[] getNames(Teacher teacher) {
+                return new String[] {teacher.getFirstName(), teacher.getLastName()};
+            }
+        });
+
+        /**
+         * Teachers The Index Was Last Updated With
+         */
+        private List<Teacher> indexed;
+
+        /**
+         * Latest Search Run, Re-Applied When The Teachers Change
+         */
+        private volatile CharSequence constraint;
 
         public TeacherFilter(List<Teacher> teachers) {
             this.teachers = teachers;
@@ -106,11 +179,14 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.ViewHold
 
         public void updateTeachers(List<Teacher> teachers) {
             this.teachers = teachers;
+            filter(constraint);
         }
 
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
+            final List<Teacher> teachers = this.teachers;
+            this.constraint = constraint;
 
             if (constraint == null || constraint.length() == 0) {
                 results.values = teachers;
@@ -118,27 +194,36 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.ViewHold
                 return results;
             }
 
-            final String caseConstraint = constraint.toString().toUpperCase();
-            ArrayList<Teacher> filteredTeachers = new ArrayList<>();
+            // Searches Elsewhere Don't Need The Loaded Teachers
+            final SearchSource<List<Teacher>> source = searchSource;
+            if (source != null) {
+                final List<Teacher> found = source.search(constraint.toString());
+                results.values = found;
+                results.count = found.size();
+                return results;
+            }
 
-            for (Teacher teacher: teachers) {
-                if (teacher.getFirstName().toUpperCase().contains(caseConstraint) ||
-                        teacher.getLastName().toUpperCase().contains(caseConstraint)) {
-                    filteredTeachers.add(teacher);
-                }
+            // Catch The Index Up Here, Off The UI Thread
+            if (indexed != teachers) {
+                index.update(teachers);
+                indexed = teachers;
             }
 
-            results.values = filteredTeachers;
-            results.count = filteredTeachers.size();
+            final List<Teacher> found = index.search(constraint);
+            results.values = found;
+            results.count = found.size();
 
             return results;
         }
 
         @Override
         protected void publishResults(CharSequence constraint, FilterResults results) {
+            // A Failed Search Leaves The List As It Was
+            if (results.values == null)
+                return;
+
             //noinspection unchecked
-            displayTeachers = (List<Teacher>) results.values ;
-            notifyDataSetChanged();
+            differ.submit((List<Teacher>) results.values);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.boces.black_stanton_boces.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Brings Photos Picked By The User Into The App
+ * Photos Are Decoded Downsampled, Turned Upright, And Bounded In Size
+ * Before They Are Ever Shown or Saved
+ */
+public class ImageImporter {
+
+    /**
+     * Longest Side of An Imported Image, Enough For Full Size Views
+     */
+    public static final int DETAIL_SIZE = 640;
+
+    /**
+     * Longest Side of An Image Shown In A List Row
+     */
+    public static final int THUMBNAIL_SIZE = 240;
+
+    /**
+     * JPEG Quality Used For Opaque Images
+     */
+    private static final int JPEG_QUALITY = 85;
+
+    /**
+     * Debug Tag
+     */
+    private static final String TAG = "bocesImageImporter";
+
+    /**
+     * Decodes And Encodes Off The UI Thread, One Photo At A Time
+     */
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+
+    /**
+     * Delivers Results Back On The UI Thread
+     */
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    /**
+     * Receives An Imported Image On The UI Thread
+     */
+    public interface Callback {
+
+        /**
+         * @param bitmap
+         * The Detail Sized Image
+         *
+         * @param encoded
+         * The Image Already Encoded For Saving
+         */
+        void onLoaded(Bitmap bitmap, byte[] encoded);
+
+        /**
+         * Called If The File Could Not Be Decoded
+         */
+        void onFailed();
+    }
+
+    /**
+     * Imports A Photo In The Background
+     * The Photo Is Encoded There Too, So Saving Only Has To Write The Bytes
+     *
+     * @param path
+     * Path To The Photo
+     *
+     * @param callback
+     * Receives The Outcome On The UI Thread
+     */
+    public static void load(final String path, final Callback callback) {
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap bitmap = importImage(path, DETAIL_SIZE);
+                if (bitmap == null) {
+                    Log.w(TAG, "Could Not Decode " + path);
+                    MAIN.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.onFailed();
+                        }
+                    });
+                    return;
+                }
+
+                final byte[] encoded = encode(bitmap);
+                MAIN.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onLoaded(bitmap, encoded);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Encodes An Image Compactly For Storage
+     * Opaque Images Are Encoded As JPEG, Images With Transparency As PNG
+     *
+     * @param bitmap
+     * The Image To Encode
+     *
+     * @return
+     * The Encoded Bytes
+     */
+    public static byte[] encode(Bitmap bitmap) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        if (bitmap.hasAlpha())
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, stream);
+        else
+            bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, stream);
+        return stream.toByteArray();
+    }
+
+    /**
+     * Decodes A Photo Upright And No Larger Than A Given Size
+     *
+     * @param path
+     * Path To The Photo
+     *
+     * @param maxDimension
+     * Largest Allowed Width or Height
+     *
+     * @return
+     * The Image, or null If It Could Not Be Decoded
+     */
+    public static Bitmap importImage(String path, int maxDimension) {
+        Bitmap bitmap = decodeSampled(path, maxDimension);
+        if (bitmap == null)
+            return null;
+        return orient(bitmap, readOrientation(path));
+    }
+
+    /**
+     * Decodes An Image, Skipping Pixels So No More Than Needed Are Ever In Memory
+     *
+     * @param path
+     * Path To The Image
+     *
+     * @param maxDimension
+     * Largest Allowed Width or Height
+     *
+     * @return
+     * The Image, or null If It Could Not Be Decoded
+     */
+    public static Bitmap decodeSampled(String path, int maxDimension) {
+        // Read Only The Size First
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(path, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0)
+            return null;
+
+        // Largest Power of Two That Keeps The Image At Least maxDimension
+        int sampleSize = 1;
+        int longestSide = Math.max(options.outWidth, options.outHeight);
+        while (longestSide / (sampleSize * 2) >= maxDimension)
+            sampleSize *= 2;
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        Bitmap sampled = BitmapFactory.decodeFile(path, options);
+        if (sampled == null)
+            return null;
+
+        // Sampling Only Goes By Powers of Two, Scale The Rest of The Way
+        longestSide = Math.max(sampled.getWidth(), sampled.getHeight());
+        if (longestSide <= maxDimension)
+            return sampled;
+
+        final float scale = (float) maxDimension / longestSide;
+        Bitmap scaled = Bitmap.createScaledBitmap(sampled,
+                Math.max(1, Math.round(sampled.getWidth() * scale)),
+                Math.max(1, Math.round(sampled.getHeight() * scale)),
+                true);
+        if (scaled != sampled)
+            sampled.recycle();
+        return scaled;
+    }
+
+    /**
+     * Reads The EXIF Orientation of A Photo
+     *
+     * @param path
+     * Path To The Photo
+     *
+     * @return
+     * An ExifInterface Orientation Constant
+     */
+    private static int readOrientation(String path) {
+        try {
+            return new ExifInterface(path).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    /**
+     * Turns An Image Upright According To Its EXIF Orientation
+     *
+     * @param bitmap
+     * The Decoded Image
+     *
+     * @param orientation
+     * An ExifInterface Orientation Constant
+     *
+     * @return
+     * The Upright Image
+     */
+    private static Bitmap orient(Bitmap bitmap, int orientation) {
+        Matrix matrix = new Matrix();
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.postScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.postRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.postRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270);
+                break;
+            default: // Already Upright
+                return bitmap;
+        }
+
+        Bitmap oriented = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (oriented != bitmap)
+            bitmap.recycle();
+        return oriented;
+    }
+}
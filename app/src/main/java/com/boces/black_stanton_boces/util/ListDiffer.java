@@ -0,0 +1,160 @@
+package com.boces.black_stanton_boces.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Holds The List An Adapter Shows, Replacing It With Fine Grained Change Notifications
+ * Diffs Are Computed On A Background Thread, Then Applied On The UI Thread Together With
+ * The New List, So Only Rows That Actually Changed Are Rebound.
+ * A Newer List Always Wins Over A Diff Still Being Computed For An Older One.
+ * Lists Handed In Must Not Be Modified Afterwards
+ *
+ * @param <T>
+ * Type of Item In The List
+ */
+public class ListDiffer<T> {
+
+    /**
+     * Decides Whether Two Items Are The Same Row, And Whether It Looks Different
+     * @param <T>
+     * Type of Item Compared
+     */
+    public interface ItemComparator<T> {
+
+        /**
+         * @return
+         * True If Both Items Are The Same Row, Usually Because Their IDs Match
+         */
+        boolean isSameItem(T oldItem, T newItem);
+
+        /**
+         * Only Called When isSameItem Is True
+         * @return
+         * True If The Row Would Display Exactly The Same
+         */
+        boolean isSameContents(T oldItem, T newItem);
+    }
+
+    /**
+     * One Thread Is Enough, Only The Latest Diff of Each List Matters
+     */
+    private static final ExecutorService DIFFER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "bocesListDiffer");
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private final RecyclerView.Adapter<?> adapter;
+    private final ItemComparator<T> comparator;
+    private List<T> list = Collections.emptyList();
+
+    /**
+     * Counts Submissions, So Results For Replaced Lists Can Be Dropped
+     */
+    private int generation;
+
+    /**
+     * Default Constructor
+     * @param adapter
+     * Adapter Told About Changes
+     * @param comparator
+     * Compares Items of The Old & New Lists
+     */
+    public ListDiffer(RecyclerView.Adapter<?> adapter, ItemComparator<T> comparator) {
+        this.adapter = adapter;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Gets The List Currently Shown
+     * @return
+     * The List, Which Must Not Be Modified
+     */
+    public List<T> getList() {
+        return list;
+    }
+
+    /**
+     * Replaces The List Shown, Must Be Called On The UI Thread
+     * @param newList
+     * The New List, Which Must Not Be Modified Afterwards
+     */
+    public void submit(final List<T> newList) {
+        final int submitted = ++generation;
+        final List<T> oldList = list;
+        if (newList == oldList)
+            return;
+
+        // Nothing To Compare Against, No Need To Leave The UI Thread
+        if (oldList.isEmpty() || newList.isEmpty()) {
+            list = newList;
+            if (!oldList.isEmpty())
+                adapter.notifyItemRangeRemoved(0, oldList.size());
+            else if (!newList.isEmpty())
+                adapter.notifyItemRangeInserted(0, newList.size());
+            return;
+        }
+
+        DIFFER.execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return oldList.size();
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return newList.size();
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                        return comparator.isSameItem(oldList.get(oldPosition), newList.get(newPosition));
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                        return comparator.isSameContents(oldList.get(oldPosition), newList.get(newPosition));
+                    }
+                });
+
+                MAIN.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        // A Newer List Was Submitted While This One Was Compared
+                        if (submitted != generation)
+                            return;
+                        list = newList;
+                        result.dispatchUpdatesTo(adapter);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Null Safe Equality, As Objects.equals Needs API 19
+     * @return
+     * True If Both Are null or Equal
+     */
+    public static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -2,6 +2,11 @@ package com.boces.black_stanton_boces.util;
 
 import android.app.Dialog;
 import android.content.Context;
+import android.content.DialogInterface;
+import android.view.View;
+import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.TextView;
 
 import com.boces.black_stanton_boces.R;
 
@@ -26,4 +31,69 @@ public class ProgressBarDialogueFactory {
         dialog.setTitle(R.string.title_dialogue_progress);
         return dialog;
     }
+
+    /**
+     * Produces A Progress Dialogue That Shows Rows Written And Can Be Cancelled
+     * Starts Indeterminate Until setProgress Is Given A Total
+     *
+     * @param context
+     * The Current Context
+     *
+     * @param onCancel
+     * Run When The Cancel Button or Back Is Pressed. Cancel Leaves The Dialogue Open Until The Report Stops
+     *
+     * @return
+     * A Hidden Progress Dialogue
+     */
+    public static Dialog makeCancellable(Context context, final Runnable onCancel) {
+        final Dialog dialog = new Dialog(context);
+        dialog.setContentView(R.layout.dialogue_report_progress);
+        dialog.setTitle(R.string.title_dialogue_progress);
+        dialog.setCanceledOnTouchOutside(false);
+
+        final Button cancel = dialog.findViewById(R.id.btnDialogueCancel);
+        cancel.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                cancel.setEnabled(false);
+                onCancel.run();
+            }
+        });
+
+        dialog.setOnCancelListener(new DialogInterface.OnCancelListener() {
+            @Override
+            public void onCancel(DialogInterface dialogInterface) {
+                onCancel.run();
+            }
+        });
+        return dialog;
+    }
+
+    /**
+     * Shows How Far A Report Has Got In A Dialogue From makeCancellable
+     *
+     * @param dialog
+     * A Dialogue From makeCancellable
+     *
+     * @param rows
+     * Rows Written So Far
+     *
+     * @param total
+     * Rows Expected, or Negative If Not Known
+     */
+    public static void setProgress(Dialog dialog, int rows, int total) {
+        ProgressBar bar = dialog.findViewById(R.id.progressReport);
+        TextView label = dialog.findViewById(R.id.txtReportProgress);
+
+        if (total < 0) {
+            bar.setIndeterminate(true);
+            label.setText(rows + " Rows");
+            return;
+        }
+
+        bar.setIndeterminate(false);
+        bar.setMax(Math.max(total, 1));
+        bar.setProgress(Math.min(rows, total));
+        label.setText(rows + " of " + total + " Rows");
+    }
 }
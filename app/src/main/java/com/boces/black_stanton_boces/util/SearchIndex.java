@@ -0,0 +1,280 @@
+package com.boces.black_stanton_boces.util;
+
+import android.annotation.SuppressLint;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Finds Items Whose Names Contain A Search, Without Rescanning Every Name Per Keystroke
+ * Names Are Accent Folded & Lower Cased Once, Then Indexed By Every Three Letter Run.
+ * A Search Only Checks Items Holding Its Rarest Run, And A Search That Extends The
+ * Previous One Only Checks The Previous Results. Updating Reindexes Only Changed Items.
+ * Not Thread Safe, Use From One Thread At A Time
+ *
+ * @param <T>
+ * Type of Item Searched
+ */
+public class SearchIndex<T> {
+
+    /**
+     * Reads What An Item Is Searched By
+     * @param <T>
+     * Type of Item
+     */
+    public interface Keys<T> {
+
+        /**
+         * @return
+         * ID Unique Within The List
+         */
+        int getId(T item);
+
+        /**
+         * @return
+         * Names The Item Is Found By, Entries May Be null
+         */
+        String[] getNames(T item);
+    }
+
+    /**
+     * Length of The Letter Runs Indexed, Shorter Searches Check Every Item
+     */
+    private static final int GRAM = 3;
+
+    /**
+     * Kept Between Names So A Match Never Spans Two
+     */
+    private static final char SEPARATOR = '\n';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    private final Keys<T> keys;
+
+    /**
+     * Items In List Order, Returned As Is For An Empty Search
+     */
+    private List<T> items = Collections.emptyList();
+
+    @SuppressLint("UseSparseArrays")
+    private HashMap<Integer, Entry<T>> entries = new HashMap<>();
+
+    /**
+     * IDs of The Items Containing Each Letter Run
+     */
+    private final HashMap<Long, Set<Integer>> postings = new HashMap<>();
+
+    /**
+     * Last Search & Its Results, Which Narrower Searches Start From
+     */
+    private String lastQuery;
+    private List<Entry<T>> lastResults;
+
+    /**
+     * An Indexed Item
+     */
+    private static class Entry<T> {
+        T item;
+        int position;
+
+        /**
+         * Names As Given, To Tell If They Changed
+         */
+        final String raw;
+
+        /**
+         * Names Folded For Matching
+         */
+        final String text;
+
+        Entry(String raw, String text) {
+            this.raw = raw;
+            this.text = text;
+        }
+    }
+
+    private static final Comparator<Entry<?>> LIST_ORDER = new Comparator<Entry<?>>() {
+        @Override
+        public int compare(Entry<?> a, Entry<?> b) {
+            return a.position < b.position ? -1 : a.position == b.position ? 0 : 1;
+        }
+    };
+
+    /**
+     * Default Constructor
+     * @param keys
+     * Reads What Items Are Searched By
+     */
+    public SearchIndex(Keys<T> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Folds Text So Case & Accents Don't Matter
+     * @param text
+     * Text To Fold
+     * @return
+     * Lower Case Text Without Accents
+     */
+    public static String fold(CharSequence text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.US);
+    }
+
+    /**
+     * Replaces The Items Searched
+     * Only Items That Are New or Whose Names Changed Are Folded & Indexed Again
+     * @param newItems
+     * Items In The Order Results Should Keep, Which Must Not Be Modified Afterwards
+     */
+    public void update(List<T> newItems) {
+        @SuppressLint("UseSparseArrays")
+        HashMap<Integer, Entry<T>> next = new HashMap<>(newItems.size() * 2);
+        StringBuilder raw = new StringBuilder(32);
+
+        for (int i = 0; i < newItems.size(); i++) {
+            T item = newItems.get(i);
+            int id = keys.getId(item);
+
+            raw.setLength(0);
+            for (String name : keys.getNames(item)) {
+                if (raw.length() > 0)
+                    raw.append(SEPARATOR);
+                if (name != null)
+                    raw.append(name);
+            }
+
+            Entry<T> entry = entries.remove(id);
+            if (entry == null || !entry.raw.contentEquals(raw)) {
+                if (entry != null)
+                    unindex(id, entry.text);
+                entry = new Entry<>(raw.toString(), fold(raw));
+                index(id, entry.text);
+            }
+            entry.item = item;
+            entry.position = i;
+            next.put(id, entry);
+        }
+
+        // Whatever Is Left Was Removed
+        for (Map.Entry<Integer, Entry<T>> removed : entries.entrySet())
+            unindex(removed.getKey(), removed.getValue().text);
+
+        entries = next;
+        items = newItems;
+        lastQuery = null;
+        lastResults = null;
+    }
+
+    /**
+     * Finds Every Item With A Name Containing The Search
+     * @param query
+     * Text To Search For, Case & Accents Are Ignored
+     * @return
+     * Matching Items In List Order. All Items For An Empty Search
+     */
+    public List<T> search(CharSequence query) {
+        final String folded = query == null ? "" : fold(query);
+        if (folded.isEmpty()) {
+            lastQuery = null;
+            lastResults = null;
+            return items;
+        }
+
+        List<Entry<T>> results;
+        if (lastQuery != null && folded.contains(lastQuery)) {
+            // Anything Containing The Longer Search Contains The Previous One
+            results = matching(lastResults, folded);
+        } else if (folded.length() >= GRAM) {
+            results = matching(candidates(folded), folded);
+            Collections.sort(results, LIST_ORDER);
+        } else {
+            results = matching(entries.values(), folded);
+            Collections.sort(results, LIST_ORDER);
+        }
+
+        lastQuery = folded;
+        lastResults = results;
+
+        List<T> found = new ArrayList<>(results.size());
+        for (Entry<T> entry : results)
+            found.add(entry.item);
+        return found;
+    }
+
+    /**
+     * Gets The Entries Holding The Search's Rarest Letter Run
+     */
+    private List<Entry<T>> candidates(String folded) {
+        Set<Integer> rarest = null;
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            Set<Integer> ids = postings.get(gram(folded, i));
+            if (ids == null)
+                return Collections.emptyList();
+            if (rarest == null || ids.size() < rarest.size())
+                rarest = ids;
+        }
+
+        List<Entry<T>> candidates = new ArrayList<>(rarest == null ? 0 : rarest.size());
+        if (rarest != null)
+            for (Integer id : rarest)
+                candidates.add(entries.get(id));
+        return candidates;
+    }
+
+    private static <T> List<Entry<T>> matching(Iterable<Entry<T>> pool, String folded) {
+        List<Entry<T>> results = new ArrayList<>();
+        for (Entry<T> entry : pool)
+            if (entry.text.contains(folded))
+                results.add(entry);
+        return results;
+    }
+
+    private void index(int id, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            if (spansNames(text, i))
+                continue;
+            Long gram = gram(text, i);
+            Set<Integer> ids = postings.get(gram);
+            if (ids == null) {
+                ids = new HashSet<>();
+                postings.put(gram, ids);
+            }
+            ids.add(id);
+        }
+    }
+
+    private void unindex(int id, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            if (spansNames(text, i))
+                continue;
+            Long gram = gram(text, i);
+            Set<Integer> ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty())
+                postings.remove(gram);
+        }
+    }
+
+    private static boolean spansNames(String text, int start) {
+        for (int i = start; i < start + GRAM; i++)
+            if (text.charAt(i) == SEPARATOR)
+                return true;
+        return false;
+    }
+
+    /**
+     * Packs A Letter Run Into One Key
+     */
+    private static Long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,18 @@
+package com.boces.black_stanton_boces.util;
+
+/**
+ * Runs A Search Somewhere Other Than The Items Already Loaded, Such As The Database
+ * @param <T>
+ * Type of Result
+ */
+public interface SearchSource<T> {
+
+    /**
+     * Called From The Filtering Thread, Never The UI Thread
+     * @param query
+     * Search As Typed, Never Empty
+     * @return
+     * Matching Items, Best Matches First
+     */
+    T search(String query);
+}
@@ -0,0 +1,151 @@
+package com.boces.black_stanton_boces.util;
+
+import java.util.TimeZone;
+
+/**
+ * Formats Punch Dates, Times & Durations Without Allocating
+ * Everything Is Appended Straight Into A Caller Owned StringBuilder,
+ * Which Can Be Cleared And Reused For Every Row.
+ * All Methods Are Thread Safe
+ */
+public final class TimeFormat {
+
+    private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+    /**
+     * Zone Dates & Times Are Shown In
+     * TimeZone.getDefault Copies The Zone On Every Call, So It Is Looked Up Once
+     */
+    private static volatile TimeZone timeZone = TimeZone.getDefault();
+
+    private TimeFormat() {
+    }
+
+    /**
+     * Changes The Zone Dates & Times Are Shown In
+     * @param zone
+     * The New Zone, Usually TimeZone.getDefault After The Device Zone Changes
+     */
+    public static void setTimeZone(TimeZone zone) {
+        timeZone = zone;
+    }
+
+    /**
+     * Appends A Date As MM/dd/yyyy
+     * @param out
+     * Where To Append
+     * @param epochSeconds
+     * The Instant To Format
+     * @return
+     * out, For Chaining
+     */
+    public static StringBuilder appendDate(StringBuilder out, long epochSeconds) {
+        long days = floorDiv(toLocalMillis(epochSeconds), MILLIS_PER_DAY);
+
+        // Days Since 1970-01-01 To A Proleptic Gregorian Date
+        // See http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+        days += 719468;
+        final long era = floorDiv(days, 146097);
+        final long dayOfEra = days - era * 146097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        final int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        appendPadded(out, month, 2).append('/');
+        appendPadded(out, day, 2).append('/');
+        if (year < 1000)
+            appendPadded(out, (int) year, 4);
+        else
+            out.append(year);
+        return out;
+    }
+
+    /**
+     * Appends A 12 Hour Time As h:mm a
+     * @param out
+     * Where To Append
+     * @param epochSeconds
+     * The Instant To Format
+     * @return
+     * out, For Chaining
+     */
+    public static StringBuilder appendTime(StringBuilder out, long epochSeconds) {
+        final int secondOfDay = (int) (floorMod(toLocalMillis(epochSeconds), MILLIS_PER_DAY) / 1000L);
+        final int hour = secondOfDay / 3600;
+        final int minute = (secondOfDay % 3600) / 60;
+
+        out.append(hour % 12 == 0 ? 12 : hour % 12).append(':');
+        appendPadded(out, minute, 2);
+        out.append(hour < 12 ? " AM" : " PM");
+        return out;
+    }
+
+    /**
+     * Appends A Duration As H:MM:SS, Leaving Off Hours When There Are None
+     * @param out
+     * Where To Append
+     * @param seconds
+     * Length of The Duration In Seconds
+     * @param padMinutes
+     * Whether Minutes Are Padded To Two Digits When There Are No Hours
+     * @return
+     * out, For Chaining
+     */
+    public static StringBuilder appendDuration(StringBuilder out, long seconds, boolean padMinutes) {
+        if (seconds < 0) {
+            out.append('-');
+            seconds = -seconds;
+        }
+
+        final long hours = seconds / 3600L;
+        final int minutes = (int) ((seconds / 60L) % 60L);
+        final int extraSeconds = (int) (seconds % 60L);
+
+        // Only Show Hours If We Need To
+        if (hours > 0) {
+            out.append(hours).append(':');
+            appendPadded(out, minutes, 2);
+        } else if (padMinutes) {
+            appendPadded(out, minutes, 2);
+        } else {
+            out.append(minutes);
+        }
+
+        out.append(':');
+        appendPadded(out, extraSeconds, 2);
+        return out;
+    }
+
+    /**
+     * Appends A Non Negative Number, Zero Padded To A Minimum Width
+     */
+    private static StringBuilder appendPadded(StringBuilder out, int value, int width) {
+        for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+            if (value < limit)
+                out.append('0');
+        }
+        return out.append(value);
+    }
+
+    /**
+     * Moves An Instant Into Local Wall Clock Milliseconds
+     */
+    private static long toLocalMillis(long epochSeconds) {
+        final long millis = epochSeconds * 1000L;
+        return millis + timeZone.getOffset(millis);
+    }
+
+    private static long floorDiv(long x, long y) {
+        long quotient = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0))
+            quotient--;
+        return quotient;
+    }
+
+    private static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+}
@@ -0,0 +1,68 @@
+package com.boces.black_stanton_boces.persistence;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks That Migrations Are Planned In Order And Without Gaps
+ */
+public class MigrationRunnerTest {
+
+    private static Migration step(int version) {
+        return new Migration(version, "Step " + version) {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+            }
+        };
+    }
+
+    @Test
+    public void plan_ordersStepsByVersion() throws Exception {
+        MigrationRunner runner = new MigrationRunner(Arrays.asList(step(4), step(2), step(3)));
+
+        List<Migration> plan = runner.plan(1, 4);
+
+        assertEquals(3, plan.size());
+        assertEquals(2, plan.get(0).getVersion());
+        assertEquals(3, plan.get(1).getVersion());
+        assertEquals(4, plan.get(2).getVersion());
+    }
+
+    @Test
+    public void plan_skipsStepsAlreadyApplied() throws Exception {
+        MigrationRunner runner = new MigrationRunner(Arrays.asList(step(2), step(3), step(4)));
+
+        List<Migration> plan = runner.plan(3, 4);
+
+        assertEquals(1, plan.size());
+        assertEquals(4, plan.get(0).getVersion());
+    }
+
+    @Test
+    public void plan_isEmptyWhenUpToDate() throws Exception {
+        MigrationRunner runner = new MigrationRunner(Arrays.asList(step(2), step(3)));
+
+        assertEquals(0, runner.plan(3, 3).size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void plan_rejectsMissingVersion() throws Exception {
+        new MigrationRunner(Arrays.asList(step(2), step(4))).plan(1, 4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void plan_rejectsMissingFinalVersion() throws Exception {
+        new MigrationRunner(Arrays.asList(step(2), step(3))).plan(1, 4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void plan_rejectsDuplicateVersion() throws Exception {
+        new MigrationRunner(Arrays.asList(step(2), step(2), step(3))).plan(1, 3);
+    }
+}
@@ -0,0 +1,39 @@
+package com.boces.black_stanton_boces.report;
+
+import com.opencsv.CSVWriter;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks That CsvRowWriter Writes Exactly What opencsv Would
+ */
+public class CsvRowWriterTest {
+
+    private static final String[][] ROWS = {
+            {"Student", "Task", "Date", "Time In", "Time Out", "Duration"},
+            {"Doe Jane", "Sweep", "01/02/2018", "9:05 AM", "--Clocked In--", "--Clocked In--"},
+            {"", "Say \"Hi\"", "a,b", "line\nbreak", "back\\slash", "'single'"},
+            {"", "", "", "", "", ""},
+    };
+
+    @Test
+    public void row_matchesOpenCsv() throws Exception {
+        StringWriter expected = new StringWriter();
+        CSVWriter csvWriter = new CSVWriter(expected);
+        for (String[] row : ROWS)
+            csvWriter.writeNext(row);
+        csvWriter.flush();
+
+        StringWriter actual = new StringWriter();
+        CsvRowWriter rowWriter = new CsvRowWriter(actual);
+        for (String[] row : ROWS)
+            rowWriter.row(row);
+        rowWriter.flush();
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
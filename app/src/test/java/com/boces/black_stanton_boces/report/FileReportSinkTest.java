@@ -0,0 +1,181 @@
+package com.boces.black_stanton_boces.report;
+
+import com.boces.black_stanton_boces.persistence.model.Teacher;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks That Compressed Reports Hold Exactly What An Uncompressed Report Would
+ */
+public class FileReportSinkTest {
+
+    private static final Date START = new Date(0);
+    private static final Date END = new Date(4102444800000L);
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("bocesReports", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdirs());
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        directory.delete();
+    }
+
+    /**
+     * Three Students, Each With Two Punches
+     * Students 1 & 3 Belong To Teacher 2, Student 2 Has No Teacher
+     */
+    private static final ReportSource SOURCE = new ReportSource() {
+        @Override
+        public void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException {
+            ReportRow row = new ReportRow();
+            for (int student = Math.max(1, fromStudentId); student <= Math.min(3, toStudentId); student++) {
+                for (int punch = 0; punch < 2; punch++) {
+                    row.setPunchId(student * 10 + punch);
+                    row.setStudentId(student);
+                    row.setFirstName("First" + student);
+                    row.setLastName("Last" + student);
+                    row.setTaskId(1 + punch);
+                    row.setTimeStart(1514800000L + punch * 3600L);
+                    row.setTimeEnd(1514801000L + punch * 3600L);
+                    handler.onRow(row);
+                }
+            }
+        }
+
+        @Override
+        public void streamTeacherPunches(Date startDate, Date endDate, final ReportRowHandler handler) throws IOException {
+            for (int student : new int[]{1, 3, 2}) {
+                streamStudentPunches(startDate, endDate, student, student, new ReportRowHandler() {
+                    @Override
+                    public void onRow(ReportRow row) throws IOException {
+                        row.setTeacherId(row.getStudentId() == 2 ? ReportRow.NO_TEACHER : 2);
+                        handler.onRow(row);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public LinkedHashMap<Integer, Integer> getPunchCountsByStudent(Date startDate, Date endDate) {
+            LinkedHashMap<Integer, Integer> counts = new LinkedHashMap<>();
+            for (int student = 1; student <= 3; student++)
+                counts.put(student, 2);
+            return counts;
+        }
+    };
+
+    private static Map<Integer, String> taskNames() {
+        Map<Integer, String> names = new HashMap<>();
+        names.put(1, "Sweep");
+        names.put(2, "Stack");
+        return names;
+    }
+
+    private static String uncompressed(int fromStudentId, int toStudentId) throws IOException {
+        MemoryReportSink sink = new MemoryReportSink();
+        Writer out = sink.open();
+        TaskReportWriter writer = new TaskReportWriter(out, taskNames());
+        writer.writeHeader();
+        SOURCE.streamStudentPunches(START, END, fromStudentId, toStudentId, writer);
+        writer.flush();
+        sink.close();
+        return sink.getContents();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int read; (read = in.read(buffer)) != -1; )
+            bytes.write(buffer, 0, read);
+        return bytes.toString("UTF-8");
+    }
+
+    @Test
+    public void gzip_roundTrips() throws Exception {
+        File file = new File(directory, "report.csv.gz");
+        ReportGenerator.exportTaskReport(SOURCE, taskNames(), START, END,
+                new FileReportSink(file, ReportCompression.GZIP), new ReportProgress());
+
+        InputStream in = new GZIPInputStream(new FileInputStream(file));
+        try {
+            assertEquals(uncompressed(1, 3), read(in));
+        } finally {
+            in.close();
+        }
+        assertFalse(new File(directory, "report.csv.gz.part").exists());
+    }
+
+    private static Teacher teacher(int id, String firstName, String lastName) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setFirstName(firstName);
+        teacher.setLastName(lastName);
+        return teacher;
+    }
+
+    @Test
+    public void zip_holdsOneEntryPerTeacherWithPunches() throws Exception {
+        // Teacher 1 Has No Punches, And A Teacher Named Like The No Teacher Entry Keeps Its Name
+        List<Teacher> teachers = Arrays.asList(teacher(1, "Bob", "Baker"), teacher(2, "Teacher", "No"));
+
+        File file = new File(directory, "report.zip");
+        ReportProgress progress = new ReportProgress();
+        ReportGenerator.exportTaskReportByTeacher(SOURCE, taskNames(), teachers, START, END,
+                new FileReportSink(file, ReportCompression.ZIP), progress);
+
+        List<String> names = new ArrayList<>();
+        ZipInputStream in = new ZipInputStream(new FileInputStream(file));
+        try {
+            // Student 3 Follows Student 1 Under The Same Header
+            String third = uncompressed(3, 3);
+            ZipEntry entry = in.getNextEntry();
+            names.add(entry.getName());
+            assertEquals(uncompressed(1, 1) + third.substring(third.indexOf('\n') + 1), read(in));
+
+            entry = in.getNextEntry();
+            names.add(entry.getName());
+            assertEquals(uncompressed(2, 2), read(in));
+
+            assertNull(in.getNextEntry());
+        } finally {
+            in.close();
+        }
+
+        assertEquals(Arrays.asList("No Teacher.csv", "No Teacher 2.csv"), names);
+        assertEquals(6, progress.getRows());
+    }
+}
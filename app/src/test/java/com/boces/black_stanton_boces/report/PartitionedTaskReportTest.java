@@ -0,0 +1,215 @@
+package com.boces.black_stanton_boces.report;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks That Partitioned Reports Match The Single Pass Report Exactly
+ */
+public class PartitionedTaskReportTest {
+
+    private static final Date START = new Date(0);
+    private static final Date END = new Date(4102444800000L);
+
+    private ExecutorService executor;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Punches Kept In Memory, Already In Report Order
+     */
+    private static class MemorySource implements ReportSource {
+        private final List<long[]> punches = new ArrayList<>();
+
+        MemorySource(int students, int maxPunches, long seed) {
+            Random random = new Random(seed);
+            int punchId = 1;
+            for (int student = 1; student <= students; student++) {
+                long time = 1514764800L + random.nextInt(86400);
+                int count = random.nextInt(maxPunches + 1);
+                for (int i = 0; i < count; i++) {
+                    long end = random.nextInt(10) == 0 ? -1 : time + random.nextInt(5 * 3600);
+                    // {id, student, task, start, end}
+                    punches.add(new long[]{punchId++, student, 1 + random.nextInt(6), time, end});
+                    time += 3600 + random.nextInt(86400);
+                }
+            }
+        }
+
+        @Override
+        public void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException {
+            ReportRow row = new ReportRow();
+            for (long[] punch : punches) {
+                if (punch[1] < fromStudentId || punch[1] > toStudentId)
+                    continue;
+                row.setPunchId((int) punch[0]);
+                row.setStudentId((int) punch[1]);
+                row.setFirstName("First" + punch[1]);
+                row.setLastName("Last \"" + punch[1] + "\"");
+                row.setTaskId((int) punch[2]);
+                row.setTimeStart(punch[3]);
+                if (punch[4] < 0)
+                    row.clearTimeEnd();
+                else
+                    row.setTimeEnd(punch[4]);
+                handler.onRow(row);
+            }
+        }
+
+        /**
+         * None of These Students Have A Teacher
+         */
+        @Override
+        public void streamTeacherPunches(Date startDate, Date endDate, ReportRowHandler handler) throws IOException {
+            streamStudentPunches(startDate, endDate, Integer.MIN_VALUE, Integer.MAX_VALUE, handler);
+        }
+
+        @Override
+        public LinkedHashMap<Integer, Integer> getPunchCountsByStudent(Date startDate, Date endDate) {
+            LinkedHashMap<Integer, Integer> counts = new LinkedHashMap<>();
+            for (long[] punch : punches) {
+                Integer count = counts.get((int) punch[1]);
+                counts.put((int) punch[1], count == null ? 1 : count + 1);
+            }
+            return counts;
+        }
+    }
+
+    private static Map<Integer, String> taskNames() {
+        Map<Integer, String> names = new HashMap<>();
+        for (int i = 1; i <= 5; i++)
+            names.put(i, "Task, " + i);
+        // Task 6 Is "Deleted"
+        return names;
+    }
+
+    private String sequential(ReportSource source) throws IOException {
+        MemoryReportSink sink = new MemoryReportSink();
+        ReportGenerator.exportTaskReport(source, taskNames(), START, END, sink, new ReportProgress());
+        return sink.getContents();
+    }
+
+    private String parallel(ReportSource source, int window) throws IOException {
+        MemoryReportSink sink = new MemoryReportSink();
+        ReportGenerator.exportTaskReportParallel(source, taskNames(), START, END, sink, executor, window, new ReportProgress());
+        return sink.getContents();
+    }
+
+    @Test
+    public void parallel_matchesSequential() throws Exception {
+        MemorySource source = new MemorySource(400, 60, 1);
+        String expected = sequential(source);
+
+        assertEquals(expected, parallel(source, 1));
+        assertEquals(expected, parallel(source, 3));
+        assertEquals(expected, parallel(source, 16));
+    }
+
+    @Test
+    public void parallel_matchesSequentialWhenEmpty() throws Exception {
+        MemorySource source = new MemorySource(0, 0, 2);
+        assertEquals(sequential(source), parallel(source, 4));
+    }
+
+    @Test
+    public void parallel_abortsSinkOnFailure() throws Exception {
+        ReportSource failing = new MemorySource(400, 60, 3) {
+            @Override
+            public void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException {
+                if (fromStudentId > 200)
+                    throw new IOException("Disk Full");
+                super.streamStudentPunches(startDate, endDate, fromStudentId, toStudentId, handler);
+            }
+        };
+
+        MemoryReportSink sink = new MemoryReportSink();
+        try {
+            ReportGenerator.exportTaskReportParallel(failing, taskNames(), START, END, sink, executor, 4, new ReportProgress());
+            fail("Failure Not Reported");
+        } catch (IOException e) {
+            assertEquals("Disk Full", e.getMessage());
+        }
+        assertNull(sink.getContents());
+    }
+
+    @Test
+    public void parallel_countsEveryRow() throws Exception {
+        MemorySource source = new MemorySource(400, 60, 4);
+        ReportProgress progress = new ReportProgress();
+
+        ReportGenerator.exportTaskReportParallel(source, taskNames(), START, END, new MemoryReportSink(), executor, 4, progress);
+
+        assertEquals(source.punches.size(), progress.getTotal());
+        assertEquals(source.punches.size(), progress.getRows());
+    }
+
+    @Test
+    public void parallel_cancelAbortsSink() throws Exception {
+        final ReportProgress progress = new ReportProgress();
+        ReportSource cancelling = new MemorySource(400, 60, 5) {
+            @Override
+            public void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException {
+                if (fromStudentId > 100)
+                    progress.cancel();
+                super.streamStudentPunches(startDate, endDate, fromStudentId, toStudentId, handler);
+            }
+        };
+
+        MemoryReportSink sink = new MemoryReportSink();
+        try {
+            ReportGenerator.exportTaskReportParallel(cancelling, taskNames(), START, END, sink, executor, 4, progress);
+            fail("Cancellation Not Reported");
+        } catch (ReportCancelledException e) {
+            // Expected
+        }
+        assertNull(sink.getContents());
+    }
+
+    @Test
+    public void partition_coversEveryId() throws Exception {
+        LinkedHashMap<Integer, Integer> counts = new LinkedHashMap<>();
+        counts.put(1, 3);
+        counts.put(2, 3);
+        counts.put(5, 1);
+        counts.put(9, 4);
+
+        List<int[]> partitions = PartitionedTaskReport.partition(counts, 5);
+
+        assertEquals(2, partitions.size());
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 2}, partitions.get(0));
+        assertArrayEquals(new int[]{3, Integer.MAX_VALUE}, partitions.get(1));
+    }
+
+    @Test
+    public void partition_emptyIsOneOpenRange() throws Exception {
+        List<int[]> partitions = PartitionedTaskReport.partition(new LinkedHashMap<Integer, Integer>(), 5);
+
+        assertEquals(1, partitions.size());
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}, partitions.get(0));
+    }
+}
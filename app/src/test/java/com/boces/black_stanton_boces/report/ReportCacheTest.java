@@ -0,0 +1,140 @@
+package com.boces.black_stanton_boces.report;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks Cached Reports Are Only Reused For The Same Request Over Unchanged Data
+ */
+public class ReportCacheTest {
+
+    private static final Date START = new Date(0);
+    private static final Date END = new Date(86400000L * 7);
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("bocesReportCache", "");
+        assertTrue(directory.delete());
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        directory.delete();
+    }
+
+    private File report(String contents) throws IOException {
+        File file = File.createTempFile("bocesReport", ".csv");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    @Test
+    public void key_changesWithDataVersion() {
+        String key = ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "3");
+
+        assertEquals(key, ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "3"));
+        assertNotEquals(key, ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "4"));
+        assertNotEquals(key, ReportCache.key(ReportType.DETAIL, ReportCompression.GZIP, START, END, "3"));
+        assertNotEquals(key, ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "3-12"));
+    }
+
+    @Test
+    public void putThenGet_returnsCopy() throws IOException {
+        ReportCache cache = new ReportCache(directory);
+        String key = ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "1");
+        assertNull(cache.get(key));
+
+        File original = report("a,b\n");
+        cache.put(key, original);
+        assertTrue(original.delete());
+
+        File cached = cache.get(key);
+        assertNotNull(cached);
+        assertEquals(4, cached.length());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() throws IOException {
+        ReportCache cache = new ReportCache(directory);
+        File original = report("a\n");
+
+        String first = ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "0");
+        cache.put(first, original);
+        assertTrue(cache.get(first).setLastModified(0));
+
+        for (int i = 1; i <= 20; i++)
+            cache.put(ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, Integer.toString(i)), original);
+
+        assertNull(cache.get(first));
+        assertEquals(20, directory.listFiles().length);
+    }
+
+    @Test
+    public void clear_removesEveryReport() throws IOException {
+        ReportCache cache = new ReportCache(directory);
+        cache.clear();
+
+        String key = ReportCache.key(ReportType.DETAIL, ReportCompression.NONE, START, END, "1");
+        cache.put(key, report("a\n"));
+        cache.clear();
+
+        assertNull(cache.get(key));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void lastClosed_monthEndsAtStartOfCurrentMonth() {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2018, Calendar.MARCH, 15, 10, 30);
+
+        Date[] period = ReportPeriod.MONTHLY.lastClosed(cal.getTime());
+
+        cal.clear();
+        cal.set(2018, Calendar.FEBRUARY, 1);
+        assertEquals(cal.getTime(), period[0]);
+        cal.set(2018, Calendar.MARCH, 1);
+        assertEquals(cal.getTime(), period[1]);
+        assertEquals("Report 2018-02-01 2018-02-28",
+                ReportScheduler.fileName("Report {start} {end}", period));
+    }
+
+    @Test
+    public void lastClosed_weekIsSevenDaysBeforeNow() {
+        Date now = new Date();
+        Date[] period = ReportPeriod.WEEKLY.lastClosed(now);
+
+        assertFalse(period[1].after(now));
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(period[0]);
+        cal.add(Calendar.WEEK_OF_YEAR, 1);
+        assertEquals(cal.getTime(), period[1]);
+        assertTrue(now.getTime() - period[1].getTime() < 86400000L * 7);
+    }
+}
@@ -0,0 +1,319 @@
+package com.boces.black_stanton_boces.report;
+
+import com.boces.black_stanton_boces.persistence.model.Student;
+import com.boces.black_stanton_boces.persistence.model.TaskPunch;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Times Each Stage of The Task Report Over Synthetic Datasets of 10k, 100k And 1M Punches
+ * Results Are Nanoseconds Per Punch, Compared Against The Checked In Baseline.
+ * The SQLite Query Itself Needs A Device, See ReportQueryBenchmark Under androidTest.
+ *
+ * Skipped Unless Run With -Dboces.benchmark=true
+ * -Dboces.benchmark.record=true Overwrites The Baseline With This Run's Results
+ * -Dboces.benchmark.tolerance=N Fails Stages More Than N Times Slower Than Baseline, Default 1.5
+ */
+public class ReportPipelineBenchmark {
+
+    /**
+     * Baseline Checked In Next To The Test, Relative To The Module Gradle Runs Tests From
+     */
+    private static final String BASELINE_RESOURCE = "report-pipeline-baseline.properties";
+    private static final String BASELINE_FILE =
+            "src/test/resources/com/boces/black_stanton_boces/report/" + BASELINE_RESOURCE;
+
+    private static final double DEFAULT_TOLERANCE = 1.5;
+
+    /**
+     * Each Stage Is Timed This Many Times, Keeping The Fastest
+     */
+    private static final int RUNS = 3;
+
+    private static final int WARMUP_RUNS = 10;
+
+    /**
+     * Name, Students, Tasks, Punches Per Student Per Day, Months
+     */
+    private static final Object[][] DATASETS = {
+            {"10k", 42, 8, 2, 4},
+            {"100k", 140, 20, 4, 6},
+            {"1m", 700, 40, 4, 12},
+    };
+
+    private static final String[] STAGES = {"stream", "group", "format", "write", "writeParallel", "writeByTeacher"};
+
+    private ExecutorService executor;
+    private File directory;
+
+    @Before
+    public void onlyWhenAsked() throws IOException {
+        Assume.assumeTrue(Boolean.getBoolean("boces.benchmark"));
+
+        executor = Executors.newFixedThreadPool(4);
+        directory = File.createTempFile("bocesBenchmark", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdirs());
+    }
+
+    @After
+    public void cleanUp() {
+        if (executor != null)
+            executor.shutdownNow();
+        if (directory != null) {
+            File[] files = directory.listFiles();
+            if (files != null)
+                for (File file : files)
+                    file.delete();
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void reportPipeline() throws Exception {
+
+        // Warm Up On The Smallest Dataset So The JIT Has Compiled Every Stage
+        SyntheticPunchSource warmup = source(DATASETS[0]);
+        for (int i = 0; i < WARMUP_RUNS; i++)
+            for (String stage : STAGES)
+                runStage(stage, warmup);
+
+        Properties results = new Properties();
+        for (Object[] dataset : DATASETS) {
+            SyntheticPunchSource source = source(dataset);
+            for (String stage : STAGES) {
+                long best = Long.MAX_VALUE;
+                for (int i = 0; i < RUNS; i++)
+                    best = Math.min(best, runStage(stage, source));
+
+                double perPunch = (double) best / source.getPunchCount();
+                results.setProperty(dataset[0] + "." + stage, String.format(Locale.US, "%.1f", perPunch));
+                System.out.println(String.format(Locale.US, "%-5s %-14s %8.1f ms %8.1f ns/punch",
+                        dataset[0], stage, best / 1e6, perPunch));
+            }
+        }
+
+        if (Boolean.getBoolean("boces.benchmark.record")) {
+            // Sorted & Undated, So Re-Recording Only Changes The Numbers
+            Writer out = new OutputStreamWriter(new FileOutputStream(BASELINE_FILE), "ISO-8859-1");
+            try {
+                out.write("# Report Pipeline Baseline, ns/punch. Recorded By ReportPipelineBenchmark\n");
+                for (String key : new TreeSet<>(results.stringPropertyNames()))
+                    out.write(key + "=" + results.getProperty(key) + "\n");
+            } finally {
+                out.close();
+            }
+            System.out.println("Baseline Recorded To " + new File(BASELINE_FILE).getAbsolutePath());
+            return;
+        }
+
+        compare(results);
+    }
+
+    /**
+     * Fails If Any Stage Is Slower Than Its Baseline By More Than The Tolerance
+     */
+    private void compare(Properties results) throws IOException {
+        Properties baseline = new Properties();
+        InputStream in = getClass().getResourceAsStream(BASELINE_RESOURCE);
+        if (in == null)
+            in = new FileInputStream(BASELINE_FILE);
+        try {
+            baseline.load(in);
+        } finally {
+            in.close();
+        }
+
+        double tolerance = DEFAULT_TOLERANCE;
+        String setting = System.getProperty("boces.benchmark.tolerance");
+        if (setting != null)
+            tolerance = Double.parseDouble(setting);
+
+        StringBuilder regressions = new StringBuilder();
+        for (String key : results.stringPropertyNames()) {
+            String expected = baseline.getProperty(key);
+            if (expected == null)
+                continue;
+
+            double measured = Double.parseDouble(results.getProperty(key));
+            if (measured > Double.parseDouble(expected) * tolerance)
+                regressions.append(String.format(Locale.US, "%s: %.1f ns/punch, Baseline %s%n", key, measured, expected));
+        }
+
+        if (regressions.length() > 0)
+            fail("Slower Than Baseline:\n" + regressions);
+    }
+
+    private static SyntheticPunchSource source(Object[] dataset) {
+        return new SyntheticPunchSource((Integer) dataset[1], (Integer) dataset[2], (Integer) dataset[3], (Integer) dataset[4]);
+    }
+
+    /**
+     * Runs One Stage Over Every Punch of A Dataset
+     * @return
+     * Nanoseconds Taken
+     */
+    private long runStage(String stage, SyntheticPunchSource source) throws IOException {
+        long start = System.nanoTime();
+        switch (stage) {
+            case "stream":
+                stream(source);
+                break;
+            case "group":
+                group(source);
+                break;
+            case "format":
+                format(source);
+                break;
+            case "write":
+                write(source, false);
+                break;
+            case "writeParallel":
+                write(source, true);
+                break;
+            case "writeByTeacher":
+                writeByTeacher(source);
+                break;
+            default:
+                throw new IllegalArgumentException(stage);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Rows Delivered To A Handler That Only Reads Them
+     * The Floor Every Other Stage Is Measured Above
+     */
+    private static void stream(SyntheticPunchSource source) throws IOException {
+        final long[] checksum = new long[1];
+        source.streamStudentPunches(source.getStart(), source.getEnd(), Integer.MIN_VALUE, Integer.MAX_VALUE,
+                new ReportRowHandler() {
+                    @Override
+                    public void onRow(ReportRow row) {
+                        checksum[0] += row.getPunchId() + row.getTimeStart();
+                    }
+                });
+        assertTrue(checksum[0] != 0);
+    }
+
+    /**
+     * Builds What getStudentPunches Returns, Then The Partitions The Parallel Report Uses
+     */
+    private static void group(SyntheticPunchSource source) throws IOException {
+        final ArrayList<StudentPunches> studentPunches = new ArrayList<>();
+        source.streamStudentPunches(source.getStart(), source.getEnd(), Integer.MIN_VALUE, Integer.MAX_VALUE,
+                new ReportRowHandler() {
+                    private StudentPunches current;
+
+                    @Override
+                    public void onRow(ReportRow row) {
+                        if (current == null || current.getStudent().getId() != row.getStudentId()) {
+                            Student student = new Student();
+                            student.setId(row.getStudentId());
+                            student.setFirstName(row.getFirstName());
+                            student.setLastName(row.getLastName());
+                            current = new StudentPunches(student);
+                            studentPunches.add(current);
+                        }
+
+                        TaskPunch punch = new TaskPunch();
+                        punch.setId(row.getPunchId());
+                        punch.setStudentId(row.getStudentId());
+                        punch.setTaskId(row.getTaskId());
+                        punch.setTimeStart(new Date(row.getTimeStart() * 1000L));
+                        if (row.hasTimeEnd())
+                            punch.setTimeEnd(new Date(row.getTimeEnd() * 1000L));
+                        current.getPunches().add(punch);
+                    }
+                });
+
+        LinkedHashMap<Integer, Integer> counts = source.getPunchCountsByStudent(source.getStart(), source.getEnd());
+        List<int[]> partitions = PartitionedTaskReport.partition(counts, PartitionedTaskReport.PARTITION_ROWS);
+        assertEquals(counts.size(), studentPunches.size());
+        assertTrue(!partitions.isEmpty());
+    }
+
+    /**
+     * Rows Formatted As CSV, Written Nowhere
+     */
+    private static void format(SyntheticPunchSource source) throws IOException {
+        TaskReportWriter writer = new TaskReportWriter(new DiscardingWriter(), source.getTaskNames());
+        writer.writeHeader();
+        source.streamStudentPunches(source.getStart(), source.getEnd(), Integer.MIN_VALUE, Integer.MAX_VALUE, writer);
+        writer.flush();
+    }
+
+    /**
+     * The Whole Report Written To A File, As ReportRunner Writes It
+     */
+    private void write(SyntheticPunchSource source, boolean parallel) throws IOException {
+        Map<Integer, String> taskNames = source.getTaskNames();
+        FileReportSink sink = new FileReportSink(new File(directory, "report.csv"));
+        if (parallel)
+            ReportGenerator.exportTaskReportParallel(source, taskNames, source.getStart(), source.getEnd(), sink,
+                    executor, PartitionedTaskReport.getWindow(), new ReportProgress());
+        else
+            ReportGenerator.exportTaskReport(source, taskNames, source.getStart(), source.getEnd(), sink, new ReportProgress());
+        assertTrue(sink.getFile().length() > 0);
+    }
+
+    /**
+     * The Zip of One Entry Per Teacher, As ReportRunner Writes It
+     */
+    private void writeByTeacher(SyntheticPunchSource source) throws IOException {
+        FileReportSink sink = new FileReportSink(new File(directory, "report.zip"), ReportCompression.ZIP);
+        ReportGenerator.exportTaskReportByTeacher(source, source.getTaskNames(), source.getTeachers(),
+                source.getStart(), source.getEnd(), sink, new ReportProgress());
+        assertTrue(sink.getFile().length() > 0);
+    }
+
+    /**
+     * Accepts And Drops Everything, So Formatting Is Timed Alone
+     */
+    private static class DiscardingWriter extends Writer {
+        @Override
+        public void write(int c) {
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
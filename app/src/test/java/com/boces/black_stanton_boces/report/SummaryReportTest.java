@@ -0,0 +1,100 @@
+package com.boces.black_stanton_boces.report;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks The CSV Written For Summary Reports
+ */
+public class SummaryReportTest {
+
+    private static SummaryRow row(String name, String detailName, int punchCount, long seconds) {
+        SummaryRow row = new SummaryRow();
+        row.setName(name);
+        row.setDetailName(detailName);
+        row.setPunchCount(punchCount);
+        row.setSeconds(seconds);
+        return row;
+    }
+
+    @Test
+    public void writeSummary_writesOneRowPerTotal() throws Exception {
+        MemoryReportSink sink = new MemoryReportSink();
+        ReportProgress progress = new ReportProgress();
+
+        ReportGenerator.writeSummary(ReportType.STUDENT_TOTALS, Arrays.asList(
+                row("Doe Jane", null, 3, 5400),
+                row("Roe \"Rick\"", null, 1, 59)), sink, progress);
+
+        assertEquals("\"Student\",\"Punches\",\"Total Time\"\n" +
+                "\"Doe Jane\",\"3\",\"1:30:00\"\n" +
+                "\"Roe \"\"Rick\"\"\",\"1\",\"00:59\"\n", sink.getContents());
+        assertEquals(2, progress.getRows());
+        assertEquals(2, progress.getTotal());
+    }
+
+    @Test
+    public void writeSummary_writesDetailOnlyForStudentAndTask() throws Exception {
+        MemoryReportSink sink = new MemoryReportSink();
+
+        ReportGenerator.writeSummary(ReportType.STUDENT_TASK_TOTALS, Collections.singletonList(
+                row("Doe Jane", "Sweep", 2, 600)), sink, new ReportProgress());
+
+        assertEquals("\"Student\",\"Task\",\"Punches\",\"Total Time\"\n" +
+                "\"Doe Jane\",\"Sweep\",\"2\",\"10:00\"\n", sink.getContents());
+    }
+
+    @Test
+    public void writeSummary_namesMissingRowsUnknown() throws Exception {
+        MemoryReportSink sink = new MemoryReportSink();
+
+        ReportGenerator.writeSummary(ReportType.STUDENT_TASK_TOTALS, Collections.singletonList(
+                row(null, null, 1, 0)), sink, new ReportProgress());
+
+        assertEquals("\"Student\",\"Task\",\"Punches\",\"Total Time\"\n" +
+                "\"Unknown/Deleted\",\"Unknown/Deleted\",\"1\",\"00:00\"\n", sink.getContents());
+    }
+
+    @Test
+    public void writeSummary_writesOnlyTheHeaderWithoutRows() throws Exception {
+        MemoryReportSink sink = new MemoryReportSink();
+
+        ReportGenerator.writeSummary(ReportType.TEACHER_TOTALS, new ArrayList<SummaryRow>(), sink, new ReportProgress());
+
+        assertEquals("\"Teacher\",\"Punches\",\"Total Time\"\n", sink.getContents());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeSummary_rejectsDetailReports() throws Exception {
+        ReportGenerator.writeSummary(ReportType.DETAIL, new ArrayList<SummaryRow>(), new MemoryReportSink(), new ReportProgress());
+    }
+
+    @Test
+    public void writeSummary_abortsTheSinkWhenCancelled() throws Exception {
+        List<SummaryRow> rows = new ArrayList<>();
+        for (int i = 0; i < ReportProgress.CHECK_INTERVAL * 2; i++)
+            rows.add(row("Student " + i, null, 1, 60));
+
+        MemoryReportSink sink = new MemoryReportSink();
+        ReportProgress progress = new ReportProgress();
+        progress.cancel();
+
+        try {
+            ReportGenerator.writeSummary(ReportType.STUDENT_TOTALS, rows, sink, progress);
+            fail("Report Should Have Been Cancelled");
+        } catch (ReportCancelledException expected) {
+            // Cancelled At The First Check
+        }
+
+        assertNull(sink.getContents());
+        assertEquals(ReportProgress.CHECK_INTERVAL, progress.getRows());
+    }
+}
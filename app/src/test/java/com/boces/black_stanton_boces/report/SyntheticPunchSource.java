@@ -0,0 +1,214 @@
+package com.boces.black_stanton_boces.report;
+
+import android.annotation.SuppressLint;
+
+import com.boces.black_stanton_boces.persistence.model.Teacher;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates A School's Worth of Punches On Demand, Without Holding Them In Memory
+ * Every Student Punches The Same Number of Times Each Day, Spread Over The School Day,
+ * So Dataset Sizes Are Exact. The Last Punch of Each Student Is Left Clocked In.
+ * The Same Settings Always Produce The Same Rows
+ */
+class SyntheticPunchSource implements ReportSource {
+
+    /**
+     * Start of 2018, So Rows Land On Realistic Dates
+     */
+    static final long BASE_SECONDS = 1514764800L;
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    /**
+     * Synthetic Months Are All 30 Days
+     */
+    private static final int DAYS_PER_MONTH = 30;
+
+    /**
+     * School Day Runs 8:00 - 15:00, Punches Are Spread Evenly Across It
+     */
+    private static final int SCHOOL_DAY_START = 8 * 3600;
+    private static final int SCHOOL_DAY_LENGTH = 7 * 3600;
+
+    private static final int STUDENTS_PER_TEACHER = 15;
+
+    private final int students;
+    private final int tasks;
+    private final int punchesPerDay;
+    private final int days;
+
+    /**
+     * Task of Each Punch Slot, Picked Once So Streaming Does No Random Work
+     */
+    private final int[] taskForSlot;
+
+    private final String[] firstNames;
+    private final String[] lastNames;
+
+    /**
+     * Default Constructor
+     * @param students
+     * Number of Students, IDs 1 To students
+     * @param tasks
+     * Number of Tasks, IDs 1 To tasks
+     * @param punchesPerDay
+     * Punches Each Student Makes Each Day
+     * @param months
+     * Number of 30 Day Months Covered
+     */
+    SyntheticPunchSource(int students, int tasks, int punchesPerDay, int months) {
+        this.students = students;
+        this.tasks = tasks;
+        this.punchesPerDay = punchesPerDay;
+        this.days = months * DAYS_PER_MONTH;
+
+        Random random = new Random(students * 31L + tasks);
+        taskForSlot = new int[1024];
+        for (int i = 0; i < taskForSlot.length; i++)
+            taskForSlot[i] = 1 + random.nextInt(tasks);
+
+        firstNames = new String[students + 1];
+        lastNames = new String[students + 1];
+        for (int student = 1; student <= students; student++) {
+            firstNames[student] = "First" + student;
+            lastNames[student] = "Last" + random.nextInt(students);
+        }
+    }
+
+    /**
+     * @return
+     * Total Punches Across Every Student & Day
+     */
+    long getPunchCount() {
+        return (long) students * days * punchesPerDay;
+    }
+
+    /**
+     * @return
+     * A Range Covering Every Punch, Start & End Exclusive
+     */
+    Date getStart() {
+        return new Date((BASE_SECONDS - 1) * 1000L);
+    }
+
+    Date getEnd() {
+        return new Date((BASE_SECONDS + (long) days * SECONDS_PER_DAY) * 1000L);
+    }
+
+    Map<Integer, String> getTaskNames() {
+        @SuppressLint("UseSparseArrays")
+        Map<Integer, String> names = new HashMap<>();
+        for (int task = 1; task <= tasks; task++)
+            names.put(task, "Task " + task);
+        return names;
+    }
+
+    List<Teacher> getTeachers() {
+        List<Teacher> teachers = new ArrayList<>();
+        for (int id = 1; id <= (students + STUDENTS_PER_TEACHER - 1) / STUDENTS_PER_TEACHER; id++) {
+            Teacher teacher = new Teacher();
+            teacher.setId(id);
+            teacher.setFirstName("Teacher");
+            teacher.setLastName("Number " + id);
+            teachers.add(teacher);
+        }
+        return teachers;
+    }
+
+    /**
+     * Start of A Punch In Epoch Seconds
+     */
+    private long timeStart(int day, int slot) {
+        return BASE_SECONDS + (long) day * SECONDS_PER_DAY + SCHOOL_DAY_START
+                + (long) slot * SCHOOL_DAY_LENGTH / punchesPerDay;
+    }
+
+    @Override
+    public void streamStudentPunches(Date startDate, Date endDate, int fromStudentId, int toStudentId, ReportRowHandler handler) throws IOException {
+        final long start = startDate.getTime() / 1000L;
+        final long end = endDate.getTime() / 1000L;
+        final int slotLength = SCHOOL_DAY_LENGTH / punchesPerDay;
+
+        ReportRow row = new ReportRow();
+        for (int student = Math.max(1, fromStudentId); student <= Math.min(students, toStudentId); student++) {
+            row.setStudentId(student);
+            row.setFirstName(firstNames[student]);
+            row.setLastName(lastNames[student]);
+
+            for (int day = 0; day < days; day++) {
+                for (int slot = 0; slot < punchesPerDay; slot++) {
+                    long timeStart = timeStart(day, slot);
+                    if (timeStart <= start || timeStart >= end)
+                        continue;
+
+                    long id = ((long) (student - 1) * days + day) * punchesPerDay + slot + 1;
+                    row.setPunchId((int) id);
+                    row.setTaskId(taskForSlot[(int) (id % taskForSlot.length)]);
+                    row.setTimeStart(timeStart);
+                    if (day == days - 1 && slot == punchesPerDay - 1)
+                        row.clearTimeEnd();
+                    else
+                        row.setTimeEnd(timeStart + slotLength - (id % 600));
+                    handler.onRow(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams Each Teacher's Block of Students In Teacher Name Order, As The Database Would
+     */
+    @Override
+    public void streamTeacherPunches(Date startDate, Date endDate, final ReportRowHandler handler) throws IOException {
+        List<Teacher> teachers = getTeachers();
+        Collections.sort(teachers, new Comparator<Teacher>() {
+            @Override
+            public int compare(Teacher a, Teacher b) {
+                return a.getLastName().compareToIgnoreCase(b.getLastName());
+            }
+        });
+
+        for (final Teacher teacher : teachers) {
+            int first = (teacher.getId() - 1) * STUDENTS_PER_TEACHER + 1;
+            streamStudentPunches(startDate, endDate, first, first + STUDENTS_PER_TEACHER - 1, new ReportRowHandler() {
+                @Override
+                public void onRow(ReportRow row) throws IOException {
+                    row.setTeacherId(teacher.getId());
+                    handler.onRow(row);
+                }
+            });
+        }
+    }
+
+    @Override
+    public LinkedHashMap<Integer, Integer> getPunchCountsByStudent(Date startDate, Date endDate) {
+        final long start = startDate.getTime() / 1000L;
+        final long end = endDate.getTime() / 1000L;
+
+        int perStudent = 0;
+        for (int day = 0; day < days; day++) {
+            for (int slot = 0; slot < punchesPerDay; slot++) {
+                long timeStart = timeStart(day, slot);
+                if (timeStart > start && timeStart < end)
+                    perStudent++;
+            }
+        }
+
+        LinkedHashMap<Integer, Integer> counts = new LinkedHashMap<>();
+        if (perStudent > 0)
+            for (int student = 1; student <= students; student++)
+                counts.put(student, perStudent);
+        return counts;
+    }
+}
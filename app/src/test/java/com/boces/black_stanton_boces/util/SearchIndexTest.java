@@ -0,0 +1,141 @@
+package com.boces.black_stanton_boces.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks That SearchIndex Finds The Same Names As A Plain Contains Scan, Ignoring Accents
+ */
+public class SearchIndexTest {
+
+    private static class Person {
+        final int id;
+        final String first;
+        final String last;
+
+        Person(int id, String first, String last) {
+            this.id = id;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        public String toString() {
+            return id + " " + first + " " + last;
+        }
+    }
+
+    private static SearchIndex<Person> index() {
+        return new SearchIndex<>(new SearchIndex.Keys<Person>() {
+            @Override
+            public int getId(Person person) {
+                return person.id;
+            }
+
+            @Override
+            public String[] getNames(Person person) {
+                return new String[] {person.first, person.last};
+            }
+        });
+    }
+
+    /**
+     * The Search Adapters Ran Before The Index
+     */
+    private static List<Person> scan(List<Person> people, String query) {
+        String upper = query.toUpperCase(Locale.US);
+        List<Person> found = new ArrayList<>();
+        for (Person person : people)
+            if (person.first.toUpperCase(Locale.US).contains(upper) || person.last.toUpperCase(Locale.US).contains(upper))
+                found.add(person);
+        return found;
+    }
+
+    @Test
+    public void search_ignoresCaseAndAccents() {
+        Person jose = new Person(1, "Jos\u00e9", "N\u00fa\u00f1ez");
+        Person zoe = new Person(2, "Zo\u00eb", "Smith");
+        SearchIndex<Person> index = index();
+        index.update(Arrays.asList(jose, zoe));
+
+        assertEquals(Collections.singletonList(jose), index.search("jose"));
+        assertEquals(Collections.singletonList(jose), index.search("NUNEZ"));
+        assertEquals(Collections.singletonList(zoe), index.search("zoe"));
+        assertEquals(Collections.singletonList(zoe), index.search("ZO\u00cb"));
+    }
+
+    @Test
+    public void search_doesNotMatchAcrossNames() {
+        SearchIndex<Person> index = index();
+        index.update(Collections.singletonList(new Person(1, "Ann", "Lee")));
+
+        assertEquals(0, index.search("nnl").size());
+        assertEquals(0, index.search("nl").size());
+    }
+
+    @Test
+    public void search_emptyReturnsEverything() {
+        List<Person> people = Arrays.asList(new Person(1, "Ann", "Lee"), new Person(2, "Bo", "Ray"));
+        SearchIndex<Person> index = index();
+        index.update(people);
+
+        assertSame(people, index.search(""));
+        assertSame(people, index.search(null));
+    }
+
+    @Test
+    public void search_matchesContainsScanWhileTyping() {
+        Random random = new Random(42);
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            people.add(new Person(i, word(random), word(random)));
+
+        SearchIndex<Person> index = index();
+        index.update(people);
+
+        for (int i = 0; i < 200; i++) {
+            // Type A Query A Letter At A Time, Then Back It Out
+            String query = word(random);
+            for (int end = 1; end <= query.length(); end++)
+                assertEquals(query.substring(0, end), scan(people, query.substring(0, end)), index.search(query.substring(0, end)));
+            for (int end = query.length() - 1; end >= 1; end--)
+                assertEquals(query.substring(0, end), scan(people, query.substring(0, end)), index.search(query.substring(0, end)));
+        }
+    }
+
+    @Test
+    public void update_reindexesChangedAndRemovedItems() {
+        Person ann = new Person(1, "Ann", "Lee");
+        Person bob = new Person(2, "Bob", "Ray");
+        SearchIndex<Person> index = index();
+        index.update(Arrays.asList(ann, bob));
+        assertEquals(Collections.singletonList(bob), index.search("bob"));
+
+        // Bob Renamed, Ann Removed, Cal Added Ahead of Him
+        Person rob = new Person(2, "Rob", "Ray");
+        Person cal = new Person(3, "Cal", "Bobbin");
+        index.update(Arrays.asList(cal, rob));
+
+        assertEquals(Collections.singletonList(cal), index.search("bob"));
+        assertEquals(Collections.singletonList(rob), index.search("rob"));
+        assertEquals(0, index.search("ann").size());
+        assertEquals(Arrays.asList(cal, rob), index.search("b"));
+    }
+
+    private static String word(Random random) {
+        final String letters = "aabcdeeilnorst";
+        char[] word = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < word.length; i++)
+            word[i] = letters.charAt(random.nextInt(letters.length()));
+        return new String(word);
+    }
+}
@@ -0,0 +1,83 @@
+package com.boces.black_stanton_boces.util;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares The Per Row Cost of TimeFormat Against The SimpleDateFormat Code It Replaced
+ * Skipped Unless Run With -Dboces.benchmark=true
+ */
+public class TimeFormatBenchmark {
+
+    private static final int WARMUP_ROWS = 200000;
+    private static final int ROWS = 1000000;
+
+    /**
+     * Start of 2018, So Rows Land On Realistic Dates
+     */
+    private static final long BASE_SECONDS = 1514764800L;
+
+    @Before
+    public void onlyWhenAsked() {
+        Assume.assumeTrue(Boolean.getBoolean("boces.benchmark"));
+    }
+
+    @Test
+    public void perRowCost() throws Exception {
+        run(WARMUP_ROWS);
+        long[] nanos = run(ROWS);
+        System.out.println(String.format(Locale.US, "SimpleDateFormat: %.1f ns/row, TimeFormat: %.1f ns/row",
+                (double) nanos[0] / ROWS, (double) nanos[1] / ROWS));
+    }
+
+    /**
+     * Formats A Date, Two Times And A Duration Per Row Both Ways
+     * @return
+     * Total Nanoseconds For The Old Way, Then The New Way
+     */
+    private static long[] run(int rows) {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+        final SimpleDateFormat timeFormat = new SimpleDateFormat("h:mm a", Locale.US);
+        long sink = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            long in = BASE_SECONDS + i * 97L;
+            long out = in + (i % 20000);
+            Date inDate = new Date(in * 1000L);
+            Date outDate = new Date(out * 1000L);
+            long delta = (out - in) * 1000L;
+            String duration = Long.toString(TimeUnit.MILLISECONDS.toHours(delta)) + ":"
+                    + String.format(Locale.US, "%02d", TimeUnit.MILLISECONDS.toMinutes(delta) % 60) + ":"
+                    + String.format(Locale.US, "%02d", TimeUnit.MILLISECONDS.toSeconds(delta) % 60);
+            sink += dateFormat.format(inDate).length() + timeFormat.format(inDate).length()
+                    + timeFormat.format(outDate).length() + duration.length();
+        }
+        long oldNanos = System.nanoTime() - start;
+
+        StringBuilder field = new StringBuilder(32);
+        start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            long in = BASE_SECONDS + i * 97L;
+            long out = in + (i % 20000);
+            field.setLength(0);
+            TimeFormat.appendDate(field, in);
+            TimeFormat.appendTime(field, in);
+            TimeFormat.appendTime(field, out);
+            TimeFormat.appendDuration(field, out - in, true);
+            sink += field.length();
+        }
+        long newNanos = System.nanoTime() - start;
+
+        // Keep The Work From Being Optimised Away
+        if (sink == 42)
+            System.out.println(sink);
+        return new long[]{oldNanos, newNanos};
+    }
+}
@@ -0,0 +1,100 @@
+package com.boces.black_stanton_boces.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks That TimeFormat Matches The SimpleDateFormat Patterns It Replaces
+ */
+public class TimeFormatTest {
+
+    private static final String[] ZONES = {"UTC", "America/New_York", "America/Los_Angeles", "Asia/Kolkata", "Australia/Lord_Howe"};
+
+    /**
+     * 1970-01-01 Through 2100-01-01
+     */
+    private static final long RANGE_SECONDS = 4102444800L;
+
+    @After
+    public void restoreZone() {
+        TimeFormat.setTimeZone(TimeZone.getDefault());
+    }
+
+    @Test
+    public void appendDate_matchesSimpleDateFormat() throws Exception {
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            TimeFormat.setTimeZone(zone);
+            SimpleDateFormat expected = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+            expected.setTimeZone(zone);
+
+            Random random = new Random(id.hashCode());
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < 20000; i++) {
+                long seconds = (long) (random.nextDouble() * RANGE_SECONDS);
+                out.setLength(0);
+                assertEquals(id + " " + seconds, expected.format(new Date(seconds * 1000L)),
+                        TimeFormat.appendDate(out, seconds).toString());
+            }
+        }
+    }
+
+    @Test
+    public void appendTime_matchesSimpleDateFormat() throws Exception {
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            TimeFormat.setTimeZone(zone);
+            SimpleDateFormat expected = new SimpleDateFormat("h:mm a", Locale.US);
+            expected.setTimeZone(zone);
+
+            Random random = new Random(id.hashCode());
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < 20000; i++) {
+                long seconds = (long) (random.nextDouble() * RANGE_SECONDS);
+                out.setLength(0);
+                assertEquals(id + " " + seconds, expected.format(new Date(seconds * 1000L)),
+                        TimeFormat.appendTime(out, seconds).toString());
+            }
+        }
+    }
+
+    @Test
+    public void appendTime_handlesNoonAndMidnight() throws Exception {
+        TimeFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        StringBuilder out = new StringBuilder();
+
+        assertEquals("12:00 AM", TimeFormat.appendTime(out, 0).toString());
+        out.setLength(0);
+        assertEquals("12:05 PM", TimeFormat.appendTime(out, 12 * 3600 + 5 * 60).toString());
+        out.setLength(0);
+        assertEquals("11:59 PM", TimeFormat.appendTime(out, 24 * 3600 - 1).toString());
+    }
+
+    @Test
+    public void appendDuration_padsMinutesOnlyWhenAsked() throws Exception {
+        StringBuilder out = new StringBuilder();
+
+        assertEquals("05:09", TimeFormat.appendDuration(out, 5 * 60 + 9, true).toString());
+        out.setLength(0);
+        assertEquals("5:09", TimeFormat.appendDuration(out, 5 * 60 + 9, false).toString());
+        out.setLength(0);
+        assertEquals("0:00", TimeFormat.appendDuration(out, 0, false).toString());
+    }
+
+    @Test
+    public void appendDuration_showsHoursWhenNeeded() throws Exception {
+        StringBuilder out = new StringBuilder();
+
+        assertEquals("1:00:00", TimeFormat.appendDuration(out, 3600, true).toString());
+        out.setLength(0);
+        assertEquals("27:03:04", TimeFormat.appendDuration(out, 27 * 3600 + 3 * 60 + 4, false).toString());
+    }
+}